@@ -0,0 +1,432 @@
+import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * ActorPool.java
+ *
+ * Recycles the TextImage and BattleImage actors that the battle screens constantly create and throw away, along with
+ * the GreenfootImage buffers behind them. Instead of creating a new actor (and a new image) for every line of text,
+ * released actors and buffers are kept and handed out again the next time one of the same kind is needed.
+ *
+ * Pictures that are read from files (menus, text boxes, Pokedex windows) are only read once. After that, a copy of the
+ * picture is drawn onto a recycled buffer of the same size.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_CAPACITY : The default maximum number of idle actors, and of idle buffers, that are kept
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - capacity         : The maximum number of idle actors, and of idle buffers, that are kept. Anything released
+ *                      beyond this is left for the garbage collector
+ *
+ * - idleTextImages   : The TextImages that have been released and can be reused
+ * - idleBattleImages : The BattleImages that have been released and can be reused, by image location
+ * - idleBuffers      : The GreenfootImage buffers that have been released and can be reused, by width and height
+ * - totalIdleBuffers : The total number of buffers in idleBuffers
+ * - pictures         : The pictures that have been read from files, by image location. These are never drawn on
+ * - fonts            : The fonts that have been made, by size and boldness
+ *
+ * - textImagesCreated, textImagesReused     : The number of TextImages created and reused
+ * - battleImagesCreated, battleImagesReused : The number of BattleImages created and reused
+ * - buffersCreated, buffersReused           : The number of buffers created and reused
+ * - picturesRead                            : The number of pictures read from files
+ * - released, discarded                     : The number of actors released, and the number that were not kept
+ *                                             because the pool was full
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getTextImage( int width, int height, String text, Color color, int fontSize, boolean expires,
+ *                 int textX, int textY, boolean isBold )
+ *      : Gets a TextImage with a transparent background and text on top
+ * - getTextImage( String imageLoc, String text, Color color, int fontSize, boolean expires, int textX, int textY )
+ *      : Gets a TextImage using the picture at the given image location and text on top
+ * - getTextImage( GreenfootImage image, String text, Color color, int fontSize, boolean expires, int textX, int textY )
+ *      : Gets a TextImage using the given image and text on top. The image is not reused by the pool
+ * - getBattleImage( String imageLoc ) : Gets a BattleImage of the given image location
+ *
+ * - release( Actor actor )                      : Gives a TextImage or BattleImage back to the pool
+ * - releaseAll( List<? extends Actor> actors )  : Gives all of the TextImages and BattleImages back to the pool
+ *
+ * - getCapacity()                : Gets the maximum number of idle actors (and idle buffers) kept
+ * - setCapacity( int capacity )  : Sets the maximum number of idle actors (and idle buffers) kept
+ * - clear()                      : Forgets all idle actors, buffers, and pictures
+ *
+ * - getTextImagesCreated(), getTextImagesReused(), getBuffersCreated(), getBuffersReused(),
+ *   getBattleImagesCreated(), getBattleImagesReused(), getPicturesRead(), getReleased(), getDiscarded()
+ *      : Gets the pool statistics
+ * - getStatistics()              : Gets the pool statistics as a line of text
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - getBuffer( int width, int height )     : Gets a cleared buffer of the given size
+ * - releaseBuffer( GreenfootImage buffer ) : Gives a buffer back to the pool
+ * - getPicture( String imageLoc )          : Gets the picture at the given image location, reading it only once
+ * - getFont( int fontSize, boolean isBold ): Gets the font of the given size and boldness
+ * - getIdleTextImage()                     : Gets an idle TextImage, or creates one if there are none
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see TextImage.java
+ * @see BattleImage.java
+ * @see PokeBattle.java
+ */
+public class ActorPool {
+
+    public static final int DEFAULT_CAPACITY = 128;
+    private static int capacity = DEFAULT_CAPACITY;
+
+    private static final ArrayDeque<TextImage> idleTextImages = new ArrayDeque<TextImage>();
+    private static final HashMap<String, ArrayDeque<BattleImage>> idleBattleImages = new HashMap<String, ArrayDeque<BattleImage>>();
+    private static final HashMap<Long, ArrayDeque<GreenfootImage>> idleBuffers = new HashMap<Long, ArrayDeque<GreenfootImage>>();
+    private static int totalIdleBuffers = 0;
+    private static final HashMap<String, GreenfootImage> pictures = new HashMap<String, GreenfootImage>();
+    private static final HashMap<Integer, Font> fonts = new HashMap<Integer, Font>();
+
+    private static long textImagesCreated, textImagesReused;
+    private static long battleImagesCreated, battleImagesReused;
+    private static long buffersCreated, buffersReused;
+    private static long picturesRead;
+    private static long released, discarded;
+
+    /**
+     * Gets a TextImage with a transparent background and text on top. The box is a recycled buffer of the
+     * given size, if one is available
+     *
+     * @param width The width of the box to print the text
+     * @param height The height of the box to print the text
+     * @param text The text to set on top of this image
+     * @param color The color to make the text
+     * @param fontSize The font size of the text
+     * @param expires True if this image should expire, false otherwise
+     * @param textX The x location of this text
+     * @param textY The y location of this text
+     * @param isBold True if the text should be bold, false otherwise
+     * @return TextImage The TextImage with the given text
+     * @see TextImage.reuse(...)
+     */
+    public static TextImage getTextImage( int width, int height, String text, Color color, int fontSize, boolean expires,
+                                          int textX, int textY, boolean isBold ) {
+        TextImage textImage = getIdleTextImage();
+        textImage.reuse( getBuffer( width, height ), "", text, color, getFont( fontSize, isBold ),
+                         expires, textX, textY, true );
+        return textImage;
+    }
+
+    /**
+     * Gets a TextImage using the picture at the given image location and text on top. The picture is only
+     * read from its file once, and is copied onto a recycled buffer of the same size
+     *
+     * @param imageLoc The image location of this TextImage
+     * @param text The text to set on top of this image
+     * @param color The color to make the text
+     * @param fontSize The font size of the text
+     * @param expires True if this image should expire, false otherwise
+     * @param textX The x location of this text
+     * @param textY The y location of this text
+     * @return TextImage The TextImage with the given picture and text
+     * @see TextImage.reuse(...)
+     */
+    public static TextImage getTextImage( String imageLoc, String text, Color color, int fontSize, boolean expires,
+                                          int textX, int textY ) {
+        GreenfootImage picture = getPicture( imageLoc );
+        GreenfootImage buffer = getBuffer( picture.getWidth(), picture.getHeight() );
+        buffer.drawImage( picture, 0, 0 );
+
+        TextImage textImage = getIdleTextImage();
+        textImage.reuse( buffer, imageLoc, text, color, getFont( fontSize, false ), expires, textX, textY, true );
+        return textImage;
+    }
+
+    /**
+     * Gets a TextImage using the given image and text on top. The image still belongs to the caller, so
+     * it is not reused once the TextImage is released
+     *
+     * @param image The GreenfootImage to be used
+     * @param text The text to set on top of this image
+     * @param color The color to make the text
+     * @param fontSize The font size of the text
+     * @param expires True if this image should expire, false otherwise
+     * @param textX The x location of this text
+     * @param textY The y location of this text
+     * @return TextImage The TextImage with the given image and text
+     * @see TextImage.reuse(...)
+     */
+    public static TextImage getTextImage( GreenfootImage image, String text, Color color, int fontSize, boolean expires,
+                                          int textX, int textY ) {
+        TextImage textImage = getIdleTextImage();
+        textImage.reuse( image, "", text, color, getFont( fontSize, false ), expires, textX, textY, false );
+        return textImage;
+    }
+
+    /**
+     * Gets a BattleImage of the given image location. A released BattleImage of the same image is reused
+     * if there is one
+     *
+     * @param imageLoc The location of the Pokemon's image
+     * @return BattleImage The BattleImage of this image
+     */
+    public static BattleImage getBattleImage( String imageLoc ) {
+        ArrayDeque<BattleImage> idle = idleBattleImages.get( imageLoc );
+        if( idle != null && !idle.isEmpty() ) {
+            battleImagesReused++;
+            return idle.pop();
+        }
+
+        battleImagesCreated++;
+        return new BattleImage( imageLoc );
+    }
+
+    /**
+     * Gives a TextImage or BattleImage back to the pool, once it has been removed from the world. The
+     * actor must not be used again after it is released. Other actors are ignored
+     *
+     * @param actor The actor to give back to the pool
+     * @see releaseBuffer( GreenfootImage buffer )
+     */
+    public static void release( Actor actor ) {
+        if( actor instanceof TextImage ) {
+            TextImage textImage = (TextImage)actor;
+            if( textImage.hasPooledImage() )
+                releaseBuffer( textImage.getImage() );
+
+            released++;
+            if( idleTextImages.size() < capacity ) idleTextImages.push( textImage );
+            else                                   discarded++;
+        } else if( actor instanceof BattleImage ) {
+            BattleImage battleImage = (BattleImage)actor;
+            ArrayDeque<BattleImage> idle = idleBattleImages.get( battleImage.getImageLoc() );
+            if( idle == null ) {
+                idle = new ArrayDeque<BattleImage>();
+                idleBattleImages.put( battleImage.getImageLoc(), idle );
+            }
+
+            released++;
+            if( idle.size() < capacity ) idle.push( battleImage );
+            else                         discarded++;
+        }
+    }
+
+    /**
+     * Gives all of the TextImages and BattleImages in the list back to the pool, once they have been
+     * removed from the world
+     *
+     * @param actors The actors to give back to the pool
+     * @see release( Actor actor )
+     */
+    public static void releaseAll( List<? extends Actor> actors ) {
+        for( Actor actor : actors )
+            release( actor );
+    }
+
+    /**
+     * Gets an idle TextImage, or creates a new one if there are none
+     *
+     * @return TextImage A TextImage that is not in use
+     */
+    private static TextImage getIdleTextImage() {
+        if( !idleTextImages.isEmpty() ) {
+            textImagesReused++;
+            return idleTextImages.pop();
+        }
+
+        textImagesCreated++;
+        return new TextImage( 1, 1, "", Color.BLACK, 1, false, 0, 0, false );
+    }
+
+    /**
+     * Gets a cleared buffer of the given size, reusing a released buffer if there is one
+     *
+     * @param width The width of the buffer
+     * @param height The height of the buffer
+     * @return GreenfootImage A cleared (transparent) buffer
+     * @see GreenfootImage.clear()
+     */
+    private static GreenfootImage getBuffer( int width, int height ) {
+        ArrayDeque<GreenfootImage> idle = idleBuffers.get( ((long)width << 32) | height );
+        if( idle != null && !idle.isEmpty() ) {
+            buffersReused++;
+            totalIdleBuffers--;
+            GreenfootImage buffer = idle.pop();
+            buffer.clear();
+            return buffer;
+        }
+
+        buffersCreated++;
+        return new GreenfootImage( width, height );
+    }
+
+    /**
+     * Gives a buffer back to the pool, unless the pool already holds as many buffers as it can
+     *
+     * @param buffer The buffer to give back to the pool
+     */
+    private static void releaseBuffer( GreenfootImage buffer ) {
+        if( totalIdleBuffers >= capacity ) return;
+
+        long key = ((long)buffer.getWidth() << 32) | buffer.getHeight();
+        ArrayDeque<GreenfootImage> idle = idleBuffers.get( key );
+        if( idle == null ) {
+            idle = new ArrayDeque<GreenfootImage>();
+            idleBuffers.put( key, idle );
+        }
+        idle.push( buffer );
+        totalIdleBuffers++;
+    }
+
+    /**
+     * Gets the picture at the given image location. The picture is only read from its file the first time,
+     * and must never be drawn on, since it is shared
+     *
+     * @param imageLoc The image location of the picture
+     * @return GreenfootImage The picture
+     */
+    private static GreenfootImage getPicture( String imageLoc ) {
+        GreenfootImage picture = pictures.get( imageLoc );
+        if( picture == null ) {
+            picturesRead++;
+            picture = new GreenfootImage( imageLoc );
+            pictures.put( imageLoc, picture );
+        }
+
+        return picture;
+    }
+
+    /**
+     * Gets the TextImage font of the given size and boldness, making it only once
+     *
+     * @param fontSize The size of the font
+     * @param isBold True if the font is bold, false otherwise
+     * @return Font The font
+     */
+    private static Font getFont( int fontSize, boolean isBold ) {
+        int key = isBold ? -fontSize : fontSize;
+        Font font = fonts.get( key );
+        if( font == null ) {
+            font = new Font( TextImage.POKEMON_FONT, isBold, false, fontSize );
+            fonts.put( key, font );
+        }
+
+        return font;
+    }
+
+    /**
+     * Gets the maximum number of idle actors, and of idle buffers, that the pool keeps
+     *
+     * @return int The capacity of the pool
+     */
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of idle actors, and of idle buffers, that the pool keeps. A capacity of zero
+     * turns off recycling
+     *
+     * @param capacity The new capacity of the pool
+     */
+    public static void setCapacity( int capacity ) {
+        ActorPool.capacity = capacity < 0 ? 0 : capacity;
+
+        while( idleTextImages.size() > ActorPool.capacity ) idleTextImages.pop();
+        if( totalIdleBuffers > ActorPool.capacity ) {
+            idleBuffers.clear();
+            totalIdleBuffers = 0;
+        }
+    }
+
+    /**
+     * Forgets all of the idle actors, idle buffers, and pictures that the pool holds
+     */
+    public static void clear() {
+        idleTextImages.clear();
+        idleBattleImages.clear();
+        idleBuffers.clear();
+        totalIdleBuffers = 0;
+        pictures.clear();
+    }
+
+    /**
+     * @return long The number of TextImages created by the pool
+     */
+    public static long getTextImagesCreated() {
+        return textImagesCreated;
+    }
+
+    /**
+     * @return long The number of times a TextImage was reused instead of created
+     */
+    public static long getTextImagesReused() {
+        return textImagesReused;
+    }
+
+    /**
+     * @return long The number of BattleImages created by the pool
+     */
+    public static long getBattleImagesCreated() {
+        return battleImagesCreated;
+    }
+
+    /**
+     * @return long The number of times a BattleImage was reused instead of created
+     */
+    public static long getBattleImagesReused() {
+        return battleImagesReused;
+    }
+
+    /**
+     * @return long The number of buffers created by the pool
+     */
+    public static long getBuffersCreated() {
+        return buffersCreated;
+    }
+
+    /**
+     * @return long The number of times a buffer was reused instead of created
+     */
+    public static long getBuffersReused() {
+        return buffersReused;
+    }
+
+    /**
+     * @return long The number of pictures read from files
+     */
+    public static long getPicturesRead() {
+        return picturesRead;
+    }
+
+    /**
+     * @return long The number of actors released to the pool
+     */
+    public static long getReleased() {
+        return released;
+    }
+
+    /**
+     * @return long The number of released actors that were not kept because the pool was full
+     */
+    public static long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Gets the pool statistics as a single line of text
+     *
+     * @return String The pool statistics
+     */
+    public static String getStatistics() {
+        return "TextImages created: " + textImagesCreated + ", reused: " + textImagesReused +
+               " | BattleImages created: " + battleImagesCreated + ", reused: " + battleImagesReused +
+               " | Buffers created: " + buffersCreated + ", reused: " + buffersReused + ", idle: " + totalIdleBuffers +
+               " | Pictures read: " + picturesRead +
+               " | Released: " + released + ", discarded: " + discarded + " (capacity " + capacity + ")";
+    }
+}
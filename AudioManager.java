@@ -0,0 +1,244 @@
+import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * AudioManager.java
+ *
+ * Plays the sound effects and the background music for all of the worlds, so that the act loop never has to wait for
+ * an mp3 to be read. Short sound effects (the whistle, Pikachu's sound) are loaded once and kept in memory, and are
+ * replayed from there. Background music is played from a playlist: while one song plays, the next song is already
+ * being loaded on a worker thread, so that it can start as soon as the current song ends.
+ *
+ * Worlds hand off the music by calling stopMusic() before they leave, and playPlaylist( String[] songList ) once they
+ * start. update() must be called once per act by the world that is playing music
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - WHISTLE_SOUND_LOC : The whistle that OfficerJenny blows when a Pokemon is disqualified
+ * - PIKACHU_SOUND_LOC : Pikachu's regular sound
+ * - EFFECT_VOICES     : The number of copies of each effect that are kept, so that an effect can overlap itself
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - effects        : The loaded sound effects, by sound location
+ * - nextVoice      : The next copy of each effect to play, by sound location
+ *
+ * - loader         : The worker thread that loads the sounds
+ * - songList       : The playlist that is currently playing, or null if no music is playing
+ * - currentSong    : The song that is currently playing
+ * - nextSong       : The next song, which is being loaded (or has been loaded) by the loader
+ * - random         : The PokeRandom for picking the next song
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - preloadEffects( String... soundLocs )  : Loads the sound effects on the worker thread, ahead of their first use
+ * - playEffect( String soundLoc )          : Plays the sound effect, loading it first if it has not been loaded
+ *
+ * - playPlaylist( String[] songList )      : Starts playing random songs from the playlist
+ * - update()                               : Starts the next song once the current song has finished
+ * - stopMusic()                            : Stops the music and forgets the playlist
+ * - isPlayingMusic()                       : Determines whether a playlist is being played or not
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - getLoader()                            : Gets the worker thread, creating it the first time
+ * - loadEffect( String soundLoc )          : Loads all of the copies of the sound effect
+ * - prefetchNextSong()                     : Starts loading a random song from the playlist
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokeArena.java
+ * @see PokeBattle.java
+ * @see Pikachu.java
+ * @see OfficerJenny.java
+ */
+public class AudioManager {
+
+    public static final String WHISTLE_SOUND_LOC = "./sounds/whistle.mp3";
+    public static final String PIKACHU_SOUND_LOC = "./sounds/PikachuFixed.mp3";
+    public static final int EFFECT_VOICES = 2;
+
+    private static final HashMap<String, GreenfootSound[]> effects = new HashMap<String, GreenfootSound[]>();
+    private static final HashMap<String, Integer> nextVoice = new HashMap<String, Integer>();
+
+    private static ExecutorService loader;
+    private static String[] songList;
+    private static GreenfootSound currentSong;
+    private static Future<GreenfootSound> nextSong;
+    private static PokeRandom random = PokeRandom.create();
+
+    static {
+        preloadEffects( WHISTLE_SOUND_LOC, PIKACHU_SOUND_LOC );
+    }
+
+    /**
+     * Gets the worker thread that loads sounds. The thread is a daemon thread, so it does not keep
+     * the program running once Greenfoot closes
+     *
+     * @return ExecutorService The worker thread that loads sounds
+     */
+    private static synchronized ExecutorService getLoader() {
+        if( loader == null ) {
+            loader = Executors.newSingleThreadExecutor( new ThreadFactory() {
+                public Thread newThread( Runnable task ) {
+                    Thread thread = new Thread( task, "AudioManager-loader" );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+
+        return loader;
+    }
+
+    /**
+     * Loads the sound effects on the worker thread, so that they are already in memory the first time
+     * that they are played
+     *
+     * @param soundLocs The locations of the sound effects
+     * @see loadEffect( String soundLoc )
+     */
+    public static void preloadEffects( String... soundLocs ) {
+        for( final String soundLoc : soundLocs ) {
+            getLoader().submit( new Runnable() {
+                public void run() {
+                    loadEffect( soundLoc );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Loads all of the copies of the sound effect, if they have not already been loaded
+     *
+     * @param soundLoc The location of the sound effect
+     * @return GreenfootSound[] The copies of the sound effect
+     */
+    private static GreenfootSound[] loadEffect( String soundLoc ) {
+        synchronized( effects ) {
+            GreenfootSound[] voices = effects.get( soundLoc );
+            if( voices == null ) {
+                voices = new GreenfootSound[ EFFECT_VOICES ];
+                for( int i = 0; i < EFFECT_VOICES; i++ )
+                    voices[i] = new GreenfootSound( soundLoc );
+                effects.put( soundLoc, voices );
+                nextVoice.put( soundLoc, 0 );
+            }
+
+            return voices;
+        }
+    }
+
+    /**
+     * Plays the sound effect. Each play uses the next copy of the effect, so that an effect that is
+     * played twice in a row overlaps itself rather than being cut off
+     *
+     * Note: The only way to get audio files to work is to make sure that the mp3 does not have tags ingrained
+     *       within the file
+     *
+     * @param soundLoc The location of the sound effect
+     * @see loadEffect( String soundLoc )
+     * @see GreenfootSound.play()
+     */
+    public static void playEffect( String soundLoc ) {
+        GreenfootSound voice;
+        synchronized( effects ) {
+            GreenfootSound[] voices = loadEffect( soundLoc );
+            int index = nextVoice.get( soundLoc );
+            nextVoice.put( soundLoc, (index + 1) % voices.length );
+            voice = voices[index];
+        }
+
+        try {
+            voice.stop();
+            voice.play();
+        } catch( ArrayIndexOutOfBoundsException ignore ) { }
+    }
+
+    /**
+     * Starts playing random songs from the playlist. Any music that is already playing is stopped. The
+     * first song is loaded on the worker thread, and starts during a later call to update()
+     *
+     * @param songList The locations of the songs to choose from
+     * @see stopMusic()
+     * @see prefetchNextSong()
+     */
+    public static void playPlaylist( String[] songList ) {
+        stopMusic();
+        AudioManager.songList = songList;
+        prefetchNextSong();
+    }
+
+    /**
+     * Starts loading a random song from the playlist on the worker thread
+     *
+     * @see playPlaylist( String[] songList )
+     * @see update()
+     */
+    private static void prefetchNextSong() {
+        final String songLoc = songList[ random.nextInt( songList.length ) ];
+        nextSong = getLoader().submit( new Callable<GreenfootSound>() {
+            public GreenfootSound call() {
+                return new GreenfootSound( songLoc );
+            }
+        } );
+    }
+
+    /**
+     * Starts the next song once the current song has finished. If the next song has not finished loading yet,
+     * this does not wait for it; the song starts during a later call instead. Once a song starts, loading of the
+     * song after it begins right away
+     *
+     * This should be called once per act by the world that is playing music
+     *
+     * @see prefetchNextSong()
+     * @see GreenfootSound.isPlaying()
+     */
+    public static void update() {
+        if( songList == null ) return;
+        if( currentSong != null && currentSong.isPlaying() ) return;
+        if( nextSong == null || !nextSong.isDone() ) return;
+
+        try {
+            currentSong = nextSong.get();
+            currentSong.play();
+        } catch( Exception e ) {
+            e.printStackTrace();
+            currentSong = null;
+        }
+        prefetchNextSong();
+    }
+
+    /**
+     * Stops the music and forgets the playlist. A song that is still being loaded is thrown away
+     *
+     * @see playPlaylist( String[] songList )
+     */
+    public static void stopMusic() {
+        if( currentSong != null ) currentSong.stop();
+        if( nextSong != null ) nextSong.cancel( false );
+        currentSong = null;
+        nextSong = null;
+        songList = null;
+    }
+
+    /**
+     * Determines whether a playlist is being played or not
+     *
+     * @return boolean True if a playlist is being played, false otherwise
+     */
+    public static boolean isPlayingMusic() {
+        return songList != null;
+    }
+}
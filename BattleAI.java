@@ -0,0 +1,53 @@
+/**
+ * BattleAI.java
+ *
+ * A computer opponent that chooses Actions for a Pokemon in a BattleEngine. PokeBattle asks the AI for an Action on
+ * the computer's turn, and tells it about every Action that is applied to the battle (the computer's own Actions and
+ * the player's), so that an AI that keeps what it learned from one turn to the next knows where the battle went.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - chooseAction( BattleEngine engine )                           : Chooses the Action of the Pokemon whose turn it is
+ * - observe( BattleEngine engine, BattleEngine.Action action )    : Is told about an Action before it is applied
+ * - newBattle()                                                   : Forgets everything about the last battle
+ * - getLastReport()                                               : Gets the report of the last search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see ExpectimaxAI.java
+ * @see MonteCarloAI.java
+ * @see PokeBattle.java
+ */
+public interface BattleAI {
+
+    /**
+     * Chooses the Action of the Pokemon whose turn it is. The battle and both Pokemon must be left exactly as they were
+     *
+     * @param engine The battle
+     * @return BattleEngine.Action The Action chosen, which is one of engine.getLegalActions()
+     */
+    public BattleEngine.Action chooseAction( BattleEngine engine );
+
+    /**
+     * Is told about an Action that is about to be applied to the battle
+     *
+     * @param engine The battle, before the Action is applied
+     * @param action The Action
+     */
+    public void observe( BattleEngine engine, BattleEngine.Action action );
+
+    /**
+     * Forgets everything about the last battle, before a new battle starts
+     */
+    public void newBattle();
+
+    /**
+     * Gets the report of the last search, which prints how long the search took and how much it searched
+     *
+     * @return Object The report, or null if there has been no search
+     */
+    public Object getLastReport();
+}
@@ -0,0 +1,564 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * BattleCLI.java
+ *
+ * Runs a batch of headless battles from the command line, outside of Greenfoot, and writes one line of results for
+ * every battle as JSON lines or CSV. Once the batch is over, the wins of every matchup and the throughput are printed
+ * to standard error, so that standard output only has the results of the battles.
+ *
+ * The game data (the Pokedex files of each Pokemon, pokemonMoves.txt, and items.txt) is read from the working
+ * directory, so the command must be run from the scenario folder, with greenfoot.jar and the compiled scenario on the
+ * classpath. The Pokemon are named by class; with no names, every PokemonActor class on the classpath is used.
+ *
+ * Each battle is played by BattleSimulator.playBattle(): both Pokemon choose a random Move that still has PP left, the
+ * faster Pokemon attacks first, and a battle longer than BattleSimulator.MAX_TURNS turns is a draw. Its Pokemon come
+ * from a BattleSimulator.PokemonPool, and the battles are split into chunks by BattleSimulator.runChunks(). Each battle
+ * has its own PokeRandom, the stream of the seed numbered by the matchup and the battle, so the same command gives
+ * the same lines no matter how many threads run it (the lines of different chunks may come out in another order).
+ *
+ * With --team-size, each side of a battle is a team, as in BattleSimulator: the class of the matchup leads, followed by
+ * the classes after it in the order that the classes were named (wrapping around). A random Pokemon that has not
+ * fainted is switched in when one faints. The matchups are counted by lead class, and the HP of a side is the HP left
+ * of its whole team.
+ *
+ * Example: java -Djava.awt.headless=true -cp greenfoot.jar:. BattleCLI --pokemon Pikachu --battles 100000 \
+ *               --seed 7 --threads 8 --format csv --output nightly.csv
+ *
+ * Options:
+ *   --pokemon A,B,...   The PokemonActor classes. Every pair of them battles (a single class battles itself)
+ *   --matchup A:B       A matchup to run. May be given more than once, instead of or along with --pokemon
+ *   --battles N         The number of battles of each matchup (default DEFAULT_BATTLES)
+ *   --seed S            The seed of the batch (default DEFAULT_SEED)
+ *   --threads T         The number of threads (default: the number of cores)
+ *   --team-size N       The number of Pokemon of each side, from 1 to BattleEngine.MAX_TEAM_SIZE (default 1)
+ *   --format F          jsonl, csv, or none (default jsonl)
+ *   --output FILE       The file to write the results to (default: standard output)
+ *   --self-check        Runs the checks of the headless battle code instead of a batch (see selfCheck())
+ *   --help              Prints the options
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_BATTLES    : The number of battles of each matchup when --battles is not given
+ * - DEFAULT_SEED       : The seed when --seed is not given
+ * - CSV_HEADER         : The first line of the CSV output, naming the columns
+ * - EXIT_USAGE, EXIT_DATA, EXIT_IO, EXIT_CHECK : The exit codes for bad options, Pokemon that cannot be created,
+ *                        output that cannot be written, and a failed self-check
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - options            : The options of the batch
+ * - builds, names      : The Build and class name of each Pokemon class
+ * - pokemon            : The PokemonPool of the classes
+ * - pool               : The ForkJoinPool with the number of threads in the options
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Format             : JSONL, CSV, NONE
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - BattleCLI( Options options ) : Loads the Pokemon classes of the options and creates one Pokemon of each
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - main( String[] args )        : Runs the batch of the command line options
+ * - run( Writer out )            : Runs every battle, writing its line to out, and returns the totals
+ * - selfCheck()                  : Runs the checks that the replays and the damage forecasts match the BattleEngine
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - runChunk( int start, int end, Writer out ) : Runs a chunk of the battles of the batch
+ * - playBattle( ... )            : Plays one battle between two teams and adds its line to the text of the chunk
+ * - usage()                      : Gets the text of the options
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Options            : The options of a batch, read from the command line
+ * - Totals             : The wins, draws, and turns of every matchup, and the time the batch took
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleSimulator.java
+ * @see Tournament.java
+ * @see BattleEngine.java
+ */
+public class BattleCLI {
+
+    public static final int DEFAULT_BATTLES = 1000;
+    public static final long DEFAULT_SEED   = 42L;
+    public static final String CSV_HEADER   = "matchup,battle,first,second,starter,winner,turns," +
+                                              "damage1,damage2,hits1,hits2,criticals1,criticals2,misses1,misses2,hp1,hp2";
+    public static final int EXIT_USAGE = 1, EXIT_DATA = 2, EXIT_IO = 3, EXIT_CHECK = 4;
+
+    /**
+     * The format of the line of each battle
+     */
+    public enum Format {
+        JSONL, CSV, NONE
+    }
+
+    private final Options options;
+    private final BattleSimulator.Build[] builds;
+    private final String[] names;
+    private final BattleSimulator.PokemonPool pokemon;
+    private final ForkJoinPool pool;
+
+    /**
+     * Loads the Pokemon classes of the options and creates one Pokemon of each, all at once on the threads of the
+     * batch
+     *
+     * @param options The options of the batch
+     * @throws IllegalArgumentException If a class is not a PokemonActor with the (int uniqueID) constructor, or its
+     *                                  Pokemon cannot be created (such as when the game data is not in the working
+     *                                  directory)
+     */
+    public BattleCLI( Options options ) {
+        this.options = options;
+        this.pool = new ForkJoinPool( options.threads );
+        this.names = options.classNames.toArray( new String[ options.classNames.size() ] );
+        this.builds = new BattleSimulator.Build[ names.length ];
+        for( int i = 0; i < names.length; i++ ) {
+            Class<?> cls;
+            try {
+                cls = Class.forName( names[i] );
+            } catch( ClassNotFoundException | LinkageError e ) {
+                throw new IllegalArgumentException( "Cannot load the class " + names[i] );
+            }
+            if( !PokemonActor.class.isAssignableFrom( cls ) || cls == PokemonActor.class )
+                throw new IllegalArgumentException( names[i] + " is not a PokemonActor" );
+
+            builds[i] = BattleSimulator.getBuild( cls.asSubclass( PokemonActor.class ) );
+            if( builds[i] == null )
+                throw new IllegalArgumentException( names[i] + " has no (int uniqueID) constructor" );
+        }
+
+        this.pokemon = new BattleSimulator.PokemonPool( builds );
+        List<PokemonActor> created = pokemon.createAll( pool );
+        for( int i = 0; i < names.length; i++ ) {
+            if( created.get(i) == null )
+                throw new IllegalArgumentException( "Cannot create a " + names[i] + " (is the game data in the " +
+                                                    "working directory?)" );
+        }
+    }
+
+    /**
+     * Runs the batch of the command line options, writing the line of each battle to the output and the totals to
+     * standard error. Exits with EXIT_USAGE if the options are wrong, EXIT_DATA if the Pokemon cannot be created, and
+     * EXIT_IO if the output cannot be written
+     *
+     * @param args The command line options (see the top of this file)
+     * @see Options.parse( String[] args )
+     * @see run( Writer out )
+     */
+    public static void main( String[] args ) {
+        Options options;
+        try {
+            options = Options.parse( args );
+        } catch( IllegalArgumentException e ) {
+            System.err.println( e.getMessage() );
+            System.err.println( usage() );
+            System.exit( EXIT_USAGE );
+            return;
+        }
+        if( options.isHelp ) {
+            System.out.println( usage() );
+            return;
+        }
+        if( options.isSelfCheck ) {
+            boolean isPassed = selfCheck();
+            System.err.println( isPassed ? "Self-check passed" : "Self-check FAILED" );
+            if( !isPassed ) System.exit( EXIT_CHECK );
+            return;
+        }
+
+        BattleCLI cli;
+        try {
+            cli = new BattleCLI( options );
+        } catch( IllegalArgumentException e ) {
+            System.err.println( e.getMessage() );
+            System.exit( EXIT_DATA );
+            return;
+        }
+
+        Totals totals;
+        try( Writer out = options.output == null ? new BufferedWriter( new OutputStreamWriter( System.out ) ) :
+                                                   new BufferedWriter( new FileWriter( options.output ) ) ) {
+            totals = cli.run( out );
+        } catch( IOException e ) {
+            e.printStackTrace();
+            System.exit( EXIT_IO );
+            return;
+        }
+
+        System.err.println( totals );
+        if( totals.isFailed ) System.exit( EXIT_IO );
+    }
+
+    /**
+     * Runs every battle of every matchup on the threads of the batch. The battles of all of the matchups, one matchup
+     * after another, are split into chunks of BattleSimulator.CHUNK_SIZE battles, and each chunk writes its lines to
+     * out as soon as it is done, so the results stream out while the batch runs
+     *
+     * @param out Where the lines are written. The CSV header is written first
+     * @return Totals The wins, draws, and turns of every matchup, and the time the batch took
+     * @throws IOException If the CSV header cannot be written
+     * @see runChunk( int start, int end, Writer out )
+     */
+    public Totals run( final Writer out ) throws IOException {
+        long start = System.nanoTime();
+        if( options.format == Format.CSV ) {
+            out.write( CSV_HEADER );
+            out.write( '\n' );
+        }
+
+        BattleSimulator.Chunk<long[][]> runner = new BattleSimulator.Chunk<long[][]>() {
+            public long[][] run( int start, int end ) throws IOException {
+                return runChunk( start, end, out );
+            }
+        };
+
+        Totals totals = new Totals( options, names );
+        int battles = options.firsts.size() * options.battles;
+        for( long[][] chunk : BattleSimulator.runChunks( pool, battles, BattleSimulator.CHUNK_SIZE, runner ) ) {
+            if( chunk == null ) {
+                totals.isFailed = true;
+                continue;
+            }
+            for( int matchup = 0; matchup < chunk.length; matchup++ )
+                for( int j = 0; j < 4; j++ )
+                    totals.counts[ matchup ][j] += chunk[ matchup ][j];
+        }
+        out.flush();
+        pool.shutdown();
+
+        totals.elapsedNanos = System.nanoTime() - start;
+        return totals;
+    }
+
+    /**
+     * Runs the battles of the batch from start (inclusive) to end (exclusive), where battle i of the batch is battle
+     * i % battles of matchup i / battles, and writes their lines to out all at once, so that the lines of different
+     * chunks are never mixed together
+     *
+     * @param start The index in the batch of the first battle
+     * @param end The index in the batch after the last battle
+     * @param out Where the lines are written
+     * @return long[][] For each matchup, the battles won by the first Pokemon, won by the second Pokemon, drawn, and
+     *                  the total number of turns
+     * @throws IOException If the Pokemon of a battle cannot be created, or the lines cannot be written
+     * @see playBattle( int matchup, int battle, PokemonActor[] team1, PokemonActor[] team2, long[] counts,
+     *                   StringBuilder text )
+     */
+    private long[][] runChunk( int start, int end, Writer out ) throws IOException {
+        long[][] counts = new long[ options.firsts.size() ][4];
+        StringBuilder text = new StringBuilder();
+        for( int i = start; i < end; i++ ) {
+            int matchup = i / options.battles, battle = i % options.battles;
+            int first = options.firsts.get( matchup ), second = options.seconds.get( matchup );
+            PokemonActor[] team1 = pokemon.takeTeam( first, options.teamSize );
+            PokemonActor[] team2 = pokemon.takeTeam( second, options.teamSize );
+            if( team1 != null && team2 != null ) playBattle( matchup, battle, team1, team2, counts[ matchup ], text );
+            pokemon.giveTeam( team1, first );
+            pokemon.giveTeam( team2, second );
+            if( team1 == null || team2 == null )
+                throw new IOException( "Cannot create the Pokemon of matchup " + matchup );
+        }
+
+        if( options.format != Format.NONE ) {
+            synchronized( out ) {
+                out.write( text.toString() );
+                out.flush();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Plays one battle, adds its result to the counts, and adds its line to the text: the matchup, the battle, the two
+     * classes, which side attacked first (1 or 2), the winner (1, 2, or 0 for a draw), the number of turns, and for
+     * each side the damage it did, its hits, critical hits, and misses, and the HP its team had left
+     *
+     * @param matchup The index of the matchup
+     * @param battle The index of the battle within the matchup
+     * @param team1 The team led by the first class of the matchup
+     * @param team2 The team led by the second class of the matchup
+     * @param counts The wins of the first side, wins of the second, draws, and turns of the matchup in the chunk
+     * @param text The text of the chunk's lines
+     * @see BattleSimulator.playBattle( BattleEngine engine, PokeRandom random, BattleListener listener )
+     */
+    private void playBattle( int matchup, int battle, PokemonActor[] team1, PokemonActor[] team2, long[] counts,
+                             StringBuilder text ) {
+        PokeRandom random = PokeRandom.forStream( options.seed, ((long)matchup << 32) | battle );
+        boolean isSwapped = battle % 2 == 1;
+        BattleEngine engine = isSwapped ? new BattleEngine( team2, team1, random ) :
+                                          new BattleEngine( team1, team2, random );
+        final BattleEngine.Side side1 = isSwapped ? BattleEngine.Side.PLAYER_2 : BattleEngine.Side.PLAYER_1;
+        int starter = engine.getCurrentSide() == side1 ? 1 : 2;
+
+        //Index 0 is the first side and 1 is the second: damage, hits, critical hits, misses
+        final long[] damage = new long[2];
+        final int[] hits = new int[2], criticals = new int[2], misses = new int[2];
+        BattleSimulator.playBattle( engine, random, new BattleSimulator.BattleListener() {
+            public void onEvent( BattleEngine.Event event ) {
+                if( event.getType() == BattleEngine.Event.Type.DAMAGE_DEALT ) {
+                    int attacker = event.getSide() != side1 ? 0 : 1; //the Event is about the Pokemon that was hit
+                    damage[ attacker ] += event.getAmount();
+                    hits[ attacker ] += event.getHits();
+                    criticals[ attacker ] += event.getCriticalHits();
+                } else if( event.getType() == BattleEngine.Event.Type.MOVE_MISSED ) {
+                    misses[ event.getSide() == side1 ? 0 : 1 ]++;
+                }
+            }
+        } );
+
+        BattleEngine.Side winnerSide = engine.getWinner();
+        int winner = winnerSide == null ? 0 : winnerSide == side1 ? 1 : 2;
+        counts[ winner == 0 ? 2 : winner - 1 ]++;
+        counts[3] += engine.getTurnNumber();
+
+        int hp1 = 0, hp2 = 0;
+        for( PokemonActor pokemon : team1 )
+            hp1 += pokemon.getCurrentHP();
+        for( PokemonActor pokemon : team2 )
+            hp2 += pokemon.getCurrentHP();
+
+        String first = names[ options.firsts.get( matchup ) ], second = names[ options.seconds.get( matchup ) ];
+        if( options.format == Format.JSONL ) {
+            text.append( "{\"matchup\":" ).append( matchup ).append( ",\"battle\":" ).append( battle )
+                .append( ",\"first\":\"" ).append( first ).append( "\",\"second\":\"" ).append( second )
+                .append( "\",\"starter\":" ).append( starter ).append( ",\"winner\":" ).append( winner )
+                .append( ",\"turns\":" ).append( engine.getTurnNumber() )
+                .append( ",\"damage1\":" ).append( damage[0] ).append( ",\"damage2\":" ).append( damage[1] )
+                .append( ",\"hits1\":" ).append( hits[0] ).append( ",\"hits2\":" ).append( hits[1] )
+                .append( ",\"criticals1\":" ).append( criticals[0] ).append( ",\"criticals2\":" ).append( criticals[1] )
+                .append( ",\"misses1\":" ).append( misses[0] ).append( ",\"misses2\":" ).append( misses[1] )
+                .append( ",\"hp1\":" ).append( hp1 ).append( ",\"hp2\":" ).append( hp2 )
+                .append( "}\n" );
+        } else if( options.format == Format.CSV ) {
+            text.append( matchup ).append( ',' ).append( battle ).append( ',' ).append( first ).append( ',' )
+                .append( second ).append( ',' ).append( starter ).append( ',' ).append( winner ).append( ',' )
+                .append( engine.getTurnNumber() ).append( ',' ).append( damage[0] ).append( ',' ).append( damage[1] )
+                .append( ',' ).append( hits[0] ).append( ',' ).append( hits[1] ).append( ',' ).append( criticals[0] )
+                .append( ',' ).append( criticals[1] ).append( ',' ).append( misses[0] ).append( ',' )
+                .append( misses[1] ).append( ',' ).append( hp1 ).append( ',' ).append( hp2 ).append( '\n' );
+        }
+    }
+
+    /**
+     * Gets the text of the command line options
+     *
+     * @return String The usage text
+     */
+    private static String usage() {
+        return "Usage: java -cp greenfoot.jar:. BattleCLI [options]\n" +
+               "  --pokemon A,B,...   PokemonActor classes; every pair of them battles (default: every class found)\n" +
+               "  --matchup A:B       A matchup to run (may be given more than once)\n" +
+               "  --battles N         Battles of each matchup (default " + DEFAULT_BATTLES + ")\n" +
+               "  --seed S            Seed of the batch (default " + DEFAULT_SEED + ")\n" +
+               "  --threads T         Number of threads (default: the number of cores)\n" +
+               "  --team-size N       Pokemon of each side, 1 to " + BattleEngine.MAX_TEAM_SIZE + " (default 1)\n" +
+               "  --format F          jsonl, csv, or none (default jsonl)\n" +
+               "  --output FILE       File to write the results to (default: standard output)\n" +
+               "  --self-check        Runs the checks of the headless battle code instead of a batch\n" +
+               "  --help              Prints this text";
+    }
+
+    /**
+     * Runs the checks of the headless battle code, which has no test classes: logs of battles with every kind of Move
+     * must replay exactly, and the damage forecasts must match the damage that the BattleEngine deals. Every check
+     * runs, even after one fails. Failures are printed to standard error
+     *
+     * @return boolean True if every check passes, false otherwise
+     * @see BattleLog.selfCheck()
+     * @see DamageCalculator.selfCheck()
+     */
+    public static boolean selfCheck() {
+        boolean isPassed = BattleLog.selfCheck();
+        isPassed &= DamageCalculator.selfCheck();
+        return isPassed;
+    }
+
+    /**
+     * The options of a batch, read from the command line. The matchups are kept as the indexes of their two classes
+     * in the list of class names
+     */
+    public static class Options {
+
+        private final ArrayList<String> classNames = new ArrayList<String>();
+        private final ArrayList<Integer> firsts = new ArrayList<Integer>(), seconds = new ArrayList<Integer>();
+        private int battles = DEFAULT_BATTLES;
+        private long seed = DEFAULT_SEED;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int teamSize = 1;
+        private Format format = Format.JSONL;
+        private String output = null;
+        private boolean isHelp = false;
+        private boolean isSelfCheck = false;
+
+        /**
+         * Reads the options from the command line. If neither --pokemon nor --matchup is given, every PokemonActor
+         * class on the classpath battles every other one
+         *
+         * @param args The command line options
+         * @return Options The options
+         * @throws IllegalArgumentException If an option is unknown, is missing its value, or has a bad value
+         * @see Tournament.discoverEntrants()
+         */
+        public static Options parse( String[] args ) {
+            Options options = new Options();
+            ArrayList<String> roster = new ArrayList<String>();
+            for( int i = 0; i < args.length; i++ ) {
+                String arg = args[i];
+                if( arg.equals("--help") || arg.equals("-h") ) {
+                    options.isHelp = true;
+                    continue;
+                }
+                if( arg.equals("--self-check") ) {
+                    options.isSelfCheck = true;
+                    continue;
+                }
+                if( i + 1 >= args.length ) throw new IllegalArgumentException( "Missing the value of " + arg );
+
+                String value = args[ ++i ];
+                try {
+                    if(      arg.equals("--pokemon") ) {
+                        for( String name : value.split(",") )
+                            if( !name.trim().isEmpty() ) roster.add( name.trim() );
+                    } else if( arg.equals("--matchup") ) {
+                        String[] pair = value.split(":");
+                        if( pair.length != 2 ) throw new IllegalArgumentException( "A matchup looks like A:B, not " + value );
+                        options.addMatchup( pair[0].trim(), pair[1].trim() );
+                    }
+                    else if( arg.equals("--battles") ) options.battles = Integer.parseInt( value );
+                    else if( arg.equals("--seed") )    options.seed = Long.parseLong( value );
+                    else if( arg.equals("--threads") ) options.threads = Integer.parseInt( value );
+                    else if( arg.equals("--team-size") ) options.teamSize = Integer.parseInt( value );
+                    else if( arg.equals("--format") )  options.format = Format.valueOf( value.toUpperCase() );
+                    else if( arg.equals("--output") )  options.output = value;
+                    else throw new IllegalArgumentException( "Unknown option " + arg );
+                } catch( NumberFormatException e ) {
+                    throw new IllegalArgumentException( "Bad number for " + arg + ": " + value );
+                }
+            }
+            if( options.battles < 1 || options.threads < 1 )
+                throw new IllegalArgumentException( "--battles and --threads must be at least 1" );
+            if( options.teamSize < 1 || options.teamSize > BattleEngine.MAX_TEAM_SIZE )
+                throw new IllegalArgumentException( "--team-size must be from 1 to " + BattleEngine.MAX_TEAM_SIZE );
+
+            if( roster.isEmpty() && options.firsts.isEmpty() )
+                for( BattleSimulator.Build build : Tournament.discoverEntrants() )
+                    roster.add( build.toString() );
+            if( roster.size() == 1 ) options.addMatchup( roster.get(0), roster.get(0) );
+            for( int i = 0; i < roster.size(); i++ )
+                for( int j = i + 1; j < roster.size(); j++ )
+                    options.addMatchup( roster.get(i), roster.get(j) );
+
+            if( options.firsts.isEmpty() && !options.isHelp && !options.isSelfCheck )
+                throw new IllegalArgumentException( "No Pokemon to battle" );
+            return options;
+        }
+
+        /**
+         * Adds a matchup between two classes, adding the classes to the list of class names if they are new
+         *
+         * @param first The class name of the first Pokemon
+         * @param second The class name of the second Pokemon
+         */
+        private void addMatchup( String first, String second ) {
+            if( !classNames.contains( first ) )  classNames.add( first );
+            if( !classNames.contains( second ) ) classNames.add( second );
+            firsts.add( classNames.indexOf( first ) );
+            seconds.add( classNames.indexOf( second ) );
+        }
+
+        public int getBattles()    { return battles; }
+        public long getSeed()      { return seed; }
+        public int getThreads()    { return threads; }
+        public int getTeamSize()   { return teamSize; }
+        public Format getFormat()  { return format; }
+        public int getMatchupCount() { return firsts.size(); }
+    }
+
+    /**
+     * The wins, draws, and turns of every matchup of a batch, and the time the batch took
+     */
+    public static class Totals {
+
+        private final Options options;
+        private final String[] names;
+        private final long[][] counts; //per matchup: wins of the first Pokemon, wins of the second, draws, turns
+        private long elapsedNanos;
+        private boolean isFailed = false;
+
+        /**
+         * Create empty totals for the matchups of the options
+         *
+         * @param options The options of the batch
+         * @param names The class names, in the order of the indexes of the matchups
+         */
+        private Totals( Options options, String[] names ) {
+            this.options = options;
+            this.names = names;
+            this.counts = new long[ options.firsts.size() ][4];
+        }
+
+        /**
+         * Gets the number of battles that were played
+         *
+         * @return long The number of battles
+         */
+        public long getBattles() {
+            long battles = 0;
+            for( long[] matchup : counts )
+                battles += matchup[0] + matchup[1] + matchup[2];
+            return battles;
+        }
+
+        /**
+         * Gets the number of battles played each second, over the whole batch (including writing the lines)
+         *
+         * @return double The battles per second
+         */
+        public double getBattlesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : getBattles() * 1e9 / elapsedNanos;
+        }
+
+        public long getElapsedNanos() { return elapsedNanos; }
+        public boolean isFailed()     { return isFailed; }
+
+        /**
+         * Gets the totals as text: one line for each matchup with its wins, win rate, confidence interval, and mean
+         * turns, then the throughput of the batch
+         *
+         * @return String The totals
+         * @see BattleSimulator.getWilsonInterval( long wins, long battles )
+         */
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for( int m = 0; m < counts.length; m++ ) {
+                long[] c = counts[m];
+                long battles = c[0] + c[1] + c[2];
+                double[] interval = BattleSimulator.getWilsonInterval( c[0], battles );
+                text.append( String.format( "%s vs %s: %d-%d-%d, win rate %.4f (95%% CI %.4f - %.4f), mean turns %.2f%n",
+                                            names[ options.firsts.get(m) ], names[ options.seconds.get(m) ],
+                                            c[0], c[1], c[2], battles == 0 ? 0.0 : (double)c[0] / battles,
+                                            interval[0], interval[1], battles == 0 ? 0.0 : (double)c[3] / battles ) );
+            }
+            text.append( String.format( "%d battles in %.3f s on %d threads: %.0f battles/sec%s",
+                                        getBattles(), elapsedNanos / 1e9, options.threads, getBattlesPerSecond(),
+                                        isFailed ? " (some battles failed)" : "" ) );
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,1763 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BattleEngine.java
+ *
+ * Runs the rules of a battle between two Pokemon, without anything on the screen. The engine has an explicit state
+ * (whose turn it is, and whether the battle is waiting for an action, waiting to award exp, or over), takes Actions
+ * through apply( Action action ), and returns the Events that happened because of that Action. PokeBattle renders these
+ * Events as text and images, but the engine can be run just as well with no world at all, which lets battles be run
+ * much faster than a person can press enter.
+ *
+ * The attack sequence, item use, and exp awarding were moved here from PokeBattle. The rules themselves (the damage
+ * formula, the item requirements, and the item effects) are unchanged. The special properties of each Move (status
+ * effects, stat changes, drain, recoil, fixed damage) are compiled once by MoveEffects, and run during the attack
+ * sequence. Items are compiled once by ItemEffects in the same way.
+ *
+ * Turns are taken in rounds: both Pokemon act once per round, and the faster Pokemon (by current speed) acts first.
+ * If both Pokemon are as fast, the PokeRandom of the battle decides, so battles with the same seed and Actions are
+ * still the same. Actions are still applied one at a time, so the Pokemon whose turn it is can see what the other
+ * Pokemon did earlier in the round. Moves that hit several times in one turn (DOUBLE KICK, FURY SWIPES) deal every hit
+ * in one attack, and add the hits up into one DAMAGE_DEALT Event.
+ *
+ * Statuses and the conditions that Moves leave behind (traps, LEECH SEED, REFLECT, LIGHT SCREEN) are run by the
+ * StatusEngine of the battle. It decides whether a Pokemon can move at the start of its turn, and deals the damage over
+ * time and ends the conditions that run out at the end of its turn. Using an Item ends the turn in the same way.
+ *
+ * Each Side brings a team of up to MAX_TEAM_SIZE Pokemon, and one Pokemon of each team is active at a time. Instead of
+ * using a Move or an Item, the Pokemon whose turn it is can switch out for another Pokemon of its team that has not
+ * fainted, which uses up its turn (a bound Pokemon cannot switch out). When an active Pokemon faints and its team has
+ * Pokemon left, the battle waits in SWITCH_IN for that Side to switch one in, and then a new round starts. The battle
+ * is won once the other team has no Pokemon left. A battle between two single Pokemon is a battle between two teams of
+ * one, and plays out exactly as before. The teams are kept in one array per Side, and the active Pokemon as an index
+ * into it, so that a Snapshot of a team battle is only a few small arrays.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - MAX_TEAM_SIZE      : The most Pokemon that a team may have
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - teams              : The Pokemon of each Side, by Side
+ * - active             : The index of the active Pokemon of each Side, by Side
+ * - state              : The current State of the battle
+ * - currentSide        : The Side whose turn it is
+ * - isSecondInRound    : Whether the Side whose turn it is acts second in the current round
+ * - winner             : The Side that won the battle, or null if the battle is not over
+ * - turnNumber         : The number of actions that have ended a turn so far
+ *
+ * - lastDamage         : The damage done by the last Move used, or ERROR if no Move has been used yet
+ * - lastAttack         : The last Move that hit
+ * - isPhasedOut1       : Whether the first Pokemon is phased out (not yet used, see the @@FIX note in PokeBattle)
+ * - isPhasedOut2       : Whether the second Pokemon is phased out
+ * - struggle           : STRUGGLE, read from the moves file the first time a Pokemon runs out of PP
+ * - struggleState      : The values of STRUGGLE when it was read, put back each time it is used
+ *
+ * - listeners          : The Listeners that are told about every Event
+ * - random             : The PokeRandom for hits, critical hits, and random item stats
+ * - log                : The BattleLog that records the battle, or null
+ * - statuses           : The StatusEngine that runs the statuses and conditions of both Pokemon
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - State              : SELECT_ACTION, SWITCH_IN, AWARD_EXP, OVER
+ * - Side               : PLAYER_1, PLAYER_2
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - BattleEngine( PokemonActor first, PokemonActor second ) : Create a battle between the two Pokemon. The faster
+ *                                                             Pokemon attacks first
+ * - BattleEngine( PokemonActor first, PokemonActor second, PokeRandom random ) : Create a battle that uses the given
+ *                                                                                PokeRandom for every random decision
+ * - BattleEngine( PokemonActor[] firstTeam, PokemonActor[] secondTeam, PokeRandom random ) : Create a battle between
+ *                                                                                two teams of Pokemon
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - apply( Action action )          : Applies the Action to the battle and returns the Events that happened
+ * - getLegalActions()               : Gets the Actions that may be applied in the current State
+ * - addListener( Listener listener ) : Adds a Listener that is told about every Event
+ * - removeListener( Listener listener ) : Removes the Listener
+ * - setLog( BattleLog log ), getLog() : Sets or gets the BattleLog that records every Action and Event
+ *
+ * - getState(), getCurrentSide(), getWinner(), getTurnNumber(), isOver() : Gets the state of the battle
+ * - isSecondInRound()               : Determines whether the Side whose turn it is acts second in the current round
+ * - getPokemon( Side side )         : Gets the active Pokemon of the Side
+ * - getTeam( Side side ), getTeamSize( Side side ), getTeamPokemon( Side side, int slot ) : Gets the team of the Side
+ * - getActiveSlot( Side side )      : Gets the index of the active Pokemon in the team of the Side
+ * - hasPokemonLeft( Side side )     : Determines whether the team of the Side has a Pokemon that has not fainted
+ * - getCurrentPokemon()             : Gets the Pokemon whose turn it is (the attacking Pokemon)
+ * - getOtherPokemon()               : Gets the Pokemon whose turn it is not (the defending Pokemon)
+ * - getLastDamage(), getLastAttack() : Gets the damage done by the last Move used, and the last Move that hit
+ * - getRandom()                     : Gets the PokeRandom of the battle
+ * - getStatuses()                   : Gets the StatusEngine of the battle
+ * - getBaseDamage( int level, int power, int attack, int defense ) : Gets the damage of a Move before screens,
+ *                                   critical hits, and effectiveness
+ * - getCriticalMultiplier( int level ) : Gets the number that a critical hit multiplies the damage by
+ * - getChanceToHit( int moveAccuracy, int accuracy, int evasion ) : Gets the chance that a Move hits
+ * - saveState(), restoreState( Snapshot snapshot ) : Saves the state of the battle and both Pokemon, and puts it back
+ *                                   (Snapshot.withCopiedItems() copies a Snapshot for a copy of the battle)
+ * - saveState( Snapshot base )      : Saves the state, sharing everything that has not changed since base
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - useMove( int moveIndex, List<Event> events ) : The attack sequence
+ * - endTurn( List<Event> events )  : Runs the end of turn conditions, then ends the turn, or the battle if a Pokemon
+ *                                   fainted
+ * - determineIfHit( double chanceToHit ) : Determines whether a Move will hit based on the chance to hit
+ * - awardExp( List<Event> events )  : Awards exp to the winner and ends the battle
+ * - useItem( Item item, int moveIndex, List<Event> events ) : Uses the item, if its requirements are met
+ * - switchIn( int slot, List<Event> events ) : Switches the active Pokemon of the current Side for another of its team
+ * - canSwitchTo( int slot )         : Determines whether the current Side may switch to the Pokemon of its team
+ * - switchTurn( List<Event> events ) : Gives the turn to the other Side, or starts the next round
+ * - getFasterSide()                 : Gets the Side that acts first in a round
+ * - emit( List<Event> events, Event event ) : Adds the Event to the list and tells the Listeners about it
+ * - getSide( PokemonActor pokemon ) : Gets the Side whose team the Pokemon is on
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Action                  : Something that the Pokemon whose turn it is can do (use a Move, use an Item, run, switch)
+ *                             or continuing the battle once a Pokemon has fainted
+ * - Event                   : Something that happened during the battle
+ * - Listener                : Is told about every Event
+ * - Snapshot                : The state of a battle and of every Pokemon of both teams, saved by saveState()
+ * - Hit                     : One use of a Move, which the effects of the Move (see MoveEffects) work on
+ * - InvalidActionException  : Thrown when an Action cannot be applied in the current State
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokeBattle.java
+ * @see PokemonActor.java
+ * @see Move.java
+ * @see Item.java
+ * @see BattleLog.java
+ * @see MoveEffects.java
+ * @see ItemEffects.java
+ * @see StatusEngine.java
+ */
+public class BattleEngine {
+
+    public static final int MAX_TEAM_SIZE = 6;
+
+    /**
+     * The state of the battle. SELECT_ACTION waits for the Pokemon whose turn it is to act, SWITCH_IN waits for the
+     * current Side to switch in a Pokemon for its active Pokemon that fainted, AWARD_EXP waits for a CONTINUE Action
+     * after the last Pokemon of a team has fainted, and OVER means that exp has been awarded and the battle has ended
+     */
+    public enum State {
+        SELECT_ACTION, SWITCH_IN, AWARD_EXP, OVER;
+    }
+
+    /**
+     * The two sides of the battle. PLAYER_1 is the first Pokemon (or team), and PLAYER_2 is the second Pokemon
+     */
+    public enum Side {
+        PLAYER_1, PLAYER_2;
+
+        /**
+         * Gets the other Side
+         *
+         * @return Side The other Side
+         */
+        public Side other() {
+            return this == PLAYER_1 ? PLAYER_2 : PLAYER_1;
+        }
+    }
+
+    private final PokemonActor[][] teams;
+    private final int[] active = new int[2];
+    private State state       = State.SELECT_ACTION;
+    private Side currentSide  = Side.PLAYER_1;
+    private boolean isSecondInRound = false;
+    private Side winner       = null;
+    private int turnNumber    = 0;
+
+    //Variables to keep track of attacking special effects
+    private double lastDamage = (double)PokeWorld.ERROR;
+    private Move lastAttack   = null;
+    private boolean isPhasedOut1 = false;
+    private boolean isPhasedOut2 = false;
+
+    //STRUGGLE is read from the moves file once, and put back to its saved values each time it is used
+    private Move struggle       = null;
+    private int[] struggleState = null;
+
+    private final ArrayList<Listener> listeners = new ArrayList<Listener>();
+    private final PokeRandom random;
+    private BattleLog log = null;
+    private final StatusEngine statuses;
+
+    /**
+     * Create a battle between the two Pokemon. The faster Pokemon attacks first. The battle gets its own PokeRandom
+     * from PokeRandom.create()
+     *
+     * @param first The first Pokemon
+     * @param second The second Pokemon
+     */
+    public BattleEngine( PokemonActor first, PokemonActor second ) {
+        this( first, second, PokeRandom.create() );
+    }
+
+    /**
+     * Create a battle between the two Pokemon that uses the given PokeRandom for every random decision. Battles
+     * that are given PokeRandoms with the same seed, and the same Actions, play out the same way
+     *
+     * @param first The first Pokemon
+     * @param second The second Pokemon
+     * @param random The PokeRandom for hits, critical hits, random item stats, and speed ties
+     * @see getFasterSide()
+     */
+    public BattleEngine( PokemonActor first, PokemonActor second, PokeRandom random ) {
+        this( new PokemonActor[]{ first }, new PokemonActor[]{ second }, random );
+    }
+
+    /**
+     * Create a battle between two teams of Pokemon that uses the given PokeRandom for every random decision. The first
+     * Pokemon of each team is active, and the faster of the two attacks first
+     *
+     * @param firstTeam The Pokemon of the first team, from 1 to MAX_TEAM_SIZE of them
+     * @param secondTeam The Pokemon of the second team, from 1 to MAX_TEAM_SIZE of them
+     * @param random The PokeRandom for hits, critical hits, random item stats, and speed ties
+     * @throws IllegalArgumentException If a team is empty or has more than MAX_TEAM_SIZE Pokemon
+     */
+    public BattleEngine( PokemonActor[] firstTeam, PokemonActor[] secondTeam, PokeRandom random ) {
+        if( firstTeam.length < 1 || firstTeam.length > MAX_TEAM_SIZE || secondTeam.length < 1 ||
+            secondTeam.length > MAX_TEAM_SIZE )
+            throw new IllegalArgumentException( "Error: A team must have from 1 to " + MAX_TEAM_SIZE + " Pokemon." );
+
+        this.teams = new PokemonActor[][]{ firstTeam.clone(), secondTeam.clone() };
+        this.random = random;
+        this.statuses = new StatusEngine( teams );
+        this.currentSide = getFasterSide();
+    }
+
+    /**
+     * Applies the Action to the battle and returns the Events that happened because of it, in order
+     *
+     * @param action The Action to apply
+     * @return List<Event> The Events that happened
+     * @throws InvalidActionException If the Action cannot be applied in the current State
+     * @see useMove( int moveIndex, List<Event> events )
+     * @see useItem( Item item, int moveIndex, List<Event> events )
+     * @see awardExp( List<Event> events )
+     */
+    public List<Event> apply( Action action ) throws InvalidActionException {
+        ArrayList<Event> events = new ArrayList<Event>();
+        Action.Type type = action.getType();
+
+        if( state == State.OVER )
+            throw new InvalidActionException( "Error: The battle is over, so " + type + " cannot be applied." );
+        if( (state == State.AWARD_EXP) != (type == Action.Type.CONTINUE) ||
+            (state == State.SWITCH_IN && type != Action.Type.SWITCH) )
+            throw new InvalidActionException( "Error: " + type + " cannot be applied during " + state + "." );
+        if( type == Action.Type.SWITCH && !canSwitchTo( action.getSlot() ) )
+            throw new InvalidActionException( "Error: " + getCurrentSide() + " cannot switch to " + action.getSlot() + "." );
+
+        if( log != null )
+            log.writeAction( action, getCurrentPokemon(), getOtherPokemon() );
+
+        switch( type ) {
+            case USE_MOVE:
+                useMove( action.getMoveIndex(), events );
+                break;
+            case USE_ITEM:
+                useItem( action.getItem(), action.getMoveIndex(), events );
+                break;
+            case RUN:
+                emit( events, new Event( Event.Type.RUN_FAILED, getCurrentPokemon() ) );
+                break;
+            case CONTINUE:
+                awardExp( events );
+                break;
+            case SWITCH:
+                switchIn( action.getSlot(), events );
+                break;
+        }
+
+        return events;
+    }
+
+    /**
+     * Gets the Actions that may be applied in the current State. Each Move is listed once, and each Item is listed once
+     * (Items that affect a chosen Move use the Pokemon's first Move), followed by a switch to each Pokemon of the team
+     * that may be switched in
+     *
+     * @return List<Action> The Actions that may be applied
+     */
+    public List<Action> getLegalActions() {
+        ArrayList<Action> actions = new ArrayList<Action>();
+        if( state == State.AWARD_EXP ) {
+            actions.add( Action.proceed() );
+        } else if( state == State.SELECT_ACTION ) {
+            PokemonActor pokemon = getCurrentPokemon();
+            for( int i = 0; i < pokemon.getMoves().size(); i++ )
+                actions.add( Action.useMove( i ) );
+            for( Item item : pokemon.getItems() )
+                actions.add( item.getChooseMove() ? Action.useItem( item, 0 ) : Action.useItem( item ) );
+        }
+        if( state == State.SELECT_ACTION || state == State.SWITCH_IN ) {
+            for( int slot = 0; slot < teams[ currentSide.ordinal() ].length; slot++ )
+                if( canSwitchTo( slot ) ) actions.add( Action.switchTo( slot ) );
+        }
+
+        return actions;
+    }
+
+    /**
+     * Launch the attack sequence. The attack sequence includes the following:
+     *
+     * 1) Check whether the status of the Attacking Pokemon lets it move (sleep, freeze, paralysis, traps, confusion)
+     * 2) Use STRUGGLE if the Move has no PP left, and announce the Move
+     * 3) Subtract move PP
+     * 4) Get move power and accuracy. Get Attacking Pokemon current (for all) attack
+     *    or special attack, accuracy, and level. Get Defending Pokemon current (for all)
+     *    defense or special defense, and evasion. Get effectiveness based on Pokemon types
+     * 5) Run the BEFORE_ATTACK effects of the Move, then calculate damage / determine if hit. The screens of the
+     *    Defending Pokemon reduce the damage
+     * 6) Run the DAMAGE effects of the Move, which may replace the damage with a fixed damage
+     * 7) Deal the extra hits of a Move that hits several times in one turn, and add them up
+     * 8) Set damage inflicted by adjusting defender Pokemon HP, then run the AFTER_HIT effects of the Move
+     *    (status effects, stat changes, drain, recoil)
+     * 9) Either a Pokemon faints, or it becomes the next Pokemon's turn
+     *
+     * @param moveIndex The index of the Move to use, or ERROR to use the Pokemon's current Move
+     * @param events The list to add the Events to
+     * @see apply( Action action )
+     * @see Pokedex.getEffectiveness( String attackType, String defendingPokemonType )
+     * @see determineIfHit( double chanceToHit )
+     * @see MoveEffects.Program.run( MoveEffects.Stage stage, Hit hit )
+     * @see MoveEffects.Program.rollHits( PokeRandom random )
+     * @see StatusEngine.canMove( Hit hit )
+     * @see endTurn( List<Event> events )
+     */
+    private void useMove( int moveIndex, List<Event> events ) {
+        PokemonActor pokemon = getCurrentPokemon();       //Attacking Pokemon
+        PokemonActor otherPokemon = getOtherPokemon();    //Defending Pokemon
+
+        if( moveIndex != PokeWorld.ERROR )
+            pokemon.setCurrentMove( pokemon.getMoves().get( moveIndex ) );
+
+        //1) Check whether the status of the Attacking Pokemon lets it move
+        if( !statuses.canMove( new Hit( pokemon, otherPokemon, null, events ) ) ) {
+            this.lastDamage = 0.0;
+            endTurn( events );
+            return;
+        }
+
+        //2) Use STRUGGLE if the Move has no PP left, and announce the Move
+        if( pokemon.getCurrentMove().getCurrentPP() <= 0 ) {
+            if( struggle == null ) {
+                try {
+                    struggle = pokemon.getPokedex().getMoveFromName("STRUGGLE");
+                    struggleState = struggle.saveState();
+                } catch( Pokedex.InvalidMovesFileException e ) {
+                    e.printStackTrace();
+                }
+            } else
+                struggle.restoreState( struggleState );
+            pokemon.setCurrentMove( struggle );
+            emit( events, new Event( Event.Type.NO_PP, pokemon ) );
+        }
+        Move move = pokemon.getCurrentMove();
+        Event used = new Event( Event.Type.MOVE_USED, pokemon );
+        used.move = move;
+        emit( events, used );
+
+        //3) Subtract move PP
+        move.setCurrentPP( move.getCurrentPP() - 1 );
+
+        /* 4) Get move power and accuracy. Get Attacking Pokemon current (for all) attack
+         *    or special attack, accuracy, and level. Get Defending Pokemon current (for all)
+         *    defense or special defense, and evasion. Get effectiveness based on Pokemon types */
+        int movePower = move.getCurrentPower();
+        int moveAccuracy = move.getCurrentAccuracy();
+        Move.MoveType moveType = move.getType();
+        Move.MoveCategory moveCategory = move.getCategory();
+        int currentAttack;
+        int otherCurrentDefense;
+        if( moveCategory == Move.MoveCategory.PHYSICAL || moveCategory == Move.MoveCategory.STATUS ) {
+            currentAttack = pokemon.getCurrentAttack();
+            otherCurrentDefense = otherPokemon.getCurrentDefense();
+        } else { //MoveCategory.SPECIAL
+            currentAttack = pokemon.getSpecialAttack();
+            otherCurrentDefense = otherPokemon.getCurrentSpecialDefense();
+        }
+        int currentAccuracy = pokemon.getCurrentAccuracy();
+        int currentLevel = pokemon.getCurrentLevel();
+        int otherCurrentEvasion = otherPokemon.getCurrentEvasion();
+        double effectiveness = 1.0; //to be overwritten
+        try {
+            effectiveness = pokemon.getPokedex().getEffectiveness( moveType.name(), otherPokemon.getType() );
+        } catch( Pokedex.InvalidMoveException e ) {
+            e.printStackTrace();
+        }
+
+        //5) Run the BEFORE_ATTACK effects, then calculate damage / determine if hit
+        MoveEffects.Program effects = move.getEffects();
+        Hit hit = new Hit( pokemon, otherPokemon, move, events );
+        effects.run( MoveEffects.Stage.BEFORE_ATTACK, hit );
+
+        double chanceToHit = getChanceToHit( moveAccuracy, currentAccuracy, otherCurrentEvasion );
+        boolean moveHit = determineIfHit( chanceToHit ) && !hit.isMissed();
+
+        double damage = getBaseDamage( currentLevel, movePower, currentAttack, otherCurrentDefense );
+        damage *= statuses.getDamageMultiplier( otherPokemon, moveCategory );
+
+        double criticalMultiplier = getCriticalMultiplier( currentLevel );
+        double hitDamage = damage * effectiveness;
+        boolean hasCriticalHit = random.nextChance( hit.getCriticalHitRatio() );
+        if( hasCriticalHit )
+            damage *= criticalMultiplier;
+
+        if( !moveHit ) {
+            hit.miss();
+            effects.run( MoveEffects.Stage.ON_MISS, hit );
+            this.lastDamage = 0.0;
+            Event missed = new Event( Event.Type.MOVE_MISSED, pokemon );
+            missed.move = move;
+            emit( events, missed );
+            endTurn( events );
+            return;
+        }
+
+        //6) Run the DAMAGE effects. Fixed damage ignores type effectiveness and critical hits
+        hit.setDamage( damage * effectiveness );
+        effects.run( MoveEffects.Stage.DAMAGE, hit );
+        if( hit.isFixedDamage() ) {
+            effectiveness = Pokedex.REG_EFFECTIVE;
+            hasCriticalHit = false;
+        }
+
+        /* 7) Deal the extra hits of a Move that hits several times in one turn. Each extra hit rolls its own critical
+         *    hit, fixed damage is the same for every hit, and the hits stop once the defending Pokemon would faint */
+        int totalDamage = (int)hit.getDamage();
+        int hits = effects.rollHits( random );
+        int criticalHits = hasCriticalHit ? 1 : 0;
+        for( int i = 1; i < hits; i++ ) {
+            if( totalDamage >= otherPokemon.getCurrentHP() ) {
+                hits = i;
+                break;
+            }
+
+            if( hit.isFixedDamage() ) {
+                totalDamage += (int)hit.getDamage();
+            } else if( random.nextChance( hit.getCriticalHitRatio() ) ) {
+                totalDamage += (int)(hitDamage * criticalMultiplier);
+                criticalHits++;
+            } else
+                totalDamage += (int)hitDamage;
+        }
+
+        //8) Set damage inflicted by adjusting defender Pokemon HP, then run the AFTER_HIT effects
+        this.lastDamage = (double)totalDamage;
+        otherPokemon.setCurrentHP( otherPokemon.getCurrentHP() - totalDamage );
+        this.lastAttack = move;
+
+        if( moveCategory != Move.MoveCategory.STATUS ) {
+            Event dealt = new Event( Event.Type.DAMAGE_DEALT, otherPokemon );
+            dealt.move = move;
+            dealt.amount = totalDamage;
+            dealt.effectiveness = effectiveness;
+            dealt.isCritical = criticalHits > 0;
+            dealt.hits = hits;
+            dealt.criticalHits = criticalHits;
+            dealt.status = otherPokemon.getStatus();
+            emit( events, dealt );
+        }
+
+        hit.setDamage( totalDamage );
+        effects.run( MoveEffects.Stage.AFTER_HIT, hit );
+
+        //9) Either a Pokemon faints, or it becomes the next Pokemon's turn
+        endTurn( events );
+    }
+
+    /**
+     * Ends the turn of the attacking Pokemon. If neither Pokemon fainted, the StatusEngine deals the damage over time
+     * of the attacking Pokemon and ends its conditions that run out. Then, if the defending Pokemon fainted and was the
+     * last Pokemon of its team, the attacking Side wins. If the attacking Pokemon fainted (from recoil, from a Move like
+     * SELF-DESTRUCT, or from a status) and was the last of its team, the defending Side wins. If a Pokemon fainted and
+     * its team has Pokemon left, its Side must switch one in (the defending Side first, if both fainted). Otherwise it
+     * becomes the next Pokemon's turn
+     *
+     * @param events The list to add the Events to
+     * @see useMove( int moveIndex, List<Event> events )
+     * @see StatusEngine.endTurn( Hit hit )
+     */
+    private void endTurn( List<Event> events ) {
+        PokemonActor pokemon = getCurrentPokemon();
+        PokemonActor otherPokemon = getOtherPokemon();
+        if( pokemon.getStatus() != PokemonActor.Status.FAINTED && otherPokemon.getStatus() != PokemonActor.Status.FAINTED )
+            statuses.endTurn( new Hit( pokemon, otherPokemon, null, events ) );
+
+        boolean isFainted = pokemon.getStatus() == PokemonActor.Status.FAINTED;
+        boolean isOtherFainted = otherPokemon.getStatus() == PokemonActor.Status.FAINTED;
+        if( !isFainted && !isOtherFainted ) {
+            switchTurn( events );
+            return;
+        }
+
+        turnNumber++;
+        if( isOtherFainted ) {
+            emit( events, new Event( Event.Type.FAINTED, otherPokemon ) );
+            if( !hasPokemonLeft( currentSide.other() ) ) {
+                winner = currentSide;
+                state = State.AWARD_EXP;
+                return;
+            }
+        }
+        if( isFainted ) {
+            emit( events, new Event( Event.Type.FAINTED, pokemon ) );
+            if( !hasPokemonLeft( currentSide ) ) {
+                winner = currentSide.other();
+                state = State.AWARD_EXP;
+                return;
+            }
+        }
+
+        //Both teams have Pokemon left, so the Side of a fainted Pokemon switches one in
+        state = State.SWITCH_IN;
+        if( isOtherFainted ) currentSide = currentSide.other();
+        isSecondInRound = false;
+    }
+
+    /**
+     * Gets the damage of a Move before the screens of the defending Pokemon, critical hits, and type effectiveness. The
+     * DamageCalculator uses this too, so that its forecasts follow the attack sequence
+     *
+     * @param level The current level of the attacking Pokemon
+     * @param power The current power of the Move
+     * @param attack The attack (or special attack) of the attacking Pokemon
+     * @param defense The current defense (or special defense) of the defending Pokemon
+     * @return double The damage, which is not yet a whole number
+     * @see useMove( int moveIndex, List<Event> events )
+     */
+    public static double getBaseDamage( int level, int power, int attack, int defense ) {
+        return ( ( ((((2.0)*level)/5.0) + 2.0) * (double)power * (((double)attack)/((double)defense)) )/50.0) + 2.0;
+    }
+
+    /**
+     * Gets the number that a critical hit multiplies the damage by: (2 * level + 5)/(level + 5), with whole numbers.
+     * This is always 1, so critical hits never change the damage in this game
+     *
+     * @param level The current level of the attacking Pokemon
+     * @return double The multiplier
+     */
+    public static double getCriticalMultiplier( int level ) {
+        return (2*level + 5)/(level + 5);
+    }
+
+    /**
+     * Gets the chance that a Move hits. Moves with an accuracy of NA (most STATUS Moves) never miss. The chance may be
+     * more than 1.0, which always hits
+     *
+     * @param moveAccuracy The current accuracy of the Move, or NA (ERROR)
+     * @param accuracy The current accuracy of the attacking Pokemon
+     * @param evasion The current evasion of the defending Pokemon
+     * @return double The chance to hit, which is given to PokeRandom.nextChance()
+     * @see determineIfHit( double chanceToHit )
+     */
+    public static double getChanceToHit( int moveAccuracy, int accuracy, int evasion ) {
+        return moveAccuracy < 0 ? 1.0 : (moveAccuracy * ((double)accuracy)/((double)evasion))/100.0;
+    }
+
+    /**
+     * Determines whether a Move will hit based on the chance to hit. Any chance
+     * to hit that is greater than 1.0 will hit
+     *
+     * @param chanceToHit The calculated chance of the Move to hit
+     * @return boolean True of the Move will hit, false otherwise
+     * @see PokeRandom.nextChance( double chance )
+     */
+    private boolean determineIfHit( double chanceToHit ) {
+        return random.nextChance( chanceToHit );
+    }
+
+    /**
+     * Awards exp to the winner, assesses levels, and ends the battle
+     *
+     * @param events The list to add the Events to
+     * @see apply( Action action )
+     * @see Pokedex.getExperienceFromBattle( PokemonActor winner, PokemonActor loser )
+     * @see PokemonActor.addExp( int exp )
+     */
+    private void awardExp( List<Event> events ) {
+        PokemonActor pokemon = getPokemon( winner );
+        PokemonActor otherPokemon = getPokemon( winner.other() );
+        int expGained = pokemon.getPokedex().getExperienceFromBattle( pokemon, otherPokemon );
+        Event gained = new Event( Event.Type.EXP_GAINED, pokemon );
+        gained.amount = expGained;
+        emit( events, gained );
+
+        boolean leveledUp = pokemon.addExp( expGained );
+        if( leveledUp ) {
+            Event levelUp = new Event( Event.Type.LEVEL_UP, pokemon );
+            levelUp.amount = pokemon.getCurrentLevel();
+            emit( events, levelUp );
+        }
+
+        pokemon.setTotalWins( pokemon.getTotalWins() + 1 );
+
+        state = State.OVER;
+        emit( events, new Event( Event.Type.BATTLE_WON, pokemon ) );
+    }
+
+    /**
+     * Uses the item on the Pokemon whose turn it is, or on the other Pokemon, depending on the item. If the item's
+     * requirements are not met, the item is not used and the turn does not change. The item's properties were compiled
+     * when it was made (see ItemEffects), so this only runs its Program. Using an item ends the turn like a Move does
+     *
+     * @param item The item to use
+     * @param moveIndex The index of the Move that the item affects, or ERROR to use the Pokemon's current Move
+     * @param events The list to add the Events to
+     * @see apply( Action action )
+     * @see ItemEffects.Program.apply( int index, PokemonActor pokemon, PokeRandom random )
+     * @see ItemEffects.getValue( PokemonActor pokemon, int property, boolean isCurrent )
+     */
+    private void useItem( Item item, int moveIndex, List<Event> events ) {
+        PokemonActor currentPokemon = getCurrentPokemon();
+        currentPokemon.setCurrentItem( item );
+        if( moveIndex != PokeWorld.ERROR )
+            currentPokemon.setCurrentMove( currentPokemon.getMoves().get( moveIndex ) );
+
+        ItemEffects.Program effects = item.getEffects();
+
+        /*Check boolean requirements. If not met, do not use item, and tell that the item could not be used */
+        boolean affectThis = item.getAffectThis();
+        int reqHPX = item.getReqHPX();
+        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
+        double HPRatio = (double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP();
+
+        //See if Item doesn't meet requirements
+        boolean affectsAllMoves = item.getAffectsAllMoves();
+        if( !affectsAllMoves && effects.hasMoveRequirement() &&
+            ( !effects.matches( affectedPokemon.getCurrentMove() ) ||
+              ( reqHPX == 1 && HPRatio > 0.33 ) || ( reqHPX == 2 && HPRatio >= 0.5 ) || ( reqHPX == 3 && HPRatio <= 0.5 ) ||
+              ( reqHPX == 4 && HPRatio < 0.66 ) || ( reqHPX == 5 && HPRatio <= 0.99 ) ) ) {
+            Event rejected = new Event( Event.Type.ITEM_REJECTED, affectedPokemon );
+            rejected.item = item;
+            emit( events, rejected );
+
+            //@@QUESTION - Don't switch turn if Item doesn't meet requirements for use?
+            return;
+        }
+
+        Event used = new Event( Event.Type.ITEM_USED, currentPokemon );
+        used.item = item;
+        emit( events, used );
+
+        //Save old values before using item
+        boolean affectCurrent = item.getAffectCurrent();
+        int oldLevel = affectedPokemon.getCurrentLevel();
+        Pokemon.Status oldStatus = currentPokemon.getStatus();
+        ArrayList<Event> changes = new ArrayList<Event>();
+
+        //Change stats of Pokemon / opponent
+        for( int i = 0; i < effects.size(); i++ ) {
+            int property = effects.getProperty( i );
+            Event change = new Event( Event.Type.STAT_CHANGED, affectedPokemon );
+            change.propertyName = Item.PROPERTY_NAMES[ property ];
+            change.isPermanent  = !affectCurrent;
+            change.move         = affectedPokemon.getCurrentMove();
+            change.oldValue     = ItemEffects.getValue( affectedPokemon, property, affectCurrent );
+
+            effects.apply( i, affectedPokemon, random );
+
+            change.newValue     = ItemEffects.getValue( affectedPokemon, property, affectCurrent );
+            changes.add( change );
+        }
+
+        //Change Status of Pokemon, if Item heals Status
+        PokemonActor.Status healedStatus = effects.getHealedStatus();
+        if( item.getHealStatus() || (healedStatus != null && currentPokemon.getStatus() == healedStatus) )
+            currentPokemon.setStatus( Pokemon.Status.NORMAL );
+
+        //Change quantities if Item has been used, or remove item
+        boolean oneTimeUse = item.getOneTimeUse();
+        if( oneTimeUse )
+            currentPokemon.removeItem( item );
+
+        //Only single stat changes are told one by one. Items that change many stats are summed up instead
+        boolean affectsAllStats       = item.getAffectsAllStats();
+        boolean restoresLoweredStats  = item.getRestoresLoweredStats();
+        boolean affectValuesOnLevelUp = item.getAffectValuesOnLevelUp();
+        if( !affectsAllStats && !affectsAllMoves && !restoresLoweredStats && !affectValuesOnLevelUp ) {
+            for( Event change : changes )
+                emit( events, change );
+        }
+
+        int newLevel = affectedPokemon.getCurrentLevel();
+        if( newLevel != oldLevel ) {
+            Event levelUp = new Event( Event.Type.LEVEL_UP, affectedPokemon );
+            levelUp.amount = newLevel;
+            emit( events, levelUp );
+        }
+
+        if( affectsAllStats )      emit( events, new Event( Event.Type.ALL_STATS_UP, affectedPokemon ) );
+        if( affectsAllMoves )      emit( events, new Event( Event.Type.MOVES_REPLENISHED, affectedPokemon ) );
+        if( restoresLoweredStats ) emit( events, new Event( Event.Type.LOWERED_STATS_RESTORED, affectedPokemon ) );
+        if( oldStatus != currentPokemon.getStatus() ) {
+            Event healed = new Event( Event.Type.STATUS_HEALED, currentPokemon );
+            healed.item = item;
+            healed.status = oldStatus;
+            emit( events, healed );
+        }
+
+        //End the turn when item is used
+        endTurn( events );
+    }
+
+    /**
+     * Switches the active Pokemon of the current Side for the Pokemon in the slot of its team. The Pokemon that is
+     * switched out loses the conditions that end when it leaves (see StatusEngine.switchOut). A switch during
+     * SELECT_ACTION uses up the turn. A switch during SWITCH_IN replaces a fainted Pokemon: if the active Pokemon of the
+     * other Side fainted too, the other Side switches next, and otherwise a new round starts with the faster Side
+     *
+     * @param slot The index of the Pokemon to switch in, which canSwitchTo( int slot ) allows
+     * @param events The list to add the Events to
+     * @see apply( Action action )
+     * @see StatusEngine.switchOut( Hit hit, PokemonActor pokemon )
+     */
+    private void switchIn( int slot, List<Event> events ) {
+        PokemonActor pokemon = getCurrentPokemon();
+        if( pokemon.getStatus() != PokemonActor.Status.FAINTED )
+            statuses.switchOut( new Hit( pokemon, getOtherPokemon(), null, events ), pokemon );
+
+        active[ currentSide.ordinal() ] = slot;
+        Event switched = new Event( Event.Type.SWITCHED, getCurrentPokemon() );
+        switched.amount = slot;
+        emit( events, switched );
+
+        if( state == State.SELECT_ACTION ) {
+            switchTurn( events );
+        } else if( getOtherPokemon().getStatus() == PokemonActor.Status.FAINTED ) {
+            currentSide = currentSide.other();
+        } else {
+            state = State.SELECT_ACTION;
+            currentSide = getFasterSide();
+            emit( events, new Event( Event.Type.TURN_CHANGED, getCurrentPokemon() ) );
+        }
+    }
+
+    /**
+     * Determines whether the current Side may switch to the Pokemon in the slot of its team: the Pokemon must not be
+     * active and must not have fainted, and during SELECT_ACTION the active Pokemon must not be bound
+     *
+     * @param slot The index of the Pokemon in the team
+     * @return boolean True if the Side may switch to the Pokemon, false otherwise
+     */
+    private boolean canSwitchTo( int slot ) {
+        PokemonActor[] team = teams[ currentSide.ordinal() ];
+        if( slot < 0 || slot >= team.length || slot == active[ currentSide.ordinal() ] ) return false;
+        if( team[ slot ].getStatus() == PokemonActor.Status.FAINTED ) return false;
+        if( state == State.SELECT_ACTION ) return getCurrentPokemon().getStatus() != PokemonActor.Status.BOUND;
+        return state == State.SWITCH_IN;
+    }
+
+    /**
+     * Gives the turn to the other Side if it has not acted yet this round. Otherwise the round is over, and the next
+     * round starts with the faster Side, which may be the Side that just acted
+     *
+     * @param events The list to add the TURN_CHANGED Event to
+     * @see getFasterSide()
+     * @see endTurn( List<Event> events )
+     */
+    private void switchTurn( List<Event> events ) {
+        if( isSecondInRound ) {
+            currentSide = getFasterSide();
+            isSecondInRound = false;
+        } else {
+            currentSide = currentSide.other();
+            isSecondInRound = true;
+        }
+        turnNumber++;
+        emit( events, new Event( Event.Type.TURN_CHANGED, getCurrentPokemon() ) );
+    }
+
+    /**
+     * Gets the Side that acts first in a round: the Side whose Pokemon has the higher current speed (which paralysis
+     * lowers). If both Pokemon are as fast, the PokeRandom of the battle chooses one, with an even chance
+     *
+     * @return Side The Side that acts first
+     * @see StatusEngine.getSpeed( PokemonActor pokemon )
+     */
+    private Side getFasterSide() {
+        int speed = StatusEngine.getSpeed( getPokemon( Side.PLAYER_1 ) );
+        int otherSpeed = StatusEngine.getSpeed( getPokemon( Side.PLAYER_2 ) );
+        if( speed != otherSpeed ) return speed > otherSpeed ? Side.PLAYER_1 : Side.PLAYER_2;
+        return random.nextChance( 0.5 ) ? Side.PLAYER_1 : Side.PLAYER_2;
+    }
+
+    /**
+     * Adds the Event to the list and tells every Listener about it
+     *
+     * @param events The list of Events of the current Action
+     * @param event The Event that happened
+     */
+    private void emit( List<Event> events, Event event ) {
+        event.side = getSide( event.pokemon );
+        events.add( event );
+        for( Listener listener : listeners )
+            listener.onEvent( event );
+    }
+
+    /**
+     * Gets the Side whose team the Pokemon is on
+     *
+     * @param pokemon The Pokemon
+     * @return Side PLAYER_1 if the Pokemon is on the first team, PLAYER_2 otherwise
+     */
+    private Side getSide( PokemonActor pokemon ) {
+        for( PokemonActor member : teams[0] )
+            if( member == pokemon ) return Side.PLAYER_1;
+        return Side.PLAYER_2;
+    }
+
+    /**
+     * Adds a Listener that is told about every Event, as it happens
+     *
+     * @param listener The Listener to add
+     */
+    public void addListener( Listener listener ) {
+        listeners.add( listener );
+    }
+
+    /**
+     * Removes the Listener
+     *
+     * @param listener The Listener to remove
+     */
+    public void removeListener( Listener listener ) {
+        listeners.remove( listener );
+    }
+
+    /**
+     * Sets the BattleLog that records every Action and Event of the battle. The log should be made before the first
+     * Action, so that its header holds the Pokemon as they were at the start of the battle
+     *
+     * @param log The BattleLog, or null to stop logging
+     * @see BattleLog.writeAction( Action action, PokemonActor pokemon, PokemonActor otherPokemon )
+     */
+    public void setLog( BattleLog log ) {
+        if( this.log != null ) listeners.remove( this.log );
+        this.log = log;
+        if( log != null ) listeners.add( log );
+    }
+
+    /**
+     * Gets the BattleLog of the battle
+     *
+     * @return BattleLog The BattleLog, or null if the battle is not logged
+     */
+    public BattleLog getLog() {
+        return log;
+    }
+
+    /**
+     * Gets the current State of the battle
+     *
+     * @return State The current State
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Determines whether the battle is over or not
+     *
+     * @return boolean True if exp has been awarded and the battle has ended, false otherwise
+     */
+    public boolean isOver() {
+        return state == State.OVER;
+    }
+
+    /**
+     * Gets the Side whose turn it is
+     *
+     * @return Side The Side whose turn it is
+     */
+    public Side getCurrentSide() {
+        return currentSide;
+    }
+
+    /**
+     * Determines whether the Side whose turn it is acts second in the current round. Once it has acted, the next round
+     * starts with the faster Side
+     *
+     * @return boolean True if the other Side has already acted this round, false otherwise
+     */
+    public boolean isSecondInRound() {
+        return isSecondInRound;
+    }
+
+    /**
+     * Gets the Side that won the battle
+     *
+     * @return Side The Side that won, or null if no Pokemon has fainted yet
+     */
+    public Side getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of turns that have ended so far. A turn ends when a Move or Item is used (Items whose
+     * requirements are not met do not end the turn)
+     *
+     * @return int The number of turns that have ended
+     */
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Gets the active Pokemon of the Side
+     *
+     * @param side The Side
+     * @return PokemonActor The active Pokemon of this Side
+     */
+    public PokemonActor getPokemon( Side side ) {
+        return teams[ side.ordinal() ][ active[ side.ordinal() ] ];
+    }
+
+    /**
+     * Gets the team of the Side
+     *
+     * @param side The Side
+     * @return PokemonActor[] A copy of the array of the Pokemon of this Side, in the order of the team
+     */
+    public PokemonActor[] getTeam( Side side ) {
+        return teams[ side.ordinal() ].clone();
+    }
+
+    /**
+     * Gets the number of Pokemon in the team of the Side, including the Pokemon that fainted
+     *
+     * @param side The Side
+     * @return int The size of the team
+     */
+    public int getTeamSize( Side side ) {
+        return teams[ side.ordinal() ].length;
+    }
+
+    /**
+     * Gets one Pokemon of the team of the Side
+     *
+     * @param side The Side
+     * @param slot The index of the Pokemon in the team
+     * @return PokemonActor The Pokemon
+     */
+    public PokemonActor getTeamPokemon( Side side, int slot ) {
+        return teams[ side.ordinal() ][ slot ];
+    }
+
+    /**
+     * Gets the index of the active Pokemon in the team of the Side
+     *
+     * @param side The Side
+     * @return int The index of the active Pokemon
+     */
+    public int getActiveSlot( Side side ) {
+        return active[ side.ordinal() ];
+    }
+
+    /**
+     * Determines whether the team of the Side has a Pokemon that has not fainted
+     *
+     * @param side The Side
+     * @return boolean True if a Pokemon of the team has not fainted, false otherwise
+     */
+    public boolean hasPokemonLeft( Side side ) {
+        for( PokemonActor pokemon : teams[ side.ordinal() ] )
+            if( pokemon.getStatus() != PokemonActor.Status.FAINTED ) return true;
+        return false;
+    }
+
+    /**
+     * Gets the Pokemon whose turn it is
+     *
+     * @return PokemonActor The Pokemon that is attacking
+     */
+    public PokemonActor getCurrentPokemon() {
+        return getPokemon( currentSide );
+    }
+
+    /**
+     * Gets the Pokemon whose turn it is not
+     *
+     * @return PokemonActor The Pokemon that is defending
+     */
+    public PokemonActor getOtherPokemon() {
+        return getPokemon( currentSide.other() );
+    }
+
+    /**
+     * Gets the damage done by the last Move used
+     *
+     * @return double The damage done by the last Move used (0 if it missed), or ERROR if no Move has been used
+     */
+    public double getLastDamage() {
+        return lastDamage;
+    }
+
+    /**
+     * Gets the last Move that hit
+     *
+     * @return Move The last Move that hit, or null if no Move has hit yet
+     */
+    public Move getLastAttack() {
+        return lastAttack;
+    }
+
+    /**
+     * Gets the PokeRandom of the battle, which makes every random decision of the battle
+     *
+     * @return PokeRandom The PokeRandom of the battle
+     */
+    public PokeRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the StatusEngine that runs the statuses and conditions of both Pokemon
+     *
+     * @return StatusEngine The StatusEngine of the battle
+     */
+    public StatusEngine getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Saves the state of the battle and of every Pokemon of both teams, so that a search can try out Actions and then
+     * put the battle back the way it was. The conditions of the StatusEngine are saved too. The Listeners, the
+     * BattleLog, and the PokeRandom are not saved
+     *
+     * @return Snapshot The saved state
+     * @see restoreState( Snapshot snapshot )
+     * @see PokemonActor.saveState()
+     * @see StatusEngine.saveState()
+     */
+    public Snapshot saveState() {
+        return saveState( null );
+    }
+
+    /**
+     * Saves the state like saveState(), but shares every part of the Snapshot base that has not changed since it was
+     * saved: a Pokemon that did not change keeps its saved Snapshot, and a Pokemon that did only copies the values
+     * that changed. If nothing changed, base itself is returned. This makes a chain of Snapshots (one for every turn
+     * of a search, or every turn that can be undone) cost only what each turn changed
+     *
+     * @param base A Snapshot saved earlier from this battle, or null to save everything
+     * @return Snapshot The saved state
+     * @see PokemonActor.saveState( PokemonActor.Snapshot base )
+     */
+    public Snapshot saveState( Snapshot base ) {
+        if( base == null ) {
+            PokemonActor.Snapshot[][] teamStates = new PokemonActor.Snapshot[2][];
+            for( int s = 0; s < 2; s++ ) {
+                teamStates[s] = new PokemonActor.Snapshot[ teams[s].length ];
+                for( int i = 0; i < teams[s].length; i++ )
+                    teamStates[s][i] = teams[s][i].saveState();
+            }
+            return new Snapshot( this, teamStates, active.clone(), statuses.saveState() );
+        }
+
+        //The arrays of base are copied only once a Pokemon in them has changed
+        PokemonActor.Snapshot[][] teamStates = base.teams;
+        for( int s = 0; s < 2; s++ ) {
+            for( int i = 0; i < teams[s].length; i++ ) {
+                PokemonActor.Snapshot state = teams[s][i].saveState( base.teams[s][i] );
+                if( state == teamStates[s][i] ) continue;
+
+                if( teamStates == base.teams ) teamStates = base.teams.clone();
+                if( teamStates[s] == base.teams[s] ) teamStates[s] = base.teams[s].clone();
+                teamStates[s][i] = state;
+            }
+        }
+        StatusEngine.State statusState = statuses.saveState( base.statuses );
+        boolean isSameActive = active[0] == base.active[0] && active[1] == base.active[1];
+        if( teamStates == base.teams && statusState == base.statuses && isSameActive && base.matches( this ) ) return base;
+        return new Snapshot( this, teamStates, isSameActive ? base.active : active.clone(), statusState );
+    }
+
+    /**
+     * Restores the state saved by saveState(). The Snapshot may come from another BattleEngine between the same two
+     * teams, which is how a search starts from the state of the battle on the screen
+     *
+     * @param snapshot The state saved by saveState()
+     * @see PokemonActor.restoreState( PokemonActor.Snapshot snapshot )
+     */
+    public void restoreState( Snapshot snapshot ) {
+        state        = snapshot.state;
+        currentSide  = snapshot.currentSide;
+        isSecondInRound = snapshot.isSecondInRound;
+        winner       = snapshot.winner;
+        turnNumber   = snapshot.turnNumber;
+        lastDamage   = snapshot.lastDamage;
+        lastAttack   = snapshot.lastAttack;
+        isPhasedOut1 = snapshot.isPhasedOut1;
+        isPhasedOut2 = snapshot.isPhasedOut2;
+        active[0]    = snapshot.active[0];
+        active[1]    = snapshot.active[1];
+        for( int s = 0; s < 2; s++ )
+            for( int i = 0; i < teams[s].length; i++ )
+                teams[s][i].restoreState( snapshot.teams[s][i] );
+        statuses.restoreState( snapshot.statuses );
+    }
+
+    /**
+     * The state of a battle and of every Pokemon of both teams, saved by saveState(). A Snapshot does not change once it
+     * is made, so the same Snapshot may be restored any number of times
+     */
+    public static class Snapshot {
+
+        private final State state;
+        private final Side currentSide, winner;
+        private final boolean isSecondInRound;
+        private final int turnNumber;
+        private final double lastDamage;
+        private final Move lastAttack;
+        private final boolean isPhasedOut1, isPhasedOut2;
+        private final int[] active;
+        private final PokemonActor.Snapshot[][] teams;
+        private final StatusEngine.State statuses;
+
+        /**
+         * Saves the state of the battle, with Snapshots of the Pokemon and conditions that were already saved
+         *
+         * @param engine The battle to save
+         * @param teams The saved Pokemon of each team
+         * @param active The saved index of the active Pokemon of each team
+         * @param statuses The saved conditions of every Pokemon
+         */
+        private Snapshot( BattleEngine engine, PokemonActor.Snapshot[][] teams, int[] active,
+                          StatusEngine.State statuses ) {
+            state        = engine.state;
+            currentSide  = engine.currentSide;
+            isSecondInRound = engine.isSecondInRound;
+            winner       = engine.winner;
+            turnNumber   = engine.turnNumber;
+            lastDamage   = engine.lastDamage;
+            lastAttack   = engine.lastAttack;
+            isPhasedOut1 = engine.isPhasedOut1;
+            isPhasedOut2 = engine.isPhasedOut2;
+            this.active  = active;
+            this.teams   = teams;
+            this.statuses = statuses;
+        }
+
+        /**
+         * Copies a Snapshot, giving the copy its own copies of the Items of every Pokemon
+         *
+         * @param snapshot The Snapshot to copy
+         * @see PokemonActor.Snapshot.withCopiedItems()
+         */
+        private Snapshot( Snapshot snapshot ) {
+            state        = snapshot.state;
+            currentSide  = snapshot.currentSide;
+            isSecondInRound = snapshot.isSecondInRound;
+            winner       = snapshot.winner;
+            turnNumber   = snapshot.turnNumber;
+            lastDamage   = snapshot.lastDamage;
+            lastAttack   = snapshot.lastAttack;
+            isPhasedOut1 = snapshot.isPhasedOut1;
+            isPhasedOut2 = snapshot.isPhasedOut2;
+            active       = snapshot.active;
+            teams        = new PokemonActor.Snapshot[2][];
+            for( int s = 0; s < 2; s++ ) {
+                teams[s] = new PokemonActor.Snapshot[ snapshot.teams[s].length ];
+                for( int i = 0; i < teams[s].length; i++ )
+                    teams[s][i] = snapshot.teams[s][i].withCopiedItems();
+            }
+            statuses     = snapshot.statuses;
+        }
+
+        /**
+         * Determines whether the battle still has the state saved in this Snapshot, leaving out the Pokemon and their
+         * conditions
+         *
+         * @param engine The battle to check
+         * @return boolean True if the state of the battle matches, false otherwise
+         */
+        private boolean matches( BattleEngine engine ) {
+            return state == engine.state && currentSide == engine.currentSide &&
+                   isSecondInRound == engine.isSecondInRound && winner == engine.winner &&
+                   turnNumber == engine.turnNumber && lastDamage == engine.lastDamage &&
+                   lastAttack == engine.lastAttack && isPhasedOut1 == engine.isPhasedOut1 &&
+                   isPhasedOut2 == engine.isPhasedOut2;
+        }
+
+        /**
+         * Gets the Side whose turn it was when this Snapshot was saved
+         *
+         * @return Side The Side whose turn it was
+         */
+        public Side getCurrentSide() {
+            return currentSide;
+        }
+
+        /**
+         * Gets the number of the turn when this Snapshot was saved
+         *
+         * @return int The turn number
+         */
+        public int getTurnNumber() {
+            return turnNumber;
+        }
+
+        /**
+         * Makes a copy of this Snapshot that holds its own copies of the Items of every Pokemon, so that it can be
+         * restored into a BattleEngine between copies of the two teams without changing the Items of the originals
+         *
+         * @return Snapshot The copy of this Snapshot
+         * @see MonteCarloAI.java
+         */
+        public Snapshot withCopiedItems() {
+            return new Snapshot( this );
+        }
+    }
+
+    /**
+     * One use of a Move, which the effects of the Move work on (see MoveEffects). Effects read and change the damage
+     * and critical hit ratio of the attack, and change the Pokemon through the methods of the Hit, which add the
+     * Events of every change
+     */
+    public class Hit {
+
+        private final PokemonActor user, target;
+        private final Move move;
+        private final List<Event> events;
+        private double damage = 0.0;
+        private double criticalHitRatio;
+        private boolean isFixedDamage = false;
+        private boolean isMissed = false;
+
+        /**
+         * Create a Hit
+         *
+         * @param user The attacking Pokemon
+         * @param target The defending Pokemon
+         * @param move The Move used
+         * @param events The list to add the Events to
+         */
+        private Hit( PokemonActor user, PokemonActor target, Move move, List<Event> events ) {
+            this.user = user;
+            this.target = target;
+            this.move = move;
+            this.events = events;
+            this.criticalHitRatio = user.getCurrentCriticalHitRatio();
+        }
+
+        public PokemonActor getUser()        { return user; }
+        public PokemonActor getTarget()      { return target; }
+        public Move getMove()                { return move; }
+        public PokeRandom getRandom()        { return random; }
+        public double getDamage()            { return damage; }
+        public boolean isFixedDamage()       { return isFixedDamage; }
+        public double getCriticalHitRatio()  { return criticalHitRatio; }
+        public boolean isMissed()            { return isMissed; }
+
+        /**
+         * Sets the damage of the attack
+         *
+         * @param damage The damage
+         */
+        public void setDamage( double damage ) {
+            this.damage = damage;
+        }
+
+        /**
+         * Sets a fixed damage, which ignores type effectiveness and critical hits
+         *
+         * @param damage The damage
+         */
+        public void setFixedDamage( double damage ) {
+            this.damage = damage;
+            this.isFixedDamage = true;
+        }
+
+        /**
+         * Sets the critical hit ratio of this attack only
+         *
+         * @param criticalHitRatio The critical hit ratio
+         */
+        public void setCriticalHitRatio( double criticalHitRatio ) {
+            this.criticalHitRatio = criticalHitRatio;
+        }
+
+        /**
+         * Makes the Move miss
+         */
+        public void miss() {
+            this.isMissed = true;
+        }
+
+        /**
+         * Gets a stat of the Pokemon
+         *
+         * @param pokemon The Pokemon
+         * @param statIndex The stat, such as MoveEffects.ATTACK
+         * @param isCurrent True to get the current value, false to get the maximum value
+         * @return int The value of the stat
+         */
+        public int getStat( PokemonActor pokemon, int statIndex, boolean isCurrent ) {
+            return (int)ItemEffects.getValue( pokemon, statIndex, isCurrent );
+        }
+
+        /**
+         * Sets the current value of a stat of the Pokemon. HP is kept from 0 to the maximum HP
+         *
+         * @param pokemon The Pokemon
+         * @param statIndex The stat, such as MoveEffects.ATTACK
+         * @param value The new current value
+         */
+        public void setStat( PokemonActor pokemon, int statIndex, int value ) {
+            int oldValue = getStat( pokemon, statIndex, true );
+            if( value == oldValue ) return;
+
+            ItemEffects.setValue( pokemon, statIndex, true, value );
+
+            Event change = new Event( Event.Type.STAT_CHANGED, pokemon );
+            change.propertyName = Item.PROPERTY_NAMES[ statIndex ];
+            change.move         = move;
+            change.oldValue     = oldValue;
+            change.newValue     = getStat( pokemon, statIndex, true );
+            emit( events, change );
+        }
+
+        /**
+         * Adds HP to the current HP of the Pokemon. Negative values can be added
+         *
+         * @param pokemon The Pokemon
+         * @param amount The HP to add
+         */
+        public void changeHP( PokemonActor pokemon, int amount ) {
+            setStat( pokemon, MoveEffects.HP, pokemon.getCurrentHP() + amount );
+        }
+
+        /**
+         * Sets the current critical hit ratio of the Pokemon, for the rest of the battle
+         *
+         * @param pokemon The Pokemon
+         * @param criticalHitRatio The new current critical hit ratio
+         */
+        public void changeCriticalHitRatio( PokemonActor pokemon, double criticalHitRatio ) {
+            Event change = new Event( Event.Type.STAT_CHANGED, pokemon );
+            change.propertyName = "criticalHitRatio";
+            change.move         = move;
+            change.oldValue     = pokemon.getCurrentCriticalHitRatio();
+            pokemon.setCurrentCriticalHitRatio( criticalHitRatio );
+            change.newValue     = criticalHitRatio;
+            emit( events, change );
+        }
+
+        /**
+         * Causes the status on the Pokemon, unless it already has a status. The status lasts for its usual number of
+         * turns
+         *
+         * @param pokemon The Pokemon
+         * @param status The status to cause
+         * @see StatusEngine.getTurns( PokemonActor.Status status )
+         */
+        public void causeStatus( PokemonActor pokemon, PokemonActor.Status status ) {
+            causeStatus( pokemon, status, StatusEngine.getTurns( status ) );
+        }
+
+        /**
+         * Causes the status on the Pokemon for a number of its turns, unless it already has a status
+         *
+         * @param pokemon The Pokemon
+         * @param status The status to cause
+         * @param turns How long the status lasts, as fewest.most turns, or 0.0 if it lasts until it is healed
+         * @see StatusEngine.startStatus( Hit hit, PokemonActor pokemon, PokemonActor.Status status, double turns )
+         */
+        public void causeStatus( PokemonActor pokemon, PokemonActor.Status status, double turns ) {
+            if( pokemon.getStatus() != PokemonActor.Status.NORMAL ) return;
+
+            pokemon.setStatus( status );
+            statuses.startStatus( this, pokemon, status, turns );
+            Event caused = new Event( Event.Type.STATUS_CAUSED, pokemon );
+            caused.move = move;
+            caused.status = status;
+            emit( events, caused );
+        }
+
+        /**
+         * Heals the status of the Pokemon, such as when it wakes up or thaws out
+         *
+         * @param pokemon The Pokemon
+         */
+        public void healStatus( PokemonActor pokemon ) {
+            PokemonActor.Status oldStatus = pokemon.getStatus();
+            if( oldStatus == PokemonActor.Status.NORMAL || oldStatus == PokemonActor.Status.FAINTED ) return;
+
+            pokemon.setStatus( PokemonActor.Status.NORMAL );
+            Event healed = new Event( Event.Type.STATUS_HEALED, pokemon );
+            healed.status = oldStatus;
+            emit( events, healed );
+        }
+
+        /**
+         * Tells that the status of the Pokemon keeps it from moving this turn
+         *
+         * @param pokemon The Pokemon
+         */
+        public void preventMove( PokemonActor pokemon ) {
+            Event prevented = new Event( Event.Type.CANT_MOVE, pokemon );
+            prevented.status = pokemon.getStatus();
+            emit( events, prevented );
+        }
+
+        /**
+         * Hurts the Pokemon by its status or a condition. HP is kept from 0 to the maximum HP
+         *
+         * @param pokemon The Pokemon
+         * @param amount The HP to take away
+         * @param move The Move that caused the condition, or null if the damage comes from the status of the Pokemon
+         */
+        public void hurt( PokemonActor pokemon, int amount, Move move ) {
+            Event hurt = new Event( Event.Type.STATUS_DAMAGE, pokemon );
+            hurt.status = pokemon.getStatus();
+            hurt.move = move;
+            hurt.amount = Math.min( amount, Math.max( 0, pokemon.getCurrentHP() ) );
+            pokemon.setCurrentHP( pokemon.getCurrentHP() - hurt.amount );
+            emit( events, hurt );
+        }
+
+        /**
+         * Seeds the Pokemon, so that the other Pokemon drains its HP at the end of each of its turns
+         *
+         * @param pokemon The Pokemon
+         * @param drainRatio The part of its max HP that the Pokemon loses each turn
+         * @see StatusEngine.seed( Hit hit, PokemonActor pokemon, double drainRatio )
+         */
+        public void seed( PokemonActor pokemon, double drainRatio ) {
+            statuses.seed( this, pokemon, drainRatio );
+        }
+
+        /**
+         * Raises or lowers the stage of a stat of the Pokemon, which sets its current stat
+         *
+         * @param pokemon The Pokemon
+         * @param statIndex The stat, from MoveEffects.ATTACK to MoveEffects.ACCURACY
+         * @param change The number of stages to add, which is negative to lower the stat
+         * @see StatusEngine.changeStage( Hit hit, PokemonActor pokemon, int statIndex, double change )
+         */
+        public void changeStage( PokemonActor pokemon, int statIndex, double change ) {
+            statuses.changeStage( this, pokemon, statIndex, change );
+        }
+
+        /**
+         * Sets every stat stage of the Pokemon back to 0, and its current stats back to its stats
+         *
+         * @param pokemon The Pokemon
+         * @see StatusEngine.resetStages( Hit hit, PokemonActor pokemon )
+         */
+        public void resetStages( PokemonActor pokemon ) {
+            statuses.resetStages( this, pokemon );
+        }
+
+        /**
+         * Raises a screen in front of the Pokemon, which reduces the damage of Moves of the category
+         *
+         * @param pokemon The Pokemon
+         * @param category The category of Moves that the screen blocks
+         * @param turns How long the screen lasts, as fewest.most turns
+         * @see StatusEngine.raiseScreen( Hit hit, PokemonActor pokemon, Move.MoveCategory category, double turns )
+         */
+        public void raiseScreen( PokemonActor pokemon, Move.MoveCategory category, double turns ) {
+            statuses.raiseScreen( this, pokemon, category, turns );
+        }
+
+        /**
+         * Tells that the Move of this Hit left a condition on the Pokemon (a seed or a screen)
+         *
+         * @param pokemon The Pokemon
+         */
+        public void startCondition( PokemonActor pokemon ) {
+            Event started = new Event( Event.Type.CONDITION_STARTED, pokemon );
+            started.move = move;
+            emit( events, started );
+        }
+
+        /**
+         * Tells that a condition of the Pokemon ran out
+         *
+         * @param pokemon The Pokemon
+         * @param move The Move that caused the condition
+         */
+        public void endCondition( PokemonActor pokemon, Move move ) {
+            Event ended = new Event( Event.Type.CONDITION_ENDED, pokemon );
+            ended.move = move;
+            emit( events, ended );
+        }
+    }
+
+    /**
+     * Something that the Pokemon whose turn it is can do, or continuing the battle after a Pokemon has fainted.
+     * Actions are made with the static methods useMove, useItem, run, proceed, and switchTo
+     */
+    public static class Action {
+
+        /**
+         * The kinds of Actions
+         */
+        public enum Type {
+            USE_MOVE, USE_ITEM, RUN, CONTINUE, SWITCH;
+        }
+
+        private final Type type;
+        private final int moveIndex;
+        private final Item item;
+        private final int slot;
+
+        /**
+         * Create an Action
+         *
+         * @param type The kind of Action
+         * @param moveIndex The index of the Move used or affected, or ERROR
+         * @param item The Item used, or null
+         * @param slot The index in the team of the Pokemon to switch in, or ERROR
+         */
+        private Action( Type type, int moveIndex, Item item, int slot ) {
+            this.type = type;
+            this.moveIndex = moveIndex;
+            this.item = item;
+            this.slot = slot;
+        }
+
+        /**
+         * Use one of the Pokemon's Moves. If the Move has no PP left, STRUGGLE is used instead
+         *
+         * @param moveIndex The index of the Move in the Pokemon's list of Moves
+         * @return Action The Action
+         */
+        public static Action useMove( int moveIndex ) {
+            return new Action( Type.USE_MOVE, moveIndex, null, PokeWorld.ERROR );
+        }
+
+        /**
+         * Use an Item that affects the Pokemon's current Move, or that does not affect a Move
+         *
+         * @param item The Item to use
+         * @return Action The Action
+         */
+        public static Action useItem( Item item ) {
+            return new Action( Type.USE_ITEM, PokeWorld.ERROR, item, PokeWorld.ERROR );
+        }
+
+        /**
+         * Use an Item on one of the Pokemon's Moves
+         *
+         * @param item The Item to use
+         * @param moveIndex The index of the Move that the Item affects
+         * @return Action The Action
+         */
+        public static Action useItem( Item item, int moveIndex ) {
+            return new Action( Type.USE_ITEM, moveIndex, item, PokeWorld.ERROR );
+        }
+
+        /**
+         * Try to run away from the battle
+         *
+         * @return Action The Action
+         */
+        public static Action run() {
+            return new Action( Type.RUN, PokeWorld.ERROR, null, PokeWorld.ERROR );
+        }
+
+        /**
+         * Continue the battle after a Pokemon has fainted, which awards exp and ends the battle
+         *
+         * @return Action The Action
+         */
+        public static Action proceed() {
+            return new Action( Type.CONTINUE, PokeWorld.ERROR, null, PokeWorld.ERROR );
+        }
+
+        /**
+         * Switch the active Pokemon for another Pokemon of its team, or switch in a Pokemon for one that fainted
+         *
+         * @param slot The index of the Pokemon in the team
+         * @return Action The Action
+         */
+        public static Action switchTo( int slot ) {
+            return new Action( Type.SWITCH, PokeWorld.ERROR, null, slot );
+        }
+
+        /**
+         * Gets the kind of Action
+         *
+         * @return Type The kind of Action
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Gets the index of the Move used or affected
+         *
+         * @return int The index of the Move, or ERROR if there is none
+         */
+        public int getMoveIndex() {
+            return moveIndex;
+        }
+
+        /**
+         * Gets the Item used
+         *
+         * @return Item The Item, or null if there is none
+         */
+        public Item getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the index in the team of the Pokemon to switch in
+         *
+         * @return int The index of the Pokemon, or ERROR if the Action is not a switch
+         */
+        public int getSlot() {
+            return slot;
+        }
+
+        /**
+         * Gets the Action as text, such as "USE_MOVE 2" or "SWITCH 3"
+         *
+         * @return String The Action as text
+         */
+        public String toString() {
+            return type + (moveIndex != PokeWorld.ERROR ? " " + moveIndex : "") + (item != null ? " " + item.getName() : "") +
+                   (slot != PokeWorld.ERROR ? " " + slot : "");
+        }
+    }
+
+    /**
+     * Something that happened during the battle. Every Event has a Type and the Pokemon that it is about. The other
+     * values are only set for the Types that use them:
+     *
+     * - NO_PP                  : The Pokemon has no PP left for its Move, and uses STRUGGLE
+     * - MOVE_USED              : The Pokemon used the move
+     * - MOVE_MISSED            : The move of the Pokemon missed
+     * - DAMAGE_DEALT           : The Pokemon took amount damage from the move, with the effectiveness, isCritical, and
+     *                            the status of the Pokemon after the damage. A move that hit several times in one turn
+     *                            has the number of hits, and amount is the damage of every hit added up. criticalHits
+     *                            is the number of hits that were critical hits
+     * - FAINTED                : The Pokemon fainted
+     * - TURN_CHANGED           : It is now the Pokemon's turn
+     * - EXP_GAINED             : The Pokemon gained amount exp
+     * - LEVEL_UP               : The Pokemon reached level amount
+     * - BATTLE_WON             : The Pokemon won the battle
+     * - ITEM_USED              : The Pokemon used the item
+     * - ITEM_REJECTED          : The item cannot be used on the Pokemon, because its requirements are not met
+     * - STAT_CHANGED           : The propertyName of the Pokemon (or of its move) changed from oldValue to newValue,
+     *                            isPermanent if the maximum value changed. Changes made by the effects of a move have
+     *                            the move
+     * - ALL_STATS_UP, MOVES_REPLENISHED, LOWERED_STATS_RESTORED : The item raised all stats, replenished all Moves,
+     *                            or restored the lowered stats of the Pokemon
+     * - STATUS_HEALED          : The Pokemon was healed of the status, by the item if it has one, or because the status
+     *                            ran out
+     * - RUN_FAILED             : The Pokemon could not run away
+     * - STATUS_CAUSED          : The move caused the status on the Pokemon
+     * - CANT_MOVE              : The status of the Pokemon kept it from moving this turn
+     * - STATUS_DAMAGE          : The Pokemon lost amount HP to the status (burn, poison, trap, confusion), or to the
+     *                            condition that the move left on it (LEECH SEED, or the move that trapped it)
+     * - CONDITION_STARTED      : The move left a condition on the Pokemon (LEECH SEED, REFLECT, LIGHT SCREEN)
+     * - CONDITION_ENDED        : The condition that the move left on the Pokemon ran out
+     * - SWITCHED               : The Pokemon was switched in, from slot amount of its team
+     */
+    public static class Event {
+
+        /**
+         * The kinds of Events
+         */
+        public enum Type {
+            NO_PP, MOVE_USED, MOVE_MISSED, DAMAGE_DEALT, FAINTED, TURN_CHANGED, EXP_GAINED, LEVEL_UP, BATTLE_WON,
+            ITEM_USED, ITEM_REJECTED, STAT_CHANGED, ALL_STATS_UP, MOVES_REPLENISHED, LOWERED_STATS_RESTORED,
+            STATUS_HEALED, RUN_FAILED, STATUS_CAUSED, CANT_MOVE, STATUS_DAMAGE, CONDITION_STARTED, CONDITION_ENDED,
+            SWITCHED;
+        }
+
+        private final Type type;
+        private final PokemonActor pokemon;
+        private Side side;
+        private Move move;
+        private Item item;
+        private int amount;
+        private double effectiveness = Pokedex.REG_EFFECTIVE;
+        private boolean isCritical;
+        private int hits = 1, criticalHits;
+        private PokemonActor.Status status;
+        private String propertyName;
+        private double oldValue, newValue;
+        private boolean isPermanent;
+
+        /**
+         * Create an Event about the Pokemon
+         *
+         * @param type The kind of Event
+         * @param pokemon The Pokemon that the Event is about
+         */
+        private Event( Type type, PokemonActor pokemon ) {
+            this.type = type;
+            this.pokemon = pokemon;
+        }
+
+        public Type getType()                  { return type; }
+        public PokemonActor getPokemon()       { return pokemon; }
+        public Side getSide()                  { return side; }
+        public Move getMove()                  { return move; }
+        public Item getItem()                  { return item; }
+        public int getAmount()                 { return amount; }
+        public double getEffectiveness()       { return effectiveness; }
+        public boolean isCritical()            { return isCritical; }
+        public int getHits()                   { return hits; }
+        public int getCriticalHits()           { return criticalHits; }
+        public PokemonActor.Status getStatus() { return status; }
+        public String getPropertyName()        { return propertyName; }
+        public double getOldValue()            { return oldValue; }
+        public double getNewValue()            { return newValue; }
+        public boolean isPermanent()           { return isPermanent; }
+
+        /**
+         * Gets the Event as text, such as "DAMAGE_DEALT PLAYER_2 pikachu 23"
+         *
+         * @return String The Event as text
+         */
+        public String toString() {
+            return type + " " + side + " " + pokemon.getName() + (amount != 0 ? " " + amount : "");
+        }
+    }
+
+    /**
+     * Is told about every Event of a battle, as it happens
+     */
+    public interface Listener {
+
+        /**
+         * Called for every Event, in order
+         *
+         * @param event The Event that happened
+         */
+        void onEvent( Event event );
+    }
+
+    /**
+     * Thrown when an Action cannot be applied in the current State of the battle
+     */
+    public class InvalidActionException extends Exception {
+
+        /**
+            Throw new exception
+
+            @param errorMessage The message to print
+        */
+        public InvalidActionException( String errorMessage ) {
+            super( errorMessage );
+        }
+
+    }
+}
@@ -29,6 +29,7 @@ import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
  * 
  * - getWidth()     : Gets the width of this BattleImage
  * - getHeight()    : Gets the height of this BattleImage
+ * - getImageLoc()  : Gets the image location of this BattleImage
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * -----------------------------------------------------------------------------------------------------------------------------
@@ -82,4 +83,14 @@ public class BattleImage extends Actor {
     public int getHeight() {
         return this.HEIGHT;
     }
+    
+    /**
+     * Gets the image location of this BattleImage
+     * 
+     * @return String The image location of this BattleImage
+     * @see ActorPool.release( Actor actor )
+     */
+    public String getImageLoc() {
+        return this.currentImageLoc;
+    }
 }
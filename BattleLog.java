@@ -0,0 +1,1066 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BattleLog.java
+ *
+ * A compact, append-only record of one battle. The log holds everything that is needed to play the battle again exactly:
+ *
+ * 1) The header: the seed of the battle's PokeRandom, and for each side the size of its team followed by the stat block
+ *    of every Pokemon of the team at the start of the battle (the class of the Pokemon, and how its stats, current
+ *    stats, Moves, and Items differ from a Pokemon of the class made by the (int uniqueID) constructor). A battle
+ *    between single Pokemon is a battle between two teams of one
+ * 2) One record for every Action applied to the BattleEngine (the Move index, the Item index and the affected Move, or
+ *    the team slot of a switch)
+ * 3) One record for every Event that the Action caused (hit or miss, critical hits, effectiveness, damage, exp, and
+ *    every stat that an Item changed)
+ *
+ * Numbers are written as varints (7 bits per byte, with the high bit set on every byte but the last), and numbers that
+ * may be negative are zigzag encoded first, so that small numbers of either sign take one byte. A stat block only holds
+ * what differs from the Pokemon that the class's constructor makes: one bit for each stat that differs and then its
+ * value, and for each Move a single byte if it is the constructor's Move with the same PP. Items are written as the
+ * number of their line in items.txt, since the constructor may give an Item at random. Text that was already written
+ * (such as the class of a Pokemon battling its own kind) is written as the number of its first copy, and stat changes
+ * that are whole numbers are written without their thousandths. The header of two Pikachu as their constructor makes
+ * them takes about 50 bytes (each more Pokemon of a team about 16 more), and each turn about 8 more. A 1v1 battle of
+ * random Actions takes about 390 bytes on average and about 640 at most, and a 6v6 battle about 1,100 bytes, so the
+ * log is always on. Each finished battle is added to the end of the LOG_FILE_LOC file, with its length in front of it
+ *
+ * Since every random decision of a battle comes from its PokeRandom, applying the same Actions to a BattleEngine made
+ * with the same seed and the same Pokemon gives the same Events. A Replay does this, either headless (verify()) or
+ * through the PokeBattle world, which shows the battle on the screen one Action per press of the enter key
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - LOG_FILE_LOC       : The file that finished battles are added to
+ * - VERSION            : The version of the log format
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - MAGIC              : The bytes that every log begins with
+ * - ACTION_TAG         : Set on the first byte of Action records, which tells them apart from Event records
+ * - VALUE_SCALE        : Stat changes are written as whole numbers of thousandths
+ * - seed               : The seed of the battle's PokeRandom
+ * - out                : The bytes of the log
+ * - strings            : The text written so far, in order, so that text written again is written as its number
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - BattleLog( long seed, PokemonActor first, PokemonActor second ) : Create a log of a battle between two Pokemon
+ * - BattleLog( long seed, PokemonActor[] firstTeam, PokemonActor[] secondTeam ) : Create a log of a battle between two
+ *                                        teams and write its header. This must be done before the battle begins
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - writeAction( BattleEngine.Action action, PokemonActor pokemon, PokemonActor otherPokemon ) : Adds an Action record
+ * - onEvent( BattleEngine.Event event )     : Adds an Event record
+ * - getSeed()                               : Gets the seed of the battle
+ * - size()                                  : Gets the number of bytes in the log
+ * - toByteArray()                           : Gets the bytes of the log
+ *
+ * - append( String fileLoc, byte[] log )    : Adds a finished log to the end of the file
+ * - readAll( String fileLoc )               : Reads every log in the file
+ * - selfCheck()                             : Plays battles with Moves of every kind, and checks that their logs replay
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - writeStatBlock( PokemonActor pokemon )  : Writes the class of the Pokemon, and how it differs from a new Pokemon
+ * - createBuilt( PokemonActor pokemon )     : Makes a new Pokemon of the class of a Pokemon with its (int uniqueID)
+ *                                             constructor
+ * - getStats( PokemonActor pokemon ), setStats( PokemonActor pokemon, int[] stats ) : Gets or sets the numbers of
+ *                                             a stat block
+ * - writeVarint( long value ), writeSigned( long value ), writeString( String text ) : Writes a number or text
+ * - writeValue( double value )              : Writes a stat change, as a whole number or as thousandths
+ * - playRandomBattle( PokemonActor[] firstTeam, PokemonActor[] secondTeam, long seed ) : Plays a logged battle of
+ *                                             random Actions
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Replay                  : A battle read back from a log, which can be played again
+ * - Reader                  : Reads the varints, zigzag numbers, and text of a log
+ * - InvalidLogException     : Thrown when the bytes are not a log that can be read
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleEngine.java
+ * @see PokeBattle.java
+ * @see PokeRandom.java
+ */
+public class BattleLog implements BattleEngine.Listener {
+
+    public static final String LOG_FILE_LOC = "./battleLog.bin";
+    public static final int VERSION = 7;
+
+    private static final byte[] MAGIC = { 'P', 'K', 'B', 'L' };
+    private static final int ACTION_TAG = 0x80;
+    private static final double VALUE_SCALE = 1000.0;
+
+    private final long seed;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream( 512 );
+    private final ArrayList<String> strings = new ArrayList<String>();
+
+    /**
+     * Create a log of a battle between two Pokemon, which are two teams of one
+     *
+     * @param seed The seed of the battle's PokeRandom
+     * @param first The first Pokemon of the battle
+     * @param second The second Pokemon of the battle
+     * @see BattleLog( long seed, PokemonActor[] firstTeam, PokemonActor[] secondTeam )
+     */
+    public BattleLog( long seed, PokemonActor first, PokemonActor second ) {
+        this( seed, new PokemonActor[]{ first }, new PokemonActor[]{ second } );
+    }
+
+    /**
+     * Create a log of a battle between two teams and write its header. This must be done before the battle begins,
+     * since the header holds the stats of every Pokemon at the start of the battle
+     *
+     * @param seed The seed of the battle's PokeRandom
+     * @param firstTeam The team of the first side, in the order of the BattleEngine's team
+     * @param secondTeam The team of the second side, in the order of the BattleEngine's team
+     * @see writeStatBlock( PokemonActor pokemon )
+     */
+    public BattleLog( long seed, PokemonActor[] firstTeam, PokemonActor[] secondTeam ) {
+        this.seed = seed;
+
+        out.write( MAGIC, 0, MAGIC.length );
+        out.write( VERSION );
+        for( int i = 56; i >= 0; i -= 8 )
+            out.write( (int)(seed >>> i) );
+
+        for( PokemonActor[] team : new PokemonActor[][]{ firstTeam, secondTeam } ) {
+            writeVarint( team.length );
+            for( PokemonActor pokemon : team )
+                writeStatBlock( pokemon );
+        }
+    }
+
+    /**
+     * Writes the stat block of the Pokemon: its class and unique ID, and how it differs from the Pokemon that the
+     * class's (int uniqueID) constructor makes. First comes a number with one bit for each number of getStats() that
+     * differs, followed by those numbers. Then come the critical hit ratios (only if they are not the default ratios),
+     * the current Move, and every Move and Item that it has. A Move that is the constructor's Move in the same place,
+     * with the same power, accuracy, and PP, is written as 0. Otherwise its name and values follow, and its current
+     * power, accuracy, and PP are only written if one of them is not the maximum. An Item is written as the number of
+     * its line in items.txt (or ERROR and its name, for an Item that is not in the file) and its quantity
+     *
+     * @param pokemon The Pokemon
+     * @see createBuilt( PokemonActor pokemon )
+     * @see Item.getItemNumber( String itemName )
+     */
+    private void writeStatBlock( PokemonActor pokemon ) {
+        writeString( pokemon.getClass().getName() );
+        writeSigned( pokemon.getUniqueID() );
+        PokemonActor built = createBuilt( pokemon );
+
+        int[] stats = getStats( pokemon );
+        int[] builtStats = built == null ? null : getStats( built );
+        long changed = 0;
+        for( int i = 0; i < stats.length; i++ )
+            if( builtStats == null || stats[i] != builtStats[i] ) changed |= 1L << i;
+        writeVarint( changed );
+        for( int i = 0; i < stats.length; i++ )
+            if( (changed & 1L << i) != 0 ) writeSigned( stats[i] );
+
+        //The critical hit ratios are only written if an Item has changed them, since they are doubles
+        double defaultRatio = (pokemon.speed / 2.0) / PokeWorld.CRITICAL_HIT_RATIO;
+        if( pokemon.criticalHitRatio == defaultRatio && pokemon.currentCriticalHitRatio == defaultRatio ) {
+            writeVarint( 0 );
+        } else {
+            writeVarint( 1 );
+            writeVarint( Double.doubleToLongBits( pokemon.criticalHitRatio ) );
+            writeVarint( Double.doubleToLongBits( pokemon.currentCriticalHitRatio ) );
+        }
+
+        writeSigned( pokemon.currentMove == null ? PokeWorld.ERROR : pokemon.moves.indexOf( pokemon.currentMove ) );
+        writeVarint( pokemon.moves.size() );
+        for( int i = 0; i < pokemon.moves.size(); i++ ) {
+            //Written from Move.saveState(), since the getters of NA Moves do not give the values that are kept
+            Move move = pokemon.moves.get(i);
+            int[] state = move.saveState();
+            Move builtMove = built == null || i >= built.moves.size() ? null : built.moves.get(i);
+            if( builtMove != null && builtMove.getName().equals( move.getName() ) &&
+                Arrays.equals( builtMove.saveState(), state ) ) {
+                writeVarint( 0 );
+                continue;
+            }
+
+            writeVarint( 1 );
+            writeString( move.getName() );
+            writeSigned( state[0] );
+            writeSigned( state[1] );
+            writeSigned( state[2] );
+            if( state[3] == state[0] && state[4] == state[1] && state[5] == state[2] ) {
+                writeVarint( 0 );
+            } else {
+                writeVarint( 1 );
+                writeSigned( state[3] );
+                writeSigned( state[4] );
+                writeSigned( state[5] );
+            }
+        }
+
+        writeVarint( pokemon.items.size() );
+        for( Item item : pokemon.items ) {
+            int itemNumber = Item.getItemNumber( item.getName() );
+            writeSigned( itemNumber );
+            if( itemNumber == PokeWorld.ERROR ) writeString( item.getName() );
+            writeSigned( item.getQuantity() );
+        }
+    }
+
+    /**
+     * Makes a new Pokemon of the class of a Pokemon with its (int uniqueID) constructor, which is the Pokemon that a
+     * Replay starts from before it reads the stat block
+     *
+     * @param pokemon The Pokemon
+     * @return PokemonActor The new Pokemon, or null if it cannot be made (the stat block then holds every number)
+     * @see BattleSimulator.getBuild( Class<? extends PokemonActor> cls )
+     */
+    private static PokemonActor createBuilt( PokemonActor pokemon ) {
+        BattleSimulator.Build build = BattleSimulator.getBuild( pokemon.getClass() );
+        if( build == null ) return null;
+        try {
+            return build.create( pokemon.getUniqueID() );
+        } catch( Exception e ) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Gets the numbers of a stat block: every stat and its current stat (written as its difference from the stat),
+     * the points, exp, added exp, level, wins, evolutions, and status
+     *
+     * @param pokemon The Pokemon
+     * @return int[] The numbers
+     * @see setStats( PokemonActor pokemon, int[] stats )
+     */
+    private static int[] getStats( PokemonActor pokemon ) {
+        return new int[]{ pokemon.HP, pokemon.currentHP - pokemon.HP,
+                          pokemon.attack, pokemon.currentAttack - pokemon.attack,
+                          pokemon.defense, pokemon.currentDefense - pokemon.defense,
+                          pokemon.specialAttack, pokemon.currentSpecialAttack - pokemon.specialAttack,
+                          pokemon.specialDefense, pokemon.currentSpecialDefense - pokemon.specialDefense,
+                          pokemon.speed, pokemon.currentSpeed - pokemon.speed,
+                          pokemon.evasion, pokemon.currentEvasion - pokemon.evasion,
+                          pokemon.accuracy, pokemon.currentAccuracy - pokemon.accuracy,
+                          pokemon.points, pokemon.exp, pokemon.addedExp, pokemon.level, pokemon.wins,
+                          pokemon.totalEvolutions, pokemon.status.ordinal() };
+    }
+
+    /**
+     * Sets the numbers of a stat block on a Pokemon
+     *
+     * @param pokemon The Pokemon
+     * @param stats The numbers, in the order of getStats()
+     * @see getStats( PokemonActor pokemon )
+     */
+    private static void setStats( PokemonActor pokemon, int[] stats ) {
+        pokemon.HP             = stats[0];
+        pokemon.currentHP      = stats[0] + stats[1];
+        pokemon.attack         = stats[2];
+        pokemon.currentAttack  = stats[2] + stats[3];
+        pokemon.defense        = stats[4];
+        pokemon.currentDefense = stats[4] + stats[5];
+        pokemon.specialAttack         = stats[6];
+        pokemon.currentSpecialAttack  = stats[6] + stats[7];
+        pokemon.specialDefense        = stats[8];
+        pokemon.currentSpecialDefense = stats[8] + stats[9];
+        pokemon.speed           = stats[10];
+        pokemon.currentSpeed    = stats[10] + stats[11];
+        pokemon.evasion         = stats[12];
+        pokemon.currentEvasion  = stats[12] + stats[13];
+        pokemon.accuracy        = stats[14];
+        pokemon.currentAccuracy = stats[14] + stats[15];
+        pokemon.points          = stats[16];
+        pokemon.exp             = stats[17];
+        pokemon.addedExp        = stats[18];
+        pokemon.level           = stats[19];
+        pokemon.wins            = stats[20];
+        pokemon.totalEvolutions = stats[21];
+        pokemon.status          = PokemonActor.Status.values()[ stats[22] ];
+    }
+
+    /**
+     * Adds an Action record. The BattleEngine calls this for every Action that it applies, before applying it.
+     *
+     * The first byte is ACTION_TAG plus the Action type. Moves write the Move index. Items write the index of the Item
+     * in the Pokemon's list of Items, the Move index, and the current Move of both Pokemon, since the current Move can
+     * be changed in the menus of PokeBattle and Items check and change the current Move. Switches write the index in
+     * the team of the Pokemon switched in
+     *
+     * @param action The Action
+     * @param pokemon The Pokemon whose turn it is
+     * @param otherPokemon The Pokemon whose turn it is not
+     * @see BattleEngine.apply( BattleEngine.Action action )
+     */
+    public void writeAction( BattleEngine.Action action, PokemonActor pokemon, PokemonActor otherPokemon ) {
+        BattleEngine.Action.Type type = action.getType();
+        out.write( ACTION_TAG | type.ordinal() );
+
+        if( type == BattleEngine.Action.Type.USE_MOVE ) {
+            writeSigned( action.getMoveIndex() );
+        } else if( type == BattleEngine.Action.Type.USE_ITEM ) {
+            writeVarint( pokemon.getItems().indexOf( action.getItem() ) );
+            writeSigned( action.getMoveIndex() );
+            writeSigned( pokemon.getCurrentMove() == null ? PokeWorld.ERROR :
+                         pokemon.getMoves().indexOf( pokemon.getCurrentMove() ) );
+            writeSigned( otherPokemon.getCurrentMove() == null ? PokeWorld.ERROR :
+                         otherPokemon.getMoves().indexOf( otherPokemon.getCurrentMove() ) );
+        } else if( type == BattleEngine.Action.Type.SWITCH ) {
+            writeVarint( action.getSlot() );
+        }
+    }
+
+    /**
+     * Adds an Event record. The first byte is the Event type and the Side that it is about. Only the values that the
+     * Event type uses are written after it:
+     *
+     * - MOVE_USED              : The Move index (-1 for STRUGGLE)
+     * - DAMAGE_DEALT           : The damage, the critical hit flag, the multi-hit flag, and the status in one number,
+     *                            the effectiveness in quarters, and (only for multi-hit Moves) the number of hits and
+     *                            critical hits
+     * - EXP_GAINED, LEVEL_UP   : The exp gained, or the new level
+     * - STAT_CHANGED           : The index of the property in Item.PROPERTY_NAMES and whether the change is permanent,
+     *                            in one number, and the new value (see writeValue( double value ))
+     * - STATUS_HEALED, STATUS_CAUSED : The status that was healed, or caused
+     * - CANT_MOVE              : The status that kept the Pokemon from moving
+     * - STATUS_DAMAGE          : The damage, and the status of the Pokemon before the damage
+     * - SWITCHED               : The index in the team of the Pokemon switched in
+     *
+     * @param event The Event
+     */
+    public void onEvent( BattleEngine.Event event ) {
+        BattleEngine.Event.Type type = event.getType();
+        out.write( type.ordinal() << 1 | event.getSide().ordinal() );
+
+        if(        type == BattleEngine.Event.Type.MOVE_USED ) {
+            writeSigned( event.getPokemon().getMoveIndex( event.getMove().getName() ) );
+        } else if( type == BattleEngine.Event.Type.DAMAGE_DEALT ) {
+            boolean isMultiHit = event.getHits() != 1;
+            writeVarint( event.getAmount() );
+            writeVarint( (event.isCritical() ? 1 : 0) | (isMultiHit ? 2 : 0) | event.getStatus().ordinal() << 2 );
+            writeVarint( Math.round( event.getEffectiveness() * 4 ) );
+            if( isMultiHit ) {
+                writeVarint( event.getHits() );
+                writeVarint( event.getCriticalHits() );
+            }
+        } else if( type == BattleEngine.Event.Type.EXP_GAINED || type == BattleEngine.Event.Type.LEVEL_UP ) {
+            writeSigned( event.getAmount() );
+        } else if( type == BattleEngine.Event.Type.STAT_CHANGED ) {
+            writeVarint( Arrays.asList( Item.PROPERTY_NAMES ).indexOf( event.getPropertyName() ) << 1 |
+                         (event.isPermanent() ? 1 : 0) );
+            writeValue( event.getNewValue() );
+        } else if( type == BattleEngine.Event.Type.STATUS_HEALED || type == BattleEngine.Event.Type.STATUS_CAUSED ||
+                   type == BattleEngine.Event.Type.CANT_MOVE ) {
+            writeVarint( event.getStatus().ordinal() );
+        } else if( type == BattleEngine.Event.Type.STATUS_DAMAGE ) {
+            writeVarint( event.getAmount() );
+            writeVarint( event.getStatus().ordinal() );
+        } else if( type == BattleEngine.Event.Type.SWITCHED ) {
+            writeVarint( event.getAmount() );
+        }
+    }
+
+    /**
+     * Writes a number that is not negative, 7 bits per byte, lowest bits first. Every byte but the last has its
+     * high bit set
+     *
+     * @param value The number
+     */
+    private void writeVarint( long value ) {
+        while( (value & ~0x7FL) != 0 ) {
+            out.write( (int)((value & 0x7F) | 0x80) );
+            value >>>= 7;
+        }
+        out.write( (int)value );
+    }
+
+    /**
+     * Writes a number that may be negative. The number is zigzag encoded (0, -1, 1, -2, 2... become 0, 1, 2, 3, 4...)
+     * so that small negative numbers also take one byte
+     *
+     * @param value The number
+     * @see writeVarint( long value )
+     */
+    private void writeSigned( long value ) {
+        writeVarint( (value << 1) ^ (value >> 63) );
+    }
+
+    /**
+     * Writes the new value of a stat change. Whole numbers are written as twice the number, and other values as
+     * twice their thousandths plus one, both zigzag encoded, so the stats and HP that most changes give take one or
+     * two bytes
+     *
+     * @param value The new value
+     * @see writeSigned( long value )
+     */
+    private void writeValue( double value ) {
+        long whole = Math.round( value );
+        if( whole == value ) writeSigned( whole << 1 );
+        else                 writeSigned( Math.round( value * VALUE_SCALE ) << 1 | 1 );
+    }
+
+    /**
+     * Writes text. Text that has not been written before is written as twice its length followed by its UTF-8 bytes.
+     * Text that has been written before is written as twice its number in the order that text was first written, plus
+     * one
+     *
+     * @param text The text
+     */
+    private void writeString( String text ) {
+        int index = strings.indexOf( text );
+        if( index != PokeWorld.ERROR ) {
+            writeVarint( (long)index << 1 | 1 );
+            return;
+        }
+
+        strings.add( text );
+        byte[] bytes = text.getBytes( StandardCharsets.UTF_8 );
+        writeVarint( (long)bytes.length << 1 );
+        out.write( bytes, 0, bytes.length );
+    }
+
+    /**
+     * Gets the seed of the battle
+     *
+     * @return long The seed of the battle's PokeRandom
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of bytes in the log
+     *
+     * @return int The number of bytes
+     */
+    public int size() {
+        return out.size();
+    }
+
+    /**
+     * Gets the bytes of the log
+     *
+     * @return byte[] A copy of the bytes of the log
+     */
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    /**
+     * Adds a finished log to the end of the file, with its length in front of it. The file is created if it does
+     * not exist
+     *
+     * @param fileLoc The file, such as LOG_FILE_LOC
+     * @param log The bytes of the log
+     * @see readAll( String fileLoc )
+     */
+    public static void append( String fileLoc, byte[] log ) {
+        ByteArrayOutputStream record = new ByteArrayOutputStream( log.length + 2 );
+        long length = log.length;
+        while( (length & ~0x7FL) != 0 ) {
+            record.write( (int)((length & 0x7F) | 0x80) );
+            length >>>= 7;
+        }
+        record.write( (int)length );
+        record.write( log, 0, log.length );
+
+        FileOutputStream file = null;
+        try {
+            file = new FileOutputStream( fileLoc, true );
+            record.writeTo( file );
+        } catch( IOException e ) {
+            e.printStackTrace();
+        } finally {
+            try {
+                if( file != null ) file.close();
+            } catch( IOException e ) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Reads every log in the file, oldest first
+     *
+     * @param fileLoc The file, such as LOG_FILE_LOC
+     * @return List<byte[]> The bytes of each log, or an empty list if the file does not exist or cannot be read.
+     *                      A log that was cut off at the end of the file is left out
+     * @see append( String fileLoc, byte[] log )
+     * @see Replay.read( byte[] log )
+     */
+    public static List<byte[]> readAll( String fileLoc ) {
+        ArrayList<byte[]> logs = new ArrayList<byte[]>();
+        File file = new File( fileLoc );
+        if( !file.exists() ) return logs;
+
+        byte[] data;
+        try {
+            data = Files.readAllBytes( file.toPath() );
+        } catch( IOException e ) {
+            e.printStackTrace();
+            return logs;
+        }
+
+        Reader reader = new Reader( data );
+        try {
+            while( reader.hasMore() ) {
+                int length = (int)reader.readVarint();
+                logs.add( reader.readBytes( length ) );
+            }
+        } catch( InvalidLogException e ) {
+            e.printStackTrace();
+        }
+
+        return logs;
+    }
+
+    /**
+     * Plays battles of random Actions between two Pikachu, one of them with STATUS Moves whose power and accuracy are
+     * NA (AGILITY, HAZE) or whose power is NA (LEECH SEED, GROWL), and then between teams of three Pikachu, which
+     * switch as well. Checks that the log of every battle replays to the same bytes. Failures are printed to standard
+     * error
+     *
+     * @return boolean True if every log replays, false otherwise
+     * @see Replay.verify()
+     * @see BattleCLI
+     */
+    public static boolean selfCheck() {
+        String[][] moveSets = { {}, { "Agility", "Leech seed", "Growl" }, { "Haze", "Agility" } };
+        boolean isPassed = true;
+        try {
+            for( int seed = 0; seed < 30; seed++ ) {
+                PokemonActor first = new Pikachu( 1 ), second = new Pikachu( 2 );
+                String[] moveSet = moveSets[ seed % moveSets.length ];
+                for( int i = 0; i < moveSet.length; i++ )
+                    first.getMoves().set( i % first.getMoves().size(), first.getPokedex().getMoveFromName( moveSet[i] ) );
+
+                byte[] log = playRandomBattle( new PokemonActor[]{ first }, new PokemonActor[]{ second }, seed );
+                if( !Replay.read( log ).verify() ) {
+                    System.err.println( "BattleLog: the log of battle " + seed + " " + Arrays.toString( moveSet ) +
+                                        " does not replay." );
+                    isPassed = false;
+                }
+            }
+
+            for( int seed = 0; seed < 10; seed++ ) {
+                PokemonActor[] firstTeam = new PokemonActor[3], secondTeam = new PokemonActor[3];
+                for( int k = 0; k < firstTeam.length; k++ ) {
+                    firstTeam[k] = new Pikachu( 1 + k );
+                    secondTeam[k] = new Pikachu( 1 + firstTeam.length + k );
+                }
+                firstTeam[1].getMoves().set( 0, firstTeam[1].getPokedex().getMoveFromName( "Agility" ) );
+
+                Replay replay = Replay.read( playRandomBattle( firstTeam, secondTeam, seed ) );
+                if( replay.getFirstTeam().length != firstTeam.length || !replay.verify() ) {
+                    System.err.println( "BattleLog: the log of team battle " + seed + " does not replay." );
+                    isPassed = false;
+                }
+            }
+        } catch( Exception e ) {
+            e.printStackTrace();
+            return false;
+        }
+
+        return isPassed;
+    }
+
+    /**
+     * Plays a logged battle in which both teams choose random legal Actions (and random Pokemon to switch in when one
+     * faints), until it is over
+     *
+     * @param firstTeam The team of the first side
+     * @param secondTeam The team of the second side
+     * @param seed The seed of the battle, which also chooses the Actions
+     * @return byte[] The bytes of the log
+     * @throws BattleEngine.InvalidActionException If a legal Action cannot be applied
+     */
+    private static byte[] playRandomBattle( PokemonActor[] firstTeam, PokemonActor[] secondTeam, long seed )
+        throws BattleEngine.InvalidActionException {
+        BattleLog log = new BattleLog( seed, firstTeam, secondTeam );
+        BattleEngine engine = new BattleEngine( firstTeam, secondTeam, new PokeRandom( seed ) );
+        engine.setLog( log );
+
+        PokeRandom choices = PokeRandom.forStream( seed, 1 );
+        while( (engine.getState() == BattleEngine.State.SELECT_ACTION ||
+                engine.getState() == BattleEngine.State.SWITCH_IN) &&
+               engine.getTurnNumber() < BattleSimulator.MAX_TURNS ) {
+            List<BattleEngine.Action> actions = engine.getLegalActions();
+            engine.apply( actions.get( choices.nextInt( actions.size() ) ) );
+        }
+        if( engine.getState() == BattleEngine.State.AWARD_EXP ) engine.apply( BattleEngine.Action.proceed() );
+
+        return log.toByteArray();
+    }
+
+    /**
+     * A battle read back from a log. The Pokemon of both teams are made again from their stat blocks, and
+     * createEngine() gives a BattleEngine with the same seed. Applying the Actions of the log to that engine, in order,
+     * plays the battle again exactly. A Replay can only be played once, since playing it changes its Pokemon
+     */
+    public static class Replay {
+
+        private final byte[] log;
+        private final long seed;
+        private final PokemonActor[] firstTeam, secondTeam;
+        private final ArrayList<int[]> actions = new ArrayList<int[]>();
+        private final ArrayList<String> records = new ArrayList<String>();
+        private int nextAction = 0;
+
+        /**
+         * Create a Replay
+         *
+         * @param log The bytes of the log
+         * @param seed The seed of the battle
+         * @param firstTeam The team of the first side, as it was at the start of the battle
+         * @param secondTeam The team of the second side, as it was at the start of the battle
+         */
+        private Replay( byte[] log, long seed, PokemonActor[] firstTeam, PokemonActor[] secondTeam ) {
+            this.log = log;
+            this.seed = seed;
+            this.firstTeam = firstTeam;
+            this.secondTeam = secondTeam;
+        }
+
+        /**
+         * Reads a log. The Pokemon are made with their (int uniqueID) constructors, and then given the stats, Moves,
+         * and Items of their stat blocks
+         *
+         * @param log The bytes of the log
+         * @return Replay The battle of the log
+         * @throws InvalidLogException If the bytes are not a log, or a Pokemon, Move, or Item of the log cannot be made
+         * @see readAll( String fileLoc )
+         */
+        public static Replay read( byte[] log ) throws InvalidLogException {
+            Reader reader = new Reader( log );
+            byte[] magic = reader.readBytes( MAGIC.length );
+            if( !Arrays.equals( magic, MAGIC ) )
+                throw new InvalidLogException( "Error: The bytes are not a battle log." );
+            int version = reader.readByte();
+            if( version != VERSION )
+                throw new InvalidLogException( "Error: Battle log version " + version + " cannot be read. Expected " +
+                                               VERSION + "." );
+
+            long seed = 0;
+            for( int i = 0; i < 8; i++ )
+                seed = seed << 8 | reader.readByte();
+
+            PokemonActor[] firstTeam = readTeam( reader );
+            Replay replay = new Replay( log, seed, firstTeam, readTeam( reader ) );
+            while( reader.hasMore() ) {
+                int tag = reader.readByte();
+                if( (tag & ACTION_TAG) != 0 ) replay.readAction( tag & ~ACTION_TAG, reader );
+                else                          replay.readEvent( tag, reader );
+            }
+
+            return replay;
+        }
+
+        /**
+         * Makes the Pokemon of a team from the size of the team and their stat blocks
+         *
+         * @param reader The Reader, at the size of the team
+         * @return PokemonActor[] The team, as it was at the start of the battle
+         * @throws InvalidLogException If the size is not a team size, or a Pokemon of the team cannot be made
+         * @see readStatBlock( Reader reader )
+         */
+        private static PokemonActor[] readTeam( Reader reader ) throws InvalidLogException {
+            long teamSize = reader.readVarint();
+            if( teamSize < 1 || teamSize > BattleEngine.MAX_TEAM_SIZE )
+                throw new InvalidLogException( "Error: A team of " + teamSize + " Pokemon cannot battle." );
+
+            PokemonActor[] team = new PokemonActor[ (int)teamSize ];
+            for( int k = 0; k < team.length; k++ )
+                team[k] = readStatBlock( reader );
+            return team;
+        }
+
+        /**
+         * Makes a Pokemon from its stat block
+         *
+         * @param reader The Reader, at the start of the stat block
+         * @return PokemonActor The Pokemon, as it was at the start of the battle
+         * @throws InvalidLogException If the Pokemon, one of its Moves, or one of its Items cannot be made
+         * @see BattleSimulator.getBuild( Class<? extends PokemonActor> cls )
+         */
+        private static PokemonActor readStatBlock( Reader reader ) throws InvalidLogException {
+            String className = reader.readString();
+            int uniqueID = (int)reader.readSigned();
+
+            PokemonActor pokemon;
+            try {
+                BattleSimulator.Build build = BattleSimulator.getBuild(
+                    Class.forName( className ).asSubclass( PokemonActor.class ) );
+                pokemon = build.create( uniqueID );
+            } catch( Exception e ) {
+                throw new InvalidLogException( "Error: The Pokemon " + className + " cannot be made. " + e );
+            }
+
+            int[] stats = getStats( pokemon );
+            long changed = reader.readVarint();
+            for( int i = 0; i < stats.length; i++ )
+                if( (changed & 1L << i) != 0 ) stats[i] = (int)reader.readSigned();
+            if( stats[22] < 0 || stats[22] >= PokemonActor.Status.values().length )
+                throw new InvalidLogException( "Error: The status " + stats[22] + " of the log is not a status." );
+            setStats( pokemon, stats );
+
+            if( reader.readVarint() == 0 ) {
+                pokemon.criticalHitRatio = pokemon.currentCriticalHitRatio =
+                    (pokemon.speed / 2.0) / PokeWorld.CRITICAL_HIT_RATIO;
+            } else {
+                pokemon.criticalHitRatio        = Double.longBitsToDouble( reader.readVarint() );
+                pokemon.currentCriticalHitRatio = Double.longBitsToDouble( reader.readVarint() );
+            }
+
+            int currentMoveIndex = (int)reader.readSigned();
+            int totalMoves = (int)reader.readVarint();
+            ArrayList<Move> builtMoves = pokemon.moves;
+            pokemon.moves = new ArrayList<Move>();
+            for( int i = 0; i < totalMoves; i++ ) {
+                if( reader.readVarint() == 0 ) {
+                    if( i >= builtMoves.size() )
+                        throw new InvalidLogException( "Error: The " + className + " constructor gives no Move " + i +
+                                                       "." );
+                    pokemon.moves.add( builtMoves.get(i) );
+                    continue;
+                }
+
+                String moveName = reader.readString();
+                Move move;
+                try {
+                    move = pokemon.getPokedex().getMoveFromName( moveName );
+                } catch( Exception e ) {
+                    throw new InvalidLogException( "Error: The Move " + moveName + " cannot be made. " + e );
+                }
+
+                //The values are put back exactly, since the setters would turn the NA (ERROR) power and accuracy of
+                //STATUS Moves into 0, and the replayed Move would then always miss
+                int[] state = new int[6];
+                for( int j = 0; j < 3; j++ )
+                    state[j] = (int)reader.readSigned();
+                if( reader.readVarint() == 0 ) {
+                    System.arraycopy( state, 0, state, 3, 3 );
+                } else {
+                    for( int j = 3; j < 6; j++ )
+                        state[j] = (int)reader.readSigned();
+                }
+                move.restoreState( state );
+                pokemon.moves.add( move );
+            }
+            pokemon.currentMove = currentMoveIndex == PokeWorld.ERROR ? null : pokemon.moves.get( currentMoveIndex );
+
+            int totalItems = (int)reader.readVarint();
+            pokemon.items = new ArrayList<Item>();
+            for( int i = 0; i < totalItems; i++ ) {
+                int itemNumber = (int)reader.readSigned();
+                String itemName = itemNumber == PokeWorld.ERROR ? reader.readString() : "number " + itemNumber;
+                Item item;
+                try {
+                    item = new Item( itemNumber == PokeWorld.ERROR ? Item.getItemLineFromName( itemName ) :
+                                                                     Item.getItemLineFromNumber( itemNumber ) );
+                } catch( Exception e ) {
+                    throw new InvalidLogException( "Error: The Item " + itemName + " cannot be made. " + e );
+                }
+
+                item.setQuantity( (int)reader.readSigned() );
+                pokemon.items.add( item );
+            }
+
+            return pokemon;
+        }
+
+        /**
+         * Reads an Action record
+         *
+         * @param typeIndex The index of the Action type
+         * @param reader The Reader, just after the first byte of the record
+         * @throws InvalidLogException If the record is cut off
+         * @see BattleLog.writeAction( BattleEngine.Action action, PokemonActor pokemon, PokemonActor otherPokemon )
+         */
+        private void readAction( int typeIndex, Reader reader ) throws InvalidLogException {
+            int[] action = { typeIndex, PokeWorld.ERROR, PokeWorld.ERROR, PokeWorld.ERROR, PokeWorld.ERROR };
+            if(        typeIndex == BattleEngine.Action.Type.USE_MOVE.ordinal() ) {
+                action[1] = (int)reader.readSigned();
+            } else if( typeIndex == BattleEngine.Action.Type.USE_ITEM.ordinal() ) {
+                action[2] = (int)reader.readVarint();
+                action[1] = (int)reader.readSigned();
+                action[3] = (int)reader.readSigned();
+                action[4] = (int)reader.readSigned();
+            } else if( typeIndex == BattleEngine.Action.Type.SWITCH.ordinal() ) {
+                action[1] = (int)reader.readVarint();
+            }
+
+            boolean isSwitch = typeIndex == BattleEngine.Action.Type.SWITCH.ordinal();
+            actions.add( action );
+            records.add( BattleEngine.Action.Type.values()[ typeIndex ] +
+                         (action[1] != PokeWorld.ERROR ? (isSwitch ? " slot " : " move ") + action[1] : "") +
+                         (action[2] != PokeWorld.ERROR ? " item " + action[2] : "") );
+        }
+
+        /**
+         * Reads an Event record
+         *
+         * @param tag The first byte of the record
+         * @param reader The Reader, just after the first byte of the record
+         * @throws InvalidLogException If the record is cut off
+         * @see BattleLog.onEvent( BattleEngine.Event event )
+         */
+        private void readEvent( int tag, Reader reader ) throws InvalidLogException {
+            BattleEngine.Event.Type type = BattleEngine.Event.Type.values()[ tag >> 1 ];
+            String text = "  " + type + " " + BattleEngine.Side.values()[ tag & 1 ];
+
+            if(        type == BattleEngine.Event.Type.MOVE_USED ) {
+                text += " move " + reader.readSigned();
+            } else if( type == BattleEngine.Event.Type.DAMAGE_DEALT ) {
+                text += " " + reader.readVarint();
+                int flags = (int)reader.readVarint();
+                text += (flags & 1) != 0 ? " critical" : "";
+                text += " " + PokemonActor.Status.values()[ flags >> 2 ];
+                text += " x" + reader.readVarint() / 4.0;
+                if( (flags & 2) != 0 ) {
+                    long hits = reader.readVarint(), criticalHits = reader.readVarint();
+                    text += " " + hits + " hits, " + criticalHits + " critical";
+                }
+            } else if( type == BattleEngine.Event.Type.EXP_GAINED || type == BattleEngine.Event.Type.LEVEL_UP ) {
+                text += " " + reader.readSigned();
+            } else if( type == BattleEngine.Event.Type.STAT_CHANGED ) {
+                int property = (int)reader.readVarint();
+                text += " " + Item.PROPERTY_NAMES[ property >> 1 ];
+                text += (property & 1) != 0 ? " permanent" : "";
+                long value = reader.readSigned();
+                text += " " + ((value & 1) == 0 ? (double)(value >> 1) : (value >> 1) / VALUE_SCALE);
+            } else if( type == BattleEngine.Event.Type.STATUS_HEALED || type == BattleEngine.Event.Type.STATUS_CAUSED ||
+                       type == BattleEngine.Event.Type.CANT_MOVE ) {
+                text += " " + PokemonActor.Status.values()[ (int)reader.readVarint() ];
+            } else if( type == BattleEngine.Event.Type.STATUS_DAMAGE ) {
+                text += " " + reader.readVarint();
+                text += " " + PokemonActor.Status.values()[ (int)reader.readVarint() ];
+            } else if( type == BattleEngine.Event.Type.SWITCHED ) {
+                text += " slot " + reader.readVarint();
+            }
+
+            records.add( text );
+        }
+
+        /**
+         * Creates a BattleEngine for the two teams with the seed of the log. Applying the Actions of the log to this
+         * engine plays the battle again
+         *
+         * @return BattleEngine The BattleEngine
+         */
+        public BattleEngine createEngine() {
+            return new BattleEngine( firstTeam, secondTeam, new PokeRandom( seed ) );
+        }
+
+        /**
+         * Gets an Action of the log, ready to be applied to the engine. For Items, the Item is taken from the engine's
+         * Pokemon, and the current Move of both Pokemon is set to what it was when the Item was used
+         *
+         * @param index The index of the Action
+         * @param engine The BattleEngine made by createEngine()
+         * @return BattleEngine.Action The Action
+         */
+        public BattleEngine.Action getAction( int index, BattleEngine engine ) {
+            int[] action = actions.get( index );
+            BattleEngine.Action.Type type = BattleEngine.Action.Type.values()[ action[0] ];
+            if(        type == BattleEngine.Action.Type.USE_MOVE ) {
+                return BattleEngine.Action.useMove( action[1] );
+            } else if( type == BattleEngine.Action.Type.USE_ITEM ) {
+                PokemonActor pokemon = engine.getCurrentPokemon();
+                PokemonActor otherPokemon = engine.getOtherPokemon();
+                if( action[3] != PokeWorld.ERROR ) pokemon.setCurrentMove( pokemon.getMoves().get( action[3] ) );
+                if( action[4] != PokeWorld.ERROR ) otherPokemon.setCurrentMove( otherPokemon.getMoves().get( action[4] ) );
+
+                Item item = pokemon.getItems().get( action[2] );
+                return action[1] != PokeWorld.ERROR ? BattleEngine.Action.useItem( item, action[1] )
+                                                    : BattleEngine.Action.useItem( item );
+            } else if( type == BattleEngine.Action.Type.RUN ) {
+                return BattleEngine.Action.run();
+            } else if( type == BattleEngine.Action.Type.SWITCH ) {
+                return BattleEngine.Action.switchTo( action[1] );
+            }
+
+            return BattleEngine.Action.proceed();
+        }
+
+        /**
+         * Gets the next Action that the player chose, skipping CONTINUE Actions, which PokeBattle applies on its own
+         * once a Pokemon has fainted
+         *
+         * @param engine The BattleEngine made by createEngine()
+         * @return BattleEngine.Action The next Action, or null if there are no more
+         * @see getAction( int index, BattleEngine engine )
+         */
+        public BattleEngine.Action nextAction( BattleEngine engine ) {
+            while( nextAction < actions.size() ) {
+                BattleEngine.Action action = getAction( nextAction++, engine );
+                if( action.getType() != BattleEngine.Action.Type.CONTINUE ) return action;
+            }
+
+            return null;
+        }
+
+        /**
+         * Plays the battle again with no world, and checks that it gives exactly the same log
+         *
+         * @return boolean True if the battle played again gives the same bytes as the log, false otherwise
+         * @see createEngine()
+         * @see getAction( int index, BattleEngine engine )
+         */
+        public boolean verify() {
+            BattleLog replayLog = new BattleLog( seed, firstTeam, secondTeam );
+            BattleEngine engine = createEngine();
+            engine.setLog( replayLog );
+            try {
+                for( int i = 0; i < actions.size(); i++ )
+                    engine.apply( getAction( i, engine ) );
+            } catch( BattleEngine.InvalidActionException e ) {
+                e.printStackTrace();
+                return false;
+            }
+
+            return Arrays.equals( log, replayLog.toByteArray() );
+        }
+
+        public long getSeed()                  { return seed; }
+        public PokemonActor getFirst()         { return firstTeam[0]; }
+        public PokemonActor getSecond()        { return secondTeam[0]; }
+        public PokemonActor[] getFirstTeam()   { return firstTeam; }
+        public PokemonActor[] getSecondTeam()  { return secondTeam; }
+        public int getTotalActions()           { return actions.size(); }
+
+        /**
+         * Determines whether the log is of a battle between two single Pokemon, which is the only kind of battle that
+         * PokeBattle can show
+         *
+         * @return boolean True if both teams have one Pokemon, false otherwise
+         */
+        public boolean isSingleBattle() {
+            return firstTeam.length == 1 && secondTeam.length == 1;
+        }
+
+        /**
+         * Gets the log as text, one record per line, such as "USE_MOVE move 2" followed by its Events
+         *
+         * @return String The log as text
+         */
+        public String toString() {
+            String text = "Battle log: seed " + seed + ", " + getTeamNames( firstTeam ) + " vs " +
+                          getTeamNames( secondTeam ) + ", " + log.length + " bytes";
+            for( String record : records )
+                text += "\n" + record;
+
+            return text;
+        }
+
+        /**
+         * Gets the names of the Pokemon of a team, such as "pikachu" or "[pikachu, raichu]"
+         *
+         * @param team The team
+         * @return String The name of the Pokemon of a team of one, or the names of every Pokemon of the team
+         */
+        private static String getTeamNames( PokemonActor[] team ) {
+            if( team.length == 1 ) return team[0].getName();
+
+            ArrayList<String> names = new ArrayList<String>();
+            for( PokemonActor pokemon : team )
+                names.add( pokemon.getName() );
+            return names.toString();
+        }
+    }
+
+    /**
+     * Reads the varints, zigzag numbers, and text of a log
+     */
+    private static class Reader {
+
+        private final byte[] data;
+        private final ArrayList<String> strings = new ArrayList<String>();
+        private int position = 0;
+
+        /**
+         * Create a Reader at the start of the bytes
+         *
+         * @param data The bytes
+         */
+        public Reader( byte[] data ) {
+            this.data = data;
+        }
+
+        public boolean hasMore() {
+            return position < data.length;
+        }
+
+        public int readByte() throws InvalidLogException {
+            if( position >= data.length )
+                throw new InvalidLogException( "Error: The battle log ends in the middle of a record." );
+            return data[ position++ ] & 0xFF;
+        }
+
+        public byte[] readBytes( int length ) throws InvalidLogException {
+            if( length < 0 || position + length > data.length )
+                throw new InvalidLogException( "Error: The battle log ends in the middle of a record." );
+            byte[] bytes = Arrays.copyOfRange( data, position, position + length );
+            position += length;
+            return bytes;
+        }
+
+        public long readVarint() throws InvalidLogException {
+            long value = 0;
+            for( int shift = 0; shift < 64; shift += 7 ) {
+                int b = readByte();
+                value |= (long)(b & 0x7F) << shift;
+                if( (b & 0x80) == 0 ) return value;
+            }
+
+            throw new InvalidLogException( "Error: The battle log has a number that is too long." );
+        }
+
+        public long readSigned() throws InvalidLogException {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        public String readString() throws InvalidLogException {
+            long header = readVarint();
+            if( (header & 1) != 0 ) {
+                if( (header >> 1) >= strings.size() )
+                    throw new InvalidLogException( "Error: The battle log refers to text that it does not have." );
+                return strings.get( (int)(header >> 1) );
+            }
+
+            String text = new String( readBytes( (int)(header >> 1) ), StandardCharsets.UTF_8 );
+            strings.add( text );
+            return text;
+        }
+    }
+
+    /**
+     * Thrown when the bytes are not a battle log that can be read
+     */
+    public static class InvalidLogException extends Exception {
+
+        /**
+            Throw new exception
+
+            @param errorMessage The message to print
+        */
+        public InvalidLogException( String errorMessage ) {
+            super( errorMessage );
+        }
+
+    }
+}
@@ -0,0 +1,746 @@
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BattleSimulator.java
+ *
+ * Runs many battles between two rosters of Pokemon builds without a world, across all of the cores of the computer,
+ * in order to find how likely each build is to win. Every battle is run by a BattleEngine, so the damage and hit
+ * formulas are exactly the ones used in live play.
+ *
+ * This is also the headless battle code of BattleCLI, Tournament, and BuildOptimizer. runChunks() splits the battles
+ * into chunks of about CHUNK_SIZE battles on a ForkJoinPool. Each battle takes its Pokemon from a PokemonPool, which
+ * keeps the Pokemon that no battle is using and creates new ones only when every Pokemon of a build is busy, since
+ * creating a Pokemon reads the Pokedex files. A Pokemon is restored from the PokemonActor.Snapshot taken when it was
+ * created every time it is taken, so the stats and critical hit ratio that its Moves changed in one battle never carry
+ * over into the next. playBattle() then plays the battle to its end, and tells a BattleListener about every Event,
+ * which is how BattleCLI counts the hits and misses of each battle. Each battle has its own PokeRandom, the stream of
+ * the simulator's seed numbered by the battle, so that a simulation with the same seed gives the same results no
+ * matter how the battles are split into chunks or shared between the cores.
+ *
+ * In every battle, both Pokemon choose a random Move that still has PP left. Items are not used, since they can
+ * change a Pokemon's stats permanently. The faster Pokemon attacks first in every round (see BattleEngine), and the
+ * rosters take turns being the first Pokemon of the engine: in even battles the Pokemon from the first roster is
+ * PLAYER_1, and in odd battles the Pokemon from the second roster is. Battles that last longer than MAX_TURNS turns
+ * are counted as draws.
+ *
+ * Battles may also be between teams of up to BattleEngine.MAX_TEAM_SIZE Pokemon. The team of a battle is its lead
+ * build followed by the builds after it in the roster (wrapping around), so a roster of six builds gives six different
+ * orders of the same six Pokemon. When a Pokemon faints, a random Pokemon of its team that has not fainted is switched
+ * in. The matchups are counted by lead build. The teams are only arrays of the Pokemon of the pool, so a 6v6 battle
+ * costs about as much per turn as a 1v1 battle.
+ *
+ * Example: new BattleSimulator( new Build[]{ BattleSimulator.getBuild( Pikachu.class ) },
+ *                               new Build[]{ BattleSimulator.getBuild( Pikachu.class ) }, 42L ).run( 10000 )
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - MAX_TURNS          : The number of turns after which a battle is counted as a draw
+ * - CHUNK_SIZE         : The number of battles that one task runs
+ * - CONFIDENCE_Z       : The z score of the confidence intervals (1.96 for 95%)
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - roster1, roster2   : The builds of the two rosters
+ * - seed               : The seed that the PokeRandoms of the battles are made from
+ * - teamSize           : The number of Pokemon in each team
+ * - pokemon1, pokemon2 : The PokemonPools of the two rosters
+ * - pool               : The ForkJoinPool that runs the battles
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - BattleSimulator( Build[] roster1, Build[] roster2, long seed ) : Create a simulator for the two rosters
+ * - BattleSimulator( Build[] roster1, Build[] roster2, long seed, int teamSize ) : Create a simulator for battles between
+ *                                        teams of the two rosters
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - run( int battles )                 : Runs the battles and returns the Result
+ * - getBuild( Class cls )              : Gets a Build that creates Pokemon of the class with its (int uniqueID) constructor
+ * - runChunks( ForkJoinPool pool, int count, int chunkSize, Chunk<R> chunk ) : Runs a range of work in chunks on the
+ *                                        pool and returns the result of each chunk
+ * - playBattle( BattleEngine engine, PokeRandom random, BattleListener listener ) : Plays a headless battle to its end
+ * - chooseMove( PokemonActor pokemon, PokeRandom random ) : Chooses a random Move that still has PP left
+ * - getWilsonInterval( long wins, long battles ) : Gets the confidence interval of a win rate
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - runBattles( int start, int end )   : Runs a chunk of the battles of run()
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Build          : Creates new Pokemon of one build
+ * - Chunk          : Runs one chunk of the work of runChunks()
+ * - BattleListener : Is told about every Event of a battle played by playBattle()
+ * - IdlePool       : Keeps the objects of each index that no thread is using, and creates new ones when there are none
+ * - PokemonPool    : The IdlePool of the Pokemon of some builds, which restores each Pokemon when it is taken, and
+ *                    takes and gives back whole teams
+ * - Result         : The results of a simulation. Results of chunks are added together
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleEngine.java
+ * @see PokemonActor.java
+ * @see FrameTimer.java
+ * @see BattleCLI.java
+ * @see Tournament.java
+ * @see BuildOptimizer.java
+ */
+public class BattleSimulator {
+
+    public static final int MAX_TURNS       = 1000;
+    public static final int CHUNK_SIZE      = 256;
+    public static final double CONFIDENCE_Z = 1.96;
+
+    private final Build[] roster1, roster2;
+    private final long seed;
+    private final int teamSize;
+    private final PokemonPool pokemon1, pokemon2;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create a simulator for the two rosters. Every build of the first roster battles every build of the second roster
+     * the same number of times (give or take one)
+     *
+     * @param roster1 The builds of the first roster
+     * @param roster2 The builds of the second roster
+     * @param seed The seed of the simulation. Simulations with the same rosters, seed, and number of battles give the
+     *             same results
+     */
+    public BattleSimulator( Build[] roster1, Build[] roster2, long seed ) {
+        this( roster1, roster2, seed, 1 );
+    }
+
+    /**
+     * Create a simulator for battles between teams of the two rosters. The team of a battle is its lead build and the
+     * teamSize - 1 builds after it in the roster, so the rosters may be smaller than the teams
+     *
+     * @param roster1 The builds of the first roster
+     * @param roster2 The builds of the second roster
+     * @param seed The seed of the simulation
+     * @param teamSize The number of Pokemon in each team, from 1 to BattleEngine.MAX_TEAM_SIZE
+     * @throws IllegalArgumentException If the team size is out of range
+     */
+    public BattleSimulator( Build[] roster1, Build[] roster2, long seed, int teamSize ) {
+        if( teamSize < 1 || teamSize > BattleEngine.MAX_TEAM_SIZE )
+            throw new IllegalArgumentException( "Error: The team size must be from 1 to " + BattleEngine.MAX_TEAM_SIZE + "." );
+
+        this.roster1 = roster1;
+        this.roster2 = roster2;
+        this.seed = seed;
+        this.teamSize = teamSize;
+        this.pokemon1 = new PokemonPool( roster1 );
+        this.pokemon2 = new PokemonPool( roster2 );
+    }
+
+    /**
+     * Runs the battles on all of the cores and returns the results
+     *
+     * @param battles The number of battles to run
+     * @return Result The results of the battles
+     * @see runBattles( int start, int end )
+     */
+    public Result run( int battles ) {
+        long start = System.nanoTime();
+        Result result = new Result( roster1.length, roster2.length );
+        List<Result> chunks = runChunks( pool, battles, CHUNK_SIZE, new Chunk<Result>() {
+            public Result run( int start, int end ) throws Exception {
+                return runBattles( start, end );
+            }
+        } );
+        for( Result chunk : chunks )
+            if( chunk != null ) result.add( chunk );
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Gets a Build that creates Pokemon of the class with its (int uniqueID) constructor, the constructor that
+     * every PokemonActor subclass has
+     *
+     * @param cls The PokemonActor subclass, such as Pikachu.class
+     * @return Build The Build, or null if the class has no (int uniqueID) constructor
+     */
+    public static Build getBuild( final Class<? extends PokemonActor> cls ) {
+        final Constructor<? extends PokemonActor> constructor;
+        try {
+            constructor = cls.getConstructor( int.class );
+        } catch( NoSuchMethodException e ) {
+            e.printStackTrace();
+            return null;
+        }
+
+        return new Build() {
+            public PokemonActor create( int uniqueID ) throws Exception {
+                return constructor.newInstance( uniqueID );
+            }
+
+            public String toString() {
+                return cls.getName();
+            }
+        };
+    }
+
+    /**
+     * Runs the battles from start (inclusive) to end (exclusive), one chunk of run()
+     *
+     * @param start The index of the first battle
+     * @param end The index after the last battle
+     * @return Result The results of the battles
+     * @throws Exception If the Pokemon of a battle cannot be created
+     * @see playBattle( BattleEngine engine, PokeRandom random, BattleListener listener )
+     */
+    private Result runBattles( int start, int end ) throws Exception {
+        final Result result = new Result( roster1.length, roster2.length );
+        for( int battle = start; battle < end; battle++ ) {
+            int index1 = battle % roster1.length;
+            int index2 = (battle / roster1.length) % roster2.length;
+            PokemonActor[] team1 = pokemon1.takeTeam( index1, teamSize );
+            PokemonActor[] team2 = pokemon2.takeTeam( index2, teamSize );
+            if( team1 == null || team2 == null ) {
+                pokemon1.giveTeam( team1, index1 );
+                pokemon2.giveTeam( team2, index2 );
+                throw new Exception( "Cannot create the Pokemon of battle " + battle );
+            }
+
+            PokeRandom random = PokeRandom.forStream( seed, battle );
+            boolean isSwapped = battle % 2 == 1;
+            BattleEngine engine = isSwapped ? new BattleEngine( team2, team1, random ) :
+                                              new BattleEngine( team1, team2, random );
+            final BattleEngine.Side side1 = isSwapped ? BattleEngine.Side.PLAYER_2 : BattleEngine.Side.PLAYER_1;
+            playBattle( engine, random, new BattleListener() {
+                public void onEvent( BattleEngine.Event event ) {
+                    if( event.getType() != BattleEngine.Event.Type.DAMAGE_DEALT ) return;
+                    if( event.getSide() != side1 ) result.damage1.record( event.getAmount() );
+                    else                           result.damage2.record( event.getAmount() );
+                }
+            } );
+            pokemon1.giveTeam( team1, index1 );
+            pokemon2.giveTeam( team2, index2 );
+
+            BattleEngine.Side winner = engine.getWinner();
+            result.record( index1, index2, winner == null ? 0 : winner == side1 ? 1 : 2, engine.getTurnNumber() );
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs count pieces of work in chunks of chunkSize pieces (the last chunk may be smaller), all at once on the
+     * pool, and waits for them. A chunk that throws an Exception has its stack trace printed, and its result is null
+     *
+     * @param pool The ForkJoinPool that runs the chunks
+     * @param count The number of pieces of work, such as battles or matchups
+     * @param chunkSize The number of pieces of one chunk, at least 1
+     * @param chunk Runs one chunk
+     * @return List<R> The result of each chunk, in order
+     */
+    public static <R> List<R> runChunks( ForkJoinPool pool, int count, int chunkSize, final Chunk<R> chunk ) {
+        final int size = Math.max( 1, chunkSize );
+        ArrayList<Callable<R>> tasks = new ArrayList<Callable<R>>();
+        for( int first = 0; first < count; first += size ) {
+            final int start = first, end = Math.min( count, first + size );
+            tasks.add( new Callable<R>() {
+                public R call() throws Exception {
+                    return chunk.run( start, end );
+                }
+            } );
+        }
+
+        ArrayList<R> results = new ArrayList<R>();
+        for( Future<R> future : pool.invokeAll( tasks ) ) {
+            try {
+                results.add( future.get() );
+            } catch( InterruptedException | ExecutionException e ) {
+                e.printStackTrace();
+                results.add( null );
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Plays a headless battle to its end: every Pokemon chooses a random Move that still has PP left, a random Pokemon
+     * that has not fainted is switched in when one faints, and the battle stops after MAX_TURNS turns. This is the
+     * battle of every simulator, BattleCLI batch, Tournament matchup, and BuildOptimizer candidate
+     *
+     * @param engine The BattleEngine of the battle, made with the Pokemon in the order they battle
+     * @param random The PokeRandom of the battle, which should be the PokeRandom of the engine
+     * @param listener Is told about every Event of the battle, or null
+     * @see chooseMove( PokemonActor pokemon, PokeRandom random )
+     */
+    public static void playBattle( BattleEngine engine, PokeRandom random, BattleListener listener ) {
+        try {
+            while( engine.getTurnNumber() < MAX_TURNS ) {
+                BattleEngine.Action action;
+                if( engine.getState() == BattleEngine.State.SELECT_ACTION ) {
+                    action = BattleEngine.Action.useMove( chooseMove( engine.getCurrentPokemon(), random ) );
+                } else if( engine.getState() == BattleEngine.State.SWITCH_IN ) {
+                    List<BattleEngine.Action> switches = engine.getLegalActions();
+                    action = switches.get( random.nextInt( switches.size() ) );
+                } else
+                    break;
+
+                List<BattleEngine.Event> events = engine.apply( action );
+                if( listener == null ) continue;
+                for( BattleEngine.Event event : events )
+                    listener.onEvent( event );
+            }
+        } catch( BattleEngine.InvalidActionException e ) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Chooses a random Move that still has PP left. If no Move has PP left, the first Move is chosen, and the
+     * BattleEngine uses STRUGGLE instead. This is how every headless battle chooses its Moves
+     *
+     * @param pokemon The Pokemon whose turn it is
+     * @param random The PokeRandom of the battle
+     * @return int The index of the Move
+     * @see playBattle( BattleEngine engine, PokeRandom random, BattleListener listener )
+     */
+    public static int chooseMove( PokemonActor pokemon, PokeRandom random ) {
+        ArrayList<Move> moves = pokemon.getMoves();
+        int[] usable = new int[ moves.size() ];
+        int total = 0;
+        for( int i = 0; i < moves.size(); i++ )
+            if( moves.get(i).getCurrentPP() > 0 ) usable[ total++ ] = i;
+
+        return total == 0 ? 0 : usable[ random.nextInt( total ) ];
+    }
+
+    /**
+     * Gets the Wilson score interval of a win rate, which stays inside 0 to 1 even when there are few battles or
+     * the win rate is close to 0 or 1
+     *
+     * @param wins The number of wins
+     * @param battles The number of battles
+     * @return double[] The low and high ends of the interval, using CONFIDENCE_Z
+     */
+    public static double[] getWilsonInterval( long wins, long battles ) {
+        if( battles == 0 ) return new double[]{ 0.0, 1.0 };
+        double n = battles;
+        double p = wins / n;
+        double z2 = CONFIDENCE_Z * CONFIDENCE_Z;
+        double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double margin = CONFIDENCE_Z * Math.sqrt( p * (1 - p) / n + z2 / (4 * n * n) ) / (1 + z2 / n);
+        return new double[]{ Math.max( 0.0, center - margin ), Math.min( 1.0, center + margin ) };
+    }
+
+    /**
+     * Creates new Pokemon of one build. A Build must create a new Pokemon every time, since battles change the
+     * Pokemon that battle
+     */
+    public interface Build {
+
+        /**
+         * Creates a new Pokemon of this build
+         *
+         * @param uniqueID The unique ID of the new Pokemon
+         * @return PokemonActor The new Pokemon
+         * @throws Exception If the Pokemon cannot be created
+         */
+        PokemonActor create( int uniqueID ) throws Exception;
+    }
+
+    /**
+     * Runs one chunk of the work of runChunks()
+     */
+    public interface Chunk<R> {
+
+        /**
+         * Runs the pieces of work from start (inclusive) to end (exclusive)
+         *
+         * @param start The index of the first piece
+         * @param end The index after the last piece
+         * @return R The result of the chunk
+         * @throws Exception If the chunk cannot be run
+         */
+        R run( int start, int end ) throws Exception;
+    }
+
+    /**
+     * Is told about every Event of a battle played by playBattle(), in the order they happen
+     */
+    public interface BattleListener {
+
+        /**
+         * Called with each Event of the battle
+         *
+         * @param event The Event
+         */
+        void onEvent( BattleEngine.Event event );
+    }
+
+    /**
+     * Keeps the objects of each index that no thread is using. take() gives an idle object of the index, or creates a
+     * new one when every object of the index is busy, so objects that take long to create are only created about once
+     * per core. An object must be given back with give() once the thread is done with it
+     */
+    public static abstract class IdlePool<T> {
+
+        private final ArrayList<ConcurrentLinkedQueue<T>> idle = new ArrayList<ConcurrentLinkedQueue<T>>();
+
+        /**
+         * Create an empty pool
+         *
+         * @param size The number of indexes
+         */
+        public IdlePool( int size ) {
+            for( int i = 0; i < size; i++ )
+                idle.add( new ConcurrentLinkedQueue<T>() );
+        }
+
+        /**
+         * Creates a new object of an index
+         *
+         * @param index The index
+         * @return T The new object
+         * @throws Exception If the object cannot be created
+         */
+        protected abstract T create( int index ) throws Exception;
+
+        /**
+         * Takes an idle object of an index, or creates one if every object of the index is busy
+         *
+         * @param index The index
+         * @return T The object, or null if a new object cannot be created
+         */
+        public T take( int index ) {
+            T item = idle.get( index ).poll();
+            if( item != null ) return item;
+            try {
+                return create( index );
+            } catch( Exception e ) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+
+        /**
+         * Gives an object back, so that it is idle again
+         *
+         * @param index The index the object was taken from
+         * @param item The object
+         */
+        public void give( int index, T item ) {
+            idle.get( index ).add( item );
+        }
+
+        /**
+         * Creates one object of every index, all at once on the pool, and leaves them idle
+         *
+         * @param pool The ForkJoinPool that creates the objects
+         * @return List<T> The object of each index, or null where one cannot be created. The objects are idle, so they
+         *                 may be read but not changed
+         */
+        public List<T> createAll( ForkJoinPool pool ) {
+            List<T> created = runChunks( pool, size(), 1, new Chunk<T>() {
+                public T run( int start, int end ) throws Exception {
+                    return create( start );
+                }
+            } );
+            for( int i = 0; i < created.size(); i++ )
+                if( created.get(i) != null ) give( i, created.get(i) );
+            return created;
+        }
+
+        /**
+         * Gets the number of indexes
+         *
+         * @return int The number of indexes
+         */
+        public int size() {
+            return idle.size();
+        }
+    }
+
+    /**
+     * The IdlePool of the Pokemon of some builds, by build. Every Pokemon is restored from the PokemonActor.Snapshot
+     * taken when it was created each time it is taken, which puts back everything that a battle changes (HP, Status,
+     * PP, the current stats, and the critical hit ratio), so every battle starts from the Pokemon as it was created
+     */
+    public static class PokemonPool extends IdlePool<PokemonActor> {
+
+        private final Build[] builds;
+        private final ConcurrentHashMap<PokemonActor, PokemonActor.Snapshot> snapshots =
+            new ConcurrentHashMap<PokemonActor, PokemonActor.Snapshot>();
+        private final AtomicInteger uniqueIDs = new AtomicInteger();
+
+        /**
+         * Create an empty pool of the builds
+         *
+         * @param builds The builds
+         */
+        public PokemonPool( Build[] builds ) {
+            super( builds.length );
+            this.builds = builds;
+        }
+
+        /**
+         * Creates a new Pokemon of a build, and saves its Snapshot
+         *
+         * @param index The index of the build
+         * @return PokemonActor The new Pokemon
+         * @throws Exception If the build is null or cannot create its Pokemon
+         */
+        protected PokemonActor create( int index ) throws Exception {
+            if( builds[ index ] == null ) throw new Exception( "Error: There is no build " + index + "." );
+            PokemonActor pokemon = builds[ index ].create( uniqueIDs.getAndIncrement() );
+            snapshots.put( pokemon, pokemon.saveState() );
+            return pokemon;
+        }
+
+        /**
+         * Takes an idle Pokemon of a build, or creates one, and restores it from its Snapshot
+         *
+         * @param index The index of the build
+         * @return PokemonActor The Pokemon, or null if a new Pokemon cannot be created
+         * @see PokemonActor.restoreState( PokemonActor.Snapshot snapshot )
+         */
+        public PokemonActor take( int index ) {
+            PokemonActor pokemon = super.take( index );
+            if( pokemon != null ) pokemon.restoreState( snapshots.get( pokemon ) );
+            return pokemon;
+        }
+
+        /**
+         * Takes the Pokemon of a team: member k is a Pokemon of the build k after the lead build (wrapping around).
+         * A team that holds a build more than once gets a different Pokemon of it for each place
+         *
+         * @param index The index of the lead build
+         * @param teamSize The number of Pokemon in the team
+         * @return PokemonActor[] The team, or null if a Pokemon cannot be created
+         * @see take( int index )
+         */
+        public PokemonActor[] takeTeam( int index, int teamSize ) {
+            PokemonActor[] team = new PokemonActor[ teamSize ];
+            for( int k = 0; k < team.length; k++ ) {
+                team[k] = take( (index + k) % size() );
+                if( team[k] == null ) {
+                    giveTeam( team, index );
+                    return null;
+                }
+            }
+            return team;
+        }
+
+        /**
+         * Gives the Pokemon of a team back
+         *
+         * @param team The team, or null if there is none. Places that are null are skipped
+         * @param index The index of the lead build
+         * @see takeTeam( int index, int teamSize )
+         */
+        public void giveTeam( PokemonActor[] team, int index ) {
+            if( team == null ) return;
+            for( int k = 0; k < team.length; k++ )
+                if( team[k] != null ) give( (index + k) % size(), team[k] );
+        }
+    }
+
+    /**
+     * The results of a simulation: the wins of each roster, the win rate with its confidence interval, the
+     * number of turns, the damage done by each roster, and the number of battles and turns run per second
+     */
+    public static class Result {
+
+        private long battles, wins1, wins2, draws, totalTurns;
+        private final long[][] matchupBattles, matchupWins1, matchupWins2;
+        private final FrameTimer.Histogram turns   = new FrameTimer.Histogram();
+        private final FrameTimer.Histogram damage1 = new FrameTimer.Histogram();
+        private final FrameTimer.Histogram damage2 = new FrameTimer.Histogram();
+        private long elapsedNanos;
+
+        /**
+         * Create empty results
+         *
+         * @param size1 The number of builds in the first roster
+         * @param size2 The number of builds in the second roster
+         */
+        private Result( int size1, int size2 ) {
+            matchupBattles = new long[ size1 ][ size2 ];
+            matchupWins1 = new long[ size1 ][ size2 ];
+            matchupWins2 = new long[ size1 ][ size2 ];
+        }
+
+        /**
+         * Records one battle
+         *
+         * @param index1 The index of the (lead) build of the first roster
+         * @param index2 The index of the (lead) build of the second roster
+         * @param winner 1 if the first roster won, 2 if the second roster won, or 0 for a draw
+         * @param turnCount The number of turns of the battle
+         */
+        private void record( int index1, int index2, int winner, int turnCount ) {
+            battles++;
+            if(      winner == 1 ) wins1++;
+            else if( winner == 2 ) wins2++;
+            else                   draws++;
+            totalTurns += turnCount;
+            turns.record( turnCount );
+            matchupBattles[ index1 ][ index2 ]++;
+            if(      winner == 1 ) matchupWins1[ index1 ][ index2 ]++;
+            else if( winner == 2 ) matchupWins2[ index1 ][ index2 ]++;
+        }
+
+        /**
+         * Adds the results of another chunk to these results
+         *
+         * @param other The results to add
+         */
+        private void add( Result other ) {
+            battles += other.battles;
+            wins1 += other.wins1;
+            wins2 += other.wins2;
+            draws += other.draws;
+            totalTurns += other.totalTurns;
+            for( int i = 0; i < matchupBattles.length; i++ ) {
+                for( int j = 0; j < matchupBattles[i].length; j++ ) {
+                    matchupBattles[i][j] += other.matchupBattles[i][j];
+                    matchupWins1[i][j] += other.matchupWins1[i][j];
+                    matchupWins2[i][j] += other.matchupWins2[i][j];
+                }
+            }
+            turns.add( other.turns );
+            damage1.add( other.damage1 );
+            damage2.add( other.damage2 );
+        }
+
+        public long getBattles()                  { return battles; }
+        public long getWins1()                    { return wins1; }
+        public long getWins2()                    { return wins2; }
+        public long getDraws()                    { return draws; }
+        public FrameTimer.Histogram getTurns()    { return turns; }
+        public FrameTimer.Histogram getDamage1()  { return damage1; }
+        public FrameTimer.Histogram getDamage2()  { return damage2; }
+        public long getElapsedNanos()             { return elapsedNanos; }
+
+        /**
+         * Gets the rate at which the first roster wins. Draws count as battles that were not won
+         *
+         * @return double The win rate of the first roster, from 0 to 1
+         */
+        public double getWinRate() {
+            return battles == 0 ? 0.0 : (double)wins1 / battles;
+        }
+
+        /**
+         * Gets the confidence interval of the win rate of the first roster
+         *
+         * @return double[] The low and high ends of the interval
+         * @see BattleSimulator.getWilsonInterval( long wins, long battles )
+         */
+        public double[] getWinRateInterval() {
+            return getWilsonInterval( wins1, battles );
+        }
+
+        /**
+         * Gets the rate at which a build of the first roster wins against a build of the second roster
+         *
+         * @param index1 The index of the build of the first roster
+         * @param index2 The index of the build of the second roster
+         * @return double The win rate, from 0 to 1
+         */
+        public double getWinRate( int index1, int index2 ) {
+            long n = matchupBattles[ index1 ][ index2 ];
+            return n == 0 ? 0.0 : (double)matchupWins1[ index1 ][ index2 ] / n;
+        }
+
+        /**
+         * Gets the number of battles between a build of the first roster and a build of the second roster
+         *
+         * @param index1 The index of the build of the first roster
+         * @param index2 The index of the build of the second roster
+         * @return long The number of battles of the matchup
+         */
+        public long getMatchupBattles( int index1, int index2 ) {
+            return matchupBattles[ index1 ][ index2 ];
+        }
+
+        /**
+         * Gets the number of battles that a build of the first roster won against a build of the second roster
+         *
+         * @param index1 The index of the build of the first roster
+         * @param index2 The index of the build of the second roster
+         * @return long The wins of the build of the first roster
+         */
+        public long getMatchupWins1( int index1, int index2 ) {
+            return matchupWins1[ index1 ][ index2 ];
+        }
+
+        /**
+         * Gets the number of battles that a build of the second roster won against a build of the first roster. The
+         * rest of the battles of the matchup were draws
+         *
+         * @param index1 The index of the build of the first roster
+         * @param index2 The index of the build of the second roster
+         * @return long The wins of the build of the second roster
+         */
+        public long getMatchupWins2( int index1, int index2 ) {
+            return matchupWins2[ index1 ][ index2 ];
+        }
+
+        /**
+         * Gets the mean number of turns of a battle
+         *
+         * @return double The mean number of turns
+         */
+        public double getMeanTurns() {
+            return battles == 0 ? 0.0 : (double)totalTurns / battles;
+        }
+
+        /**
+         * Gets the number of battles run per second
+         *
+         * @return double The throughput of the simulation
+         */
+        public double getBattlesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : battles * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the number of turns run per second, which compares simulations whose battles last longer or shorter
+         * (such as team battles against single battles)
+         *
+         * @return double The throughput of the simulation, in turns
+         */
+        public double getTurnsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : totalTurns * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the results as text
+         *
+         * @return String The results, one per line
+         */
+        public String toString() {
+            double[] interval = getWinRateInterval();
+            return String.format( "Battles: %d (roster 1: %d wins, roster 2: %d wins, %d draws)%n" +
+                                  "Roster 1 win rate: %.4f (%.0f%% CI %.4f - %.4f)%n" +
+                                  "Mean turns: %.2f (p50 %d, p99 %d, max %d)%n" +
+                                  "Damage per hit by roster 1: mean %.2f, p50 %d, p90 %d, max %d%n" +
+                                  "Damage per hit by roster 2: mean %.2f, p50 %d, p90 %d, max %d%n" +
+                                  "Throughput: %.0f battles/sec, %.0f turns/sec",
+                                  battles, wins1, wins2, draws,
+                                  getWinRate(), 95.0, interval[0], interval[1],
+                                  getMeanTurns(), turns.getValueAtPercentile( 50 ), turns.getValueAtPercentile( 99 ), turns.getMax(),
+                                  damage1.getMean(), damage1.getValueAtPercentile( 50 ), damage1.getValueAtPercentile( 90 ), damage1.getMax(),
+                                  damage2.getMean(), damage2.getValueAtPercentile( 50 ), damage2.getValueAtPercentile( 90 ), damage2.getMax(),
+                                  getBattlesPerSecond(), getTurnsPerSecond() );
+        }
+    }
+}
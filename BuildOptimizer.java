@@ -0,0 +1,914 @@
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * BuildOptimizer.java
+ *
+ * Searches for the best way to spend the PokeWorld.STARTING_POINTS of one Pokemon class: how many points go to each of
+ * the eight stats (HP, attack, defense, special attack, special defense, speed, evasion, and accuracy), and which Moves
+ * it learns. Every Move costs PokeWorld.NEW_MOVE_COST points, every stat needs at least PokeWorld.MIN_ATTRIBUTE points,
+ * and a Pokemon can only learn the Moves of its own type (the Moves that addMove() accepts), so the search only ever
+ * makes legal builds. The best build is printed as an (int uniqueID) constructor that can be pasted into the class.
+ *
+ * The search is a genetic algorithm. A generation is a population of candidate builds. Each candidate's fitness is its
+ * score (a win is 1, a draw is 1/2) over headless battles against every build of a reference pool, such as every
+ * PokemonActor class on the classpath. The best ELITES candidates go on to the next generation unchanged, and the rest of
+ * it is bred from parents picked by tournament selection: the child takes each stat from one parent or the other and
+ * its Moves from both, is mutated (points moved from one stat to another, a Move swapped, added, or dropped), and is
+ * repaired so that it spends exactly the points it may. The first generation holds the class's own build, so the best
+ * build found is never worse than the build the class already has.
+ *
+ * The candidates of a generation are scored at the same time by BattleSimulator.runChunks(). Each candidate takes a
+ * Worker, a Pokemon of the class, from a BattleSimulator.IdlePool, and its opponents from a BattleSimulator.PokemonPool
+ * of the reference builds. A candidate is put on the Worker's Pokemon with the setters of PokemonActor and must then
+ * pass checkPokemonInit(), just like a Pokemon that was made by its constructor. The fitness of every candidate is
+ * cached by its key, since the elites and many children are builds that were already scored. Each candidate's battles
+ * use the PokeRandom stream of the seed numbered by the candidate's fingerprint, so a build always has the same
+ * fitness, and an optimizer with the same seed gives the same best build no matter how the candidates are shared
+ * between the cores.
+ *
+ * Battles are played by BattleSimulator.playBattle(), the same way as the battles of a Tournament: both Pokemon choose a
+ * random Move that still has PP left, Items are not used, the Pokemon take turns attacking first, and battles that last
+ * longer than BattleSimulator.MAX_TURNS turns are draws.
+ *
+ * Example: java -Djava.awt.headless=true -cp greenfoot.jar:. BuildOptimizer --pokemon Pikachu --generations 30
+ *
+ * Options:
+ *   --pokemon A         The PokemonActor class to optimize
+ *   --against A,B,...   The reference pool (default: every PokemonActor class on the classpath)
+ *   --generations N     The number of generations (default DEFAULT_GENERATIONS)
+ *   --population N      The number of candidates in a generation (default DEFAULT_POPULATION)
+ *   --battles N         The battles of a candidate against each reference build (default DEFAULT_BATTLES)
+ *   --seed S            The seed of the search (default DEFAULT_SEED)
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_GENERATIONS, DEFAULT_POPULATION, DEFAULT_BATTLES, DEFAULT_SEED : The options when they are not given
+ * - ELITES             : The number of best candidates that go on to the next generation unchanged
+ * - TOURNAMENT_SIZE    : The number of candidates that compete to be picked as a parent
+ * - MUTATION_RATE      : The chance of each kind of mutation of a child
+ * - MAX_STEP           : The largest number of points that one mutation moves from one stat to another
+ * - STAT_COUNT         : The number of stats that points are spent on
+ * - STAT_NAMES         : The names of the stats, in the order of a Candidate's stats
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - CANDIDATE_ORDER    : Orders candidates from the highest fitness to the lowest, then by key
+ * - template, references : The build of the class to optimize, and the builds of the reference pool
+ * - battles            : The battles of a candidate against each reference build
+ * - seed               : The seed of the search
+ * - movePool           : The names of the Moves the class can learn, sorted
+ * - original           : The class's own build
+ * - fitnessCache       : The fitness of every candidate that was scored, by key
+ * - workers            : The Workers that no thread is using
+ * - opponents          : The PokemonPool of the reference builds
+ * - evaluations, cacheHits : The number of candidates that were scored, and that were found in the cache
+ * - pool               : The ForkJoinPool that scores the candidates
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - BuildOptimizer( BattleSimulator.Build template, BattleSimulator.Build[] references, int battles, long seed )
+ *                      : Create an optimizer for the class of the template build
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - main( String[] args )        : Runs the optimizer of the command line options and prints the best constructor
+ * - run( int generations, int populationSize ) : Runs the genetic algorithm and returns the Result
+ * - getOriginal()                : Gets the class's own build
+ * - getMovePool()                : Gets the names of the Moves the class can learn
+ * - getConstructor( Candidate candidate ) : Gets the (int uniqueID) constructor of the class with the build
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - evaluate( List<Candidate> population ) : Scores the candidates that are not in the cache, in parallel
+ * - getFitness( Candidate candidate ) : Plays the battles of one candidate on an idle Worker
+ * - select( List<Candidate> ranked, PokeRandom random ) : Picks a parent by tournament selection
+ * - crossover( Candidate a, Candidate b, PokeRandom random ) : Breeds a child from two parents
+ * - mutate( int[] stats, ArrayList<String> moves, PokeRandom random ) : Mutates the stats and Moves of a child
+ * - randomCandidate( PokeRandom random ) : Makes a random legal candidate
+ * - repair( int[] stats, int moveCount, PokeRandom random ) : Makes the stats spend exactly the points they may
+ * - getBudget( int moveCount )   : Gets the points that the stats may spend
+ * - readCandidate( PokemonActor pokemon ) : Gets the build of a Pokemon
+ * - loadBuild( String name )     : Gets the Build of a class by name
+ * - quote( String text )         : Gets text as a Java string literal
+ * - usage()                      : Gets the text of the options
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Candidate : One build: the points of each stat and the names of its Moves. A Candidate never changes
+ * - Worker    : A Pokemon of the class and the Moves it has learned, used by one thread at a time
+ * - Result    : The best build found, with the best and mean fitness of every generation
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokemonActor.checkPokemonInit()
+ * @see BattleSimulator.java
+ * @see Tournament.java
+ */
+public class BuildOptimizer {
+
+    public static final int DEFAULT_GENERATIONS = 20;
+    public static final int DEFAULT_POPULATION  = 32;
+    public static final int DEFAULT_BATTLES     = 40;
+    public static final long DEFAULT_SEED       = 42L;
+    public static final int ELITES              = 4;
+    public static final int TOURNAMENT_SIZE     = 3;
+    public static final double MUTATION_RATE    = 0.3;
+    public static final int MAX_STEP            = 10;
+    public static final int STAT_COUNT          = 8;
+    public static final String[] STAT_NAMES     = { "HP", "attack", "defense", "specialAttack", "specialDefense",
+                                                    "speed", "evasion", "accuracy" };
+
+    private static final Comparator<Candidate> CANDIDATE_ORDER = new Comparator<Candidate>() {
+        public int compare( Candidate a, Candidate b ) {
+            int order = Double.compare( b.fitness, a.fitness );
+            return order != 0 ? order : a.getKey().compareTo( b.getKey() );
+        }
+    };
+
+    private final BattleSimulator.Build template;
+    private final BattleSimulator.Build[] references;
+    private final int battles;
+    private final long seed;
+    private final String[] movePool;
+    private final Candidate original;
+    private final HashMap<String, Double> fitnessCache = new HashMap<String, Double>();
+    private final BattleSimulator.IdlePool<Worker> workers = new BattleSimulator.IdlePool<Worker>( 1 ) {
+        protected Worker create( int index ) throws Exception {
+            return new Worker();
+        }
+    };
+    private final BattleSimulator.PokemonPool opponents;
+    private long evaluations = 0, cacheHits = 0;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create an optimizer for the class of the template build. The first Worker is created here, which finds the Moves
+     * that the class can learn and the class's own build
+     *
+     * @param template The build of the class to optimize, such as BattleSimulator.getBuild( Pikachu.class )
+     * @param references The builds of the reference pool, such as Tournament.discoverEntrants()
+     * @param battles The battles of a candidate against each reference build, at least 1
+     * @param seed The seed of the search. Optimizers with the same builds, battles, and seed find the same best build
+     * @throws IllegalArgumentException If there are no reference builds, a Pokemon cannot be created, or the class
+     *                                  cannot learn any Move
+     */
+    public BuildOptimizer( BattleSimulator.Build template, BattleSimulator.Build[] references, int battles, long seed ) {
+        if( references.length == 0 ) throw new IllegalArgumentException( "Error: The reference pool is empty." );
+        this.template = template;
+        this.references = references;
+        this.battles = Math.max( 1, battles );
+        this.seed = seed;
+        this.opponents = new BattleSimulator.PokemonPool( references );
+
+        Worker worker = workers.take( 0 );
+        if( worker == null ) throw new IllegalArgumentException( "Error: Cannot create the Pokemon of the optimizer." );
+        this.original = readCandidate( worker.pokemon );
+
+        TreeSet<String> names = new TreeSet<String>();
+        for( Move move : worker.pokemon.getPokedex().getMoves() ) {
+            try {
+                if( worker.pokemon.matchesType( move.getType().name() ) ) names.add( move.getName() );
+            } catch( Pokemon.InvalidTypeException e ) {
+                e.printStackTrace();
+            }
+        }
+        if( names.isEmpty() )
+            throw new IllegalArgumentException( "Error: " + worker.pokemon.getName() + " cannot learn any Move." );
+        this.movePool = names.toArray( new String[ names.size() ] );
+        workers.give( 0, worker );
+    }
+
+    /**
+     * Runs the optimizer of the command line options. The best and mean fitness of each generation are printed to
+     * standard error, and the constructor of the best build to standard output
+     *
+     * @param args The command line options (see the top of this file)
+     * @see run( int generations, int populationSize )
+     * @see getConstructor( Candidate candidate )
+     */
+    public static void main( String[] args ) {
+        String name = null, against = null;
+        int generations = DEFAULT_GENERATIONS, population = DEFAULT_POPULATION, battles = DEFAULT_BATTLES;
+        long seed = DEFAULT_SEED;
+        try {
+            for( int i = 0; i < args.length; i++ ) {
+                if( i + 1 >= args.length ) throw new IllegalArgumentException( "Missing the value of " + args[i] );
+                String arg = args[i], value = args[ ++i ];
+                if(      arg.equals("--pokemon") )     name = value.trim();
+                else if( arg.equals("--against") )     against = value;
+                else if( arg.equals("--generations") ) generations = Integer.parseInt( value );
+                else if( arg.equals("--population") )  population = Integer.parseInt( value );
+                else if( arg.equals("--battles") )     battles = Integer.parseInt( value );
+                else if( arg.equals("--seed") )        seed = Long.parseLong( value );
+                else throw new IllegalArgumentException( "Unknown option " + arg );
+            }
+            if( name == null ) throw new IllegalArgumentException( "--pokemon is required" );
+            if( generations < 1 || population <= ELITES || battles < 1 )
+                throw new IllegalArgumentException( "--generations and --battles must be at least 1, and --population " +
+                                                    "must be more than " + ELITES );
+        } catch( NumberFormatException e ) {
+            System.err.println( "Bad number: " + e.getMessage() );
+            System.err.println( usage() );
+            System.exit( BattleCLI.EXIT_USAGE );
+            return;
+        } catch( IllegalArgumentException e ) {
+            System.err.println( e.getMessage() );
+            System.err.println( usage() );
+            System.exit( BattleCLI.EXIT_USAGE );
+            return;
+        }
+
+        BuildOptimizer optimizer;
+        try {
+            BattleSimulator.Build[] references;
+            if( against == null ) {
+                references = Tournament.discoverEntrants();
+            } else {
+                ArrayList<BattleSimulator.Build> builds = new ArrayList<BattleSimulator.Build>();
+                for( String reference : against.split(",") )
+                    if( !reference.trim().isEmpty() ) builds.add( loadBuild( reference.trim() ) );
+                references = builds.toArray( new BattleSimulator.Build[ builds.size() ] );
+            }
+            optimizer = new BuildOptimizer( loadBuild( name ), references, battles, seed );
+        } catch( IllegalArgumentException e ) {
+            System.err.println( e.getMessage() );
+            System.exit( BattleCLI.EXIT_DATA );
+            return;
+        }
+
+        Result result = optimizer.run( generations, population );
+        System.err.println( result );
+        System.out.println( optimizer.getConstructor( result.getBest() ) );
+    }
+
+    /**
+     * Runs the genetic algorithm: the first generation is the class's own build and random builds, and every later
+     * generation is the ELITES best candidates of the generation before it and children bred from its candidates
+     *
+     * @param generations The number of generations, at least 1
+     * @param populationSize The number of candidates in a generation, more than ELITES
+     * @return Result The best build found, with the best and mean fitness of every generation
+     * @throws IllegalArgumentException If populationSize is not more than ELITES
+     * @see evaluate( List<Candidate> population )
+     */
+    public Result run( int generations, int populationSize ) {
+        if( populationSize <= ELITES )
+            throw new IllegalArgumentException( "Error: The population must be larger than " + ELITES + "." );
+
+        long start = System.nanoTime();
+        PokeRandom random = new PokeRandom( seed );
+        ArrayList<Candidate> population = new ArrayList<Candidate>();
+        population.add( original );
+        while( population.size() < populationSize )
+            population.add( randomCandidate( random ) );
+
+        generations = Math.max( 1, generations );
+        double[] best = new double[ generations ], mean = new double[ generations ];
+        List<Candidate> ranked = null;
+        for( int generation = 0; generation < generations; generation++ ) {
+            ranked = evaluate( population );
+            best[ generation ] = ranked.get(0).fitness;
+            for( Candidate candidate : ranked )
+                mean[ generation ] += candidate.fitness / ranked.size();
+
+            if( generation == generations - 1 ) break;
+            population = new ArrayList<Candidate>( ranked.subList( 0, ELITES ) );
+            while( population.size() < populationSize )
+                population.add( crossover( select( ranked, random ), select( ranked, random ), random ) );
+        }
+
+        return new Result( ranked.get(0), best, mean, evaluations, cacheHits, System.nanoTime() - start );
+    }
+
+    /**
+     * Gets the fitness of every candidate: the candidates that are not in the cache are scored at the same time on the
+     * ForkJoinPool, and then put in the cache
+     *
+     * @param population The candidates of a generation
+     * @return List<Candidate> The candidates with their fitness, from the highest fitness to the lowest
+     * @see getFitness( Candidate candidate )
+     */
+    private List<Candidate> evaluate( List<Candidate> population ) {
+        final ArrayList<Candidate> uncached = new ArrayList<Candidate>();
+        for( Candidate candidate : population ) {
+            if( fitnessCache.containsKey( candidate.getKey() ) ) {
+                cacheHits++;
+                continue;
+            }
+            fitnessCache.put( candidate.getKey(), (double)PokeWorld.ERROR ); //scored below, only once per generation
+            uncached.add( candidate );
+        }
+
+        List<Double> scores = BattleSimulator.runChunks( pool, uncached.size(), 1, new BattleSimulator.Chunk<Double>() {
+            public Double run( int start, int end ) {
+                return getFitness( uncached.get( start ) );
+            }
+        } );
+        for( int i = 0; i < scores.size(); i++ )
+            if( scores.get(i) != null ) fitnessCache.put( uncached.get(i).getKey(), scores.get(i) );
+        evaluations += uncached.size();
+
+        ArrayList<Candidate> ranked = new ArrayList<Candidate>();
+        for( Candidate candidate : population )
+            ranked.add( candidate.withFitness( fitnessCache.get( candidate.getKey() ) ) );
+        ranked.sort( CANDIDATE_ORDER );
+        return ranked;
+    }
+
+    /**
+     * Plays the battles of one candidate against every reference build on an idle Worker. The candidate is put on the
+     * Worker's Pokemon and checked with checkPokemonInit() first
+     *
+     * @param candidate The candidate to score
+     * @return double The score of the candidate, from 0 to 1, or PokeWorld.ERROR if its Pokemon cannot be created or
+     *                its build is not legal
+     * @see Worker.setBuild( Candidate candidate )
+     * @see BattleSimulator.playBattle( BattleEngine engine, PokeRandom random, BattleListener listener )
+     */
+    private double getFitness( Candidate candidate ) {
+        Worker worker = workers.take( 0 );
+        if( worker == null ) return PokeWorld.ERROR;
+
+        try {
+            PokemonActor.Snapshot snapshot = worker.setBuild( candidate );
+            if( snapshot == null ) return PokeWorld.ERROR;
+
+            double score = 0.0;
+            for( int r = 0; r < references.length; r++ ) {
+                PokeRandom random = PokeRandom.forStream( seed, candidate.getFingerprint() + r );
+                for( int battle = 0; battle < battles; battle++ ) {
+                    PokemonActor p1 = worker.pokemon, p2 = opponents.take( r );
+                    if( p2 == null ) return PokeWorld.ERROR;
+                    p1.restoreState( snapshot );
+                    BattleEngine engine = battle % 2 == 1 ? new BattleEngine( p2, p1, random ) :
+                                                            new BattleEngine( p1, p2, random );
+                    BattleSimulator.playBattle( engine, random, null );
+                    opponents.give( r, p2 );
+
+                    PokemonActor winner = engine.getWinner() == null ? null : engine.getPokemon( engine.getWinner() );
+                    if(      winner == p1 )   score += 1.0;
+                    else if( winner == null ) score += 0.5;
+                }
+            }
+            worker.pokemon.restoreState( snapshot ); //so that the Worker's Moves have their full PP again
+            return score / (battles * references.length);
+        } finally {
+            workers.give( 0, worker );
+        }
+    }
+
+    /**
+     * Picks a parent by tournament selection: the fittest of TOURNAMENT_SIZE random candidates
+     *
+     * @param ranked The candidates, from the highest fitness to the lowest
+     * @param random The PokeRandom of the search
+     * @return Candidate The parent
+     */
+    private static Candidate select( List<Candidate> ranked, PokeRandom random ) {
+        int best = ranked.size();
+        for( int i = 0; i < TOURNAMENT_SIZE; i++ )
+            best = Math.min( best, random.nextInt( ranked.size() ) );
+        return ranked.get( best );
+    }
+
+    /**
+     * Breeds a child from two parents. The child takes each stat from one parent or the other, and as many Moves as one
+     * of the parents knows, from the Moves that either parent knows. The child is then mutated and repaired
+     *
+     * @param a The first parent
+     * @param b The second parent
+     * @param random The PokeRandom of the search
+     * @return Candidate The child
+     * @see mutate( int[] stats, ArrayList<String> moves, PokeRandom random )
+     * @see repair( int[] stats, int moveCount, PokeRandom random )
+     */
+    private Candidate crossover( Candidate a, Candidate b, PokeRandom random ) {
+        int[] stats = new int[ STAT_COUNT ];
+        for( int i = 0; i < STAT_COUNT; i++ )
+            stats[i] = random.nextBoolean() ? a.stats[i] : b.stats[i];
+
+        TreeSet<String> parentMoves = new TreeSet<String>( Arrays.asList( a.moves ) );
+        parentMoves.addAll( Arrays.asList( b.moves ) );
+        ArrayList<String> choices = new ArrayList<String>( parentMoves );
+        int moveCount = random.nextBoolean() ? a.moves.length : b.moves.length;
+        ArrayList<String> moves = new ArrayList<String>();
+        while( moves.size() < moveCount )
+            moves.add( choices.remove( random.nextInt( choices.size() ) ) );
+
+        mutate( stats, moves, random );
+        repair( stats, moves.size(), random );
+        return new Candidate( stats, moves );
+    }
+
+    /**
+     * Mutates the stats and Moves of a child. Each kind of mutation happens with the chance MUTATION_RATE: up to
+     * MAX_STEP points are moved from one stat to another, one Move is swapped for a Move the child does not know, and a
+     * Move is added or dropped (which changes the points left for the stats)
+     *
+     * @param stats The stats of the child, which are changed
+     * @param moves The Moves of the child, which are changed
+     * @param random The PokeRandom of the search
+     */
+    private void mutate( int[] stats, ArrayList<String> moves, PokeRandom random ) {
+        if( random.nextChance( MUTATION_RATE ) ) {
+            int from = random.nextInt( STAT_COUNT ), to = random.nextInt( STAT_COUNT );
+            int step = Math.min( 1 + random.nextInt( MAX_STEP ), stats[ from ] - PokeWorld.MIN_ATTRIBUTE );
+            if( step > 0 ) {
+                stats[ from ] -= step;
+                stats[ to ] += step;
+            }
+        }
+
+        ArrayList<String> unknown = new ArrayList<String>( Arrays.asList( movePool ) );
+        unknown.removeAll( moves );
+        if( random.nextChance( MUTATION_RATE ) && !unknown.isEmpty() )
+            moves.set( random.nextInt( moves.size() ), unknown.remove( random.nextInt( unknown.size() ) ) );
+
+        if( random.nextChance( MUTATION_RATE ) ) {
+            boolean isAdding = random.nextBoolean();
+            if( isAdding && moves.size() < PokeWorld.MAX_NUMBER_OF_MOVES && !unknown.isEmpty() )
+                moves.add( unknown.remove( random.nextInt( unknown.size() ) ) );
+            else if( !isAdding && moves.size() > PokeWorld.MIN_NUMBER_OF_MOVES )
+                moves.remove( random.nextInt( moves.size() ) );
+        }
+    }
+
+    /**
+     * Makes a random legal candidate: a random number of random Moves, and the points left over split between the
+     * stats at random cut points, so that some candidates put most of their points in a few stats
+     *
+     * @param random The PokeRandom of the search
+     * @return Candidate The candidate
+     */
+    private Candidate randomCandidate( PokeRandom random ) {
+        ArrayList<String> choices = new ArrayList<String>( Arrays.asList( movePool ) );
+        int moveCount = PokeWorld.MIN_NUMBER_OF_MOVES +
+                        random.nextInt( Math.min( PokeWorld.MAX_NUMBER_OF_MOVES, choices.size() ) -
+                                        PokeWorld.MIN_NUMBER_OF_MOVES + 1 );
+        ArrayList<String> moves = new ArrayList<String>();
+        while( moves.size() < moveCount )
+            moves.add( choices.remove( random.nextInt( choices.size() ) ) );
+
+        int spare = getBudget( moveCount ) - STAT_COUNT * PokeWorld.MIN_ATTRIBUTE;
+        int[] cuts = new int[ STAT_COUNT + 1 ];
+        cuts[ STAT_COUNT ] = spare;
+        for( int i = 1; i < STAT_COUNT; i++ )
+            cuts[i] = random.nextInt( spare + 1 );
+        Arrays.sort( cuts );
+
+        int[] stats = new int[ STAT_COUNT ];
+        for( int i = 0; i < STAT_COUNT; i++ )
+            stats[i] = PokeWorld.MIN_ATTRIBUTE + cuts[ i + 1 ] - cuts[i];
+        return new Candidate( stats, moves );
+    }
+
+    /**
+     * Makes the stats spend exactly the points they may: stats below PokeWorld.MIN_ATTRIBUTE are raised to it, then
+     * points are taken from random stats above the minimum while too many are spent, or given to random stats while
+     * too few are spent
+     *
+     * @param stats The stats, which are changed
+     * @param moveCount The number of Moves, which cost PokeWorld.NEW_MOVE_COST points each
+     * @param random The PokeRandom of the search
+     */
+    private static void repair( int[] stats, int moveCount, PokeRandom random ) {
+        int total = 0;
+        for( int i = 0; i < STAT_COUNT; i++ ) {
+            stats[i] = Math.max( stats[i], PokeWorld.MIN_ATTRIBUTE );
+            total += stats[i];
+        }
+
+        int budget = getBudget( moveCount );
+        while( total > budget ) {
+            int i = random.nextInt( STAT_COUNT );
+            if( stats[i] > PokeWorld.MIN_ATTRIBUTE ) {
+                stats[i]--;
+                total--;
+            }
+        }
+        while( total < budget ) {
+            stats[ random.nextInt( STAT_COUNT ) ]++;
+            total++;
+        }
+    }
+
+    /**
+     * Gets the points that the stats may spend: PokeWorld.STARTING_POINTS, less the cost of the Moves. The class's own
+     * build is the only candidate that may spend fewer
+     *
+     * @param moveCount The number of Moves
+     * @return int The points of the stats
+     */
+    private static int getBudget( int moveCount ) {
+        return PokeWorld.STARTING_POINTS - moveCount * PokeWorld.NEW_MOVE_COST;
+    }
+
+    /**
+     * Gets the build of a Pokemon: its stats and the names of its Moves
+     *
+     * @param pokemon The Pokemon
+     * @return Candidate The build
+     */
+    private static Candidate readCandidate( PokemonActor pokemon ) {
+        int[] stats = { pokemon.getHP(), pokemon.getAttack(), pokemon.getDefense(), pokemon.getSpecialAttack(),
+                        pokemon.getSpecialDefense(), pokemon.getSpeed(), pokemon.getEvasion(), pokemon.getAccuracy() };
+        ArrayList<String> moves = new ArrayList<String>();
+        for( Move move : pokemon.getMoves() )
+            moves.add( move.getName() );
+        return new Candidate( stats, moves );
+    }
+
+    /**
+     * Gets the class's own build, as its (int uniqueID) constructor makes it
+     *
+     * @return Candidate The class's own build
+     */
+    public Candidate getOriginal() {
+        return original;
+    }
+
+    /**
+     * Gets the names of the Moves that the class can learn: the Moves of its type
+     *
+     * @return String[] The names of the Moves, sorted
+     */
+    public String[] getMovePool() {
+        return movePool.clone();
+    }
+
+    /**
+     * Gets the (int uniqueID) constructor of the class with the build, written the same way as the constructor of
+     * Pikachu. The name, images, type, Items, height, weight, and description are the ones that the class's Pokemon has
+     *
+     * @param candidate The build
+     * @return String The constructor, ready to paste into the class in place of its (int uniqueID) constructor
+     */
+    public String getConstructor( Candidate candidate ) {
+        Worker worker = workers.take( 0 );
+        if( worker == null ) return "";
+        PokemonActor pokemon = worker.pokemon;
+        workers.give( 0, worker );
+
+        String[] fields = { "HP             = currentHP             = ",
+                            "attack         = currentAttack         = ",
+                            "defense        = currentDefense        = ",
+                            "specialAttack  = currentSpecialAttack  = ",
+                            "specialDefense = currentSpecialDefense = ",
+                            "speed          = currentSpeed          = ",
+                            "evasion        = currentEvasion        = ",
+                            "accuracy       = currentAccuracy       = " };
+        StringBuilder text = new StringBuilder();
+        text.append( "    public " ).append( pokemon.getClass().getName() )
+            .append( "( int uniqueID ) throws InvalidMoveTotalException {\n" )
+            .append( "        super( uniqueID );\n\n" )
+            .append( "        NAME         = " ).append( quote( pokemon.getName() ) ).append( ";\n" )
+            .append( "        IMAGE_NAME   = " ).append( quote( pokemon.getImageName() ) ).append( ";\n" )
+            .append( "        BATTLE_IMAGE = " ).append( quote( pokemon.getBattleImageName() ) ).append( ";\n" )
+            .append( "        TYPE         = " ).append( quote( pokemon.getType() ) ).append( ";\n\n" );
+        for( int i = 0; i < STAT_COUNT; i++ )
+            text.append( "        " ).append( fields[i] ).append( "spendPoints( " ).append( candidate.stats[i] ).append( " );\n" );
+
+        text.append( "\n        moves = new ArrayList<Move>();\n" )
+            .append( "        items = new ArrayList<Item>();\n\n" )
+            .append( "        try {\n" );
+        Item currentItem = pokemon.getCurrentItem();
+        if( currentItem != null ) {
+            text.append( "            Item currentItem = new Item( Item.getItemLineFromName( " )
+                .append( quote( currentItem.getName() ) ).append( " ) );\n" )
+                .append( "            setCurrentItem( currentItem );\n" )
+                .append( "            addItem( currentItem );\n" );
+        }
+        for( Item item : pokemon.getItems() ) {
+            int quantity = item.getQuantity() - (item == currentItem ? 1 : 0);
+            for( int i = 0; i < quantity; i++ )
+                text.append( "            addItem( new Item( Item.getItemLineFromName( " ).append( quote( item.getName() ) )
+                    .append( " ) ) );\n" );
+        }
+        text.append( "        } catch( Item.InvalidItemTextFileInputException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        } catch( Item.InvalidPropertiesNameException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        } catch( Item.InvalidItemNameException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        }\n\n" )
+            .append( "        height = " ).append( pokemon.getHeight() ).append( ";\n" )
+            .append( "        weight = " ).append( pokemon.getWeight() ).append( ";\n" )
+            .append( "        description = " ).append( quote( pokemon.getDescription() ) ).append( ";\n\n" )
+            .append( "        criticalHitRatio = currentCriticalHitRatio = (speed/2.0)/PokeWorld.CRITICAL_HIT_RATIO;\n\n" )
+            .append( "        pokemonNumber = setPokemonNumber();\n\n" )
+            .append( "        try {\n" );
+        for( String move : candidate.moves )
+            text.append( "            addMove( this.pokedex.getMoveFromName( " ).append( quote( move ) ).append( " ) );\n" );
+        text.append( "        } catch( Pokedex.InvalidMovesFileException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        } catch( InvalidPokemonPointsException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        } catch( InvalidTypeException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        }\n\n" )
+            .append( "        if( moves.size() < PokeWorld.MIN_NUMBER_OF_MOVES )\n" )
+            .append( "            throw new InvalidMoveTotalException(\"A Pokemon may have no fewer than \" + PokeWorld.MIN_NUMBER_OF_MOVES +\n" )
+            .append( "                \" move, but this Pokemon has \" + moves.size() + \" moves.\");\n" )
+            .append( "        if( moves.size() > PokeWorld.MAX_NUMBER_OF_MOVES )\n" )
+            .append( "            throw new InvalidMoveTotalException(\"A Pokemon may have no more than \" + PokeWorld.MAX_NUMBER_OF_MOVES +\n" )
+            .append( "                \" moves, but this Pokemon has \" + moves.size() + \" moves.\");\n\n" )
+            .append( "        try {\n" )
+            .append( "            checkPokemonInit();\n" )
+            .append( "        } catch( InvalidPokemonPointsException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        } catch( InvalidPokemonValuesException e ) {\n" )
+            .append( "            e.printStackTrace();\n" )
+            .append( "        }\n" )
+            .append( "    }" );
+        return text.toString();
+    }
+
+    /**
+     * Gets text as a Java string literal, with its quotes and backslashes escaped
+     *
+     * @param text The text
+     * @return String The string literal, in quotes
+     */
+    private static String quote( String text ) {
+        if( text == null ) return "null";
+        return "\"" + text.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ).replace( "\n", "\\n" ) + "\"";
+    }
+
+    /**
+     * Gets the Build of a PokemonActor class by name
+     *
+     * @param name The name of the class
+     * @return BattleSimulator.Build The Build of the class
+     * @throws IllegalArgumentException If the class cannot be loaded, is not a PokemonActor, or has no (int uniqueID)
+     *                                  constructor
+     * @see BattleSimulator.getBuild( Class cls )
+     */
+    private static BattleSimulator.Build loadBuild( String name ) {
+        Class<?> cls;
+        try {
+            cls = Class.forName( name );
+        } catch( ClassNotFoundException | LinkageError e ) {
+            throw new IllegalArgumentException( "Cannot load the class " + name );
+        }
+        if( !PokemonActor.class.isAssignableFrom( cls ) || Modifier.isAbstract( cls.getModifiers() ) )
+            throw new IllegalArgumentException( name + " is not a PokemonActor" );
+
+        BattleSimulator.Build build = BattleSimulator.getBuild( cls.asSubclass( PokemonActor.class ) );
+        if( build == null ) throw new IllegalArgumentException( name + " has no (int uniqueID) constructor" );
+        return build;
+    }
+
+    /**
+     * Gets the text of the command line options
+     *
+     * @return String The usage text
+     */
+    private static String usage() {
+        return "Usage: java -cp greenfoot.jar:. BuildOptimizer --pokemon A [options]\n" +
+               "  --pokemon A         PokemonActor class to optimize\n" +
+               "  --against A,B,...   Reference pool (default: every class found)\n" +
+               "  --generations N     Generations (default " + DEFAULT_GENERATIONS + ")\n" +
+               "  --population N      Candidates in a generation (default " + DEFAULT_POPULATION + ")\n" +
+               "  --battles N         Battles against each reference (default " + DEFAULT_BATTLES + ")\n" +
+               "  --seed S            Seed of the search (default " + DEFAULT_SEED + ")";
+    }
+
+    /**
+     * One build: the points spent on each stat, in the order of STAT_NAMES, and the names of its Moves, sorted so that
+     * the same build always has the same key. A Candidate never changes; withFitness() gives a copy with a fitness
+     */
+    public static class Candidate {
+
+        private final int[] stats;
+        private final String[] moves;
+        private final String key;
+        private final double fitness;
+
+        /**
+         * Create a candidate that has not been scored
+         *
+         * @param stats The points of each stat, which are copied
+         * @param moves The names of the Moves
+         */
+        public Candidate( int[] stats, List<String> moves ) {
+            this( stats.clone(), sorted( moves ), Double.NaN );
+        }
+
+        /**
+         * Create a candidate
+         *
+         * @param stats The points of each stat
+         * @param moves The names of the Moves, sorted
+         * @param fitness The fitness, or NaN if the candidate has not been scored
+         */
+        private Candidate( int[] stats, String[] moves, double fitness ) {
+            this.stats = stats;
+            this.moves = moves;
+            this.fitness = fitness;
+            this.key = Arrays.toString( stats ) + Arrays.toString( moves );
+        }
+
+        /**
+         * Gets the names of the Moves, sorted
+         *
+         * @param moves The names of the Moves
+         * @return String[] The sorted names
+         */
+        private static String[] sorted( List<String> moves ) {
+            String[] names = moves.toArray( new String[ moves.size() ] );
+            Arrays.sort( names );
+            return names;
+        }
+
+        /**
+         * Gets a copy of this candidate with a fitness
+         *
+         * @param fitness The fitness
+         * @return Candidate The copy
+         */
+        private Candidate withFitness( double fitness ) {
+            return new Candidate( stats, moves, fitness );
+        }
+
+        /**
+         * Gets the fingerprint of the build, a 64 bit FNV-1a hash of its key, which numbers its PokeRandom stream
+         *
+         * @return long The fingerprint
+         */
+        public long getFingerprint() {
+            long hash = 0xCBF29CE484222325L;
+            for( int i = 0; i < key.length(); i++ ) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+            return hash;
+        }
+
+        /**
+         * Gets the points spent on the stats and the Moves
+         *
+         * @return int The points spent
+         */
+        public int getPointsSpent() {
+            int points = moves.length * PokeWorld.NEW_MOVE_COST;
+            for( int stat : stats )
+                points += stat;
+            return points;
+        }
+
+        public int getStat( int index )  { return stats[ index ]; }
+        public int[] getStats()          { return stats.clone(); }
+        public String[] getMoves()       { return moves.clone(); }
+        public String getKey()           { return key; }
+        public double getFitness()       { return fitness; }
+
+        /**
+         * Gets the build as text, such as "HP 20, attack 15, ... | THUNDER, THUNDER SHOCK (fitness 0.5125)"
+         *
+         * @return String The build
+         */
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for( int i = 0; i < STAT_COUNT; i++ )
+                text.append( i == 0 ? "" : ", " ).append( STAT_NAMES[i] ).append( ' ' ).append( stats[i] );
+            text.append( " | " );
+            for( int i = 0; i < moves.length; i++ )
+                text.append( i == 0 ? "" : ", " ).append( moves[i] );
+            if( !Double.isNaN( fitness ) ) text.append( String.format( " (fitness %.4f)", fitness ) );
+            return text.toString();
+        }
+    }
+
+    /**
+     * A Pokemon of the class that candidates are put on. A Worker is only used by one thread at a time, and keeps one
+     * Move of each name of the move pool so that a candidate's Moves are never read from the Moves file again. It is not
+     * in a PokemonPool, since a PokemonActor.Snapshot does not put back the Moves that a candidate changed
+     */
+    private class Worker {
+
+        private final PokemonActor pokemon;
+        private final HashMap<String, Move> moves = new HashMap<String, Move>();
+
+        /**
+         * Create the Pokemon of a Worker
+         *
+         * @throws Exception If the Pokemon cannot be created
+         */
+        public Worker() throws Exception {
+            pokemon = template.create( 0 );
+        }
+
+        /**
+         * Puts a build on the Worker's Pokemon with the setters of PokemonActor, and checks it with checkPokemonInit().
+         * Battles only change the values that a Snapshot restores, so the Pokemon is otherwise the one that the class's
+         * constructor made
+         *
+         * @param candidate The build
+         * @return PokemonActor.Snapshot The Snapshot of the Pokemon with the build, or null if the build is not legal
+         */
+        public PokemonActor.Snapshot setBuild( Candidate candidate ) {
+            pokemon.setHP( candidate.stats[0] );
+            pokemon.setAttack( candidate.stats[1] );
+            pokemon.setDefense( candidate.stats[2] );
+            pokemon.setSpecialAttack( candidate.stats[3] );
+            pokemon.setSpecialDefense( candidate.stats[4] );
+            pokemon.setSpeed( candidate.stats[5] );
+            pokemon.setEvasion( candidate.stats[6] );
+            pokemon.setAccuracy( candidate.stats[7] );
+            pokemon.setCriticalHitRatio( (candidate.stats[5] / 2.0) / PokeWorld.CRITICAL_HIT_RATIO );
+            pokemon.setCurrentCriticalHitRatio( pokemon.getCriticalHitRatio() );
+            pokemon.setCurrentPoints( PokeWorld.STARTING_POINTS - candidate.getPointsSpent() );
+            pokemon.setCurrentMove( null );
+
+            pokemon.getMoves().clear();
+            for( String name : candidate.moves ) {
+                Move move = moves.get( name );
+                if( move == null ) {
+                    try {
+                        move = pokemon.getPokedex().getMoveFromName( name );
+                    } catch( Pokedex.InvalidMovesFileException e ) {
+                        e.printStackTrace();
+                        return null;
+                    }
+                    moves.put( name, move );
+                }
+                pokemon.getMoves().add( move );
+            }
+
+            try {
+                pokemon.checkPokemonInit();
+            } catch( Pokemon.InvalidPokemonPointsException e ) {
+                e.printStackTrace();
+                return null;
+            } catch( Pokemon.InvalidPokemonValuesException e ) {
+                e.printStackTrace();
+                return null;
+            }
+            return pokemon.saveState();
+        }
+    }
+
+    /**
+     * The result of a search: the best build found, the best and mean fitness of every generation, the number of
+     * candidates that were scored and that were found in the cache, and the time the search took
+     */
+    public static class Result {
+
+        private final Candidate best;
+        private final double[] bestFitness, meanFitness;
+        private final long evaluations, cacheHits, elapsedNanos;
+
+        /**
+         * Create the result of a search
+         *
+         * @param best The best build found, with its fitness
+         * @param bestFitness The best fitness of each generation
+         * @param meanFitness The mean fitness of each generation
+         * @param evaluations The number of candidates that were scored
+         * @param cacheHits The number of candidates whose fitness was found in the cache
+         * @param elapsedNanos The time the search took
+         */
+        private Result( Candidate best, double[] bestFitness, double[] meanFitness, long evaluations, long cacheHits,
+                        long elapsedNanos ) {
+            this.best = best;
+            this.bestFitness = bestFitness;
+            this.meanFitness = meanFitness;
+            this.evaluations = evaluations;
+            this.cacheHits = cacheHits;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Candidate getBest()         { return best; }
+        public double[] getBestFitness()   { return bestFitness.clone(); }
+        public double[] getMeanFitness()   { return meanFitness.clone(); }
+        public long getEvaluations()       { return evaluations; }
+        public long getCacheHits()         { return cacheHits; }
+        public long getElapsedNanos()      { return elapsedNanos; }
+
+        /**
+         * Gets the result as text: one line for each generation, then the best build and the work that was done
+         *
+         * @return String The result
+         */
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for( int i = 0; i < bestFitness.length; i++ )
+                text.append( String.format( "Generation %d: best %.4f, mean %.4f%n", i + 1, bestFitness[i], meanFitness[i] ) );
+            text.append( "Best build: " ).append( best ).append( '\n' );
+            text.append( String.format( "%d candidates scored, %d found in the cache, in %.3f s",
+                                        evaluations, cacheHits, elapsedNanos / 1e9 ) );
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,597 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DamageCalculator.java
+ *
+ * Works out everything that one use of a Move can do to the defending Pokemon, without attacking: every amount of
+ * damage that the Move can deal, with the exact chance of each, and from those the chance that the Move knocks out
+ * the defending Pokemon. The calculation follows the attack sequence of BattleEngine.useMove(): the damage formula
+ * (level, power, and the attack / defense ratio), the screens of the defending Pokemon (the damage multiplier of
+ * StatusEngine.getDamageMultiplier(), applied before the damage is cut to a whole number), the chance to hit (accuracy
+ * and evasion), the chance of a critical hit, and type effectiveness. The effects of the Move that change the attack
+ * before it is dealt (the BEFORE_ATTACK and DAMAGE Stages of its MoveEffects.Program) are forecast by
+ * MoveEffects.Program.forecast(), so Moves with fixed damage (including random fixed damage), Moves that raise the
+ * critical hit ratio, and Moves that only hit sleeping Pokemon are exact too. Nothing is sampled, and neither Pokemon
+ * is changed.
+ *
+ * The damage formula, the critical hit multiplier, and the chance to hit are the ones of BattleEngine
+ * (getBaseDamage(), getCriticalMultiplier(), and getChanceToHit()), not copies of them. The steps around them (which
+ * stats are used, where the screens and effectiveness are applied, and where the damage is cut to a whole number) are
+ * kept the same as useMove() by selfCheck(), which compares the Distributions with the damage that the engine deals in
+ * many battles.
+ *
+ * Moves that hit more than once in one turn (DOUBLE KICK, DOUBLE SLAP) are worked out hit by hit, as the engine deals
+ * them: each hit after the fewest hits happens with the chance of MoveEffects.Program.getExtraHitChance(), each hit
+ * rolls its own critical hit, and the hits stop once the damage reaches the current HP of the defending Pokemon. So the
+ * Distribution has the total damage of the turn, and its chance of a critical hit is the chance of at least one.
+ *
+ * Note that in this game a critical hit multiplies the damage by (2 * level + 5)/(level + 5), with whole numbers,
+ * which is always 1, so critical hits never change the damage (see BattleEngine.getCriticalMultiplier()). The chance of
+ * a critical hit is still reported.
+ *
+ * A Distribution only depends on a few numbers (the stats, the Move's power and accuracy, the effectiveness, the damage
+ * multiplier, and the forecast), so Distributions are remembered by that tuple of numbers. The AI and other code that
+ * compares many Moves can ask for the same Distribution again for the cost of a look-up. The calculator may be used by
+ * many threads at once.
+ *
+ * Example: DamageCalculator.Distribution dist = DamageCalculator.getDistribution( pikachu, thunder, squirtle,
+ *              engine.getStatuses().getDamageMultiplier( squirtle, thunder.getCategory() ) );
+ *          System.out.println( dist ); //Damage 18-27 (hit 70.0%, critical hit 4.4%), KO 45.2%
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - MAX_CACHE_SIZE : The most Distributions that are remembered. The cache is cleared when it is full
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - cache          : The remembered Distributions, by the tuple of numbers that they depend on
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getDistribution( PokemonActor attacker, Move move, PokemonActor defender, double damageMultiplier )
+ *                                  : Gets the Distribution of the damage of one use of a Move
+ * - getDistribution( PokemonActor attacker, Move move, PokemonActor defender )
+ *                                  : Gets the Distribution of the damage of one use of a Move, with no screens
+ * - getKOChance( PokemonActor attacker, Move move, PokemonActor defender )
+ *                                  : Gets the chance that one use of a Move knocks out the defending Pokemon
+ * - getExpectedDamage( PokemonActor attacker, Move move, PokemonActor defender )
+ *                                  : Gets the average damage of one use of a Move
+ * - getCacheSize()                 : Gets the number of remembered Distributions
+ * - clearCache()                   : Forgets every remembered Distribution
+ * - selfCheck()                    : Checks the Distributions against the damage that the BattleEngine deals
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - calculate( long[] values, MoveEffects.Forecast forecast, MoveEffects.Program effects ) : Works out a Distribution
+ *                                    that is not remembered
+ * - addHits( ... )                 : Adds the totals of every number of hits of one attack to the chances
+ * - chance( double chance )        : Gets the chance that PokeRandom.nextChance( double chance ) returns true
+ * - checkAgainstEngine( ... )      : Compares the Distributions of a Move with the damage of many battles
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Distribution : Every amount of damage of one use of a Move, with the chance of each
+ * - Key          : The tuple of numbers that a Distribution depends on
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleEngine.java
+ * @see MoveEffects.java
+ * @see PokeBattle.java
+ */
+public class DamageCalculator {
+
+    public static final int MAX_CACHE_SIZE = 1 << 16;
+
+    private static final ConcurrentHashMap<Key, Distribution> cache = new ConcurrentHashMap<Key, Distribution>();
+
+    //The positions of the numbers in the tuple of a Key
+    private static final int LEVEL = 0, POWER = 1, MOVE_ACCURACY = 2, ATTACK = 3, DEFENSE = 4, ACCURACY = 5,
+                             EVASION = 6, EFFECTIVENESS = 7, CRITICAL_HIT_RATIO = 8, IS_MISSED = 9, DEFENDER_HP = 10,
+                             MIN_HITS = 11, MAX_HITS = 12, DAMAGE_MULTIPLIER = 13, FIXED_DAMAGE = 14;
+
+    /**
+     * Gets the Distribution of the damage of one use of a Move, as BattleEngine.useMove() would deal it to the
+     * defending Pokemon right now, if the defending Pokemon has no screen up
+     *
+     * @param attacker The attacking Pokemon
+     * @param move The Move, which is usually one of the attacking Pokemon's Moves
+     * @param defender The defending Pokemon
+     * @return Distribution Every amount of damage that the Move can deal, with the chance of each
+     * @see getDistribution( PokemonActor attacker, Move move, PokemonActor defender, double damageMultiplier )
+     */
+    public static Distribution getDistribution( PokemonActor attacker, Move move, PokemonActor defender ) {
+        return getDistribution( attacker, move, defender, 1.0 );
+    }
+
+    /**
+     * Gets the Distribution of the damage of one use of a Move, as BattleEngine.useMove() would deal it to the
+     * defending Pokemon right now
+     *
+     * @param attacker The attacking Pokemon
+     * @param move The Move, which is usually one of the attacking Pokemon's Moves
+     * @param defender The defending Pokemon
+     * @param damageMultiplier How much of the damage the screens of the defending Pokemon let through, from
+     *                         StatusEngine.getDamageMultiplier( defender, move.getCategory() ) of the battle
+     * @return Distribution Every amount of damage that the Move can deal, with the chance of each
+     * @see BattleEngine.useMove( int moveIndex, List<Event> events )
+     */
+    public static Distribution getDistribution( PokemonActor attacker, Move move, PokemonActor defender,
+                                                double damageMultiplier ) {
+        //Same choice of stats as BattleEngine.useMove(), which uses the special attack that ignores stat changes
+        int attack, defense;
+        if( move.getCategory() == Move.MoveCategory.PHYSICAL || move.getCategory() == Move.MoveCategory.STATUS ) {
+            attack = attacker.getCurrentAttack();
+            defense = defender.getCurrentDefense();
+        } else { //MoveCategory.SPECIAL
+            attack = attacker.getSpecialAttack();
+            defense = defender.getCurrentSpecialDefense();
+        }
+        double effectiveness = 1.0;
+        try {
+            effectiveness = attacker.getPokedex().getEffectiveness( move.getType().name(), defender.getType() );
+        } catch( Pokedex.InvalidMoveException e ) {
+            e.printStackTrace();
+        }
+
+        MoveEffects.Forecast forecast = new MoveEffects.Forecast( attacker, defender );
+        move.getEffects().forecast( forecast );
+
+        int fixedCount = forecast.isFixedDamage() ? forecast.getFixedDamage().length : 0;
+        long[] values = new long[ FIXED_DAMAGE + 2 * fixedCount ];
+        values[ LEVEL ]              = attacker.getCurrentLevel();
+        values[ POWER ]              = move.getCurrentPower();
+        values[ MOVE_ACCURACY ]      = move.getCurrentAccuracy();
+        values[ ATTACK ]             = attack;
+        values[ DEFENSE ]            = defense;
+        values[ ACCURACY ]           = attacker.getCurrentAccuracy();
+        values[ EVASION ]            = defender.getCurrentEvasion();
+        values[ EFFECTIVENESS ]      = Double.doubleToLongBits( effectiveness );
+        values[ CRITICAL_HIT_RATIO ] = Double.doubleToLongBits( forecast.getCriticalHitRatio() );
+        values[ IS_MISSED ]          = forecast.isMissed() ? 1 : 0;
+        values[ DEFENDER_HP ]        = defender.getCurrentHP();
+        values[ MIN_HITS ]           = move.getEffects().getMinHits();
+        values[ MAX_HITS ]           = move.getEffects().getMaxHits();
+        values[ DAMAGE_MULTIPLIER ]  = Double.doubleToLongBits( damageMultiplier );
+        for( int i = 0; i < fixedCount; i++ ) {
+            values[ FIXED_DAMAGE + 2 * i ]     = Double.doubleToLongBits( forecast.getFixedDamage()[i] );
+            values[ FIXED_DAMAGE + 2 * i + 1 ] = Double.doubleToLongBits( forecast.getFixedDamageChances()[i] );
+        }
+
+        Key key = new Key( values );
+        Distribution distribution = cache.get( key );
+        if( distribution == null ) {
+            distribution = calculate( values, forecast, move.getEffects() );
+            if( cache.size() >= MAX_CACHE_SIZE )
+                cache.clear();
+            cache.put( key, distribution );
+        }
+        return distribution;
+    }
+
+    /**
+     * Gets the chance that one use of a Move knocks out the defending Pokemon
+     *
+     * @param attacker The attacking Pokemon
+     * @param move The Move
+     * @param defender The defending Pokemon
+     * @return double The chance, from 0 to 1
+     * @see getDistribution( PokemonActor attacker, Move move, PokemonActor defender )
+     */
+    public static double getKOChance( PokemonActor attacker, Move move, PokemonActor defender ) {
+        return getDistribution( attacker, move, defender ).getKOChance();
+    }
+
+    /**
+     * Gets the average damage of one use of a Move, counting a miss as no damage
+     *
+     * @param attacker The attacking Pokemon
+     * @param move The Move
+     * @param defender The defending Pokemon
+     * @return double The average damage
+     * @see getDistribution( PokemonActor attacker, Move move, PokemonActor defender )
+     */
+    public static double getExpectedDamage( PokemonActor attacker, Move move, PokemonActor defender ) {
+        return getDistribution( attacker, move, defender ).getExpectedDamage();
+    }
+
+    /**
+     * Gets the number of remembered Distributions
+     *
+     * @return int The number of Distributions in the cache
+     */
+    public static int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Forgets every remembered Distribution
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Checks the Distributions against the damage that the BattleEngine deals, for every step of the attack sequence
+     * that the calculator follows: Moves that hit more than once in one turn, at full HP and at an HP that the second
+     * hit reaches (so that the later hits are cut off), a PHYSICAL Move against a defending Pokemon that raises REFLECT
+     * first, a PHYSICAL Move whose attack GROWL may have lowered, a SPECIAL Move with type effectiveness, and a Move
+     * with fixed damage. The calculator is the only forecast of the damage that the player sees, and the repo has no
+     * test classes, so BattleCLI runs this check. Failures are printed to standard error
+     *
+     * @return boolean True if every Distribution matches the damage of the engine, false otherwise
+     * @see checkAgainstEngine( PokemonActor attacker, PokemonActor defender, int moveIndex, int defenderHP, int trials,
+     *                          long seed )
+     */
+    public static boolean selfCheck() {
+        String[] moveNames = { "Double kick", "Double slap" };
+        boolean isPassed = true;
+        try {
+            PokemonActor attacker = new Pikachu( 1 ), defender = new Pikachu( 2 );
+            for( int i = 0; i < moveNames.length; i++ ) {
+                Move move = attacker.getPokedex().getMoveFromName( moveNames[i] );
+                attacker.getMoves().set( 0, move );
+
+                int hitDamage = Math.max( 1, getDistribution( attacker, move, defender ).getMinDamage() / 2 );
+                int[] defenderHPs = { defender.getCurrentHP(), hitDamage + 1 };
+                for( int defenderHP : defenderHPs )
+                    isPassed &= checkAgainstEngine( attacker, defender, 0, defenderHP, 20000, 7L * i + defenderHP );
+            }
+
+            //The defending Pokemon uses its first Move whenever it acts first, so about half of the attacks are halved
+            //by REFLECT, or made with a lowered attack by GROWL
+            String[][] matchups = { { "Mega punch", "Reflect" }, { "Mega kick", "Growl" }, { "Thunder shock", "Growl" },
+                                    { "Sonic boom", "Growl" } };
+            for( int i = 0; i < matchups.length; i++ ) {
+                attacker = new Pikachu( 1 );
+                defender = new Pikachu( 2 );
+                attacker.getMoves().set( 0, attacker.getPokedex().getMoveFromName( matchups[i][0] ) );
+                defender.getMoves().set( 0, defender.getPokedex().getMoveFromName( matchups[i][1] ) );
+                isPassed &= checkAgainstEngine( attacker, defender, 0, defender.getHP(), 20000, 99L + i );
+            }
+        } catch( Exception e ) {
+            e.printStackTrace();
+            return false;
+        }
+
+        return isPassed;
+    }
+
+    /**
+     * Plays the first turn of many battles, in which the attacking Pokemon uses a Move, and compares how often it deals
+     * each amount of damage with the Distributions of the calculator. If the defending Pokemon acts first, it uses its
+     * first Move, and the Distribution is asked for after that (with the damage multiplier of its screens), as the
+     * attacking Pokemon is about to move. Battles in which the attacking Pokemon has a status are left out, since a
+     * Distribution is for a Move that is used. The count of every amount of damage must be within 5 standard deviations
+     * (and 2 battles) of its expected count
+     *
+     * @param attacker The attacking Pokemon
+     * @param defender The defending Pokemon
+     * @param moveIndex The index of the Move of the attacking Pokemon
+     * @param defenderHP The HP of the defending Pokemon at the start of each battle
+     * @param trials The number of battles
+     * @param seed The seed of the PokeRandoms of the battles
+     * @return boolean True if every count is close to its expected count, false otherwise
+     * @throws BattleEngine.InvalidActionException If a Move cannot be used
+     */
+    private static boolean checkAgainstEngine( PokemonActor attacker, PokemonActor defender, int moveIndex,
+                                               int defenderHP, int trials, long seed )
+        throws BattleEngine.InvalidActionException {
+        PokemonActor.Snapshot attackerStart = attacker.saveState(), defenderStart = defender.saveState();
+        TreeMap<Integer, Double> expected = new TreeMap<Integer, Double>(), variance = new TreeMap<Integer, Double>();
+        TreeMap<Integer, Double> observed = new TreeMap<Integer, Double>();
+        Move move = attacker.getMoves().get( moveIndex );
+
+        for( int trial = 0; trial < trials; trial++ ) {
+            attacker.restoreState( attackerStart );
+            defender.restoreState( defenderStart );
+            defender.setCurrentHP( defenderHP );
+            BattleEngine engine = new BattleEngine( attacker, defender, PokeRandom.forStream( seed, trial ) );
+            if( engine.getCurrentPokemon() != attacker ) engine.apply( BattleEngine.Action.useMove( 0 ) );
+            if( engine.getState() != BattleEngine.State.SELECT_ACTION || engine.getCurrentPokemon() != attacker ||
+                attacker.getStatus() != PokemonActor.Status.NORMAL ) continue;
+
+            Distribution distribution = getDistribution( attacker, move, defender,
+                engine.getStatuses().getDamageMultiplier( defender, move.getCategory() ) );
+            int[] damages = distribution.getDamages();
+            double[] chances = distribution.getChances();
+            for( int i = 0; i < damages.length; i++ ) {
+                Distribution.add( expected, damages[i], chances[i] );
+                Distribution.add( variance, damages[i], chances[i] * (1.0 - chances[i]) );
+            }
+
+            int damage = 0;
+            List<BattleEngine.Event> events = engine.apply( BattleEngine.Action.useMove( moveIndex ) );
+            for( BattleEngine.Event event : events )
+                if( event.getType() == BattleEngine.Event.Type.DAMAGE_DEALT ) damage = event.getAmount();
+            Distribution.add( observed, damage, 1.0 );
+        }
+        attacker.restoreState( attackerStart );
+        defender.restoreState( defenderStart );
+
+        TreeMap<Integer, Double> amounts = new TreeMap<Integer, Double>( expected );
+        amounts.putAll( observed );
+        boolean isPassed = true;
+        for( Integer damage : amounts.keySet() ) {
+            double count = observed.containsKey( damage ) ? observed.get( damage ) : 0.0;
+            double expectedCount = expected.containsKey( damage ) ? expected.get( damage ) : 0.0;
+            double deviation = variance.containsKey( damage ) ? Math.sqrt( variance.get( damage ) ) : 0.0;
+            if( Math.abs( count - expectedCount ) > 5.0 * deviation + 2.0 ) {
+                System.err.println( "DamageCalculator: " + move.getName() + " against " + defenderHP + " HP dealt " +
+                                    damage + " damage " + (int)count + " times, expected " +
+                                    String.format( "%.1f", expectedCount ) );
+                isPassed = false;
+            }
+        }
+
+        return isPassed;
+    }
+
+    /**
+     * Works out the Distribution of a tuple of numbers, step by step as BattleEngine.useMove() does
+     *
+     * @param values The tuple of numbers of the attack (see getDistribution())
+     * @param forecast The Forecast of the Move's BEFORE_ATTACK and DAMAGE effects
+     * @param effects The Program of the Move, which has the chance of each extra hit
+     * @return Distribution Every amount of damage, with the chance of each
+     * @see addHits( ... )
+     */
+    private static Distribution calculate( long[] values, MoveEffects.Forecast forecast, MoveEffects.Program effects ) {
+        int level = (int)values[ LEVEL ];
+        int defenderHP = (int)values[ DEFENDER_HP ];
+        double effectiveness = Double.longBitsToDouble( values[ EFFECTIVENESS ] );
+
+        double hitChance = chance( BattleEngine.getChanceToHit( (int)values[ MOVE_ACCURACY ], (int)values[ ACCURACY ],
+                                                                (int)values[ EVASION ] ) );
+        if( forecast.isMissed() )
+            hitChance = 0.0;
+        double criticalHitChance = chance( forecast.getCriticalHitRatio() );
+
+        TreeMap<Integer, Double> chances = new TreeMap<Integer, Double>();
+        double anyCriticalChance = 0.0;
+        if( forecast.isFixedDamage() ) {
+            //Fixed damage ignores type effectiveness and critical hits, and is the same for every hit
+            double[] amounts = forecast.getFixedDamage();
+            double[] amountChances = forecast.getFixedDamageChances();
+            for( int i = 0; i < amounts.length; i++ )
+                addHits( chances, (int)amounts[i], (int)amounts[i], 0.0, hitChance * amountChances[i], defenderHP,
+                         effects );
+        } else {
+            double damage = BattleEngine.getBaseDamage( level, (int)values[ POWER ], (int)values[ ATTACK ],
+                                                        (int)values[ DEFENSE ] );
+            damage *= Double.longBitsToDouble( values[ DAMAGE_MULTIPLIER ] );
+            double criticalDamage = damage * BattleEngine.getCriticalMultiplier( level );
+            anyCriticalChance = addHits( chances, (int)(damage * effectiveness), (int)(criticalDamage * effectiveness),
+                                         criticalHitChance, hitChance, defenderHP, effects );
+        }
+
+        return new Distribution( chances, 1.0 - hitChance, anyCriticalChance, defenderHP );
+    }
+
+    /**
+     * Adds the total damage of every number of hits of one attack to the chances, as BattleEngine.useMove() deals the
+     * hits: after each hit, the Move hits again with the chance of effects.getExtraHitChance(), unless the total has
+     * reached the HP of the defending Pokemon. Each hit is a critical hit with its own chance
+     *
+     * @param chances The chance of each total damage, which the totals are added to
+     * @param hitDamage The damage of a hit that is not a critical hit
+     * @param criticalDamage The damage of a critical hit
+     * @param criticalHitChance The chance that each hit is a critical hit
+     * @param chance The chance that the attack hits at all
+     * @param defenderHP The current HP of the defending Pokemon
+     * @param effects The Program of the Move
+     * @return double The chance that the attack hits with at least one critical hit
+     * @see MoveEffects.Program.rollHits( PokeRandom random )
+     */
+    private static double addHits( TreeMap<Integer, Double> chances, int hitDamage, int criticalDamage,
+                                   double criticalHitChance, double chance, int defenderHP,
+                                   MoveEffects.Program effects ) {
+        //The chance of each total after the hits so far, without and with a critical hit among them
+        TreeMap<Integer, Double> normal = new TreeMap<Integer, Double>(), critical = new TreeMap<Integer, Double>();
+        Distribution.add( normal, hitDamage, chance * (1.0 - criticalHitChance) );
+        Distribution.add( critical, criticalDamage, chance * criticalHitChance );
+
+        double anyCriticalChance = 0.0;
+        for( int hits = 1; !normal.isEmpty() || !critical.isEmpty(); hits++ ) {
+            double extraHitChance = effects.getExtraHitChance( hits );
+            TreeMap<Integer, Double> nextNormal = new TreeMap<Integer, Double>(),
+                                     nextCritical = new TreeMap<Integer, Double>();
+            for( int isCritical = 0; isCritical < 2; isCritical++ ) {
+                TreeMap<Integer, Double> totals = isCritical == 1 ? critical : normal;
+                for( Map.Entry<Integer, Double> entry : totals.entrySet() ) {
+                    int total = entry.getKey();
+                    double again = total < defenderHP ? extraHitChance : 0.0;
+                    double stop = entry.getValue() * (1.0 - again), go = entry.getValue() * again;
+                    Distribution.add( chances, total, stop );
+                    if( isCritical == 1 ) anyCriticalChance += stop;
+
+                    Distribution.add( isCritical == 1 ? nextCritical : nextNormal, total + hitDamage,
+                                      go * (1.0 - criticalHitChance) );
+                    Distribution.add( nextCritical, total + criticalDamage, go * criticalHitChance );
+                }
+            }
+            normal = nextNormal;
+            critical = nextCritical;
+        }
+
+        return anyCriticalChance;
+    }
+
+    /**
+     * Gets the chance that PokeRandom.nextChance( double chance ) returns true, which is the given chance kept between
+     * 0 and 1. A chance that is not a number is never true
+     *
+     * @param chance The chance given to PokeRandom.nextChance()
+     * @return double The chance, from 0 to 1
+     */
+    private static double chance( double chance ) {
+        if( chance >= 1.0 ) return 1.0;
+        if( chance > 0.0 )  return chance;
+        return 0.0;
+    }
+
+    /**
+     * Every amount of damage that one use of a Move can deal to the defending Pokemon, with the chance of each. A miss
+     * deals no damage, so its chance is part of the chance of 0 damage. A Distribution never changes
+     */
+    public static class Distribution {
+
+        private final int[] damages;
+        private final double[] chances;
+        private final double missChance, criticalHitChance, koChance, expectedDamage;
+        private final int minDamage, maxDamage, defenderHP;
+
+        /**
+         * Create a Distribution from the chance of each amount of damage dealt by a hit
+         *
+         * @param hitChances The chance of each amount of damage, when the Move hits
+         * @param missChance The chance that the Move misses
+         * @param criticalHitChance The chance that the Move hits with a critical hit
+         * @param defenderHP The current HP of the defending Pokemon
+         */
+        private Distribution( TreeMap<Integer, Double> hitChances, double missChance, double criticalHitChance,
+                              int defenderHP ) {
+            this.minDamage = hitChances.isEmpty() ? 0 : hitChances.firstKey();
+            this.maxDamage = hitChances.isEmpty() ? 0 : hitChances.lastKey();
+            if( missChance > 0.0 )
+                add( hitChances, 0, missChance );
+
+            this.damages = new int[ hitChances.size() ];
+            this.chances = new double[ hitChances.size() ];
+            double ko = 0.0, expected = 0.0;
+            int i = 0;
+            for( Map.Entry<Integer, Double> entry : hitChances.entrySet() ) {
+                damages[i] = entry.getKey();
+                chances[i] = entry.getValue();
+                expected += damages[i] * chances[i];
+                if( defenderHP > 0 && damages[i] >= defenderHP )
+                    ko += chances[i];
+                i++;
+            }
+
+            this.missChance = missChance;
+            this.criticalHitChance = criticalHitChance;
+            this.koChance = ko;
+            this.expectedDamage = expected;
+            this.defenderHP = defenderHP;
+        }
+
+        /**
+         * Adds a chance to an amount of damage. Chances of 0 are left out
+         *
+         * @param chances The chance of each amount of damage
+         * @param damage The amount of damage
+         * @param chance The chance to add
+         */
+        private static void add( TreeMap<Integer, Double> chances, int damage, double chance ) {
+            if( chance <= 0.0 ) return;
+            Double old = chances.get( damage );
+            chances.put( damage, old == null ? chance : old + chance );
+        }
+
+        /**
+         * Gets every amount of damage that the Move can deal, from least to most, counting a miss as 0 damage
+         *
+         * @return int[] The amounts of damage
+         */
+        public int[] getDamages() {
+            return damages.clone();
+        }
+
+        /**
+         * Gets the chance of each amount of damage in getDamages(), which add up to 1
+         *
+         * @return double[] The chance of each amount of damage
+         */
+        public double[] getChances() {
+            return chances.clone();
+        }
+
+        /**
+         * Gets the chance that the Move deals exactly the given damage, counting a miss as 0 damage
+         *
+         * @param damage The amount of damage
+         * @return double The chance, from 0 to 1
+         */
+        public double getChance( int damage ) {
+            int index = Arrays.binarySearch( damages, damage );
+            return index >= 0 ? chances[ index ] : 0.0;
+        }
+
+        /**
+         * Gets the least damage that the Move deals when it hits
+         *
+         * @return int The least damage, or 0 if the Move always misses
+         */
+        public int getMinDamage() {
+            return minDamage;
+        }
+
+        /**
+         * Gets the most damage that the Move deals when it hits
+         *
+         * @return int The most damage, or 0 if the Move always misses
+         */
+        public int getMaxDamage() {
+            return maxDamage;
+        }
+
+        public double getMissChance()        { return missChance; }
+        public double getHitChance()         { return 1.0 - missChance; }
+        public double getCriticalHitChance() { return criticalHitChance; }
+        public double getKOChance()          { return koChance; }
+        public double getExpectedDamage()    { return expectedDamage; }
+        public int getDefenderHP()           { return defenderHP; }
+
+        /**
+         * Prints the range of damage, the chances to hit and to land a critical hit, and the chance of a KO
+         *
+         * @return String The Distribution as text, such as "Damage 18-27 (hit 70.0%, critical hit 4.4%), KO 45.2%"
+         */
+        @Override
+        public String toString() {
+            int min = getMinDamage(), max = getMaxDamage();
+            return "Damage " + ( min == max ? "" + min : min + "-" + max ) +
+                   String.format( " (hit %.1f%%, critical hit %.1f%%), KO %.1f%%",
+                                  100.0 * getHitChance(), 100.0 * criticalHitChance, 100.0 * koChance );
+        }
+    }
+
+    /**
+     * The tuple of numbers that a Distribution depends on, which is the key of the cache
+     */
+    private static class Key {
+
+        private final long[] values;
+        private final int hash;
+
+        /**
+         * Create a Key from a tuple of numbers
+         *
+         * @param values The tuple of numbers
+         */
+        public Key( long[] values ) {
+            this.values = values;
+            this.hash = Arrays.hashCode( values );
+        }
+
+        @Override
+        public boolean equals( Object other ) {
+            return other instanceof Key && Arrays.equals( values, ((Key)other).values );
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,621 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ExpectimaxAI.java
+ *
+ * A computer opponent that chooses the Action of the Pokemon whose turn it is by searching ahead through the
+ * BattleEngine. The search tries every Move and Item of each Pokemon, one turn after the other, and at each Action
+ * tries every outcome of its chances (whether the Move hits, whether it is a critical hit, and whether its effect
+ * happens), weighing each outcome by how likely it is. The Pokemon whose turn it is takes the best Action for itself,
+ * so the AI assumes that its opponent plays well too (this is sometimes called expectiminimax).
+ *
+ * The search runs the real rules: it saves the battle with BattleEngine.saveState(), applies Actions to a second
+ * BattleEngine between the same two Pokemon, and restores the battle afterwards, so the Pokemon on the screen are
+ * left exactly as they were. The outcomes of the chances are chosen by a ChanceRandom, which the BattleEngine asks
+ * through PokeRandom.nextChance( double chance ). Other random numbers (such as the damage of a Move with random
+ * fixed damage) take their middle value.
+ *
+ * The search deepens one turn at a time (iterative deepening) until the time budget runs out, and uses the best Action
+ * of the deepest search that finished. The first search (one turn deep) always finishes. Battles that were already
+ * searched are kept in a transposition table, keyed by a Zobrist hash of the battle, so that the same battle reached
+ * in different ways (or searched again at the next depth, or on the next turn) is not searched again.
+ *
+ * Battles are scored from the side of the AI: 1 for a win, -1 for a loss, and otherwise half the difference between
+ * the fractions of HP that the two teams have left, which is always between a win and a loss.
+ *
+ * In a team battle the search also tries every switch, and the switch in of a Pokemon that fainted (SWITCH_IN) is
+ * searched like any other turn, chosen by the Side that switches.
+ *
+ * Example: BattleEngine.Action action = new ExpectimaxAI().chooseAction( engine );
+ *          System.out.println( ai.getLastReport() ); //Depth 4, 31250 nodes in 49.9 ms (626 thousand nodes/sec) ...
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_BUDGET_MILLIS : The default time budget of one search, in milliseconds
+ * - DEFAULT_MAX_DEPTH     : The default deepest search, in turns
+ * - TABLE_BITS            : The transposition table has 2^TABLE_BITS entries
+ * - WIN_VALUE             : The score of a win (a loss is -WIN_VALUE)
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - CHECK_INTERVAL        : The number of nodes between checks of the clock
+ * - MAX_CHANCES           : The most chances that one Action may have
+ * - MAX_MOVES, MAX_ITEMS  : The number of Move and Item slots of each Pokemon that are hashed
+ * - ZOBRIST_VALUES        : The number of random keys of each hashed value
+ * - ZOBRIST, SIDE_KEYS, ROOT_KEYS, ROUND_KEY, ACTIVE_KEYS : The random keys of the Zobrist hash
+ *
+ * - budgetNanos, maxDepth : The time budget and deepest search of this AI
+ * - tableKeys, tableValues, tableDepths : The transposition table
+ * - random                : The ChanceRandom that chooses the outcomes of the chances during the search
+ * - scripts               : The Script of the chances of each turn of the search
+ * - search                : The BattleEngine that the search applies Actions to
+ * - rootSide              : The Side that the AI is choosing an Action for
+ * - deadline, canAbort, isAborted : When the search must stop, whether it may stop, and whether it has stopped
+ * - nodes, tableHits      : The number of battles searched, and the number found in the transposition table
+ * - lastReport            : The Report of the last search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - ExpectimaxAI()        : Create an AI with the default time budget and depth
+ * - ExpectimaxAI( long budgetMillis, int maxDepth ) : Create an AI with the given time budget and deepest search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - chooseAction( BattleEngine engine ) : Searches the battle and returns the best Action for the Side whose turn it is
+ * - getLastReport()                     : Gets the depth, nodes, and time of the last search
+ * - clearTable()                        : Forgets every battle in the transposition table
+ * - observe( BattleEngine engine, BattleEngine.Action action ) : Does nothing (see BattleAI)
+ * - newBattle()                         : Clears the transposition table before a new battle
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - search( int depth, int ply, BattleEngine.Snapshot parent )
+ *                                       : Gets the score of the battle, searching depth turns ahead
+ * - expect( BattleEngine.Action action, BattleEngine.Snapshot snapshot, int depth, int ply )
+ *                                       : Gets the score of an Action, weighing every outcome of its chances
+ * - evaluate()                          : Scores a battle that is not searched any deeper
+ * - hash()                              : Gets the Zobrist hash of the battle
+ * - getHPFraction( BattleEngine.Side side ) : Gets the fraction of its HP that a team has left
+ * - hashPokemon( int index, PokemonActor pokemon ) : Gets the Zobrist hash of one Pokemon
+ * - key( int index, int feature, int value ) : Gets the random key of one value of a Pokemon
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Script       : The outcomes chosen for the chances of one Action, which are stepped through one by one
+ * - ChanceRandom : The PokeRandom that follows the current Script
+ * - Report       : The depth, nodes, and time of one search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleAI.java
+ * @see BattleEngine.java
+ * @see PokeRandom.java
+ * @see PokeBattle.java
+ */
+public class ExpectimaxAI implements BattleAI {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_MAX_DEPTH      = 8;
+    public static final int TABLE_BITS             = 16;
+    public static final double WIN_VALUE           = 1.0;
+
+    private static final int CHECK_INTERVAL = 256;
+    private static final int MAX_CHANCES    = 16;
+    private static final int MAX_MOVES      = 8;
+    private static final int MAX_ITEMS      = 16;
+    private static final int ZOBRIST_VALUES = 1024;
+
+    //Features of a Pokemon: 8 current and 8 maximum stats, status, level, 2 critical hit ratios, 6 values per Move, and Items
+    private static final int FEATURE_MOVES = 20;
+    private static final int FEATURE_ITEMS = FEATURE_MOVES + 6 * MAX_MOVES;
+    private static final int FEATURES      = FEATURE_ITEMS + MAX_ITEMS;
+
+    private static final long[][][] ZOBRIST = new long[2][ FEATURES ][ ZOBRIST_VALUES ];
+    private static final long[] SIDE_KEYS = new long[2];
+    private static final long[] ROOT_KEYS = new long[2];
+    private static final long[][] ACTIVE_KEYS = new long[2][ BattleEngine.MAX_TEAM_SIZE ];
+    private static final long ROUND_KEY;
+
+    static {
+        PokeRandom keys = new PokeRandom( 0x5EED_0F_7AB1EL );
+        for( int i = 0; i < ZOBRIST.length; i++ )
+            for( int j = 0; j < FEATURES; j++ )
+                for( int k = 0; k < ZOBRIST_VALUES; k++ )
+                    ZOBRIST[i][j][k] = keys.nextLong();
+        for( int i = 0; i < 2; i++ ) {
+            SIDE_KEYS[i] = keys.nextLong();
+            ROOT_KEYS[i] = keys.nextLong();
+        }
+        ROUND_KEY = keys.nextLong();
+        for( int i = 0; i < 2; i++ )
+            for( int j = 0; j < BattleEngine.MAX_TEAM_SIZE; j++ )
+                ACTIVE_KEYS[i][j] = keys.nextLong();
+    }
+
+    private final long budgetNanos;
+    private final int maxDepth;
+
+    private final long[] tableKeys     = new long[ 1 << TABLE_BITS ];
+    private final double[] tableValues = new double[ 1 << TABLE_BITS ];
+    private final int[] tableDepths    = new int[ 1 << TABLE_BITS ];
+
+    private final ChanceRandom random = new ChanceRandom();
+    private final Script[] scripts;
+    private BattleEngine search;
+    private BattleEngine.Side rootSide;
+
+    private long deadline;
+    private boolean canAbort, isAborted;
+    private long nodes, tableHits;
+    private Report lastReport = null;
+
+    /**
+     * Create an AI that searches for DEFAULT_BUDGET_MILLIS milliseconds, up to DEFAULT_MAX_DEPTH turns deep
+     */
+    public ExpectimaxAI() {
+        this( DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_DEPTH );
+    }
+
+    /**
+     * Create an AI with the given time budget and deepest search
+     *
+     * @param budgetMillis The time that one search may take, in milliseconds. The first search (one turn deep) always
+     *                     finishes, even if it takes longer
+     * @param maxDepth The deepest search, in turns
+     */
+    public ExpectimaxAI( long budgetMillis, int maxDepth ) {
+        this.budgetNanos = budgetMillis * 1000000L;
+        this.maxDepth = maxDepth;
+        this.scripts = new Script[ maxDepth + 1 ];
+        for( int i = 0; i < scripts.length; i++ )
+            scripts[i] = new Script();
+    }
+
+    /**
+     * Searches the battle and returns the best Action for the Pokemon whose turn it is. The battle is changed during
+     * the search, and restored before this returns
+     *
+     * @param engine The battle, which must be waiting for an Action (State.SELECT_ACTION) or a switch (State.SWITCH_IN)
+     * @return BattleEngine.Action The best Action, one of engine.getLegalActions(), or null if there are none
+     * @see expect( BattleEngine.Action action, BattleEngine.Snapshot snapshot, int depth, int ply )
+     */
+    public BattleEngine.Action chooseAction( BattleEngine engine ) {
+        List<BattleEngine.Action> actions = engine.getLegalActions();
+        if( !isSearched( engine.getState() ) || actions.isEmpty() ) return null;
+
+        long start = System.nanoTime();
+        deadline = start + budgetNanos;
+        nodes = 0;
+        tableHits = 0;
+        isAborted = false;
+        rootSide = engine.getCurrentSide();
+
+        BattleEngine.Snapshot root = engine.saveState();
+        search = new BattleEngine( engine.getTeam( BattleEngine.Side.PLAYER_1 ),
+                                   engine.getTeam( BattleEngine.Side.PLAYER_2 ), random );
+
+        int bestIndex = 0, completedDepth = 0;
+        double bestValue = 0.0;
+        double[] values = new double[ actions.size() ];
+        for( int depth = 1; depth <= maxDepth; depth++ ) {
+            canAbort = depth > 1;
+            int iterationBest = PokeWorld.ERROR;
+            for( int i = 0; i < actions.size() && !isAborted; i++ ) {
+                values[i] = expect( actions.get(i), root, depth, 0 );
+                if( !Double.isNaN( values[i] ) && (iterationBest == PokeWorld.ERROR || values[i] > values[ iterationBest ]) )
+                    iterationBest = i;
+            }
+            if( isAborted ) break;
+
+            completedDepth = depth;
+            if( iterationBest != PokeWorld.ERROR ) {
+                bestIndex = iterationBest;
+                bestValue = values[ iterationBest ];
+            }
+
+            //A certain win or loss will not change with a deeper search
+            if( Math.abs( bestValue ) >= WIN_VALUE || System.nanoTime() > deadline ) break;
+        }
+
+        search.restoreState( root );
+        search = null;
+        lastReport = new Report( actions.get( bestIndex ), bestValue, completedDepth, nodes, tableHits,
+                                 System.nanoTime() - start );
+        return actions.get( bestIndex );
+    }
+
+    /**
+     * Gets the score of the battle in the search engine, searching depth turns ahead. The Pokemon of the AI takes the
+     * Action with the highest score, and the other Pokemon takes the Action with the lowest score
+     *
+     * @param depth The number of turns left to search
+     * @param ply The number of turns already searched from the root
+     * @param parent The battle one turn before, which the Snapshot of this turn shares everything unchanged with
+     * @return double The score of the battle, from the side of the AI
+     * @see BattleEngine.saveState( BattleEngine.Snapshot base )
+     * @see expect( BattleEngine.Action action, BattleEngine.Snapshot snapshot, int depth, int ply )
+     */
+    private double search( int depth, int ply, BattleEngine.Snapshot parent ) {
+        if( (++nodes & (CHECK_INTERVAL - 1)) == 0 && canAbort && System.nanoTime() > deadline ) isAborted = true;
+        if( isAborted ) return 0.0;
+
+        if( !isSearched( search.getState() ) )
+            return search.getWinner() == rootSide ? WIN_VALUE : -WIN_VALUE;
+        if( depth == 0 || ply >= maxDepth ) return evaluate();
+
+        long key = hash();
+        int slot = (int)key & (tableKeys.length - 1);
+        if( tableKeys[ slot ] == key && tableDepths[ slot ] >= depth ) {
+            tableHits++;
+            return tableValues[ slot ];
+        }
+
+        boolean isMax = search.getCurrentSide() == rootSide;
+        BattleEngine.Snapshot snapshot = search.saveState( parent );
+        List<BattleEngine.Action> actions = search.getLegalActions();
+        double best = Double.NaN;
+        for( BattleEngine.Action action : actions ) {
+            double value = expect( action, snapshot, depth, ply );
+            if( isAborted ) return 0.0;
+            if( Double.isNaN( value ) ) continue;
+            if( Double.isNaN( best ) || (isMax ? value > best : value < best) ) best = value;
+        }
+        search.restoreState( snapshot );
+        if( Double.isNaN( best ) ) best = evaluate();
+
+        tableKeys[ slot ]   = key;
+        tableValues[ slot ] = best;
+        tableDepths[ slot ] = depth;
+        return best;
+    }
+
+    /**
+     * Gets the score of an Action, weighing the score of every outcome of its chances by how likely the outcome is.
+     * The Action is applied once per outcome, each time from the saved battle, and the Script of this ply steps
+     * through the outcomes
+     *
+     * @param action The Action to score
+     * @param snapshot The battle before the Action
+     * @param depth The number of turns left to search, including this one
+     * @param ply The number of turns already searched from the root
+     * @return double The score of the Action, or NaN if the Action cannot be used (an Item whose requirements are
+     *                not met)
+     * @see Script.next()
+     */
+    private double expect( BattleEngine.Action action, BattleEngine.Snapshot snapshot, int depth, int ply ) {
+        Script script = scripts[ ply ];
+        script.reset();
+        double total = 0.0;
+        do {
+            search.restoreState( snapshot );
+            random.script = script;
+            script.begin();
+            List<BattleEngine.Event> events;
+            try {
+                events = search.apply( action );
+            } catch( BattleEngine.InvalidActionException e ) {
+                e.printStackTrace();
+                return Double.NaN;
+            }
+            for( BattleEngine.Event event : events )
+                if( event.getType() == BattleEngine.Event.Type.ITEM_REJECTED ) return Double.NaN;
+
+            double probability = script.getProbability();
+            total += probability * search( depth - 1, ply + 1, snapshot );
+            if( isAborted ) return 0.0;
+        } while( script.next() );
+
+        return total;
+    }
+
+    /**
+     * Determines whether the search goes on from a battle in the State: a battle that waits for an Action or for a
+     * switch is searched, and a battle that a Side has won is not
+     *
+     * @param state The State of the battle
+     * @return boolean True if the battle is searched, false if it is over
+     */
+    private static boolean isSearched( BattleEngine.State state ) {
+        return state == BattleEngine.State.SELECT_ACTION || state == BattleEngine.State.SWITCH_IN;
+    }
+
+    /**
+     * Scores a battle that is not searched any deeper: half the difference between the fractions of HP that the
+     * team of the AI and the other team have left
+     *
+     * @return double The score, from -0.5 to 0.5
+     * @see getHPFraction( BattleEngine.Side side )
+     */
+    private double evaluate() {
+        return 0.5 * (getHPFraction( rootSide ) - getHPFraction( rootSide.other() ));
+    }
+
+    /**
+     * Gets the fraction of its HP that a team has left: the mean of the fractions of HP of its Pokemon, so a Pokemon
+     * that fainted counts as 0. For a single Pokemon this is the fraction of its HP
+     *
+     * @param side The Side of the team
+     * @return double The fraction, from 0 to 1
+     */
+    private double getHPFraction( BattleEngine.Side side ) {
+        int size = search.getTeamSize( side );
+        double fraction = 0.0;
+        for( int slot = 0; slot < size; slot++ ) {
+            PokemonActor pokemon = search.getTeamPokemon( side, slot );
+            fraction += (double)pokemon.getCurrentHP() / Math.max( 1, pokemon.getHP() );
+        }
+
+        return fraction / size;
+    }
+
+    /**
+     * Gets the Zobrist hash of the battle in the search engine: the keys of the values of every Pokemon of both teams
+     * (the keys of a Pokemon are rotated by its slot in the team, so that two teams with the same Pokemon in other
+     * orders hash differently), of the active Pokemon of each team, of the Side whose turn it is and whether it acts
+     * second in the round, of the Side of the AI (since scores are from the side of the AI), and of the conditions of
+     * every Pokemon, XORed together
+     *
+     * @return long The hash of the battle
+     * @see hashPokemon( int index, PokemonActor pokemon )
+     * @see StatusEngine.hash()
+     */
+    private long hash() {
+        long hash = SIDE_KEYS[ search.getCurrentSide().ordinal() ] ^ ROOT_KEYS[ rootSide.ordinal() ] ^
+                    (search.isSecondInRound() ? ROUND_KEY : 0L) ^ search.getStatuses().hash();
+        for( BattleEngine.Side side : BattleEngine.Side.values() ) {
+            int index = side.ordinal();
+            hash ^= ACTIVE_KEYS[ index ][ search.getActiveSlot( side ) ];
+            for( int slot = 0; slot < search.getTeamSize( side ); slot++ )
+                hash ^= Long.rotateLeft( hashPokemon( index, search.getTeamPokemon( side, slot ) ), slot * 7 );
+        }
+
+        return hash;
+    }
+
+    /**
+     * Gets the Zobrist hash of one Pokemon: its current and maximum stats, status, level, critical hit ratios, the
+     * power, accuracy, and PP of each of its Moves, and its Items with their quantities
+     *
+     * @param index 0 for the first team, 1 for the second
+     * @param pokemon The Pokemon
+     * @return long The hash of the Pokemon
+     * @see key( int index, int feature, int value )
+     */
+    private long hashPokemon( int index, PokemonActor pokemon ) {
+        long hash = 0L;
+        for( int property = ItemEffects.HP; property <= ItemEffects.ACCURACY; property++ ) {
+            hash ^= key( index, property, (int)ItemEffects.getValue( pokemon, property, true ) );
+            hash ^= key( index, 8 + property, (int)ItemEffects.getValue( pokemon, property, false ) );
+        }
+        hash ^= key( index, 16, pokemon.getStatus().ordinal() );
+        hash ^= key( index, 17, pokemon.getCurrentLevel() );
+        hash ^= key( index, 18, (int)Math.round( pokemon.getCurrentCriticalHitRatio() * 1000 ) );
+        hash ^= key( index, 19, (int)Math.round( pokemon.getCriticalHitRatio() * 1000 ) );
+
+        ArrayList<Move> moves = pokemon.getMoves();
+        for( int i = 0; i < moves.size() && i < MAX_MOVES; i++ ) {
+            Move move = moves.get(i);
+            int feature = FEATURE_MOVES + 6 * i;
+            hash ^= key( index, feature,     move.getCurrentPP() );
+            hash ^= key( index, feature + 1, move.getPP() );
+            hash ^= key( index, feature + 2, move.getCurrentPower() );
+            hash ^= key( index, feature + 3, move.getPower() );
+            hash ^= key( index, feature + 4, move.getCurrentAccuracy() );
+            hash ^= key( index, feature + 5, move.getAccuracy() );
+        }
+
+        ArrayList<Item> items = pokemon.getItems();
+        for( int i = 0; i < items.size() && i < MAX_ITEMS; i++ )
+            hash ^= key( index, FEATURE_ITEMS + i, items.get(i).getName().hashCode() * 31 + items.get(i).getQuantity() );
+
+        return hash;
+    }
+
+    /**
+     * Gets the random key of one value of a Pokemon. Values from 0 to ZOBRIST_VALUES - 1 each have their own key;
+     * larger and negative values are folded into that range
+     *
+     * @param index 0 for the first team, 1 for the second
+     * @param feature The value that is hashed, such as the current attack
+     * @param value The value
+     * @return long The key
+     */
+    private static long key( int index, int feature, int value ) {
+        return ZOBRIST[ index ][ feature ][ (value ^ (value >>> 10) ^ (value >>> 20)) & (ZOBRIST_VALUES - 1) ];
+    }
+
+    /**
+     * Gets the Report of the last search
+     *
+     * @return Report The depth, nodes, and time of the last search, or null if there has not been a search yet
+     */
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Forgets every battle in the transposition table, such as when a new battle starts
+     */
+    public void clearTable() {
+        Arrays.fill( tableKeys, 0L );
+        Arrays.fill( tableDepths, 0 );
+    }
+
+    /**
+     * Does nothing, since the transposition table already keeps the battles searched on earlier turns
+     *
+     * @param engine The battle, before the Action is applied
+     * @param action The Action
+     */
+    public void observe( BattleEngine engine, BattleEngine.Action action ) {
+    }
+
+    /**
+     * Forgets every battle in the transposition table before a new battle starts
+     *
+     * @see clearTable()
+     */
+    public void newBattle() {
+        clearTable();
+    }
+
+    /**
+     * The outcomes chosen for the chances of one Action. The first time an Action is applied, every chance happens,
+     * and the chances are recorded as they are asked for. next() then changes the last chance that happened so that
+     * it does not happen, and forgets the chances after it, since they may be different now (a Move that misses has
+     * no effect to roll). Applying the Action once for each Script, until next() returns false, goes through every
+     * outcome of the Action exactly once
+     */
+    private static class Script {
+
+        private final double[] chances = new double[ MAX_CHANCES ];
+        private final boolean[] outcomes = new boolean[ MAX_CHANCES ];
+        private int length, position;
+
+        /**
+         * Forgets every chance, for a new Action
+         */
+        public void reset() {
+            length = 0;
+        }
+
+        /**
+         * Starts applying the Action again, from its first chance
+         */
+        public void begin() {
+            position = 0;
+        }
+
+        /**
+         * Decides the next chance of the Action. Chances of 0 or 1 are not outcomes, since they can only go one way
+         *
+         * @param chance The chance that it happens
+         * @return boolean True if it happens in this outcome, false otherwise
+         */
+        public boolean decide( double chance ) {
+            if( chance <= 0.0 ) return false;
+            if( chance >= 1.0 || position >= MAX_CHANCES ) return true;
+
+            if( position < length ) {
+                chances[ position ] = chance;
+                return outcomes[ position++ ];
+            }
+
+            chances[ position ] = chance;
+            outcomes[ position ] = true;
+            length = ++position;
+            return true;
+        }
+
+        /**
+         * Gets how likely the outcome that was just applied is
+         *
+         * @return double The product of the chances of the outcome
+         */
+        public double getProbability() {
+            length = position;
+            double probability = 1.0;
+            for( int i = 0; i < length; i++ )
+                probability *= outcomes[i] ? chances[i] : 1.0 - chances[i];
+
+            return probability;
+        }
+
+        /**
+         * Moves on to the next outcome
+         *
+         * @return boolean True if there is another outcome, false if every outcome has been applied
+         */
+        public boolean next() {
+            while( length > 0 && !outcomes[ length - 1 ] ) length--;
+            if( length == 0 ) return false;
+
+            outcomes[ length - 1 ] = false;
+            return true;
+        }
+    }
+
+    /**
+     * The PokeRandom of the search engine. Chances follow the current Script, and other random numbers take their
+     * middle value, so that applying the same Action with the same Script always gives the same battle. The search
+     * engine is made before any Script is set, and the chances that it rolls then are replaced by restoreState()
+     */
+    private static class ChanceRandom extends PokeRandom {
+
+        private Script script;
+
+        /**
+         * Create a ChanceRandom. The seed is never used, since every number is chosen
+         */
+        public ChanceRandom() {
+            super( 0L );
+        }
+
+        public boolean nextChance( double chance ) { return script == null ? chance >= 0.5 : script.decide( chance ); }
+        public double nextDouble()                 { return 0.5; }
+        public int nextInt( int bound )            { return bound / 2; }
+        public boolean nextBoolean()               { return true; }
+    }
+
+    /**
+     * The depth, nodes, and time of one search, for tuning the budget so that a search fits in one act
+     */
+    public static class Report {
+
+        private final BattleEngine.Action action;
+        private final double value;
+        private final int depth;
+        private final long nodes, tableHits, elapsedNanos;
+
+        /**
+         * Create a Report
+         *
+         * @param action The Action that was chosen
+         * @param value The score of the Action
+         * @param depth The deepest search that finished, in turns
+         * @param nodes The number of battles searched
+         * @param tableHits The number of battles found in the transposition table
+         * @param elapsedNanos The time of the search, in nanoseconds
+         */
+        private Report( BattleEngine.Action action, double value, int depth, long nodes, long tableHits, long elapsedNanos ) {
+            this.action = action;
+            this.value = value;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.tableHits = tableHits;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public BattleEngine.Action getAction() { return action; }
+        public double getValue()               { return value; }
+        public int getDepth()                  { return depth; }
+        public long getNodes()                 { return nodes; }
+        public long getTableHits()             { return tableHits; }
+        public long getElapsedNanos()          { return elapsedNanos; }
+
+        /**
+         * Gets the number of battles searched per second
+         *
+         * @return double The throughput of the search
+         */
+        public double getNodesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the Report as text
+         *
+         * @return String The Report, on one line
+         */
+        public String toString() {
+            return String.format( "Depth %d, %d nodes in %.1f ms (%.0f thousand nodes/sec), %d table hits, %s scored %.3f",
+                                  depth, nodes, elapsedNanos / 1e6, getNodesPerSecond() / 1000, tableHits, action, value );
+        }
+    }
+}
@@ -0,0 +1,586 @@
+import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
+import java.util.Arrays;
+
+/**
+ * FrameTimer.java
+ *
+ * Measures where the time of each act goes. Each act (frame) is split into phases (input, battle logic, HUD
+ * rendering, file I/O, audio, and the search of a computer opponent), and the time spent in each phase during the act
+ * is recorded in a histogram.
+ * Phases may be nested; the time of a nested phase is only counted towards that phase and not towards the phase
+ * around it, so the phases of an act add up to the time that was measured.
+ *
+ * The histograms are log-linear (like an HDR histogram): every power of two is split into SUB_BUCKETS buckets, so
+ * that a recorded time is kept to within about 3%, whether it is a few microseconds or a few seconds.
+ *
+ * The timer is off by default. When it is off, begin( Phase phase ) and end( Phase phase ) only check a boolean.
+ * Press F9 (or start Greenfoot with -Dpokemon.frameTiming=true) to turn the timer on, which also shows an overlay of
+ * the timings. Press F10 to write the timings to frameTimings.csv (the most recent frames) and frameTimings.json
+ * (the histograms).
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - TOGGLE_KEY, DUMP_KEY  : The keys that turn the timer on and off, and that write the timings to files
+ * - CSV_FILE_LOC          : The file that the most recent frames are written to
+ * - JSON_FILE_LOC         : The file that the histograms are written to
+ * - RECENT_FRAMES         : The number of most recent frames that are kept for the CSV file
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - PHASES                : The phases, in order
+ * - MAX_DEPTH             : The deepest that phases may be nested
+ * - OVERLAY_REFRESH       : The number of acts between updates of the overlay
+ * - OVERLAY_X, OVERLAY_Y  : The location of the overlay text
+ * - NOTE_Y                : The height of the note, under the timings
+ * - NOTE_WIDTH            : The most characters in one line of the note
+ *
+ * - enabled               : Determines whether the timer is on or not
+ * - pendingEnabled        : The state that enabled is changed to at the start of the next act
+ * - toggleKeyDown, dumpKeyDown : Whether the toggle and dump keys were down during the last act
+ *
+ * - histograms            : The histogram of each phase, for the time spent in that phase per act
+ * - frameHistogram        : The histogram of the total time of each act, from the start of one act to the next
+ * - frameStart            : The time that the current act started, or 0 if no act is being measured
+ * - frameNumber           : The number of acts that have been measured
+ * - currentFrame          : The time spent in each phase during the current act
+ *
+ * - stackPhase, stackStart, stackChild : The phases that are currently running, their start times, and the time
+ *                                        spent in phases nested inside them
+ * - depth                 : The number of phases that are currently running
+ *
+ * - recent, recentTotal, recentNumber : The phase times, total time, and frame number of the most recent frames
+ * - recentCount           : The number of frames kept in recent
+ *
+ * - note                  : The lines of text shown under the timings, such as the report of the last AI search
+ * - isNoteChanged         : Whether the note changed since the overlay was last updated
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Phase                 : The parts of an act that are measured
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - beginAct( World world )   : Ends the last act and starts measuring the next one. Checks the toggle and dump keys,
+ *                               and updates the overlay
+ * - begin( Phase phase )      : Starts measuring a phase
+ * - end( Phase phase )        : Stops measuring the phase
+ *
+ * - isEnabled()               : Determines whether the timer is on or not
+ * - setEnabled( boolean enabled ) : Turns the timer on or off, starting at the next act
+ * - reset()                   : Forgets all recorded timings
+ * - setNote( String note )    : Sets the text shown under the timings in the overlay
+ *
+ * - getHistogram( Phase phase ) : Gets the histogram of the phase
+ * - getFrameHistogram()       : Gets the histogram of the total time of each act
+ * - getSummary()              : Gets the timings as lines of text, as shown in the overlay
+ * - toCSV()                   : Gets the most recent frames as CSV text
+ * - toJSON()                  : Gets the histograms as JSON text
+ * - dump()                    : Writes the CSV and JSON text to CSV_FILE_LOC and JSON_FILE_LOC
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - endFrame( long now )      : Records the current act in the histograms and the most recent frames
+ * - checkKeys()               : Turns the timer on or off, or writes the timings, when the keys are pressed
+ * - toMillis( long nanos )    : Converts nanoseconds to milliseconds, as text
+ * - wrap( String text )       : Breaks text into lines of at most NOTE_WIDTH characters
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Histogram                 : A log-linear histogram of times, in nanoseconds
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokeArena.java
+ * @see PokeBattle.java
+ * @see OfficerJenny.java
+ */
+public class FrameTimer {
+
+    public static final String TOGGLE_KEY    = "f9";
+    public static final String DUMP_KEY      = "f10";
+    public static final String CSV_FILE_LOC  = "./frameTimings.csv";
+    public static final String JSON_FILE_LOC = "./frameTimings.json";
+    public static final int RECENT_FRAMES    = 600;
+
+    /**
+     * The parts of an act that are measured
+     */
+    public enum Phase {
+        INPUT, BATTLE_LOGIC, HUD, FILE_IO, AUDIO, AI_SEARCH
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int MAX_DEPTH = 16;
+    private static final int OVERLAY_REFRESH = 30;
+    private static final int OVERLAY_X = 150, OVERLAY_Y = 70;
+    private static final int NOTE_Y = 250, NOTE_WIDTH = 28;
+
+    private static boolean enabled = Boolean.getBoolean( "pokemon.frameTiming" );
+    private static boolean pendingEnabled = enabled;
+    private static boolean toggleKeyDown = false, dumpKeyDown = false;
+
+    private static final Histogram[] histograms = new Histogram[ PHASES.length ];
+    private static final Histogram frameHistogram = new Histogram();
+    private static long frameStart = 0;
+    private static long frameNumber = 0;
+    private static final long[] currentFrame = new long[ PHASES.length ];
+
+    private static final int[]  stackPhase = new int[ MAX_DEPTH ];
+    private static final long[] stackStart = new long[ MAX_DEPTH ];
+    private static final long[] stackChild = new long[ MAX_DEPTH ];
+    private static int depth = 0;
+
+    private static final long[][] recent = new long[ RECENT_FRAMES ][ PHASES.length ];
+    private static final long[] recentTotal  = new long[ RECENT_FRAMES ];
+    private static final long[] recentNumber = new long[ RECENT_FRAMES ];
+    private static int recentCount = 0;
+
+    private static String note = null;
+    private static boolean isNoteChanged = false;
+
+    static {
+        for( int i = 0; i < PHASES.length; i++ )
+            histograms[i] = new Histogram();
+    }
+
+    /**
+     * Ends the last act and starts measuring the next one. The time of an act is measured from the start of one
+     * act to the start of the next, so it includes the acts of the actors and the drawing of the world.
+     *
+     * This also checks the toggle and dump keys and updates the overlay, so it should be called at the very
+     * start of the act() of the world
+     *
+     * @param world The world that is acting
+     * @see endFrame( long now )
+     * @see checkKeys()
+     * @see World.showText( String text, int x, int y )
+     */
+    public static void beginAct( World world ) {
+        checkKeys();
+
+        long now = System.nanoTime();
+        if( enabled && frameStart != 0 ) endFrame( now );
+
+        if( enabled != pendingEnabled ) {
+            enabled = pendingEnabled;
+            if( !enabled ) {
+                world.showText( null, OVERLAY_X, OVERLAY_Y );
+                world.showText( null, OVERLAY_X, NOTE_Y );
+                isNoteChanged = note != null;
+            }
+        }
+        if( !enabled ) {
+            frameStart = 0;
+            return;
+        }
+
+        frameStart = now;
+        depth = 0;
+        if( frameNumber % OVERLAY_REFRESH == 0 ) world.showText( getSummary(), OVERLAY_X, OVERLAY_Y );
+        if( isNoteChanged ) {
+            world.showText( note, OVERLAY_X, NOTE_Y );
+            isNoteChanged = false;
+        }
+    }
+
+    /**
+     * Records the current act in the histograms and in the most recent frames
+     *
+     * @param now The time that the next act started
+     * @see beginAct( World world )
+     */
+    private static void endFrame( long now ) {
+        long total = now - frameStart;
+        frameHistogram.record( total );
+
+        int slot = (int)(frameNumber % RECENT_FRAMES);
+        for( int i = 0; i < PHASES.length; i++ ) {
+            histograms[i].record( currentFrame[i] );
+            recent[slot][i] = currentFrame[i];
+            currentFrame[i] = 0;
+        }
+        recentTotal[slot]  = total;
+        recentNumber[slot] = frameNumber;
+        if( recentCount < RECENT_FRAMES ) recentCount++;
+
+        frameNumber++;
+    }
+
+    /**
+     * Turns the timer on or off when the toggle key is pressed, and writes the timings to files when the
+     * dump key is pressed. Each key only counts once per press
+     *
+     * @see beginAct( World world )
+     * @see dump()
+     */
+    private static void checkKeys() {
+        boolean toggleDown = Greenfoot.isKeyDown( TOGGLE_KEY );
+        if( toggleDown && !toggleKeyDown ) pendingEnabled = !pendingEnabled;
+        toggleKeyDown = toggleDown;
+
+        boolean dumpDown = Greenfoot.isKeyDown( DUMP_KEY );
+        if( dumpDown && !dumpKeyDown ) dump();
+        dumpKeyDown = dumpDown;
+    }
+
+    /**
+     * Starts measuring a phase. Every call to begin must be followed by a call to end with the same phase.
+     * If the timer is off, this does nothing
+     *
+     * @param phase The phase that is starting
+     * @see end( Phase phase )
+     */
+    public static void begin( Phase phase ) {
+        if( !enabled || frameStart == 0 ) return;
+        if( depth == MAX_DEPTH ) return;
+
+        stackPhase[depth] = phase.ordinal();
+        stackStart[depth] = System.nanoTime();
+        stackChild[depth] = 0;
+        depth++;
+    }
+
+    /**
+     * Stops measuring the phase. The time spent in phases nested inside this phase is not counted towards
+     * this phase. If the timer is off, or the phase is not the one that is running, this does nothing
+     *
+     * @param phase The phase that is ending
+     * @see begin( Phase phase )
+     */
+    public static void end( Phase phase ) {
+        if( !enabled || depth == 0 ) return;
+        if( stackPhase[depth - 1] != phase.ordinal() ) return;
+
+        depth--;
+        long elapsed = System.nanoTime() - stackStart[depth];
+        currentFrame[ stackPhase[depth] ] += elapsed - stackChild[depth];
+        if( depth > 0 ) stackChild[depth - 1] += elapsed;
+    }
+
+    /**
+     * Determines whether the timer is on or not
+     *
+     * @return boolean True if the timer is on, false otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the timer on or off. The change happens at the start of the next act, so that an act is never
+     * only partly measured
+     *
+     * @param isEnabled True to turn the timer on, false to turn it off
+     */
+    public static void setEnabled( boolean isEnabled ) {
+        pendingEnabled = isEnabled;
+    }
+
+    /**
+     * Sets the text shown under the timings in the overlay, such as the report of the last AI search, so that it can
+     * be read while the timer is on without printing it. The overlay shows the text at the start of the next act
+     *
+     * @param note The text, or null to show none
+     * @see wrap( String text )
+     */
+    public static void setNote( String note ) {
+        FrameTimer.note = note == null ? null : wrap( note );
+        isNoteChanged = true;
+    }
+
+    /**
+     * Forgets all recorded timings
+     */
+    public static void reset() {
+        for( int i = 0; i < PHASES.length; i++ ) {
+            histograms[i].reset();
+            currentFrame[i] = 0;
+        }
+        frameHistogram.reset();
+        frameNumber = 0;
+        recentCount = 0;
+        depth = 0;
+    }
+
+    /**
+     * Gets the histogram of the time spent in the phase per act
+     *
+     * @param phase The phase
+     * @return Histogram The histogram of the phase
+     */
+    public static Histogram getHistogram( Phase phase ) {
+        return histograms[ phase.ordinal() ];
+    }
+
+    /**
+     * Gets the histogram of the total time of each act
+     *
+     * @return Histogram The histogram of the total time of each act
+     */
+    public static Histogram getFrameHistogram() {
+        return frameHistogram;
+    }
+
+    /**
+     * Gets the timings as lines of text, with the median, 99th percentile, and maximum (in milliseconds)
+     * of each phase and of the whole act
+     *
+     * @return String The timings as lines of text
+     * @see toMillis( long nanos )
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append( "frames " ).append( frameHistogram.getCount() ).append( "  (ms p50/p99/max)\n" );
+        summary.append( "ACT " ).append( toMillis( frameHistogram.getValueAtPercentile( 50 ) ) ).append( "/" )
+               .append( toMillis( frameHistogram.getValueAtPercentile( 99 ) ) ).append( "/" )
+               .append( toMillis( frameHistogram.getMax() ) );
+        for( int i = 0; i < PHASES.length; i++ ) {
+            Histogram histogram = histograms[i];
+            summary.append( "\n" ).append( PHASES[i] ).append( " " )
+                   .append( toMillis( histogram.getValueAtPercentile( 50 ) ) ).append( "/" )
+                   .append( toMillis( histogram.getValueAtPercentile( 99 ) ) ).append( "/" )
+                   .append( toMillis( histogram.getMax() ) );
+        }
+
+        return summary.toString();
+    }
+
+    /**
+     * Breaks text into lines of at most NOTE_WIDTH characters, between words, so that the note fits under the
+     * timings. A word that is longer than NOTE_WIDTH gets a line of its own
+     *
+     * @param text The text
+     * @return String The text with a new line wherever it is broken
+     */
+    private static String wrap( String text ) {
+        StringBuilder lines = new StringBuilder();
+        int lineLength = 0;
+        for( String word : text.split( " " ) ) {
+            if( lineLength > 0 && lineLength + 1 + word.length() > NOTE_WIDTH ) {
+                lines.append( "\n" );
+                lineLength = 0;
+            } else if( lineLength > 0 ) {
+                lines.append( " " );
+                lineLength++;
+            }
+            lines.append( word );
+            lineLength += word.length();
+        }
+
+        return lines.toString();
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds, with one decimal place
+     *
+     * @param nanos The time in nanoseconds
+     * @return String The time in milliseconds, as text
+     */
+    private static String toMillis( long nanos ) {
+        return String.format( "%.1f", nanos / 1000000.0 );
+    }
+
+    /**
+     * Gets the most recent frames as CSV text, oldest first. Each line holds the frame number, the total time of
+     * the act, and the time spent in each phase, all in nanoseconds
+     *
+     * @return String The most recent frames as CSV text
+     */
+    public static String toCSV() {
+        StringBuilder csv = new StringBuilder( "frame,total" );
+        for( Phase phase : PHASES )
+            csv.append( "," ).append( phase.name().toLowerCase() );
+        csv.append( "\n" );
+
+        long first = frameNumber - recentCount;
+        for( long frame = first; frame < frameNumber; frame++ ) {
+            int slot = (int)(frame % RECENT_FRAMES);
+            csv.append( recentNumber[slot] ).append( "," ).append( recentTotal[slot] );
+            for( int i = 0; i < PHASES.length; i++ )
+                csv.append( "," ).append( recent[slot][i] );
+            csv.append( "\n" );
+        }
+
+        return csv.toString();
+    }
+
+    /**
+     * Gets the histograms as JSON text. Each histogram holds its count, mean, minimum, maximum, and percentiles,
+     * all in nanoseconds
+     *
+     * @return String The histograms as JSON text
+     * @see Histogram.toJSON()
+     */
+    public static String toJSON() {
+        StringBuilder json = new StringBuilder( "{\n  \"frames\": " ).append( frameNumber );
+        json.append( ",\n  \"act\": " ).append( frameHistogram.toJSON() );
+        for( int i = 0; i < PHASES.length; i++ )
+            json.append( ",\n  \"" ).append( PHASES[i].name().toLowerCase() ).append( "\": " ).append( histograms[i].toJSON() );
+        json.append( "\n}\n" );
+
+        return json.toString();
+    }
+
+    /**
+     * Writes the most recent frames to CSV_FILE_LOC and the histograms to JSON_FILE_LOC
+     *
+     * @see toCSV()
+     * @see toJSON()
+     * @see PokeWorld.writeToFile( String fileLoc, String text )
+     */
+    public static void dump() {
+        PokeWorld.writeToFile( CSV_FILE_LOC, toCSV() );
+        PokeWorld.writeToFile( JSON_FILE_LOC, toJSON() );
+    }
+
+    /**
+     * A log-linear histogram of times, in nanoseconds (or of any other values that are not negative, such as the
+     * damage recorded by BattleSimulator). Times below SUB_BUCKETS are kept exactly. Above that,
+     * each power of two is split into SUB_BUCKETS buckets, so a time is kept to within 1 / SUB_BUCKETS of
+     * its value. Recording a time only finds the highest bit of the time and adds one to a count
+     */
+    public static class Histogram {
+
+        public static final int SUB_BITS = 5;
+        public static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private static final int MAGNITUDES = 64 - SUB_BITS;
+
+        private final long[] counts = new long[ (MAGNITUDES + 1) * SUB_BUCKETS ];
+        private long count, total, min = Long.MAX_VALUE, max;
+
+        /**
+         * Records a time
+         *
+         * @param nanos The time in nanoseconds. Negative times are recorded as 0
+         * @see getBucket( long value )
+         */
+        public void record( long nanos ) {
+            if( nanos < 0 ) nanos = 0;
+            counts[ getBucket( nanos ) ]++;
+            count++;
+            total += nanos;
+            if( nanos < min ) min = nanos;
+            if( nanos > max ) max = nanos;
+        }
+
+        /**
+         * Gets the bucket of a value. Values below SUB_BUCKETS have their own bucket. Larger values are placed by
+         * their highest bit (the magnitude) and the SUB_BITS bits below it
+         *
+         * @param value The value, which is not negative
+         * @return int The index of the bucket
+         */
+        private static int getBucket( long value ) {
+            if( value < SUB_BUCKETS ) return (int)value;
+            int shift = 63 - Long.numberOfLeadingZeros( value ) - SUB_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS;
+        }
+
+        /**
+         * Gets the highest value that falls in the bucket
+         *
+         * @param bucket The index of the bucket
+         * @return long The highest value of the bucket
+         */
+        private static long getBucketMax( int bucket ) {
+            if( bucket < SUB_BUCKETS ) return bucket;
+            int shift = bucket / SUB_BUCKETS - 1;
+            long base = (long)(bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+            return base + (1L << shift) - 1;
+        }
+
+        /**
+         * Gets the value that the given percent of the recorded values are at or below. The value is the highest
+         * value of its bucket, but never more than the maximum recorded value
+         *
+         * @param percentile The percentile, from 0 to 100
+         * @return long The value at the percentile, or 0 if nothing has been recorded
+         */
+        public long getValueAtPercentile( double percentile ) {
+            if( count == 0 ) return 0;
+            long target = Math.max( 1, (long)Math.ceil( count * percentile / 100.0 ) );
+            long seen = 0;
+            for( int i = 0; i < counts.length; i++ ) {
+                seen += counts[i];
+                if( seen >= target ) return Math.min( getBucketMax( i ), max );
+            }
+
+            return max;
+        }
+
+        /**
+         * Gets the number of recorded values
+         *
+         * @return long The number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the smallest recorded value
+         *
+         * @return long The smallest recorded value, or 0 if nothing has been recorded
+         */
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        /**
+         * Gets the largest recorded value
+         *
+         * @return long The largest recorded value
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the mean of the recorded values
+         *
+         * @return double The mean of the recorded values, or 0 if nothing has been recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double)total / count;
+        }
+
+        /**
+         * Adds all of the values recorded by the other histogram to this histogram
+         *
+         * @param other The histogram to add
+         */
+        public void add( Histogram other ) {
+            for( int i = 0; i < counts.length; i++ )
+                counts[i] += other.counts[i];
+            count += other.count;
+            total += other.total;
+            if( other.count > 0 && other.min < min ) min = other.min;
+            if( other.max > max ) max = other.max;
+        }
+
+        /**
+         * Forgets all recorded values
+         */
+        public void reset() {
+            Arrays.fill( counts, 0 );
+            count = total = max = 0;
+            min = Long.MAX_VALUE;
+        }
+
+        /**
+         * Gets the histogram as a JSON object
+         *
+         * @return String The count, mean, minimum, maximum, and percentiles of the histogram as JSON text
+         */
+        public String toJSON() {
+            return "{ \"count\": " + count + ", \"mean\": " + (long)getMean() + ", \"min\": " + getMin() +
+                   ", \"p50\": " + getValueAtPercentile( 50 ) + ", \"p90\": " + getValueAtPercentile( 90 ) +
+                   ", \"p99\": " + getValueAtPercentile( 99 ) + ", \"p999\": " + getValueAtPercentile( 99.9 ) +
+                   ", \"max\": " + max + " }";
+        }
+    }
+}
@@ -0,0 +1,329 @@
+import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * InputQueue.java
+ *
+ * Turns the keys that are down into key Events, so that a world does not have to wait for a key to be let go of.
+ * Greenfoot.isKeyDown( String key ) only tells whether a key is down right now, so a key that is held for a few acts
+ * looks like a few key presses. Worlds used to wait (Greenfoot.delay) after every key press to get around this, which
+ * froze the whole world and made every key press take several acts.
+ *
+ * Instead, update() is called once at the start of every act. It checks each watched key once, and adds an Event to
+ * the queue when a key goes down (PRESSED), when it is let go of (RELEASED), and, for keys that repeat, every few acts
+ * while it is held down (REPEAT). The world then takes the Events off the queue with poll(). A key press is handled
+ * in the act that it happens in, and is never handled twice.
+ *
+ * The keys that are already down the first time update() is called (such as the key that started a battle) do not
+ * make PRESSED Events.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - NO_REPEAT             : The repeat interval of a key that does not repeat
+ * - DEFAULT_REPEAT_DELAY  : The number of acts that a key is held down before it starts to repeat
+ * - DEFAULT_REPEAT_INTERVAL : The number of acts between repeats of a held key
+ * - MAX_EVENTS            : The most Events that are kept in the queue. The oldest Events are dropped first
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - keys                  : The watched keys
+ * - repeatDelays, repeatIntervals : The repeat delay and interval of each watched key
+ * - isDown                : Whether each watched key was down during the last update()
+ * - heldActs              : The number of acts that each watched key has been held down
+ * - events                : The queue of Events that have not been handled yet
+ * - isStarted             : Whether update() has been called yet
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - watch( String key )         : Watches a key that does not repeat
+ * - watch( String key, int repeatDelay, int repeatInterval ) : Watches a key that repeats while it is held down
+ * - setRepeat( String key, int repeatDelay, int repeatInterval ) : Changes how often a watched key repeats
+ *
+ * - update()                    : Checks every watched key and adds the Events of the keys that changed
+ * - press( String key )         : Adds a PRESSED Event as if the key was pressed
+ * - poll()                      : Takes the oldest Event off the queue
+ * - pollPress()                 : Takes Events off the queue until a PRESSED or REPEAT Event is found
+ * - isDown( String key )        : Determines whether the key was down during the last update()
+ * - isEmpty(), size()           : Gets whether there are Events in the queue, and how many
+ * - clear()                     : Removes every Event from the queue
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - indexOf( String key )       : Gets the index of a watched key
+ * - add( Event event )          : Adds an Event to the queue, dropping the oldest Event if the queue is full
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Event                       : A key that was pressed, let go of, or repeated
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokeBattle.java
+ * @see PokeArena.java
+ * @see FrameTimer.java
+ */
+public class InputQueue {
+
+    public static final int NO_REPEAT               = 0;
+    public static final int DEFAULT_REPEAT_DELAY    = 15;
+    public static final int DEFAULT_REPEAT_INTERVAL = 5;
+    public static final int MAX_EVENTS              = 32;
+
+    private final ArrayList<String> keys = new ArrayList<String>();
+    private int[] repeatDelays    = new int[0];
+    private int[] repeatIntervals = new int[0];
+    private boolean[] isDown      = new boolean[0];
+    private int[] heldActs        = new int[0];
+
+    private final ArrayDeque<Event> events = new ArrayDeque<Event>();
+    private boolean isStarted = false;
+
+    /**
+     * Watches a key that does not repeat: holding it down makes one PRESSED Event, and letting go makes one RELEASED
+     * Event
+     *
+     * @param key The name of the key, as used by Greenfoot.isKeyDown( String key )
+     * @see watch( String key, int repeatDelay, int repeatInterval )
+     */
+    public void watch( String key ) {
+        watch( key, DEFAULT_REPEAT_DELAY, NO_REPEAT );
+    }
+
+    /**
+     * Watches a key that repeats while it is held down: after repeatDelay acts, a REPEAT Event is made every
+     * repeatInterval acts until the key is let go of. Watching a key that is already watched changes how it repeats
+     *
+     * @param key The name of the key, as used by Greenfoot.isKeyDown( String key )
+     * @param repeatDelay The number of acts that the key is held down before it starts to repeat
+     * @param repeatInterval The number of acts between repeats, or NO_REPEAT
+     * @see setRepeat( String key, int repeatDelay, int repeatInterval )
+     */
+    public void watch( String key, int repeatDelay, int repeatInterval ) {
+        if( indexOf( key ) != PokeWorld.ERROR ) {
+            setRepeat( key, repeatDelay, repeatInterval );
+            return;
+        }
+
+        keys.add( key );
+        int size = keys.size();
+        repeatDelays    = Arrays.copyOf( repeatDelays, size );
+        repeatIntervals = Arrays.copyOf( repeatIntervals, size );
+        isDown          = Arrays.copyOf( isDown, size );
+        heldActs        = Arrays.copyOf( heldActs, size );
+        setRepeat( key, repeatDelay, repeatInterval );
+    }
+
+    /**
+     * Changes how often a watched key repeats while it is held down
+     *
+     * @param key The watched key
+     * @param repeatDelay The number of acts that the key is held down before it starts to repeat
+     * @param repeatInterval The number of acts between repeats, or NO_REPEAT
+     * @return boolean True if the key is watched, false otherwise
+     */
+    public boolean setRepeat( String key, int repeatDelay, int repeatInterval ) {
+        int index = indexOf( key );
+        if( index == PokeWorld.ERROR ) return false;
+
+        repeatDelays[ index ]    = Math.max( 1, repeatDelay );
+        repeatIntervals[ index ] = Math.max( NO_REPEAT, repeatInterval );
+        return true;
+    }
+
+    /**
+     * Checks every watched key once, and adds an Event for every key that went down, was let go of, or repeated since
+     * the last act. This should be called once at the start of every act, before the Events are handled
+     *
+     * @see Greenfoot.isKeyDown( String key )
+     */
+    public void update() {
+        for( int i = 0; i < keys.size(); i++ ) {
+            boolean down = Greenfoot.isKeyDown( keys.get(i) );
+            if( down && !isDown[i] ) {
+                heldActs[i] = 0;
+                if( isStarted ) add( new Event( keys.get(i), Event.Type.PRESSED ) );
+            } else if( down ) {
+                heldActs[i]++;
+                int sinceDelay = heldActs[i] - repeatDelays[i];
+                if( repeatIntervals[i] != NO_REPEAT && sinceDelay >= 0 && sinceDelay % repeatIntervals[i] == 0 )
+                    add( new Event( keys.get(i), Event.Type.REPEAT ) );
+            } else if( isDown[i] ) {
+                add( new Event( keys.get(i), Event.Type.RELEASED ) );
+            }
+            isDown[i] = down;
+        }
+        isStarted = true;
+    }
+
+    /**
+     * Adds a PRESSED Event as if the key was pressed, such as for a key press that is played back
+     *
+     * @param key The name of the key
+     */
+    public void press( String key ) {
+        add( new Event( key, Event.Type.PRESSED ) );
+    }
+
+    /**
+     * Takes the oldest Event off the queue
+     *
+     * @return Event The oldest Event, or null if the queue is empty
+     */
+    public Event poll() {
+        return events.poll();
+    }
+
+    /**
+     * Takes Events off the queue until a PRESSED or REPEAT Event is found, dropping the RELEASED Events before it. This
+     * is what a menu that only cares about key presses handles each act
+     *
+     * @return Event The oldest PRESSED or REPEAT Event, or null if there is none
+     * @see Event.isPress()
+     */
+    public Event pollPress() {
+        Event event = events.poll();
+        while( event != null && !event.isPress() )
+            event = events.poll();
+        return event;
+    }
+
+    /**
+     * Determines whether the key was down during the last update()
+     *
+     * @param key The watched key
+     * @return boolean True if the key was down, false if it was not or if it is not watched
+     */
+    public boolean isDown( String key ) {
+        int index = indexOf( key );
+        return index != PokeWorld.ERROR && isDown[ index ];
+    }
+
+    /**
+     * Determines whether there are no Events in the queue
+     *
+     * @return boolean True if the queue is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * Gets the number of Events in the queue
+     *
+     * @return int The number of Events
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Removes every Event from the queue. The keys that are held down stay down, so they do not make new PRESSED
+     * Events until they are let go of and pressed again
+     */
+    public void clear() {
+        events.clear();
+    }
+
+    /**
+     * Gets the index of a watched key
+     *
+     * @param key The key
+     * @return int The index of the key, or ERROR if it is not watched
+     */
+    private int indexOf( String key ) {
+        for( int i = 0; i < keys.size(); i++ )
+            if( keys.get(i).equals( key ) ) return i;
+        return PokeWorld.ERROR;
+    }
+
+    /**
+     * Adds an Event to the queue, dropping the oldest Event if the queue already has MAX_EVENTS Events
+     *
+     * @param event The Event to add
+     */
+    private void add( Event event ) {
+        if( events.size() >= MAX_EVENTS ) events.poll();
+        events.add( event );
+    }
+
+    /**
+     * A key that was pressed, let go of, or repeated while it was held down
+     */
+    public static class Event {
+
+        /**
+         * What happened to the key
+         */
+        public enum Type {
+            PRESSED, RELEASED, REPEAT
+        }
+
+        private final String key;
+        private final Type type;
+
+        /**
+         * Makes an Event
+         *
+         * @param key The name of the key
+         * @param type What happened to the key
+         */
+        public Event( String key, Type type ) {
+            this.key = key;
+            this.type = type;
+        }
+
+        /**
+         * Gets the name of the key
+         *
+         * @return String The name of the key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets what happened to the key
+         *
+         * @return Type PRESSED, RELEASED, or REPEAT
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Determines whether this Event is a key press, either the first press or a repeat
+         *
+         * @return boolean True if this is a PRESSED or REPEAT Event, false otherwise
+         */
+        public boolean isPress() {
+            return type != Type.RELEASED;
+        }
+
+        /**
+         * Determines whether this Event is a press (or a repeat) of the given key
+         *
+         * @param key The name of the key
+         * @return boolean True if this Event presses the key, false otherwise
+         */
+        public boolean isPress( String key ) {
+            return isPress() && this.key.equals( key );
+        }
+
+        /**
+         * Gets the Event as text, such as "enter PRESSED"
+         *
+         * @return String The key and the type
+         */
+        @Override
+        public String toString() {
+            return key + " " + type;
+        }
+    }
+}
@@ -2,7 +2,6 @@ import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 import java.util.Scanner;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.Random;
 
 /**
  * Item.java
@@ -65,6 +64,9 @@ import java.util.Random;
  * 
  * - maximizeValues              : Tells whether this Item maximizes property values or not (not-current values)
  * 
+ * - effects                     : The properties and flags of this Item, compiled once by ItemEffects so that using
+ *                                 this Item does not need to read them again
+ * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
  * - Item()         : Create a default item. Only used for debugging
  * - Item( String itemLineFromFile ) throws InvalidItemTextFileInputException, InvalidPropertiesNameException
@@ -92,6 +94,8 @@ import java.util.Random;
  * - equals( Object obj )             : Determines if this Item and the Item inputted are equal.
  *                                      Overrides Object's equals method
  * 
+ * - copy()                           : Makes a copy of this Item with its own quantity
+ * 
  * - getQuantity()                    : Gets the quantity of this Item
  * - setQuantity( int quantity )      : Sets the quantity of this Item
  * 
@@ -101,6 +105,7 @@ import java.util.Random;
  * 
  * - getProperties()                  : Gets the list of properties of this Item
  * - setProperties( double[] values ) : Sets the properties of this Item to the given list of values
+ * - getEffects()                     : Gets the compiled effects of this Item
  * 
  * - getAffectThis()                  : Gets whether this Item affects the Pokemon holding this Item or the opponent Pokemon
  * - getAddValues()                   : Gets whether this Item's properties are added or multiplied when the Item effect
@@ -133,7 +138,10 @@ import java.util.Random;
  * - getMaximizeValues()              : Gets whether this Item maximizes the selected maximum property stat or not
  * 
  * - getRandomItemLine()                    : Gets a random Item line from the ITEMS_FILE text file
+ * - getRandomItemLine( PokeRandom random ) : Gets a random Item line, chosen by the given PokeRandom
  * - getItemLineFromName( String itemName ) : Gets the item line the corresponds with the item name entered
+ * - getItemNumber( String itemName )       : Gets the number of the line of an Item in the ITEMS_FILE text file
+ * - getItemLineFromNumber( int itemNumber ) : Gets the item line with the number given by getItemNumber
  * 
  * PRIVATE METHODS
  * --------------------------------------------------------------------
@@ -203,6 +211,7 @@ public class Item extends Actor {
     
     //Deduced from the other variables above
     private boolean maximizeValues;
+    private ItemEffects.Program effects;
     
     /**
      * Create a default Item. This constructor should not be called except for
@@ -234,6 +243,8 @@ public class Item extends Actor {
         this.affectValuesOnLevelUp = false;
         
         this.maximizeValues = false;
+        
+        this.effects = ItemEffects.compile( this );
     }
     
     /**
@@ -326,6 +337,8 @@ public class Item extends Actor {
                 }
             }
         }
+        
+        effects = ItemEffects.compile( this );
     }
     
     /**
@@ -390,6 +403,8 @@ public class Item extends Actor {
         this.randomStat = randomStat; this.restoresLoweredStats = restoresLoweredStats;
         this.affectValuesOnLevelUp = affectValuesOnLevelUp;
         this.maximizeValues = maximizeValues;
+        
+        this.effects = ItemEffects.compile( this );
     }
     
     /**
@@ -436,6 +451,33 @@ public class Item extends Actor {
         return true;
     }
     
+    /**
+     * Makes a copy of this Item with its own quantity. A copy of a Pokemon can hold and use the copy without
+     * changing the quantity of this Item
+     * 
+     * @return Item The copy of this Item, which is equal to this Item
+     * @see Item( int quantity, String NAME, String IMAGE_NAME, String DESCRIPTION, double[] properties, ... )
+     * @see PokemonActor.Snapshot.withCopiedItems()
+     */
+    public Item copy() {
+        Item copy = null;
+        try {
+            copy = new Item( quantity, NAME, IMAGE_NAME, DESCRIPTION, properties.clone(),
+                             affectThis, addValues, affectCurrent,
+                             healStatus, healX,
+                             oneTimeUse, useEachTurn,
+                             reqXType, reqXCat,
+                             affectsAllStats, affectsAllMoves, chooseMove,
+                             restoreCurrentToFull, reqHPX,
+                             randomStat, restoresLoweredStats,
+                             affectValuesOnLevelUp, maximizeValues );
+        } catch( InvalidTotalPropertiesException e ) {
+            e.printStackTrace();
+        }
+        
+        return copy;
+    }
+    
     /**
      * Gets the quantity of this Item
      * 
@@ -504,12 +546,25 @@ public class Item extends Actor {
     public void setProperties( double[] values ) {
         if( values != null ) {
             this.properties = values;
+            this.effects = ItemEffects.compile( this );
             return;
         }
         
         //Initialize properties with all zeros for adding or all ones for multiplying
         for( int i = 0; i < TOTAL_ADJUSTABLE_PROPERTIES; i++ )
             this.properties[i] = 0.0;
+        this.effects = ItemEffects.compile( this );
+    }
+    
+    /**
+     * Gets the compiled effects of this Item: the properties that it changes, how it changes them, and its flags.
+     * The effects are compiled when this Item is made, and again when its properties are set
+     * 
+     * @return ItemEffects.Program The compiled effects of this Item
+     * @see ItemEffects.compile( Item item )
+     */
+    public ItemEffects.Program getEffects() {
+        return effects;
     }
     
     /**
@@ -706,8 +761,20 @@ public class Item extends Actor {
      * Get a random line (the data for an Item) from the ITEMS_FILE file
      * 
      * @return String The line containing the data for an Item
+     * @see getRandomItemLine( PokeRandom random )
+     * @see PokeRandom.create()
      */
     public static String getRandomItemLine() {
+        return getRandomItemLine( PokeRandom.create() );
+    }
+    
+    /**
+     * Get a random line (the data for an Item) from the ITEMS_FILE file, chosen by the given PokeRandom
+     * 
+     * @param random The PokeRandom that chooses the line
+     * @return String The line containing the data for an Item
+     */
+    public static String getRandomItemLine( PokeRandom random ) {
         File file = new File( ITEMS_FILE );
         Scanner scanner = null;
         try {
@@ -716,7 +783,6 @@ public class Item extends Actor {
             e.printStackTrace();
         }
         
-        Random random = new Random();
         int lineNumber = random.nextInt( TOTAL_REG_ITEMS );
         int i = 0;
         while( scanner.hasNextLine() ) {
@@ -752,6 +818,60 @@ public class Item extends Actor {
             "Invalid item name. The item " + itemName + " does not exist in the file " + ITEMS_FILE + "." );
     }
     
+    /**
+     * Get the number of the line of an Item in the ITEMS_FILE, counting from 0. The number is much shorter than the
+     * name, which is why BattleLog writes Items this way
+     * 
+     * @param itemName The item name to find in the text file
+     * @return int The number of the line, or ERROR if the item is not in the ITEMS_FILE text file
+     * @see getItemLineFromNumber( int itemNumber )
+     */
+    public static int getItemNumber( String itemName ) {
+        File file = new File( ITEMS_FILE );
+        Scanner scanner = null;
+        try {
+            scanner = new Scanner( file );
+        } catch( FileNotFoundException e ) {
+            e.printStackTrace();
+            return PokeWorld.ERROR;
+        }
+        
+        int i = 0;
+        while( scanner.hasNextLine() ) {
+            String[] tokens = scanner.nextLine().split("@");
+            if( tokens[0].toUpperCase().equals( itemName.toUpperCase() ) ) return i;
+            i++;
+        }
+        
+        return PokeWorld.ERROR;
+    }
+    
+    /**
+     * Get an Item based on the number of its line in the ITEMS_FILE
+     * 
+     * @param itemNumber The number of the line, counting from 0
+     * @return String The line of text from the ITEMS_FILE text file that has the Item information
+     * @see getItemNumber( String itemName )
+     */
+    public static String getItemLineFromNumber( int itemNumber ) throws InvalidItemNameException {
+        File file = new File( ITEMS_FILE );
+        Scanner scanner = null;
+        try {
+            scanner = new Scanner( file );
+        } catch( FileNotFoundException e ) {
+            e.printStackTrace();
+        }
+        
+        int i = 0;
+        while( scanner.hasNextLine() ) {
+            String line = scanner.nextLine();
+            if( i++ == itemNumber ) return line;
+        }
+        
+        throw new InvalidItemNameException(
+            "Invalid item number. The file " + ITEMS_FILE + " has no item number " + itemNumber + "." );
+    }
+    
     /**
         Exception class related to the incorrect number of Item properties
     */
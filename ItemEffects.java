@@ -0,0 +1,458 @@
+import java.util.ArrayList;
+
+/**
+ * ItemEffects.java
+ *
+ * Turns the properties of an Item into a Program once, when the Item is made, so that using the Item does not have to
+ * read its flags or compare any Strings. A Program holds:
+ *
+ * - The indices of the properties that the Item changes (the indices of Item.PROPERTY_NAMES), and the value of each
+ * - The Opcode of the Item: whether the values are added to or multiplied by the property, and whether they change
+ *   the current value or the maximum value
+ * - The flags of the Item, such as RESTORE_TO_FULL or ALL_MOVES
+ * - The Move type and category that the Item requires, and the status that it heals
+ *
+ * Program.apply( int index, PokemonActor pokemon, PokeRandom random ) is the only interpreter for all four Opcodes. It
+ * follows the rules of the old itemAddCurrent, itemAddMax, itemMultCurrent, and itemMultMax methods of BattleEngine:
+ * Items that affect all stats or restore lowered stats carry on to every property after the first one (the old
+ * fall-through of their switch statements), and the current value of each property is restored to its maximum when the
+ * Item restores values to full, maximizes values (a value of ERROR), or restores lowered stats.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - HP ... CRITICAL_HIT_RATIO : The property indices, which are the indices of Item.PROPERTY_NAMES
+ * - RESTORE_TO_FULL, ALL_STATS, ALL_MOVES, RESTORES_LOWERED, RANDOM_STAT : The flags of a Program
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Opcode             : ADD_CURRENT, ADD_MAX, MULT_CURRENT, MULT_MAX
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - compile( Item item )                                              : Compiles the Item into a Program
+ * - getValue( PokemonActor pokemon, int property, boolean isCurrent ) : Gets a property of the Pokemon
+ * - setValue( PokemonActor pokemon, int property, boolean isCurrent, double value ) : Sets a property of the Pokemon
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - getMoveValue( Move move, int property, boolean isCurrent )                : Gets a property of the Move
+ * - setMoveValue( Move move, int property, boolean isCurrent, int value )     : Sets a property of the Move
+ * - toType( String reqXType ), toCategory( String reqXCat ), toStatus( String healX ) : Reads the Strings of the Item
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Program                 : The compiled effects of one Item
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see Item.java
+ * @see BattleEngine.java
+ * @see items.txt
+ */
+public class ItemEffects {
+
+    /**
+     * Whether the values of an Item are added to or multiplied by the property, and whether they change the current
+     * value or the maximum value
+     */
+    public enum Opcode {
+        ADD_CURRENT, ADD_MAX, MULT_CURRENT, MULT_MAX;
+
+        /**
+         * Gets the Opcode of an Item
+         *
+         * @param addValues True if the values are added, false if they are multiplied
+         * @param affectCurrent True if the current value is changed, false if the maximum value is changed
+         * @return Opcode The Opcode
+         */
+        public static Opcode of( boolean addValues, boolean affectCurrent ) {
+            if( addValues ) return affectCurrent ? ADD_CURRENT  : ADD_MAX;
+            else            return affectCurrent ? MULT_CURRENT : MULT_MAX;
+        }
+
+        public boolean isAdd()     { return this == ADD_CURRENT || this == ADD_MAX; }
+        public boolean isCurrent() { return this == ADD_CURRENT || this == MULT_CURRENT; }
+    }
+
+    public static final int HP = 0, ATTACK = 1, DEFENSE = 2, SPECIAL_ATTACK = 3, SPECIAL_DEFENSE = 4, SPEED = 5,
+                            EVASION = 6, ACCURACY = 7, POINTS = 8, EXP = 9, MOVE_POWER = 10, MOVE_ACCURACY = 11,
+                            MOVE_PP = 12, CRITICAL_HIT_RATIO = 13;
+
+    public static final int RESTORE_TO_FULL  = 1;
+    public static final int ALL_STATS        = 1 << 1;
+    public static final int ALL_MOVES        = 1 << 2;
+    public static final int RESTORES_LOWERED = 1 << 3;
+    public static final int RANDOM_STAT      = 1 << 4;
+
+    /**
+     * Compiles the Item into a Program. Only the properties with a value other than 0.0 are kept
+     *
+     * @param item The Item
+     * @return Program The compiled Program
+     */
+    public static Program compile( Item item ) {
+        double[] itemProperties = item.getProperties();
+        ArrayList<Integer> properties = new ArrayList<Integer>();
+        for( int i = 0; i < itemProperties.length; i++ )
+            if( itemProperties[i] != 0.0 ) properties.add( i );
+
+        int[] propertyList = new int[ properties.size() ];
+        double[] values = new double[ properties.size() ];
+        for( int i = 0; i < propertyList.length; i++ ) {
+            propertyList[i] = properties.get(i);
+            values[i] = itemProperties[ propertyList[i] ];
+        }
+
+        int flags = 0;
+        if( item.getRestoreCurrentToFull() ) flags |= RESTORE_TO_FULL;
+        if( item.getAffectsAllStats() )      flags |= ALL_STATS;
+        if( item.getAffectsAllMoves() )      flags |= ALL_MOVES;
+        if( item.getRestoresLoweredStats() ) flags |= RESTORES_LOWERED;
+        if( item.getRandomStat() )           flags |= RANDOM_STAT;
+
+        return new Program( propertyList, values, Opcode.of( item.getAddValues(), item.getAffectCurrent() ), flags,
+                            toType( item.getReqXType() ), toCategory( item.getReqXCat() ), toStatus( item.getHealX() ) );
+    }
+
+    /**
+     * Gets the Move type of a requirement such as "reqBugType"
+     *
+     * @param reqXType The requirement
+     * @return Move.MoveType The Move type, or null if there is no requirement
+     */
+    private static Move.MoveType toType( String reqXType ) {
+        if( reqXType == null || reqXType.equals("na") || reqXType.isEmpty() ) return null;
+
+        try {
+            return Move.MoveType.valueOf( reqXType.replace("req","").replace("Type","").toUpperCase() );
+        } catch( IllegalArgumentException e ) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the Move category of a requirement such as "reqSpecialCat"
+     *
+     * @param reqXCat The requirement
+     * @return Move.MoveCategory The Move category, or null if there is no requirement
+     */
+    private static Move.MoveCategory toCategory( String reqXCat ) {
+        if( reqXCat == null || reqXCat.equals("na") || reqXCat.isEmpty() ) return null;
+
+        try {
+            return Move.MoveCategory.valueOf( reqXCat.replace("req","").replace("Cat","").toUpperCase() );
+        } catch( IllegalArgumentException e ) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the status of a heal such as "healBurn"
+     *
+     * @param healX The heal
+     * @return PokemonActor.Status The status that is healed, or null if the Item does not heal one status
+     */
+    private static PokemonActor.Status toStatus( String healX ) {
+        if( healX == null || healX.equals("na") || healX.isEmpty() ) return null;
+
+        try {
+            return PokemonActor.Status.valueOf( healX.replace("heal","").toUpperCase() );
+        } catch( IllegalArgumentException e ) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a property of the Pokemon. Move properties are for the Pokemon's current Move
+     *
+     * @param pokemon The Pokemon
+     * @param property The property index, such as ATTACK
+     * @param isCurrent True to get the current value, false to get the maximum (permanent) value
+     * @return double The value of the property, or ERROR if the Pokemon has no current Move for a Move property
+     */
+    public static double getValue( PokemonActor pokemon, int property, boolean isCurrent ) {
+        if(      property == HP )                 return isCurrent ? pokemon.getCurrentHP()             : pokemon.getHP();
+        else if( property == ATTACK )             return isCurrent ? pokemon.getCurrentAttack()         : pokemon.getAttack();
+        else if( property == DEFENSE )            return isCurrent ? pokemon.getCurrentDefense()        : pokemon.getDefense();
+        else if( property == SPECIAL_ATTACK )     return isCurrent ? pokemon.getCurrentSpecialAttack()  : pokemon.getSpecialAttack();
+        else if( property == SPECIAL_DEFENSE )    return isCurrent ? pokemon.getCurrentSpecialDefense() : pokemon.getSpecialDefense();
+        else if( property == SPEED )              return isCurrent ? pokemon.getCurrentSpeed()          : pokemon.getSpeed();
+        else if( property == EVASION )            return isCurrent ? pokemon.getCurrentEvasion()        : pokemon.getEvasion();
+        else if( property == ACCURACY )           return isCurrent ? pokemon.getCurrentAccuracy()       : pokemon.getAccuracy();
+        else if( property == POINTS )             return pokemon.getCurrentPoints();
+        else if( property == EXP )                return isCurrent ? pokemon.getTotalAddedExp()         : pokemon.getTotalExp();
+        else if( property == CRITICAL_HIT_RATIO ) return isCurrent ? pokemon.getCurrentCriticalHitRatio() :
+                                                                     pokemon.getCriticalHitRatio();
+
+        Move move = pokemon.getCurrentMove();
+        if( move == null ) return (double)PokeWorld.ERROR;
+        return getMoveValue( move, property, isCurrent );
+    }
+
+    /**
+     * Sets a property of the Pokemon. Move properties are for the Pokemon's current Move. The current HP is kept from
+     * 0 to the maximum HP. Points and exp cannot be set
+     *
+     * @param pokemon The Pokemon
+     * @param property The property index, such as ATTACK
+     * @param isCurrent True to set the current value, false to set the maximum (permanent) value
+     * @param value The new value
+     */
+    public static void setValue( PokemonActor pokemon, int property, boolean isCurrent, double value ) {
+        int intValue = (int)value;
+        if( property == HP ) {
+            if( isCurrent ) pokemon.setCurrentHP( Math.max( 0, Math.min( pokemon.getHP(), intValue ) ) );
+            else            pokemon.setHP( intValue );
+        }
+        else if( property == ATTACK )          { if( isCurrent ) pokemon.setCurrentAttack( intValue );
+                                                 else            pokemon.setAttack( intValue ); }
+        else if( property == DEFENSE )         { if( isCurrent ) pokemon.setCurrentDefense( intValue );
+                                                 else            pokemon.setDefense( intValue ); }
+        else if( property == SPECIAL_ATTACK )  { if( isCurrent ) pokemon.setCurrentSpecialAttack( intValue );
+                                                 else            pokemon.setSpecialAttack( intValue ); }
+        else if( property == SPECIAL_DEFENSE ) { if( isCurrent ) pokemon.setCurrentSpecialDefense( intValue );
+                                                 else            pokemon.setSpecialDefense( intValue ); }
+        else if( property == SPEED )           { if( isCurrent ) pokemon.setCurrentSpeed( intValue );
+                                                 else            pokemon.setSpeed( intValue ); }
+        else if( property == EVASION )         { if( isCurrent ) pokemon.setCurrentEvasion( intValue );
+                                                 else            pokemon.setEvasion( intValue ); }
+        else if( property == ACCURACY )        { if( isCurrent ) pokemon.setCurrentAccuracy( intValue );
+                                                 else            pokemon.setAccuracy( intValue ); }
+        else if( property == CRITICAL_HIT_RATIO ) {
+            if( isCurrent ) pokemon.setCurrentCriticalHitRatio( value );
+            else            pokemon.setCriticalHitRatio( value );
+        }
+        else if( property >= MOVE_POWER && property <= MOVE_PP && pokemon.getCurrentMove() != null )
+            setMoveValue( pokemon.getCurrentMove(), property, isCurrent, intValue );
+    }
+
+    /**
+     * Gets a property of the Move
+     *
+     * @param move The Move
+     * @param property MOVE_POWER, MOVE_ACCURACY, or MOVE_PP
+     * @param isCurrent True to get the current value, false to get the maximum value
+     * @return double The value of the property, or ERROR if it is not a Move property
+     */
+    private static double getMoveValue( Move move, int property, boolean isCurrent ) {
+        if(      property == MOVE_POWER )    return isCurrent ? move.getCurrentPower()    : move.getPower();
+        else if( property == MOVE_ACCURACY ) return isCurrent ? move.getCurrentAccuracy() : move.getAccuracy();
+        else if( property == MOVE_PP )       return isCurrent ? move.getCurrentPP()       : move.getPP();
+
+        return (double)PokeWorld.ERROR;
+    }
+
+    /**
+     * Sets a property of the Move
+     *
+     * @param move The Move
+     * @param property MOVE_POWER, MOVE_ACCURACY, or MOVE_PP
+     * @param isCurrent True to set the current value, false to set the maximum value
+     * @param value The new value
+     */
+    private static void setMoveValue( Move move, int property, boolean isCurrent, int value ) {
+        if(      property == MOVE_POWER )    { if( isCurrent ) move.setCurrentPower( value );
+                                               else            move.setPower( value ); }
+        else if( property == MOVE_ACCURACY ) { if( isCurrent ) move.setCurrentAccuracy( value );
+                                               else            move.setAccuracy( value ); }
+        else if( property == MOVE_PP )       { if( isCurrent ) move.setCurrentPP( value );
+                                               else            move.setPP( value ); }
+    }
+
+    /**
+     * The compiled effects of one Item
+     */
+    public static class Program {
+
+        private final int[] properties;
+        private final double[] values;
+        private final Opcode opcode;
+        private final int flags;
+        private final Move.MoveType requiredType;
+        private final Move.MoveCategory requiredCategory;
+        private final PokemonActor.Status healedStatus;
+
+        /**
+         * Create a Program
+         *
+         * @param properties The indices of the properties that the Item changes
+         * @param values The value of each property
+         * @param opcode How the values change the properties
+         * @param flags The flags of the Item
+         * @param requiredType The Move type that the Item requires, or null
+         * @param requiredCategory The Move category that the Item requires, or null
+         * @param healedStatus The status that the Item heals, or null
+         */
+        private Program( int[] properties, double[] values, Opcode opcode, int flags, Move.MoveType requiredType,
+                         Move.MoveCategory requiredCategory, PokemonActor.Status healedStatus ) {
+            this.properties = properties;
+            this.values = values;
+            this.opcode = opcode;
+            this.flags = flags;
+            this.requiredType = requiredType;
+            this.requiredCategory = requiredCategory;
+            this.healedStatus = healedStatus;
+        }
+
+        public int size()                               { return properties.length; }
+        public int getProperty( int index )             { return properties[ index ]; }
+        public double getValue( int index )             { return values[ index ]; }
+        public Opcode getOpcode()                       { return opcode; }
+        public boolean hasFlag( int flag )              { return (flags & flag) != 0; }
+        public Move.MoveType getRequiredType()          { return requiredType; }
+        public Move.MoveCategory getRequiredCategory()  { return requiredCategory; }
+        public PokemonActor.Status getHealedStatus()    { return healedStatus; }
+
+        /**
+         * Determines whether the Item has a Move type or category requirement
+         *
+         * @return boolean True if the Item requires a Move type or category, false otherwise
+         */
+        public boolean hasMoveRequirement() {
+            return requiredType != null || requiredCategory != null;
+        }
+
+        /**
+         * Determines whether the Move meets the Move type and category requirements of the Item
+         *
+         * @param move The Move
+         * @return boolean True if the Move meets the requirements, false otherwise
+         */
+        public boolean matches( Move move ) {
+            return move != null && (requiredType == null || requiredType == move.getType()) &&
+                   (requiredCategory == null || requiredCategory == move.getCategory());
+        }
+
+        /**
+         * Applies one property of the Program to the Pokemon. Items with RANDOM_STAT start at a random property
+         * instead. Items with ALL_STATS or RESTORES_LOWERED carry on to every property after it, but Items with
+         * RESTORES_LOWERED only change the first one (the rest are only restored). Move properties change the Pokemon's
+         * current Move, or every Move that meets the requirements of Items with ALL_MOVES, and are skipped by Items
+         * with ALL_STATS
+         *
+         * @param index The index of the property in this Program
+         * @param pokemon The Pokemon that the Item affects
+         * @param random The PokeRandom that picks the property of RANDOM_STAT Items
+         */
+        public void apply( int index, PokemonActor pokemon, PokeRandom random ) {
+            int start = hasFlag( RANDOM_STAT ) ? random.nextInt( Item.PROPERTY_NAMES.length ) : properties[ index ];
+            double value = values[ index ];
+            boolean maximize = value == (double)PokeWorld.ERROR;
+            boolean restore = maximize || hasFlag( RESTORE_TO_FULL ) || hasFlag( RESTORES_LOWERED );
+            boolean fallsThrough = hasFlag( ALL_STATS ) || hasFlag( RESTORES_LOWERED );
+
+            for( int property = start; property < Item.PROPERTY_NAMES.length; property++ ) {
+                boolean isChanged = !hasFlag( RESTORES_LOWERED ) || property == start;
+
+                if( property >= MOVE_POWER && property <= MOVE_PP ) {
+                    if( !hasFlag( ALL_STATS ) ) applyToMoves( pokemon, property, value, isChanged, maximize, restore );
+                } else {
+                    if( isChanged ) change( pokemon, property, value );
+                    if( restore && property != POINTS && property != EXP &&
+                        ItemEffects.getValue( pokemon, property, true ) < ItemEffects.getValue( pokemon, property, false ) )
+                        ItemEffects.setValue( pokemon, property, true, ItemEffects.getValue( pokemon, property, false ) );
+                }
+
+                if( !fallsThrough ) break;
+            }
+        }
+
+        /**
+         * Changes a property of the Pokemon (not a Move property) by the value, as the Opcode says
+         *
+         * @param pokemon The Pokemon
+         * @param property The property index
+         * @param value The value to add, or to multiply the property by
+         */
+        private void change( PokemonActor pokemon, int property, double value ) {
+            boolean isCurrent = opcode.isCurrent();
+            if( property == POINTS ) return; /* no item should add points */
+
+            if( property == EXP ) {
+                pokemon.addExp( opcode.isAdd() ? (int)value : (int)(pokemon.getTotalExp() * value) );
+                return;
+            }
+
+            double base = ItemEffects.getValue( pokemon, property, isCurrent );
+            if( property == CRITICAL_HIT_RATIO )
+                setValue( pokemon, property, isCurrent, base + (opcode.isAdd() ? value : base * value) );
+            else if( property == HP && isCurrent )
+                pokemon.addHP( opcode.isAdd() ? (int)value : (int)(base * value) );
+            else
+                setValue( pokemon, property, isCurrent, base + (opcode.isAdd() ? (int)value : (int)(base * value)) );
+        }
+
+        /**
+         * Changes a Move property of the Pokemon's current Move, or of every Move that meets the requirements of the
+         * Item if it has ALL_MOVES. Items that maximize values raise the maximum accuracy and PP of the Moves to the
+         * limits. The Pokemon's current Move is then restored, if the Item restores values
+         *
+         * @param pokemon The Pokemon
+         * @param property MOVE_POWER, MOVE_ACCURACY, or MOVE_PP
+         * @param value The value to add, or to multiply the property by
+         * @param isChanged True if the property is changed, false if it is only restored
+         * @param maximize True if the Item maximizes values
+         * @param restore True if the Item restores the current value to its maximum
+         */
+        private void applyToMoves( PokemonActor pokemon, int property, double value, boolean isChanged,
+                                   boolean maximize, boolean restore ) {
+            boolean isCurrent = opcode.isCurrent();
+            boolean hasMatch = false;
+            ArrayList<Move> moves = new ArrayList<Move>();
+            if( hasFlag( ALL_MOVES ) ) moves.addAll( pokemon.getMoves() );
+            else if( pokemon.getCurrentMove() != null ) moves.add( pokemon.getCurrentMove() );
+
+            for( Move move : moves ) {
+                if( hasFlag( ALL_MOVES ) && !matches( move ) ) continue;
+                hasMatch = true;
+
+                if( isChanged ) {
+                    int base = (int)getMoveValue( move, property, isCurrent );
+                    setMoveValue( move, property, isCurrent, base + (opcode.isAdd() ? (int)value : (int)(base * value)) );
+                }
+
+                if( maximize && !isCurrent ) {
+                    int accuracyLimit = Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit();
+                    if( property == MOVE_ACCURACY && move.getAccuracy() < accuracyLimit )
+                        move.setAccuracy( move.getCategory() == Move.MoveCategory.SPECIAL ? accuracyLimit :
+                                                                                            Move.getMaximumAccuracy() );
+                    else if( property == MOVE_PP && move.getPP() < Move.getMaximumPP() )
+                        move.setPP( Move.getMaximumPP() );
+                }
+            }
+
+            Move currentMove = pokemon.getCurrentMove();
+            if( restore && hasMatch && currentMove != null &&
+                getMoveValue( currentMove, property, true ) < getMoveValue( currentMove, property, false ) )
+                setMoveValue( currentMove, property, true, (int)getMoveValue( currentMove, property, false ) );
+        }
+
+        /**
+         * Gets the Program as text, such as "MULT_CURRENT movePower x0.2 [ALL_MOVES, RESTORE_TO_FULL]"
+         *
+         * @return String The Program as text
+         */
+        public String toString() {
+            String text = opcode.name();
+            for( int i = 0; i < properties.length; i++ )
+                text += " " + Item.PROPERTY_NAMES[ properties[i] ] + (opcode.isAdd() ? " +" : " x") + values[i];
+
+            String[] flagNames = { "RESTORE_TO_FULL", "ALL_STATS", "ALL_MOVES", "RESTORES_LOWERED", "RANDOM_STAT" };
+            String flagText = "";
+            for( int i = 0; i < flagNames.length; i++ )
+                if( hasFlag( 1 << i ) ) flagText += (flagText.isEmpty() ? "" : ", ") + flagNames[i];
+
+            return text + (flagText.isEmpty() ? "" : " [" + flagText + "]");
+        }
+    }
+}
@@ -0,0 +1,511 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * MatchupMatrix.java
+ *
+ * Keeps the chance that one Pokemon build beats another, for every pair of builds that has been simulated, in a table
+ * on disk that is kept between runs of the game. Tournament seeding and balance reports ask for the same matchups over
+ * and over, and a simulated matchup takes thousands of battles, so each matchup is simulated once and then looked up.
+ *
+ * A build is known by its fingerprint: a 64 bit FNV-1a hash of its RatingStore key, which covers its class, stats, type,
+ * and Moves. Items are not part of the fingerprint, since headless battles do not use Items (and a class may give its
+ * Pokemon a random Item, which would make every Pokemon of the class a new build). The Moves file is part of every
+ * matchup: the table keeps a CRC-32 checksum of pokemonMoves.txt, and if the file has changed since the table was
+ * filled, every matchup is stale and the table is emptied. This is checked when the table is opened and before every
+ * update.
+ *
+ * The table is a file that is memory-mapped, so a query reads the mapped memory directly and never reads the file or
+ * makes objects. It is a hash table with open addressing (linear probing): a header of HEADER_SIZE bytes, then a power
+ * of two number of slots of SLOT_SIZE bytes, each holding the fingerprints of the two builds, the number of battles, and
+ * the wins of each build (the rest of the battles were draws). Each pair of builds is kept in one slot, with the
+ * smaller fingerprint first, so a query is one hash and a few slots no matter how many matchups are kept. When the
+ * table is more than MAX_LOAD full, the file grows to twice as many slots in place and every matchup is put in its new
+ * slot. While that happens, the header has no MAGIC number, so a table whose growth was cut off is emptied the next
+ * time it is opened instead of being read wrongly.
+ *
+ * update() fills the table for a roster of builds. Only the matchups that are not in the table, or that have fewer
+ * battles than asked for, are simulated, so when one build of the roster changes, only its matchups are simulated
+ * again. The missing matchups are run by BattleSimulators, on all of the cores: the build with the most missing matchups
+ * is simulated against all of its missing opponents at once, then the build with the most of the rest, and so on, so a
+ * single changed build takes a single simulation.
+ *
+ * Example: MatchupMatrix matrix = MatchupMatrix.getDefault();
+ *          matrix.update( Tournament.discoverEntrants(), 1000, 42L );
+ *          double chance = matrix.getWinProbability( pikachu, otherPokemon );
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - MATRIX_FILE_LOC    : The default file of the table
+ * - MAGIC, VERSION     : The first two ints of the file, which mark a whole table of this layout
+ * - HEADER_SIZE        : The bytes of the header: MAGIC, VERSION, the checksum of the Moves file, the number of slots,
+ *                        and the number of matchups
+ * - SLOT_SIZE          : The bytes of one slot: two fingerprints, the battles, and the wins of each build
+ * - INITIAL_CAPACITY   : The number of slots of a new table
+ * - MAX_LOAD           : The fraction of the slots that may be full before the table grows
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - defaultMatrix      : The MatchupMatrix of the default file
+ * - file, table        : The open file and its memory-mapped contents
+ * - capacity, size     : The number of slots, and the number of matchups
+ * - pool               : The ForkJoinPool that creates the Pokemon of a roster
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - MatchupMatrix( String fileLoc ) : Open the table in the file, creating or emptying it if needed
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getDefault()                 : Gets the MatchupMatrix of the default file, opening it the first time
+ * - getFingerprint( PokemonActor pokemon ) : Gets the fingerprint of a Pokemon's build
+ * - getDataChecksum()            : Gets the CRC-32 checksum of the Moves file
+ * - getWinProbability( long fingerprint1, long fingerprint2 ) : Gets the chance that the first build beats the second
+ * - getWinProbability( PokemonActor pokemon1, PokemonActor pokemon2 ) : The same, for the builds of two Pokemon
+ * - getBattles( long fingerprint1, long fingerprint2 ) : Gets the number of battles simulated between two builds
+ * - update( BattleSimulator.Build[] roster, int battles, long seed ) : Simulates the missing matchups of a roster
+ * - size(), getCapacity()        : Gets the number of matchups, and the number of slots
+ * - clear()                      : Empties the table
+ * - close()                      : Writes the table to the disk and closes the file
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - find( long fingerprint1, long fingerprint2 ) : Gets the slot of a matchup, or the empty slot where it would go
+ * - put( long fingerprint1, long fingerprint2, long battles, long wins1, long wins2 ) : Puts a matchup in the table
+ * - grow()                       : Doubles the number of slots and puts every matchup in its new slot
+ * - map( int capacity )          : Sets the length of the file and maps it
+ * - writeHeader( long checksum ) : Writes the header
+ * - createPokemon( BattleSimulator.Build[] roster ) : Creates one Pokemon of every build, all at once
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleSimulator.java
+ * @see RatingStore.java
+ * @see Tournament.java
+ */
+public class MatchupMatrix {
+
+    public static final String MATRIX_FILE_LOC = "./matchups.matrix";
+    public static final int MAGIC              = 0x504B4D4D; //"PKMM"
+    public static final int VERSION            = 1;
+    public static final int HEADER_SIZE        = 32;
+    public static final int SLOT_SIZE          = 40;
+    public static final int INITIAL_CAPACITY   = 256;
+    public static final double MAX_LOAD        = 0.5;
+
+    //The places of the values in the header and in a slot, in bytes
+    private static final int MAGIC_AT = 0, VERSION_AT = 4, CHECKSUM_AT = 8, CAPACITY_AT = 16, SIZE_AT = 20;
+    private static final int FIRST_AT = 0, SECOND_AT = 8, BATTLES_AT = 16, WINS1_AT = 24, WINS2_AT = 32;
+
+    private static MatchupMatrix defaultMatrix = null;
+
+    private RandomAccessFile file;
+    private MappedByteBuffer table;
+    private int capacity, size;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Open the table in the file. A file that does not exist, is not a whole table of this VERSION, or was filled with
+     * another version of the Moves file is emptied
+     *
+     * @param fileLoc The file, such as MATRIX_FILE_LOC
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    public MatchupMatrix( String fileLoc ) throws IOException {
+        this.file = new RandomAccessFile( fileLoc, "rw" );
+
+        boolean isValid = false;
+        if( file.length() >= HEADER_SIZE ) {
+            file.seek( MAGIC_AT );
+            int magic = file.readInt(), version = file.readInt();
+            long checksum = file.readLong();
+            int slots = file.readInt(), matchups = file.readInt();
+            isValid = magic == MAGIC && version == VERSION && checksum == getDataChecksum() &&
+                      slots >= INITIAL_CAPACITY && Integer.bitCount( slots ) == 1 &&
+                      file.length() == HEADER_SIZE + (long)slots * SLOT_SIZE && matchups >= 0 && matchups <= slots;
+            if( isValid ) {
+                capacity = slots;
+                size = matchups;
+                table = file.getChannel().map( FileChannel.MapMode.READ_WRITE, 0, file.length() );
+            }
+        }
+        if( !isValid ) clear();
+    }
+
+    /**
+     * Gets the MatchupMatrix of the default file, MATRIX_FILE_LOC. The file is opened the first time this is called
+     *
+     * @return MatchupMatrix The MatchupMatrix of the default file, or null if it cannot be opened
+     */
+    public static synchronized MatchupMatrix getDefault() {
+        if( defaultMatrix == null ) {
+            try {
+                defaultMatrix = new MatchupMatrix( MATRIX_FILE_LOC );
+            } catch( IOException e ) {
+                e.printStackTrace();
+            }
+        }
+        return defaultMatrix;
+    }
+
+    /**
+     * Gets the fingerprint of a Pokemon's build: a 64 bit FNV-1a hash of its RatingStore key, so Pokemon of the same
+     * class with the same stats, type, and Moves have the same fingerprint
+     *
+     * @param pokemon The Pokemon
+     * @return long The fingerprint
+     * @see RatingStore.getKey( PokemonActor pokemon )
+     */
+    public static long getFingerprint( PokemonActor pokemon ) {
+        long hash = 0xCBF29CE484222325L;
+        for( byte b : RatingStore.getKey( pokemon ).getBytes( StandardCharsets.UTF_8 ) ) {
+            hash ^= (b & 0xFF);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the CRC-32 checksum of the Moves file, PokeWorld.POKEMON_MOVES_FILE. The matchups in a table are only good for
+     * the Moves file they were simulated with
+     *
+     * @return long The checksum, or PokeWorld.ERROR if the file cannot be read
+     */
+    public static long getDataChecksum() {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update( Files.readAllBytes( new File( PokeWorld.POKEMON_MOVES_FILE ).toPath() ) );
+            return crc.getValue();
+        } catch( IOException e ) {
+            e.printStackTrace();
+            return PokeWorld.ERROR;
+        }
+    }
+
+    /**
+     * Gets the chance that the first build beats the second: the battles it won out of the battles simulated between
+     * them. Draws count as battles that were not won
+     *
+     * @param fingerprint1 The fingerprint of the first build
+     * @param fingerprint2 The fingerprint of the second build
+     * @return double The chance, from 0 to 1, or PokeWorld.ERROR if the matchup has not been simulated
+     * @see find( long fingerprint1, long fingerprint2 )
+     */
+    public synchronized double getWinProbability( long fingerprint1, long fingerprint2 ) {
+        int at = find( fingerprint1, fingerprint2 );
+        long battles = table.getLong( at + BATTLES_AT );
+        if( battles == 0 ) return PokeWorld.ERROR;
+
+        boolean isSwapped = fingerprint1 > fingerprint2;
+        return (double)table.getLong( at + (isSwapped ? WINS2_AT : WINS1_AT) ) / battles;
+    }
+
+    /**
+     * Gets the chance that the build of the first Pokemon beats the build of the second
+     *
+     * @param pokemon1 The first Pokemon
+     * @param pokemon2 The second Pokemon
+     * @return double The chance, from 0 to 1, or PokeWorld.ERROR if the matchup has not been simulated
+     * @see getWinProbability( long fingerprint1, long fingerprint2 )
+     */
+    public double getWinProbability( PokemonActor pokemon1, PokemonActor pokemon2 ) {
+        return getWinProbability( getFingerprint( pokemon1 ), getFingerprint( pokemon2 ) );
+    }
+
+    /**
+     * Gets the number of battles simulated between two builds
+     *
+     * @param fingerprint1 The fingerprint of the first build
+     * @param fingerprint2 The fingerprint of the second build
+     * @return long The number of battles, or 0 if the matchup has not been simulated
+     */
+    public synchronized long getBattles( long fingerprint1, long fingerprint2 ) {
+        return table.getLong( find( fingerprint1, fingerprint2 ) + BATTLES_AT );
+    }
+
+    /**
+     * Simulates every matchup between two different builds of the roster that is not in the table, or that has fewer
+     * than battles battles, and puts it in the table. If the Moves file has changed since the table was filled, the
+     * table is emptied first. Builds whose Pokemon cannot be created are left out
+     *
+     * @param roster The builds, such as Tournament.discoverEntrants()
+     * @param battles The number of battles of each matchup
+     * @param seed The seed of the BattleSimulators
+     * @return int The number of matchups that were simulated
+     * @see BattleSimulator.run( int battles )
+     */
+    public synchronized int update( BattleSimulator.Build[] roster, int battles, long seed ) {
+        long checksum = getDataChecksum();
+        if( checksum != table.getLong( CHECKSUM_AT ) ) {
+            try {
+                clear();
+            } catch( IOException e ) {
+                e.printStackTrace();
+                return 0;
+            }
+        }
+
+        PokemonActor[] pokemon = createPokemon( roster );
+        long[] fingerprints = new long[ roster.length ];
+        for( int i = 0; i < roster.length; i++ )
+            if( pokemon[i] != null ) fingerprints[i] = getFingerprint( pokemon[i] );
+
+        boolean[][] isMissing = new boolean[ roster.length ][ roster.length ];
+        int[] missing = new int[ roster.length ];
+        for( int i = 0; i < roster.length; i++ ) {
+            for( int j = i + 1; j < roster.length; j++ ) {
+                if( pokemon[i] == null || pokemon[j] == null || fingerprints[i] == fingerprints[j] ) continue;
+                if( getBattles( fingerprints[i], fingerprints[j] ) >= battles ) continue;
+                isMissing[i][j] = isMissing[j][i] = true;
+                missing[i]++;
+                missing[j]++;
+            }
+        }
+
+        int simulated = 0;
+        while( true ) {
+            int lead = 0;
+            for( int i = 1; i < roster.length; i++ )
+                if( missing[i] > missing[ lead ] ) lead = i;
+            if( roster.length == 0 || missing[ lead ] == 0 ) break;
+
+            //One simulation of the lead build against every opponent it is missing
+            ArrayList<Integer> opponents = new ArrayList<Integer>();
+            for( int j = 0; j < roster.length; j++ ) {
+                if( !isMissing[ lead ][j] ) continue;
+                opponents.add( j );
+                isMissing[ lead ][j] = isMissing[j][ lead ] = false;
+                missing[j]--;
+            }
+            missing[ lead ] = 0;
+
+            BattleSimulator.Build[] opponentBuilds = new BattleSimulator.Build[ opponents.size() ];
+            for( int k = 0; k < opponentBuilds.length; k++ )
+                opponentBuilds[k] = roster[ opponents.get(k) ];
+            BattleSimulator.Result result = new BattleSimulator( new BattleSimulator.Build[]{ roster[ lead ] },
+                                                                 opponentBuilds, seed ).run( battles * opponentBuilds.length );
+            try {
+                for( int k = 0; k < opponentBuilds.length; k++ ) {
+                    put( fingerprints[ lead ], fingerprints[ opponents.get(k) ], result.getMatchupBattles( 0, k ),
+                         result.getMatchupWins1( 0, k ), result.getMatchupWins2( 0, k ) );
+                    simulated++;
+                }
+            } catch( IOException e ) {
+                e.printStackTrace();
+                break;
+            }
+        }
+
+        table.force();
+        return simulated;
+    }
+
+    /**
+     * Gets the place in the table of the slot of a matchup, or of the empty slot where it would go. The two
+     * fingerprints are hashed together, and the slots are looked at one after another from there
+     *
+     * @param fingerprint1 The fingerprint of one build
+     * @param fingerprint2 The fingerprint of the other build
+     * @return int The place of the slot, in bytes from the start of the file
+     */
+    private int find( long fingerprint1, long fingerprint2 ) {
+        long first = Math.min( fingerprint1, fingerprint2 ), second = Math.max( fingerprint1, fingerprint2 );
+        long hash = (first * 0x9E3779B97F4A7C15L) ^ second;
+        hash ^= hash >>> 32;
+
+        int slot = (int)hash & (capacity - 1);
+        while( true ) {
+            int at = HEADER_SIZE + slot * SLOT_SIZE;
+            if( table.getLong( at + BATTLES_AT ) == 0 ) return at;
+            if( table.getLong( at + FIRST_AT ) == first && table.getLong( at + SECOND_AT ) == second ) return at;
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    /**
+     * Puts a matchup in the table, in place of the matchup of the same builds if there is one. The table grows first if
+     * it is full enough
+     *
+     * @param fingerprint1 The fingerprint of the first build
+     * @param fingerprint2 The fingerprint of the second build
+     * @param battles The number of battles, more than 0
+     * @param wins1 The battles won by the first build
+     * @param wins2 The battles won by the second build
+     * @throws IOException If the table cannot grow
+     * @see grow()
+     */
+    private void put( long fingerprint1, long fingerprint2, long battles, long wins1, long wins2 ) throws IOException {
+        if( battles <= 0 ) return;
+        if( size + 1 > capacity * MAX_LOAD ) grow();
+
+        int at = find( fingerprint1, fingerprint2 );
+        if( table.getLong( at + BATTLES_AT ) == 0 ) {
+            size++;
+            table.putInt( SIZE_AT, size );
+        }
+        boolean isSwapped = fingerprint1 > fingerprint2;
+        table.putLong( at + FIRST_AT, Math.min( fingerprint1, fingerprint2 ) );
+        table.putLong( at + SECOND_AT, Math.max( fingerprint1, fingerprint2 ) );
+        table.putLong( at + WINS1_AT, isSwapped ? wins2 : wins1 );
+        table.putLong( at + WINS2_AT, isSwapped ? wins1 : wins2 );
+        table.putLong( at + BATTLES_AT, battles );
+    }
+
+    /**
+     * Doubles the number of slots and puts every matchup in its new slot. The matchups are read into memory first, and
+     * the header has no MAGIC number until they are all back in the table
+     *
+     * @throws IOException If the file cannot grow
+     */
+    private void grow() throws IOException {
+        long[][] matchups = new long[ size ][];
+        int count = 0;
+        for( int slot = 0; slot < capacity; slot++ ) {
+            int at = HEADER_SIZE + slot * SLOT_SIZE;
+            if( table.getLong( at + BATTLES_AT ) == 0 ) continue;
+            matchups[ count++ ] = new long[]{ table.getLong( at + FIRST_AT ), table.getLong( at + SECOND_AT ),
+                                              table.getLong( at + BATTLES_AT ), table.getLong( at + WINS1_AT ),
+                                              table.getLong( at + WINS2_AT ) };
+        }
+
+        long checksum = table.getLong( CHECKSUM_AT );
+        table.putInt( MAGIC_AT, 0 );
+        table.force();
+        map( capacity * 2 );
+        for( int slot = 0; slot < capacity; slot++ )
+            table.putLong( HEADER_SIZE + slot * SLOT_SIZE + BATTLES_AT, 0L );
+
+        size = 0;
+        for( int i = 0; i < count; i++ ) {
+            int at = find( matchups[i][0], matchups[i][1] );
+            table.putLong( at + FIRST_AT, matchups[i][0] );
+            table.putLong( at + SECOND_AT, matchups[i][1] );
+            table.putLong( at + BATTLES_AT, matchups[i][2] );
+            table.putLong( at + WINS1_AT, matchups[i][3] );
+            table.putLong( at + WINS2_AT, matchups[i][4] );
+            size++;
+        }
+        writeHeader( checksum );
+        table.force();
+    }
+
+    /**
+     * Sets the length of the file to hold the header and the slots, and maps the whole file
+     *
+     * @param capacity The number of slots, a power of two
+     * @throws IOException If the file cannot be changed or mapped
+     */
+    private void map( int capacity ) throws IOException {
+        long length = HEADER_SIZE + (long)capacity * SLOT_SIZE;
+        file.setLength( length );
+        table = file.getChannel().map( FileChannel.MapMode.READ_WRITE, 0, length );
+        this.capacity = capacity;
+    }
+
+    /**
+     * Writes the header: MAGIC, VERSION, the checksum of the Moves file, the number of slots, and the number of matchups
+     *
+     * @param checksum The checksum of the Moves file that the matchups were simulated with
+     */
+    private void writeHeader( long checksum ) {
+        table.putInt( MAGIC_AT, MAGIC );
+        table.putInt( VERSION_AT, VERSION );
+        table.putLong( CHECKSUM_AT, checksum );
+        table.putInt( CAPACITY_AT, capacity );
+        table.putInt( SIZE_AT, size );
+    }
+
+    /**
+     * Creates one Pokemon of every build, all at once on the ForkJoinPool, to get the fingerprints of the builds
+     *
+     * @param roster The builds
+     * @return PokemonActor[] The Pokemon, with null for a build whose Pokemon cannot be created
+     */
+    private PokemonActor[] createPokemon( BattleSimulator.Build[] roster ) {
+        ArrayList<Callable<PokemonActor>> creators = new ArrayList<Callable<PokemonActor>>();
+        for( int i = 0; i < roster.length; i++ ) {
+            final BattleSimulator.Build build = roster[i];
+            final int uniqueID = i;
+            creators.add( new Callable<PokemonActor>() {
+                public PokemonActor call() throws Exception {
+                    return build == null ? null : build.create( uniqueID );
+                }
+            } );
+        }
+
+        List<Future<PokemonActor>> futures = pool.invokeAll( creators );
+        PokemonActor[] pokemon = new PokemonActor[ roster.length ];
+        for( int i = 0; i < roster.length; i++ ) {
+            try {
+                pokemon[i] = futures.get(i).get();
+            } catch( InterruptedException | ExecutionException e ) {
+                e.printStackTrace();
+            }
+        }
+        return pokemon;
+    }
+
+    /**
+     * Gets the number of matchups in the table
+     *
+     * @return int The number of matchups
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of slots of the table
+     *
+     * @return int The number of slots
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Empties the table, and marks it with the checksum of the Moves file as it is now. A table that is already mapped
+     * keeps its slots (a mapped file cannot be cut shorter on every system), and a new table has INITIAL_CAPACITY slots
+     *
+     * @throws IOException If the file cannot be changed or mapped
+     */
+    public synchronized void clear() throws IOException {
+        if( table == null ) {
+            map( INITIAL_CAPACITY );
+        } else {
+            for( int slot = 0; slot < capacity; slot++ )
+                table.putLong( HEADER_SIZE + slot * SLOT_SIZE + BATTLES_AT, 0L );
+        }
+        size = 0;
+        writeHeader( getDataChecksum() );
+        table.force();
+    }
+
+    /**
+     * Writes the table to the disk and closes the file. The table cannot be used once it is closed
+     *
+     * @throws IOException If the file cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        table.force();
+        file.close();
+        if( this == defaultMatrix ) defaultMatrix = null;
+    }
+}
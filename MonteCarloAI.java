@@ -0,0 +1,695 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MonteCarloAI.java
+ *
+ * A computer opponent that chooses the Action of the Pokemon whose turn it is by playing the battle out many times
+ * (Monte Carlo tree search). Each rollout walks down a tree of Actions from the current battle, choosing the Action
+ * that has won most often so far while still trying the Actions that have not been tried much (UCT), adds one new
+ * Action to the tree, and then plays the rest of the battle with random Moves. Whether the rollout was won or lost is
+ * added to every Action on the way down. The Action at the top of the tree that was tried most often is chosen.
+ *
+ * Unlike ExpectimaxAI, the search does not weigh the outcomes of the chances. Each rollout rolls them with its own
+ * PokeRandom, so a tree node holds the results of every battle reached by its Actions (an open loop tree). Since the
+ * rollouts play whole battles, the search sees how Items and running out of PP (STRUGGLE) decide a long battle, which
+ * a search a few turns deep does not.
+ *
+ * The rollouts are run in parallel on the ForkJoinPool. Each worker battles its own copies of the two teams, created
+ * with BattleSimulator.getBuild( Class cls ) and set to the state of the battle with a Snapshot that holds copies of
+ * the Items, so the Pokemon on the screen are never changed. The workers share the tree without locks: the counts and
+ * results of a node are atomic, and a child is added with compareAndSet, so two workers that add the same child keep
+ * the same one. The children of a node are found by their Action, not by where the Action is in the list of legal
+ * Actions, since that list changes from one rollout to the next (an Item is used up, or a Pokemon faints). While a worker is below a node, the node counts VIRTUAL_LOSS lost rollouts, which steers the other
+ * workers down other Actions until the result of the rollout is known.
+ *
+ * The tree is kept from one turn to the next. PokeBattle tells the AI about every Action applied to the battle through
+ * observe( BattleEngine engine, BattleEngine.Action action ), and the child of that Action becomes the top of the tree,
+ * so the rollouts of earlier turns are used again.
+ *
+ * A search stops once it has run the given number of rollouts, or once its time budget has run out, whichever comes
+ * first (a limit of 0 means no limit).
+ *
+ * In a team battle the tree also holds the switches, and a rollout that reaches the switch in of a Pokemon that fainted
+ * switches in a random Pokemon of the team. A rollout that runs out of Actions is scored by the HP that each team has
+ * left.
+ *
+ * Example: MonteCarloAI ai = new MonteCarloAI( 100, 0 ); //Search for 100 ms per turn
+ *          BattleEngine.Action action = ai.chooseAction( engine );
+ *          System.out.println( ai.getLastReport() ); //12000 rollouts (3000 reused) on 4 workers in 100.1 ms ...
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_BUDGET_MILLIS : The default time budget of one search, in milliseconds
+ * - EXPLORATION           : How much UCT favors Actions that have not been tried much
+ * - VIRTUAL_LOSS          : The number of lost rollouts that a node counts while a worker is below it
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - MAX_TREE_DEPTH        : The most Actions that one rollout takes in the tree
+ * - MAX_ROLLOUT_ACTIONS   : The most Actions of one rollout, after which the battle is scored by HP
+ * - SCALE                 : The results of the rollouts are added up as whole numbers, in units of 1/SCALE
+ *
+ * - budgetNanos, rollouts : The time budget and the number of rollouts of one search (0 for no limit)
+ * - pool                  : The ForkJoinPool that runs the workers
+ * - workerCount           : The number of workers
+ * - random                : The PokeRandom that the PokeRandoms of the workers are split from
+ * - teams                 : The two teams of the battle that is being searched
+ * - workers               : The workers, made again only when the classes of the Pokemon change
+ * - root                  : The top of the tree, which is the battle on the screen
+ * - deadline, remaining   : When the search must stop, and the number of rollouts it may still run
+ * - lastReport            : The Report of the last search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - MonteCarloAI()        : Create an AI that searches for DEFAULT_BUDGET_MILLIS on every core
+ * - MonteCarloAI( long budgetMillis, int rollouts ) : Create an AI with the given time budget and number of rollouts
+ * - MonteCarloAI( long budgetMillis, int rollouts, int workerCount, PokeRandom random ) : Create an AI with the given
+ *                                                                        limits, workers, and PokeRandom
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - chooseAction( BattleEngine engine ) : Runs the rollouts and returns the Action that was tried most often
+ * - observe( BattleEngine engine, BattleEngine.Action action ) : Moves the top of the tree down to the Action
+ * - newBattle()                         : Forgets the tree
+ * - getLastReport()                     : Gets the rollouts and time of the last search
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - isSameBattle( BattleEngine engine ) : Determines whether the battle is the one that the tree is for
+ * - hasWorkers()                        : Determines whether the workers are for Pokemon of the same classes
+ * - makeWorkers()                       : Makes the workers and their copies of the two teams
+ * - isSameAction( BattleEngine.Action a, BattleEngine.Action b ) : Determines whether two Actions do the same thing
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Node    : One Action in the tree, with the number of rollouts through it and their results
+ * - Child   : One child of a Node and the Action that leads to it
+ * - Worker  : Runs rollouts on its own copy of the battle
+ * - Report  : The rollouts and time of one search
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleAI.java
+ * @see ExpectimaxAI.java
+ * @see BattleEngine.java
+ * @see BattleSimulator.java
+ */
+public class MonteCarloAI implements BattleAI {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+    public static final double EXPLORATION         = 0.5;
+    public static final int VIRTUAL_LOSS           = 3;
+
+    private static final int MAX_TREE_DEPTH      = 64;
+    private static final int MAX_ROLLOUT_ACTIONS = 1000;
+    private static final long SCALE              = 1000000L;
+
+    private final long budgetNanos;
+    private final int rollouts;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+    private final int workerCount;
+    private final PokeRandom random;
+
+    private PokemonActor[][] teams = null;
+    private Worker[] workers = null;
+    private Node root = null;
+
+    private long deadline;
+    private final AtomicInteger remaining = new AtomicInteger();
+    private Report lastReport = null;
+
+    /**
+     * Create an AI that searches for DEFAULT_BUDGET_MILLIS milliseconds, with one worker for each core
+     */
+    public MonteCarloAI() {
+        this( DEFAULT_BUDGET_MILLIS, 0 );
+    }
+
+    /**
+     * Create an AI with the given time budget and number of rollouts, with one worker for each core
+     *
+     * @param budgetMillis The time that one search may take, in milliseconds, or 0 for no limit
+     * @param rollouts The number of rollouts of one search, or 0 for no limit
+     */
+    public MonteCarloAI( long budgetMillis, int rollouts ) {
+        this( budgetMillis, rollouts, Runtime.getRuntime().availableProcessors(), PokeRandom.create() );
+    }
+
+    /**
+     * Create an AI with the given limits, number of workers, and PokeRandom. If there is neither a time budget nor a
+     * number of rollouts, the AI searches for DEFAULT_BUDGET_MILLIS milliseconds
+     *
+     * @param budgetMillis The time that one search may take, in milliseconds, or 0 for no limit
+     * @param rollouts The number of rollouts of one search, or 0 for no limit
+     * @param workerCount The number of workers that run rollouts at the same time
+     * @param random The PokeRandom that the PokeRandoms of the workers are split from
+     */
+    public MonteCarloAI( long budgetMillis, int rollouts, int workerCount, PokeRandom random ) {
+        if( budgetMillis <= 0 && rollouts <= 0 ) budgetMillis = DEFAULT_BUDGET_MILLIS;
+        this.budgetNanos = budgetMillis * 1000000L;
+        this.rollouts = rollouts;
+        this.workerCount = Math.max( 1, workerCount );
+        this.random = random;
+    }
+
+    /**
+     * Runs rollouts from the battle, adding to the tree kept from earlier turns, and returns the Action that was tried
+     * most often. The battle and both Pokemon are not changed
+     *
+     * @param engine The battle, which must be waiting for an Action (State.SELECT_ACTION) or a switch (State.SWITCH_IN)
+     * @return BattleEngine.Action The Action tried most often, one of engine.getLegalActions(), or null if there are none
+     * @see Worker.rollout()
+     */
+    public BattleEngine.Action chooseAction( BattleEngine engine ) {
+        List<BattleEngine.Action> actions = engine.getLegalActions();
+        BattleEngine.State state = engine.getState();
+        if( (state != BattleEngine.State.SELECT_ACTION && state != BattleEngine.State.SWITCH_IN) || actions.isEmpty() )
+            return null;
+
+        long start = System.nanoTime();
+        if( !isSameBattle( engine ) ) {
+            root = null;
+            teams = new PokemonActor[][]{ engine.getTeam( BattleEngine.Side.PLAYER_1 ),
+                                          engine.getTeam( BattleEngine.Side.PLAYER_2 ) };
+        }
+        if( !hasWorkers() && !makeWorkers() ) return actions.get(0);
+        if( root == null ) root = new Node();
+        int reused = root.visits.get();
+
+        BattleEngine.Snapshot snapshot = engine.saveState();
+        for( Worker worker : workers )
+            worker.reset( snapshot.withCopiedItems() );
+
+        //The time budget is for the rollouts, so the first turn of a battle is not used up by copying the Pokemon
+        deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        remaining.set( rollouts > 0 ? rollouts : Integer.MAX_VALUE );
+        pool.invoke( new RecursiveAction() {
+            protected void compute() {
+                invokeAll( workers );
+            }
+        });
+
+        int bestIndex = 0, bestVisits = PokeWorld.ERROR;
+        Node best = null;
+        for( int i = 0; i < actions.size(); i++ ) {
+            Node child = root.getChild( actions.get(i) );
+            int visits = child == null ? 0 : child.visits.get();
+            if( visits > bestVisits ) {
+                bestIndex = i;
+                bestVisits = visits;
+                best = child;
+            }
+        }
+
+        lastReport = new Report( actions.get( bestIndex ), best == null ? 0.0 : best.getMean(), root.visits.get() - reused,
+                                 reused, workers.length, System.nanoTime() - start );
+        return actions.get( bestIndex );
+    }
+
+    /**
+     * Moves the top of the tree down to the child of the Action, so that the rollouts through that Action are kept.
+     * If the Action was never tried, or the battle is not the one that the tree is for, the tree is forgotten
+     *
+     * @param engine The battle, before the Action is applied
+     * @param action The Action
+     */
+    public void observe( BattleEngine engine, BattleEngine.Action action ) {
+        if( root == null ) return;
+        if( !isSameBattle( engine ) ) {
+            root = null;
+            return;
+        }
+
+        root = root.getChild( action );
+    }
+
+    /**
+     * Forgets the tree before a new battle starts. The workers are kept if the new battle is between Pokemon of the
+     * same classes
+     */
+    public void newBattle() {
+        root = null;
+        teams = null;
+    }
+
+    /**
+     * Gets the Report of the last search
+     *
+     * @return Report The rollouts and time of the last search, or null if there has not been a search yet
+     */
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Determines whether the battle is between the two teams that the tree and the workers are for
+     *
+     * @param engine The battle
+     * @return boolean True if the battle is between the same two teams, false otherwise
+     */
+    private boolean isSameBattle( BattleEngine engine ) {
+        if( teams == null ) return false;
+        for( BattleEngine.Side side : BattleEngine.Side.values() ) {
+            PokemonActor[] team = teams[ side.ordinal() ];
+            if( engine.getTeamSize( side ) != team.length ) return false;
+            for( int slot = 0; slot < team.length; slot++ )
+                if( engine.getTeamPokemon( side, slot ) != team[ slot ] ) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether there are workers for Pokemon of the classes of the Pokemon of the battle, in the same slots
+     *
+     * @return boolean True if the workers can be used for the battle, false if they must be made
+     */
+    private boolean hasWorkers() {
+        if( workers == null ) return false;
+        BattleEngine engine = workers[0].engine;
+        for( BattleEngine.Side side : BattleEngine.Side.values() ) {
+            PokemonActor[] team = teams[ side.ordinal() ];
+            if( engine.getTeamSize( side ) != team.length ) return false;
+            for( int slot = 0; slot < team.length; slot++ )
+                if( engine.getTeamPokemon( side, slot ).getClass() != team[ slot ].getClass() ) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Makes the workers. Each worker battles its own copies of the two teams, which are created with the
+     * (int uniqueID) constructor of their classes. This takes a while, since creating a Pokemon reads the Pokedex
+     * files, so the workers are kept for as long as the battles are between Pokemon of the same classes
+     *
+     * @return boolean True if the workers were made, false if the Pokemon could not be copied
+     * @see BattleSimulator.getBuild( Class cls )
+     */
+    @SuppressWarnings("unchecked")
+    private boolean makeWorkers() {
+        BattleSimulator.Build[][] builds = new BattleSimulator.Build[2][];
+        for( int s = 0; s < 2; s++ ) {
+            builds[s] = new BattleSimulator.Build[ teams[s].length ];
+            for( int slot = 0; slot < teams[s].length; slot++ )
+                builds[s][ slot ] = BattleSimulator.getBuild( (Class<? extends PokemonActor>)teams[s][ slot ].getClass() );
+        }
+
+        Worker[] made = new Worker[ workerCount ];
+        try {
+            for( int i = 0; i < made.length; i++ ) {
+                PokemonActor[][] copies = new PokemonActor[2][];
+                for( int s = 0; s < 2; s++ ) {
+                    copies[s] = new PokemonActor[ teams[s].length ];
+                    for( int slot = 0; slot < teams[s].length; slot++ )
+                        copies[s][ slot ] = builds[s][ slot ].create( teams[s][ slot ].getUniqueID() );
+                }
+                made[i] = new Worker( new BattleEngine( copies[0], copies[1], random.split() ) );
+            }
+        } catch( Exception e ) {
+            e.printStackTrace();
+            workers = null;
+            return false;
+        }
+
+        workers = made;
+        return true;
+    }
+
+    /**
+     * Determines whether two Actions do the same thing. Moves match by their index, Items match by the name of the Item
+     * and the Move it affects, and switches match by the slot. Items are matched by name since each worker battles
+     * with its own copies of the Items
+     *
+     * @param a The first Action
+     * @param b The second Action
+     * @return boolean True if the Actions do the same thing, false otherwise
+     */
+    private static boolean isSameAction( BattleEngine.Action a, BattleEngine.Action b ) {
+        if( a.getType() != b.getType() ) return false;
+
+        if(      a.getType() == BattleEngine.Action.Type.USE_MOVE )
+            return a.getMoveIndex() == b.getMoveIndex();
+        else if( a.getType() == BattleEngine.Action.Type.USE_ITEM )
+            return a.getItem().getName().equals( b.getItem().getName() ) && a.getMoveIndex() == b.getMoveIndex();
+        else if( a.getType() == BattleEngine.Action.Type.SWITCH )
+            return a.getSlot() == b.getSlot();
+
+        return true;
+    }
+
+    /**
+     * One Action in the tree. The results are from the side of the Pokemon that took the Action, and are added up in
+     * units of 1/SCALE (a win is SCALE, a loss is 0). A child is made the first time its Action is tried, and is never
+     * replaced. The children are a list that only grows at its head, so a worker that reads the list while another
+     * worker adds to it still sees every child that was there before
+     */
+    private static class Node {
+
+        private final AtomicInteger visits      = new AtomicInteger();
+        private final AtomicInteger virtualLoss = new AtomicInteger();
+        private final AtomicLong results        = new AtomicLong();
+        private final AtomicReference<Child> children = new AtomicReference<Child>();
+
+        /**
+         * Gets the child of an Action
+         *
+         * @param action The Action
+         * @return Node The child, or null if the Action has not been tried
+         * @see isSameAction( BattleEngine.Action a, BattleEngine.Action b )
+         */
+        private Node getChild( BattleEngine.Action action ) {
+            return find( children.get(), action );
+        }
+
+        /**
+         * Gets the child of an Action, making it if the Action has not been tried. If two workers make the child at the
+         * same time, only one of them is kept, and both get that one
+         *
+         * @param action The Action
+         * @return Node The child
+         */
+        private Node addChild( BattleEngine.Action action ) {
+            while( true ) {
+                Child head = children.get();
+                Node child = find( head, action );
+                if( child != null ) return child;
+
+                Child added = new Child( action, new Node(), head );
+                if( children.compareAndSet( head, added ) ) return added.node;
+            }
+        }
+
+        /**
+         * Finds the child of an Action in a list of children
+         *
+         * @param head The first Child of the list, or null if it is empty
+         * @param action The Action
+         * @return Node The child, or null if it is not in the list
+         */
+        private static Node find( Child head, BattleEngine.Action action ) {
+            for( Child child = head; child != null; child = child.next )
+                if( isSameAction( child.action, action ) ) return child.node;
+            return null;
+        }
+
+        /**
+         * Gets the fraction of the rollouts through this node that the Pokemon that took the Action won
+         *
+         * @return double The mean result, between 0 and 1
+         */
+        private double getMean() {
+            int count = visits.get();
+            return count == 0 ? 0.0 : results.get() / (double)SCALE / count;
+        }
+    }
+
+    /**
+     * One child of a Node, the Action that leads to it, and the next Child of the list. A Child never changes
+     */
+    private static class Child {
+
+        private final BattleEngine.Action action;
+        private final Node node;
+        private final Child next;
+
+        /**
+         * Create a Child
+         *
+         * @param action The Action that leads to the child
+         * @param node The child
+         * @param next The next Child of the list, or null if this is the last one
+         */
+        private Child( BattleEngine.Action action, Node node, Child next ) {
+            this.action = action;
+            this.node = node;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Runs rollouts on its own copy of the battle until the search must stop. A Worker is a task of the ForkJoinPool,
+     * and is reinitialized before each search
+     */
+    private class Worker extends RecursiveAction {
+
+        private final BattleEngine engine;
+        private final PokeRandom random;
+        private final Node[] path = new Node[ MAX_TREE_DEPTH ];
+        private final BattleEngine.Side[] sides = new BattleEngine.Side[ MAX_TREE_DEPTH ];
+        private BattleEngine.Snapshot snapshot;
+
+        /**
+         * Create a Worker
+         *
+         * @param engine The battle between the copies of the two Pokemon
+         */
+        private Worker( BattleEngine engine ) {
+            this.engine = engine;
+            this.random = engine.getRandom();
+        }
+
+        /**
+         * Gets the Worker ready for the next search
+         *
+         * @param snapshot The state of the battle on the screen, with its own copies of the Items
+         */
+        private void reset( BattleEngine.Snapshot snapshot ) {
+            this.snapshot = snapshot;
+            reinitialize();
+        }
+
+        /**
+         * Runs rollouts until the number of rollouts or the time budget runs out
+         */
+        protected void compute() {
+            while( remaining.getAndDecrement() > 0 && System.nanoTime() < deadline )
+                rollout();
+        }
+
+        /**
+         * Runs one rollout: walks down the tree by UCT until it adds a new node, plays the rest of the battle with
+         * random Moves, and adds the result to every node on the way down. An Item that is rejected does not end the
+         * turn, so trying it again and again would never end the battle. A rejected Item is scored as a loss for the
+         * Pokemon that tried it instead, which keeps the search from choosing it
+         *
+         * @see select( Node[] children )
+         * @see playOut()
+         */
+        private void rollout() {
+            engine.restoreState( snapshot );
+
+            Node node = root;
+            int length = 0;
+            boolean isNew = false, isRejected = false;
+            while( !isNew && !isRejected && engine.getWinner() == null && length < MAX_TREE_DEPTH ) {
+                List<BattleEngine.Action> actions = engine.getLegalActions();
+                if( actions.isEmpty() ) break;
+
+                Node[] children = new Node[ actions.size() ];
+                for( int i = 0; i < children.length; i++ )
+                    children[i] = node.getChild( actions.get(i) );
+                int index = select( children );
+                Node child = children[ index ];
+                isNew = child == null;
+                if( isNew ) child = node.addChild( actions.get( index ) );
+
+                child.virtualLoss.addAndGet( VIRTUAL_LOSS );
+                path[ length ] = child;
+                sides[ length ] = engine.getCurrentSide();
+                length++;
+                List<BattleEngine.Event> events = apply( actions.get( index ) );
+                if( events == null ) break;
+                for( BattleEngine.Event event : events )
+                    if( event.getType() == BattleEngine.Event.Type.ITEM_REJECTED ) isRejected = true;
+                node = child;
+            }
+
+            long result;
+            if( isRejected ) result = sides[ length - 1 ] == BattleEngine.Side.PLAYER_1 ? 0L : SCALE;
+            else             result = Math.round( playOut() * SCALE );
+            root.visits.incrementAndGet();
+            for( int i = 0; i < length; i++ ) {
+                path[i].results.addAndGet( sides[i] == BattleEngine.Side.PLAYER_1 ? result : SCALE - result );
+                path[i].visits.incrementAndGet();
+                path[i].virtualLoss.addAndGet( -VIRTUAL_LOSS );
+            }
+        }
+
+        /**
+         * Chooses the Action to take from a node. An Action that has not been tried is chosen first. Otherwise the
+         * Action with the highest UCT score is chosen, counting the virtual losses of the other workers
+         *
+         * @param children The child of each legal Action of the node, or null for the Actions that have not been tried
+         * @return int The index of the Action
+         */
+        private int select( Node[] children ) {
+            int total = 0;
+            for( int i = 0; i < children.length; i++ ) {
+                Node child = children[i];
+                if( child == null ) return i;
+                total += child.visits.get() + child.virtualLoss.get();
+            }
+
+            double logTotal = Math.log( Math.max( 1, total ) );
+            int bestIndex = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for( int i = 0; i < children.length; i++ ) {
+                Node child = children[i];
+                int tries = child.visits.get() + child.virtualLoss.get();
+                if( tries == 0 ) return i;
+
+                double score = child.results.get() / (double)SCALE / tries + EXPLORATION * Math.sqrt( logTotal / tries );
+                if( score > bestScore ) {
+                    bestIndex = i;
+                    bestScore = score;
+                }
+            }
+
+            return bestIndex;
+        }
+
+        /**
+         * Plays the rest of the battle with random Moves, choosing among the Moves that have PP left (STRUGGLE once
+         * none do), and switching in a random Pokemon when one faints. A battle that is still going after
+         * MAX_ROLLOUT_ACTIONS Actions is scored by the fractions of HP that the teams have left
+         *
+         * @return double The result for the first team: 1 for a win, 0 for a loss
+         */
+        private double playOut() {
+            for( int i = 0; i < MAX_ROLLOUT_ACTIONS && engine.getWinner() == null; i++ ) {
+                BattleEngine.Action action;
+                if( engine.getState() == BattleEngine.State.SWITCH_IN ) {
+                    List<BattleEngine.Action> switches = engine.getLegalActions();
+                    action = switches.get( random.nextInt( switches.size() ) );
+                } else
+                    action = BattleEngine.Action.useMove( chooseMove( engine.getCurrentPokemon() ) );
+                if( apply( action ) == null ) break;
+            }
+
+            BattleEngine.Side winner = engine.getWinner();
+            if( winner != null ) return winner == BattleEngine.Side.PLAYER_1 ? 1.0 : 0.0;
+
+            return 0.5 + 0.5 * (getHPFraction( BattleEngine.Side.PLAYER_1 ) - getHPFraction( BattleEngine.Side.PLAYER_2 ));
+        }
+
+        /**
+         * Chooses a random Move that has PP left
+         *
+         * @param pokemon The Pokemon whose turn it is
+         * @return int The index of the Move, or 0 if no Move has PP left
+         */
+        private int chooseMove( PokemonActor pokemon ) {
+            List<Move> moves = pokemon.getMoves();
+            int withPP = 0;
+            for( Move move : moves )
+                if( move.getCurrentPP() > 0 ) withPP++;
+            if( withPP == 0 ) return 0;
+
+            int choice = random.nextInt( withPP );
+            for( int i = 0; i < moves.size(); i++ )
+                if( moves.get(i).getCurrentPP() > 0 && choice-- == 0 ) return i;
+
+            return 0;
+        }
+
+        /**
+         * Gets the fraction of its HP that a team has left: the mean of the current HP divided by the HP of each of its
+         * Pokemon
+         *
+         * @param side The Side of the team
+         * @return double The fraction, between 0 and 1
+         */
+        private double getHPFraction( BattleEngine.Side side ) {
+            int size = engine.getTeamSize( side );
+            double fraction = 0.0;
+            for( int slot = 0; slot < size; slot++ ) {
+                PokemonActor pokemon = engine.getTeamPokemon( side, slot );
+                fraction += pokemon.getHP() <= 0 ? 0.0 : Math.max( 0.0, (double)pokemon.getCurrentHP() / pokemon.getHP() );
+            }
+
+            return fraction / size;
+        }
+
+        /**
+         * Applies an Action to the copy of the battle
+         *
+         * @param action The Action
+         * @return List<BattleEngine.Event> The Events that happened, or null if the Action could not be applied
+         */
+        private List<BattleEngine.Event> apply( BattleEngine.Action action ) {
+            try {
+                return engine.apply( action );
+            } catch( BattleEngine.InvalidActionException e ) {
+                e.printStackTrace();
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * The rollouts and time of one search
+     */
+    public static class Report {
+
+        private final BattleEngine.Action action;
+        private final double mean;
+        private final int rollouts, reused, workers;
+        private final long elapsedNanos;
+
+        /**
+         * Create a Report
+         *
+         * @param action The Action that was chosen
+         * @param mean The fraction of the rollouts through the Action that were won by the Pokemon that took it
+         * @param rollouts The number of rollouts run by this search
+         * @param reused The number of rollouts kept from earlier turns
+         * @param workers The number of workers
+         * @param elapsedNanos The time of the search, in nanoseconds
+         */
+        private Report( BattleEngine.Action action, double mean, int rollouts, int reused, int workers, long elapsedNanos ) {
+            this.action = action;
+            this.mean = mean;
+            this.rollouts = rollouts;
+            this.reused = reused;
+            this.workers = workers;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public BattleEngine.Action getAction() { return action; }
+        public double getMean()                { return mean; }
+        public int getRollouts()               { return rollouts; }
+        public int getReused()                 { return reused; }
+        public int getWorkers()                { return workers; }
+        public long getElapsedNanos()          { return elapsedNanos; }
+
+        /**
+         * Gets the number of rollouts run per second
+         *
+         * @return double The throughput of the search
+         */
+        public double getRolloutsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rollouts * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Gets the Report as text
+         *
+         * @return String The Report, on one line
+         */
+        public String toString() {
+            return String.format( "%d rollouts (%d reused) on %d workers in %.1f ms (%.1f thousand rollouts/sec), %s won %.1f%%",
+                                  rollouts, reused, workers, elapsedNanos / 1e6, getRolloutsPerSecond() / 1000, action,
+                                  mean * 100 );
+        }
+    }
+}
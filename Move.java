@@ -38,6 +38,7 @@ import java.util.*;
  * 
  * - moveType           : The type for this move (as an enum)
  * - moveCategory       : The category for this move (as an enum)
+ * - effects            : The effects of this move's special properties, compiled once by MoveEffects
  * 
  * - POKEMON_MOVES_FILE    : The file path for the list of standards Moves that a Pokemon can learn
  * - TOTAL_FIELDS_FOR_MOVE : The total number of fields per line in the POKEMON_MOVES_FILE
@@ -85,6 +86,7 @@ import java.util.*;
  * - getAccuracy()                      : Gets the accuracy of this move
  * - getPP()                            : Gets the PP of this move
  * - getDescription()                   : Gets this move's description
+ * - getEffects()                       : Gets the compiled effects of this move's special properties
  * 
  * - setPower( int POWER )              : Sets the power of this move
  * - setAccuracy( int ACCURACY )        : Sets the accuracy of this move
@@ -104,6 +106,10 @@ import java.util.*;
  * - setCurrentAccuracy( int accuracy ) : Sets the current accuracy of this move
  * - setCurrentPP( int PP )             : Sets the current PP of this move
  * 
+ * - saveState()                        : Saves the power, accuracy, and PP of this move, maximum and current
+ * - restoreState( int[] state )        : Restores the values saved by saveState()
+ * - matchesState( int[] state )        : Determines whether this move still has the values saved by saveState()
+ * 
  * - moveExists( String name )          : Determines whether this move exists as a standard
  *                                        Move that is stored within the POKEMON_MOVES_FILE
  * 
@@ -176,6 +182,8 @@ public class Move {
     }
     private MoveCategory moveCategory;
     
+    private final MoveEffects.Program effects;
+    
     private final String POKEMON_MOVES_FILE = PokeWorld.POKEMON_MOVES_FILE;
     //vv The total number of attributes per line in the POKEMON_MOVES_FILE vv
     public final int TOTAL_FIELDS_FOR_MOVE = PokeWorld.TOTAL_FIELDS_FOR_MOVE;
@@ -274,6 +282,7 @@ public class Move {
         
         //Set the MoveType and MoveCategory enum values
         setEnums();
+        effects = MoveEffects.EMPTY;
         
         //Set Move Effect Characteristics
         /* @@@@@@@@@@@@@@@@@@@@@@@@@ MOVE BOOLEANS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ */
@@ -372,6 +381,7 @@ public class Move {
         
         //Set the MoveType and MoveCategory enum values
         setEnums();
+        effects = MoveEffects.EMPTY;
         
         //Set Move Effect Characteristics
         /* @@@@@@@@@@@@@@@@@@@@@@@@@ MOVE BOOLEANS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ */
@@ -474,6 +484,9 @@ public class Move {
         
         //Set the MoveType and MoveCategory enum values
         setEnums();
+        
+        //Compile the special properties of this Move into the effects that run when it is used
+        effects = MoveEffects.compile( moveCategory, propertyList, metaData );
 
         //Set Move Effect Characteristics
         /* @@@@@@@@@@@@@@@@@@@@@@@@@ MOVE BOOLEANS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ */
@@ -862,6 +875,17 @@ public class Move {
         return this.moveCategory;
     }
     
+    /**
+     * Get the compiled effects of this move's special properties. Moves that are not from the POKEMON_MOVES_FILE
+     * have no special properties, and have MoveEffects.EMPTY
+     * 
+     * @return MoveEffects.Program The effects of this move
+     * @see MoveEffects.compile( Move.MoveCategory category, boolean[] propertyList, double[] metaData )
+     */
+    public MoveEffects.Program getEffects() {
+        return this.effects;
+    }
+    
     /**
      * Gets this move's power
      * 
@@ -1027,6 +1051,44 @@ public class Move {
         if( this.PP < MIN_PP ) this.PP = MIN_PP;
     }
     
+    /**
+     * Saves the power, accuracy, and PP of this move, both maximum and current. These are the only values of a move
+     * that change during a battle
+     * 
+     * @return int[] The saved values, to be given to restoreState( int[] state )
+     */
+    public int[] saveState() {
+        return new int[]{ POWER, ACCURACY, PP, currentPower, currentAccuracy, currentPP };
+    }
+    
+    /**
+     * Restores the power, accuracy, and PP of this move to the values saved by saveState(). The values are restored
+     * exactly, including the NA (ERROR) power and accuracy that the setters do not allow
+     * 
+     * @param state The values saved by saveState()
+     */
+    public void restoreState( int[] state ) {
+        POWER           = state[0];
+        ACCURACY        = state[1];
+        PP              = state[2];
+        currentPower    = state[3];
+        currentAccuracy = state[4];
+        currentPP       = state[5];
+    }
+    
+    /**
+     * Determines whether this move still has the values saved by saveState(), without saving them again. A Snapshot
+     * of a Pokemon uses this to keep the saved values of a move that has not changed instead of copying them
+     * 
+     * @param state The values saved by saveState()
+     * @return boolean True if the power, accuracy, and PP of this move are the saved values, false otherwise
+     * @see PokemonActor.saveState( PokemonActor.Snapshot base )
+     */
+    public boolean matchesState( int[] state ) {
+        return POWER == state[0] && ACCURACY == state[1] && PP == state[2] &&
+               currentPower == state[3] && currentAccuracy == state[4] && currentPP == state[5];
+    }
+    
     /**
      * Get this move's description
      * 
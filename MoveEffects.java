@@ -0,0 +1,784 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * MoveEffects.java
+ *
+ * Turns the special properties of a Move (the numbered properties of the POKEMON_MOVES_FILE, such as 13:RHBOD or 22:CP)
+ * into a Program: a short list of effect handlers, sorted by the Stage of the attack that they run in. Each Move is
+ * compiled once, when it is made, so the attack sequence only runs the handlers that the Move has, and never checks the
+ * ~70 properties that it does not have.
+ *
+ * Handlers are found by property number in the HANDLERS table (STATUS-category Moves look in STATUS_HANDLERS first).
+ * Adding an effect means adding a handler to the table; the attack sequence does not change.
+ *
+ * The Stages of an attack are:
+ * 1) BEFORE_ATTACK : Before the hit and critical hit are rolled. Handlers may change the critical hit ratio of the
+ *                    attack, or make the Move fail (DREAM EATER on a Pokemon that is not sleeping)
+ * 2) DAMAGE        : After the Move hits. Handlers may change the damage, or set a fixed damage that ignores type
+ *                    effectiveness and critical hits (SONIC BOOM, NIGHT SHADE, SUPER FANG, One-Hit-KO Moves)
+ * 3) AFTER_HIT     : After the damage is dealt. Status effects, stat changes, drain, recovery, and recoil. Status
+ *                    effects and stat changes of Moves with a percent chance (1:PC) happen only if the chance is rolled,
+ *                    once per hit
+ * 4) ON_MISS       : After the Move misses (the crash damage of JUMP KICK and HIGH JUMP KICK)
+ *
+ * Moves that hit more than once in one turn (10:HXTIOT, such as DOUBLE KICK and FURY SWIPES) keep the fewest and most
+ * hits in their Program. The value of 10:HXTIOT is written as fewest.most, so 2.5 is 2-5 hits and 2.0 is always 2 hits.
+ * The number of hits is rolled by rollHits( PokeRandom random ), and the attack sequence deals the extra hits itself.
+ *
+ * Which Pokemon a handler affects comes from the 0:AT property: 1.0 is the user, 0.0 is the opponent. Moves without
+ * 0:AT use the handler's default (raising a stat affects the user, lowering a stat or causing a status affects the
+ * opponent).
+ *
+ * Traps (28:CT), Leech Seed (53:DH on a STATUS Move), and the screens of REFLECT and LIGHT SCREEN (72:IPA and 60:ISA
+ * with 14:RD) last longer than one turn. Their handlers only start them; the StatusEngine of the battle runs them on
+ * later turns and ends them after their turns (8:DXT, 9:HXT, or 64:FXT, written as fewest.most like 10:HXTIOT).
+ *
+ * Properties that charge or attack over several turns, or that need to know what happened on earlier turns (Counter,
+ * Dig, Fly, Disable, flinching) are not compiled yet, and have no effect.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - EMPTY              : The Program of a Move with no special properties
+ * - HP, ATTACK, DEFENSE, SPECIAL_ATTACK, SPECIAL_DEFENSE, SPEED, EVASION, ACCURACY : The stat indices, which are the
+ *                        indices of the stats in Item.PROPERTY_NAMES
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - HANDLERS           : The handler of each property number, or null if the property has no handler
+ * - STATUS_HANDLERS    : The handlers that STATUS-category Moves use instead of HANDLERS
+ * - NO_DAMAGE          : The handler that keeps STATUS-category Moves from dealing damage
+ * - USER_DAMAGE_RATIO  : The part of its max HP that a Pokemon loses from 16:DU (per 1.0 of the property's value)
+ * - CRASH_DAMAGE_RATIO : The part of its max HP that a Pokemon loses when a 59:IM Move misses, unless 17:HPMH says
+ *                        otherwise
+ * - EXTRA_HIT_CHANCES  : The chance of each hit after the fewest hits of a 10:HXTIOT Move, if the hit before it
+ *                        happened. For 2-5 hits, 2 and 3 hits each happen 3/8 of the time, and 4 and 5 hits each 1/8
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Stage              : BEFORE_ATTACK, DAMAGE, AFTER_HIT, ON_MISS
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - compile( Move.MoveCategory category, boolean[] propertyList, double[] metaData ) : Compiles the properties of a
+ *                                                                                     Move into a Program
+ * - getFewest( double value ), getMost( double value ) : Gets the fewest and most of a fewest.most value
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - statusHandler( PokemonActor.Status status )      : Makes a handler that causes the status
+ * - statHandler( int statIndex, boolean isRaise )    : Makes a handler that raises or lowers a stat
+ * - screenHandler( Move.MoveCategory category )     : Makes a handler that raises a screen
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Program                 : The compiled effects of one Move
+ * - Forecast                : What the BEFORE_ATTACK and DAMAGE effects of a Move will do to one attack, worked out
+ *                             without rolling any chances (see DamageCalculator)
+ * - Handler                 : One kind of effect, such as causing a burn or recovering HP
+ * - Effect                  : A Handler with the value and the Pokemon that it has for one Move
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see Move.java
+ * @see BattleEngine.java
+ * @see pokemonMoves.txt
+ */
+public class MoveEffects {
+
+    /**
+     * The Stages of an attack that handlers run in, in order
+     */
+    public enum Stage {
+        BEFORE_ATTACK, DAMAGE, AFTER_HIT, ON_MISS;
+    }
+
+    public static final int HP = 0, ATTACK = 1, DEFENSE = 2, SPECIAL_ATTACK = 3, SPECIAL_DEFENSE = 4, SPEED = 5,
+                            EVASION = 6, ACCURACY = 7;
+
+    private static final double USER_DAMAGE_RATIO  = 0.25;
+    private static final double CRASH_DAMAGE_RATIO = 0.5;
+    private static final double[] EXTRA_HIT_CHANCES = { 5.0/8.0, 2.0/5.0, 1.0/2.0 };
+
+    /* Property numbers of the POKEMON_MOVES_FILE that handlers check. See the MOVE BOOLEANS of Move */
+    private static final int AFFECTS_THIS = 0, PERCENT_CHANCE = 1, DAMAGE_X_TURNS = 8, HIT_X_TIMES = 9,
+                             HIT_X_TIMES_IN_ONE_TURN = 10, REDUCES_DAMAGE = 14, HIT_PERCENT_MAX_HP = 17,
+                             IF_MISSES = 59, FOR_X_TURNS = 64, STATUS_CHANGES_AFTER = 70;
+
+    private static final Handler[] HANDLERS = new Handler[ PokeWorld.TOTAL_FIELDS_FOR_MOVE ];
+    private static final Handler[] STATUS_HANDLERS = new Handler[ PokeWorld.TOTAL_FIELDS_FOR_MOVE ];
+
+    private static final Handler NO_DAMAGE = new Handler( Stage.DAMAGE, 0, false, false ) {
+        public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+            hit.setFixedDamage( 0.0 );
+        }
+
+        public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+            forecast.setFixedDamage( 0.0 );
+        }
+    };
+
+    public static final Program EMPTY = new Program( new Effect[0], 1.0, 1, 1 );
+
+    static {
+        /* BEFORE_ATTACK */
+        //6:ROTBS - The Move fails unless the opponent is sleeping
+        HANDLERS[6] = new Handler( Stage.BEFORE_ATTACK, 0, false, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                if( hit.getTarget().getStatus() != PokemonActor.Status.SLEEP ) hit.miss();
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                if( forecast.getTarget().getStatus() != PokemonActor.Status.SLEEP ) forecast.miss();
+            }
+        };
+        //49:RCHR - High critical hit ratio, for this attack
+        HANDLERS[49] = new Handler( Stage.BEFORE_ATTACK, 1, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setCriticalHitRatio( hit.getCriticalHitRatio() + value );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                forecast.setCriticalHitRatio( forecast.getCriticalHitRatio() + value );
+            }
+        };
+        //51:TRCHR - Multiplies the critical hit ratio of this attack
+        HANDLERS[51] = new Handler( Stage.BEFORE_ATTACK, 1, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setCriticalHitRatio( hit.getCriticalHitRatio() * value );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                forecast.setCriticalHitRatio( forecast.getCriticalHitRatio() * value );
+            }
+        };
+
+        /* DAMAGE */
+        //11:DXD - Always deals value damage (traps, which also have 8:DXT, deal it over several turns instead)
+        HANDLERS[11] = new Handler( Stage.DAMAGE, 1, false, false ) {
+            public boolean accepts( boolean[] propertyList ) {
+                return !propertyList[ DAMAGE_X_TURNS ];
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setFixedDamage( value );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                forecast.setFixedDamage( value );
+            }
+        };
+        //15:IDETPOL - Deals 50-150% of the user's level
+        HANDLERS[15] = new Handler( Stage.DAMAGE, 1, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setFixedDamage( (int)( pokemon.getCurrentLevel() * value * (0.5 + hit.getRandom().nextDouble()) ) );
+            }
+
+            //The damage is base * (0.5 + u), rounded down, for a uniform u in [0, 1). Each whole number of damage has
+            //the chance of the part of [0, 1) that rounds down to it
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                double base = pokemon.getCurrentLevel() * value;
+                if( base <= 0.0 ) {
+                    forecast.setFixedDamage( 0.0 );
+                    return;
+                }
+
+                int lowest = (int)(base * 0.5), highest = (int)(base * 1.5);
+                double[] amounts = new double[ highest - lowest + 1 ];
+                double[] chances = new double[ amounts.length ];
+                for( int i = 0; i < amounts.length; i++ ) {
+                    amounts[i] = lowest + i;
+                    double from = Math.max( 0.0, Math.min( 1.0, (lowest + i) / base - 0.5 ) );
+                    double to   = Math.max( 0.0, Math.min( 1.0, (lowest + i + 1) / base - 0.5 ) );
+                    chances[i] = to - from;
+                }
+                forecast.setFixedDamage( amounts, chances );
+            }
+        };
+        //17:HPMH - Deals a part of the opponent's max HP (crash damage for 59:IM, and traps, which also have 9:HXT,
+        //          are not handled here)
+        HANDLERS[17] = new Handler( Stage.DAMAGE, 1, false, false ) {
+            public boolean accepts( boolean[] propertyList ) {
+                return !propertyList[ IF_MISSES ] && !propertyList[ HIT_X_TIMES ];
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setFixedDamage( Math.max( 1, (int)(pokemon.getHP() * value) ) );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                forecast.setFixedDamage( Math.max( 1, (int)(pokemon.getHP() * value) ) );
+            }
+        };
+        //18:IDETL - Deals damage equal to the user's level
+        HANDLERS[18] = new Handler( Stage.DAMAGE, 1, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.setFixedDamage( pokemon.getCurrentLevel() );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                forecast.setFixedDamage( pokemon.getCurrentLevel() );
+            }
+        };
+        //27:CF - On the opponent, a One-Hit-KO. On the user, the user faints (EXPLOSION, SELF-DESTRUCT)
+        HANDLERS[27] = new Handler( Stage.DAMAGE, 2, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                if( pokemon == hit.getTarget() ) hit.setFixedDamage( pokemon.getCurrentHP() );
+                else                             hit.changeHP( pokemon, -pokemon.getCurrentHP() );
+            }
+
+            public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+                if( pokemon == forecast.getTarget() ) forecast.setFixedDamage( pokemon.getCurrentHP() );
+            }
+        };
+
+        /* AFTER_HIT */
+        //19-26 - Status effects. Moves that cause a status after several turns (70:SCA) are not handled here
+        HANDLERS[20] = statusHandler( PokemonActor.Status.BURN );
+        HANDLERS[21] = statusHandler( PokemonActor.Status.FREEZE );
+        HANDLERS[22] = statusHandler( PokemonActor.Status.PARALYSIS );
+        HANDLERS[23] = statusHandler( PokemonActor.Status.POISON );
+        HANDLERS[24] = statusHandler( PokemonActor.Status.SLEEP );
+        HANDLERS[25] = statusHandler( PokemonActor.Status.BOUND );
+        HANDLERS[26] = statusHandler( PokemonActor.Status.CONFUSION );
+
+        //35-48 - Stat changes, by value stages (see StatusEngine)
+        HANDLERS[35] = statHandler( ATTACK, true );          HANDLERS[36] = statHandler( ATTACK, false );
+        HANDLERS[37] = statHandler( DEFENSE, true );         HANDLERS[38] = statHandler( DEFENSE, false );
+        HANDLERS[39] = statHandler( SPECIAL_ATTACK, true );  HANDLERS[40] = statHandler( SPECIAL_ATTACK, false );
+        HANDLERS[41] = statHandler( SPECIAL_DEFENSE, true ); HANDLERS[42] = statHandler( SPECIAL_DEFENSE, false );
+        HANDLERS[43] = statHandler( EVASION, true );         HANDLERS[44] = statHandler( EVASION, false );
+        HANDLERS[45] = statHandler( ACCURACY, true );        HANDLERS[46] = statHandler( ACCURACY, false );
+        HANDLERS[47] = statHandler( SPEED, true );           HANDLERS[48] = statHandler( SPEED, false );
+
+        //49:RCHR on a STATUS Move (FOCUS ENERGY) - Raises the user's critical hit ratio for the rest of the battle
+        STATUS_HANDLERS[49] = new Handler( Stage.AFTER_HIT, 3, true, true ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeCriticalHitRatio( pokemon, pokemon.getCurrentCriticalHitRatio() * value );
+            }
+        };
+        //50:LCHR - Lowers the opponent's critical hit ratio for the rest of the battle
+        HANDLERS[50] = new Handler( Stage.AFTER_HIT, 3, false, true ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeCriticalHitRatio( pokemon, pokemon.getCurrentCriticalHitRatio() / (1.0 + value) );
+            }
+        };
+        //13:RHBOD, 53:DH - The user recovers a part of the damage dealt. 53:DH on a STATUS Move (LEECH SEED) seeds
+        //                  the opponent instead, which drains it every turn
+        HANDLERS[13] = new Handler( Stage.AFTER_HIT, 4, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeHP( pokemon, (int)(hit.getDamage() * value) );
+            }
+        };
+        HANDLERS[53] = HANDLERS[13];
+        STATUS_HANDLERS[53] = new Handler( Stage.AFTER_HIT, 4, false, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.seed( pokemon, value );
+            }
+        };
+        //28:CT - Traps the opponent, which cannot move and is hurt every turn, for 8:DXT, 9:HXT, or 64:FXT turns
+        HANDLERS[28] = new Handler( Stage.AFTER_HIT, 1, false, false ) {
+            public double getValue( boolean[] propertyList, double[] metaData, int propertyNumber ) {
+                if(      propertyList[ DAMAGE_X_TURNS ] ) return metaData[ DAMAGE_X_TURNS ];
+                else if( propertyList[ HIT_X_TIMES ] )    return metaData[ HIT_X_TIMES ];
+                else if( propertyList[ FOR_X_TURNS ] )    return metaData[ FOR_X_TURNS ];
+                else                                      return StatusEngine.TRAP_TURNS;
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.causeStatus( pokemon, PokemonActor.Status.BOUND, value );
+            }
+        };
+        //72:IPA, 60:ISA with 14:RD - Raises a screen that halves the damage of PHYSICAL (REFLECT) or SPECIAL (LIGHT
+        //                            SCREEN) Moves against the user, for 64:FXT turns
+        STATUS_HANDLERS[72] = screenHandler( Move.MoveCategory.PHYSICAL );
+        STATUS_HANDLERS[60] = screenHandler( Move.MoveCategory.SPECIAL );
+        //71:RPMH - The user recovers a part of its max HP
+        HANDLERS[71] = new Handler( Stage.AFTER_HIT, 4, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeHP( pokemon, (int)(pokemon.getHP() * value) );
+            }
+        };
+        //12:CRD - The user takes a part of the damage dealt as recoil
+        HANDLERS[12] = new Handler( Stage.AFTER_HIT, 5, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeHP( pokemon, -Math.max( 1, (int)(hit.getDamage() * value) ) );
+            }
+        };
+        //16:DU - The user is hurt by its own Move (STRUGGLE). Moves that only hurt the user when they miss have 59:IM
+        HANDLERS[16] = new Handler( Stage.AFTER_HIT, 5, true, false ) {
+            public boolean accepts( boolean[] propertyList ) {
+                return !propertyList[ IF_MISSES ];
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeHP( pokemon, -Math.max( 1, (int)(pokemon.getHP() * USER_DAMAGE_RATIO * value) ) );
+            }
+        };
+        //54:RSC - Resets the stat stages of both Pokemon
+        HANDLERS[54] = new Handler( Stage.AFTER_HIT, 6, true, false ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.resetStages( hit.getUser() );
+                hit.resetStages( hit.getTarget() );
+            }
+        };
+
+        /* ON_MISS */
+        //59:IM - The user loses a part of its max HP (17:HPMH, or CRASH_DAMAGE_RATIO) when the Move misses
+        HANDLERS[59] = new Handler( Stage.ON_MISS, 0, true, false ) {
+            public double getValue( boolean[] propertyList, double[] metaData, int propertyNumber ) {
+                return propertyList[ HIT_PERCENT_MAX_HP ] ? metaData[ HIT_PERCENT_MAX_HP ] : CRASH_DAMAGE_RATIO;
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeHP( pokemon, -Math.max( 1, (int)(pokemon.getHP() * value) ) );
+            }
+        };
+    }
+
+    /**
+     * Makes a handler that causes the status on a Pokemon that has no status. Moves that cause the status after
+     * several turns (70:SCA) are not accepted
+     *
+     * @param status The status to cause
+     * @return Handler The handler
+     */
+    private static Handler statusHandler( final PokemonActor.Status status ) {
+        return new Handler( Stage.AFTER_HIT, 1, false, true ) {
+            public boolean accepts( boolean[] propertyList ) {
+                return !propertyList[ STATUS_CHANGES_AFTER ];
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.causeStatus( pokemon, status );
+            }
+        };
+    }
+
+    /**
+     * Makes a handler that raises a screen in front of the user. Only STATUS Moves with 14:RD and 64:FXT are accepted.
+     * The handler is given the 64:FXT turns of the Move, and the screen lets through StatusEngine.SCREEN_DAMAGE_RATIO of
+     * the damage
+     *
+     * @param category The category of Moves that the screen blocks (PHYSICAL for 72:IPA, SPECIAL for 60:ISA)
+     * @return Handler The handler
+     * @see StatusEngine.raiseScreen( BattleEngine.Hit hit, PokemonActor pokemon, Move.MoveCategory category, double turns )
+     */
+    private static Handler screenHandler( final Move.MoveCategory category ) {
+        return new Handler( Stage.AFTER_HIT, 6, true, false ) {
+            public boolean accepts( boolean[] propertyList ) {
+                return propertyList[ REDUCES_DAMAGE ] && propertyList[ FOR_X_TURNS ];
+            }
+
+            public double getValue( boolean[] propertyList, double[] metaData, int propertyNumber ) {
+                return metaData[ FOR_X_TURNS ];
+            }
+
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.raiseScreen( pokemon, category, value );
+            }
+        };
+    }
+
+    /**
+     * Makes a handler that raises or lowers the stage of a stat by value stages. The current stat becomes the stat
+     * times the multiplier of its new stage, so each stage above 0 adds half of the stat (a raise of 2.0 from 0 doubles
+     * it), each stage below 0 is the inverse (a lower of 2.0 from 0 halves it), and the stage stops at
+     * StatusEngine.MAX_STAGE either way
+     *
+     * @param statIndex The stat, such as ATTACK
+     * @param isRaise True to raise the stat, false to lower it
+     * @return Handler The handler
+     */
+    private static Handler statHandler( final int statIndex, final boolean isRaise ) {
+        return new Handler( Stage.AFTER_HIT, 2, isRaise, true ) {
+            public void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value ) {
+                hit.changeStage( pokemon, statIndex, isRaise ? value : -value );
+            }
+        };
+    }
+
+    /**
+     * Compiles the special properties of a Move into a Program. Properties without a handler, and handlers that do
+     * not accept the other properties of the Move, are left out
+     *
+     * @param category The category of the Move. STATUS Moves do not deal damage, and use STATUS_HANDLERS first
+     * @param propertyList Whether each property number is active, as read from the POKEMON_MOVES_FILE
+     * @param metaData The value of each property number
+     * @return Program The compiled Program, or EMPTY if the Move has no handled properties
+     */
+    public static Program compile( Move.MoveCategory category, boolean[] propertyList, double[] metaData ) {
+        ArrayList<Effect> effects = new ArrayList<Effect>();
+        boolean isStatus = category == Move.MoveCategory.STATUS;
+        if( isStatus )
+            effects.add( new Effect( NO_DAMAGE, 0.0, false ) );
+
+        for( int i = 0; i < propertyList.length && i < HANDLERS.length; i++ ) {
+            if( !propertyList[i] ) continue;
+
+            Handler handler = isStatus && STATUS_HANDLERS[i] != null ? STATUS_HANDLERS[i] : HANDLERS[i];
+            if( handler == null || !handler.accepts( propertyList ) ) continue;
+
+            boolean affectsUser = propertyList[ AFFECTS_THIS ] ? metaData[ AFFECTS_THIS ] != 0.0 : handler.affectsUser;
+            effects.add( new Effect( handler, handler.getValue( propertyList, metaData, i ), affectsUser ) );
+        }
+
+        //10:HXTIOT - Hits several times in one turn, from the whole number of the value to its tenths digit
+        int minHits = 1, maxHits = 1;
+        if( propertyList[ HIT_X_TIMES_IN_ONE_TURN ] ) {
+            minHits = getFewest( metaData[ HIT_X_TIMES_IN_ONE_TURN ] );
+            maxHits = getMost( metaData[ HIT_X_TIMES_IN_ONE_TURN ] );
+        }
+
+        if( effects.isEmpty() && maxHits == 1 ) return EMPTY;
+
+        double chance = propertyList[ PERCENT_CHANCE ] ? metaData[ PERCENT_CHANCE ] : 1.0;
+        return new Program( effects.toArray( new Effect[ effects.size() ] ), chance, minHits, maxHits );
+    }
+
+    /**
+     * Gets the fewest of a value written as fewest.most, such as the hits of 10:HXTIOT or the turns of 64:FXT
+     *
+     * @param value The value, such as 2.5 for 2-5
+     * @return int The whole number of the value, at least 1
+     */
+    public static int getFewest( double value ) {
+        return Math.max( 1, (int)value );
+    }
+
+    /**
+     * Gets the most of a value written as fewest.most. A value with no tenths digit (such as 5.0) is always the fewest
+     *
+     * @param value The value, such as 2.5 for 2-5
+     * @return int The tenths digit of the value, or the fewest if it is smaller
+     */
+    public static int getMost( double value ) {
+        return Math.max( getFewest( value ), (int)Math.round( (value - (int)value) * 10 ) );
+    }
+
+    /**
+     * The compiled effects of one Move, split by Stage and sorted in the order that they run
+     */
+    public static class Program {
+
+        private final Effect[][] stages = new Effect[ Stage.values().length ][];
+        private final double chance;
+        private final int minHits, maxHits;
+
+        /**
+         * Create a Program
+         *
+         * @param effects The effects of the Move
+         * @param chance The chance that the effects with a chance happen (1:PC), or 1.0
+         * @param minHits The fewest times that the Move hits in one turn
+         * @param maxHits The most times that the Move hits in one turn
+         */
+        private Program( Effect[] effects, double chance, int minHits, int maxHits ) {
+            this.chance = chance;
+            this.minHits = minHits;
+            this.maxHits = maxHits;
+
+            Arrays.sort( effects, new Comparator<Effect>() {
+                public int compare( Effect a, Effect b ) {
+                    return a.handler.order - b.handler.order;
+                }
+            } );
+
+            for( Stage stage : Stage.values() ) {
+                ArrayList<Effect> stageEffects = new ArrayList<Effect>();
+                for( Effect effect : effects )
+                    if( effect.handler.stage == stage ) stageEffects.add( effect );
+                stages[ stage.ordinal() ] = stageEffects.toArray( new Effect[ stageEffects.size() ] );
+            }
+        }
+
+        /**
+         * Runs the effects of the Stage, in order. The chance of the Move is rolled once, the first time that an
+         * effect with a chance is reached. No effects run once the Move has missed, except during ON_MISS
+         *
+         * @param stage The Stage of the attack
+         * @param hit The attack
+         */
+        public void run( Stage stage, BattleEngine.Hit hit ) {
+            Effect[] effects = stages[ stage.ordinal() ];
+            int roll = chance >= 1.0 ? 1 : PokeWorld.ERROR;
+            for( int i = 0; i < effects.length; i++ ) {
+                if( hit.isMissed() && stage != Stage.ON_MISS ) return;
+
+                Effect effect = effects[i];
+                if( effect.handler.hasChance ) {
+                    if( roll == PokeWorld.ERROR ) roll = hit.getRandom().nextChance( chance ) ? 1 : 0;
+                    if( roll == 0 ) continue;
+                }
+
+                effect.handler.apply( hit, effect.affectsUser ? hit.getUser() : hit.getTarget(), effect.value );
+            }
+        }
+
+        /**
+         * Determines whether the Program has any effects in the Stage
+         *
+         * @param stage The Stage
+         * @return boolean True if there are effects in the Stage, false otherwise
+         */
+        public boolean hasEffects( Stage stage ) {
+            return stages[ stage.ordinal() ].length > 0;
+        }
+
+        /**
+         * Rolls the number of times that the Move hits in one turn. Each hit after the fewest hits is a chance, so the
+         * AI's search goes through every number of hits, weighed by how likely it is
+         *
+         * @param random The PokeRandom of the battle
+         * @return int The number of hits, from getMinHits() to getMaxHits()
+         * @see EXTRA_HIT_CHANCES
+         */
+        public int rollHits( PokeRandom random ) {
+            int hits = minHits;
+            while( hits < maxHits ) {
+                if( !random.nextChance( getExtraHitChance( hits ) ) ) break;
+                hits++;
+            }
+
+            return hits;
+        }
+
+        /**
+         * Gets the chance that the Move hits again after it has hit some number of times, as rollHits() rolls it
+         *
+         * @param hits The number of times that the Move has hit
+         * @return double 1.0 before the fewest hits, 0.0 at the most hits, and the chance of EXTRA_HIT_CHANCES (or
+         *                1/2 past its end) in between
+         * @see DamageCalculator
+         */
+        public double getExtraHitChance( int hits ) {
+            if( hits < minHits )  return 1.0;
+            if( hits >= maxHits ) return 0.0;
+
+            int extra = hits - minHits;
+            return extra < EXTRA_HIT_CHANCES.length ? EXTRA_HIT_CHANCES[ extra ] : 0.5;
+        }
+
+        /**
+         * Gets the fewest times that the Move hits in one turn
+         *
+         * @return int The fewest hits, which is 1 for most Moves
+         */
+        public int getMinHits() {
+            return minHits;
+        }
+
+        /**
+         * Gets the most times that the Move hits in one turn
+         *
+         * @return int The most hits, which is 1 for most Moves
+         */
+        public int getMaxHits() {
+            return maxHits;
+        }
+
+        /**
+         * Works out what the BEFORE_ATTACK and DAMAGE effects will do, without rolling any chances or changing either
+         * Pokemon. None of the effects of these Stages depend on the Move's percent chance
+         *
+         * @param forecast The Forecast to fill in
+         * @see DamageCalculator.getDistribution( PokemonActor attacker, Move move, PokemonActor defender )
+         */
+        public void forecast( Forecast forecast ) {
+            Stage[] forecastStages = { Stage.BEFORE_ATTACK, Stage.DAMAGE };
+            for( Stage stage : forecastStages ) {
+                for( Effect effect : stages[ stage.ordinal() ] ) {
+                    if( forecast.isMissed() ) return;
+                    effect.handler.forecast( forecast, effect.affectsUser ? forecast.getUser() : forecast.getTarget(),
+                                             effect.value );
+                }
+            }
+        }
+
+        /**
+         * Gets the Program as text, one Stage per line with the number of effects in it, and the chance of the Move
+         *
+         * @return String The Program as text
+         */
+        public String toString() {
+            String text = "";
+            for( Stage stage : Stage.values() )
+                text += stage + ": " + stages[ stage.ordinal() ].length + " effect(s)\n";
+            if( chance < 1.0 )
+                text += "Chance: " + (int)Math.round( chance * 100 ) + "%\n";
+            if( maxHits > 1 )
+                text += "Hits: " + (minHits == maxHits ? "" + minHits : minHits + "-" + maxHits) + "\n";
+
+            return text;
+        }
+    }
+
+    /**
+     * One kind of effect. A handler knows the Stage that it runs in, its order within the Stage, which Pokemon it
+     * affects when the Move has no 0:AT property, and whether it depends on the Move's percent chance
+     */
+    private static abstract class Handler {
+
+        private final Stage stage;
+        private final int order;
+        private final boolean affectsUser;
+        private final boolean hasChance;
+
+        /**
+         * Create a Handler
+         *
+         * @param stage The Stage that the handler runs in
+         * @param order The order of the handler within the Stage. Lower orders run first
+         * @param affectsUser True if the handler affects the user when the Move has no 0:AT property, false if it
+         *                    affects the opponent
+         * @param hasChance True if the handler only runs when the Move's percent chance (1:PC) is rolled
+         */
+        public Handler( Stage stage, int order, boolean affectsUser, boolean hasChance ) {
+            this.stage = stage;
+            this.order = order;
+            this.affectsUser = affectsUser;
+            this.hasChance = hasChance;
+        }
+
+        /**
+         * Determines whether the handler is used for a Move with these properties
+         *
+         * @param propertyList Whether each property number is active
+         * @return boolean True if the handler is used, false otherwise
+         */
+        public boolean accepts( boolean[] propertyList ) {
+            return true;
+        }
+
+        /**
+         * Gets the value that the handler is given for a Move
+         *
+         * @param propertyList Whether each property number is active
+         * @param metaData The value of each property number
+         * @param propertyNumber The property number of the handler
+         * @return double The value
+         */
+        public double getValue( boolean[] propertyList, double[] metaData, int propertyNumber ) {
+            return metaData[ propertyNumber ];
+        }
+
+        /**
+         * Applies the effect
+         *
+         * @param hit The attack
+         * @param pokemon The Pokemon that the effect affects
+         * @param value The value of the property for the Move
+         */
+        public abstract void apply( BattleEngine.Hit hit, PokemonActor pokemon, double value );
+
+        /**
+         * Works out what the effect will do to the damage of the attack, without changing either Pokemon. Handlers of
+         * the BEFORE_ATTACK and DAMAGE Stages that change the damage, the critical hit ratio, or whether the Move hits
+         * override this. The other handlers do not change the damage dealt to the opponent, and do nothing
+         *
+         * @param forecast The Forecast of the attack
+         * @param pokemon The Pokemon that the effect affects
+         * @param value The value of the property for the Move
+         */
+        public void forecast( Forecast forecast, PokemonActor pokemon, double value ) {
+        }
+    }
+
+    /**
+     * What the BEFORE_ATTACK and DAMAGE effects of a Move will do to one attack, worked out without rolling any chances:
+     * the critical hit ratio of the attack, whether the Move is sure to miss, and the fixed damage (with the chance of
+     * each amount), if the Move has one
+     */
+    public static class Forecast {
+
+        private final PokemonActor user, target;
+        private double criticalHitRatio;
+        private boolean isMissed = false;
+        private double[] fixedDamage = null;
+        private double[] fixedDamageChances = null;
+
+        /**
+         * Create a Forecast of an attack, which starts with the user's critical hit ratio
+         *
+         * @param user The attacking Pokemon
+         * @param target The defending Pokemon
+         */
+        public Forecast( PokemonActor user, PokemonActor target ) {
+            this.user = user;
+            this.target = target;
+            this.criticalHitRatio = user.getCurrentCriticalHitRatio();
+        }
+
+        public PokemonActor getUser()           { return user; }
+        public PokemonActor getTarget()         { return target; }
+        public double getCriticalHitRatio()     { return criticalHitRatio; }
+        public boolean isMissed()               { return isMissed; }
+        public boolean isFixedDamage()          { return fixedDamage != null; }
+        public double[] getFixedDamage()        { return fixedDamage; }
+        public double[] getFixedDamageChances() { return fixedDamageChances; }
+
+        /**
+         * Sets the critical hit ratio of the attack
+         *
+         * @param criticalHitRatio The critical hit ratio
+         */
+        public void setCriticalHitRatio( double criticalHitRatio ) {
+            this.criticalHitRatio = criticalHitRatio;
+        }
+
+        /**
+         * Makes the Move sure to miss
+         */
+        public void miss() {
+            isMissed = true;
+        }
+
+        /**
+         * Sets a fixed damage that ignores type effectiveness and critical hits
+         *
+         * @param damage The damage
+         */
+        public void setFixedDamage( double damage ) {
+            setFixedDamage( new double[]{ damage }, new double[]{ 1.0 } );
+        }
+
+        /**
+         * Sets a fixed damage that is one of several amounts
+         *
+         * @param amounts The amounts of damage
+         * @param chances The chance of each amount, which add up to 1
+         */
+        public void setFixedDamage( double[] amounts, double[] chances ) {
+            this.fixedDamage = amounts;
+            this.fixedDamageChances = chances;
+        }
+    }
+
+    /**
+     * A Handler with the value and the Pokemon that it has for one Move
+     */
+    private static class Effect {
+
+        private final Handler handler;
+        private final double value;
+        private final boolean affectsUser;
+
+        /**
+         * Create an Effect
+         *
+         * @param handler The Handler
+         * @param value The value of the property for the Move
+         * @param affectsUser True if the effect affects the user, false if it affects the opponent
+         */
+        public Effect( Handler handler, double value, boolean affectsUser ) {
+            this.handler = handler;
+            this.value = value;
+            this.affectsUser = affectsUser;
+        }
+    }
+}
@@ -50,7 +50,7 @@ import java.util.regex.Pattern;
  *                                             permanent methods from PokemonActor
  *                                             are stored
  * -
- * - WHISTLE_SOUND_LOC : The file path location for the whistle mp3
+ * - WHISTLE_SOUND_LOC : The file path location for the whistle mp3, which is preloaded by the AudioManager
  * - TEXT_BOX_BIG      : The file path location for a large text box image
  * -
  * - leftPics          : The file path location list for animations of OJ walking
@@ -178,7 +178,7 @@ public class OfficerJenny extends Actor {
     
     private final String POKEMON_ACTOR_MR_OLSON_METHODS_FILE_LOC = "./pokemonActorUnmodifiedMethods.txt";
     
-    private final String WHISTLE_SOUND_LOC = "./sounds/whistle.mp3";
+    private final String WHISTLE_SOUND_LOC = AudioManager.WHISTLE_SOUND_LOC;
     private final String TEXT_BOX_BIG = "./images/pokemon_text_box_320x200.png";
     
     private final String[] leftPics  = {"./images/oj_left_1.png" ,"./images/oj_left_2.png" ,"./images/oj_left_3.png" ,"./images/oj_left_4.png" };
@@ -215,11 +215,15 @@ public class OfficerJenny extends Actor {
      * 
      * @see inspectPokemon()
      * @see moveOJ();
+     * @see FrameTimer.begin( FrameTimer.Phase phase )
      */
     public void act() {
         boolean passInspection;
         if( this.initActConstuct ) {
+            //Inspection reads and compiles the Pokemon's source files
+            FrameTimer.begin( FrameTimer.Phase.FILE_IO );
             passInspection = inspectPokemon();
+            FrameTimer.end( FrameTimer.Phase.FILE_IO );
             this.initActConstuct = false;
         }
         
@@ -346,7 +350,7 @@ public class OfficerJenny extends Actor {
         
         world.removeObject( pokemon );
         
-        Greenfoot.playSound( WHISTLE_SOUND_LOC );
+        AudioManager.playEffect( WHISTLE_SOUND_LOC );
         
         world.addObject( new TextImage( TEXT_BOX_BIG,
                                         pokemon.getName() + " has been disqualified for the\n following reason:\n" +
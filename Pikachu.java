@@ -41,7 +41,8 @@ import java.io.File;
  * - switchedImage        : Used to determine whether Pikachu's image has been switch or not
  * - imageTimer           : Used to control image switch speed
  * 
- * - REG_PIKA_SOUND       : Pikachu's regular sound file. Pikachu makes a sound when the screen is clicked
+ * - REG_PIKA_SOUND       : Pikachu's regular sound file. Pikachu makes a sound when the screen is clicked.
+ *                          The sound is preloaded and played by the AudioManager
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * - none
@@ -107,7 +108,7 @@ public class Pikachu extends PokemonActor implements Pokemon {
     private boolean switchedImage = false;
     private int imageTimer = 0;
     
-    private final String REG_PIKA_SOUND = "./sounds/PikachuFixed.mp3";
+    private final String REG_PIKA_SOUND = AudioManager.PIKACHU_SOUND_LOC;
     
     /**
      * Used for determining which way the Pokemon is traveling
@@ -267,11 +268,8 @@ public class Pikachu extends PokemonActor implements Pokemon {
             yTargetLoc = mouse.getY();
             this.isTraveling = true;
             
-            /*The only way to get audio files to work is to make sure that the mp3 does not have tags ingrained
-              within the file*/
-            try {
-                Greenfoot.playSound( REG_PIKA_SOUND );
-            } catch( ArrayIndexOutOfBoundsException ignore ) { }
+            //The sound is already loaded by the AudioManager, so clicking does not read the mp3 again
+            AudioManager.playEffect( REG_PIKA_SOUND );
         }
         if( this.isTraveling ) {
             moveTowardsClickLocation();
@@ -1,7 +1,11 @@
 import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * The arena where Pokemon run around. When they run into each other, they engage in battle
@@ -24,9 +28,20 @@ import java.util.Random;
  * 
  * - startMusic                 : Determines whether to start playing music or not
  * - PALETTE, CELADON, CERULEAN, CINNABAR, LAVENDAR, OCEAN, VERMILLION : The different background music mp3 paths
- * - SONG_LIST                  : The list of background music mp3s
- * - bgMusic                    : The background music GreenfootSound
- * - random                     : A Random object for randomizing
+ * - SONG_LIST                  : The list of background music mp3s, played by the AudioManager
+ * 
+ * - input                      : The InputQueue that turns the keys pressed during each act into key Events
+ * - JENNY_KEY                  : The key that adds Officer Jenny to the arena ('space')
+ * - REPLAY_KEY                 : The key that plays the last logged battle again ('r')
+ * - OPPONENT_KEY               : The key that changes the computer opponent ('c')
+ * - opponent                   : The BattleAI that plays the second Pokemon of each battle, or null if the player
+ *                                plays both Pokemon. This is kept between arenas, like a setting
+ * - TOURNAMENT_KEY             : The key that runs a round-robin tournament of every Pokemon class ('t')
+ * - tournamentRunner           : The worker thread that runs tournaments, so that the arena keeps acting meanwhile
+ * - tournament                 : The tournament that is running (or has just finished), or null if there is none.
+ *                                This is kept between arenas, so a tournament goes on through a battle
+ * - TOURNAMENT_ROWS            : The number of places of the standings that are shown in the arena
+ * - RESULTS_X, RESULTS_Y       : The location of the standings text
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * PUBLIC METHODS
@@ -42,7 +57,8 @@ import java.util.Random;
  * 
  * PRIVATE METHODS
  * ------------------------------
- * - getRandomBGMusic()         : Gets a random background song from the SONG_LIST
+ * - watchKeys()                : Watches the keys of the arena with the InputQueue
+ * - handleKey( InputQueue.Event keyEvent ) : Handles the key press of this act
  * 
  * - addOfficerJenny()          : Adds Officer Jenny to the arena, who checks to make sure that active Pokemon are
  *                                following all rules, standards, and regulations for the Pokemon's code and
@@ -50,6 +66,12 @@ import java.util.Random;
  *                                will be disqualified
  * 
  * - beginBattle( Pair pokemonPair ) : Begins a battle between the two Pokemon and sets the world to a new PokeBattle world
+ * - replayLastBattle()         : Plays the last logged battle again in a new PokeBattle world (press 'r')
+ * - toggleComputerOpponent()   : Changes the computer opponent from off, to ExpectimaxAI, to MonteCarloAI (press 'c')
+ * - runTournament()            : Starts a round-robin tournament of every Pokemon class on a worker thread
+ *                                (press 't')
+ * - checkTournament()          : Shows the standings and the champion once the tournament is over
+ * - getTournamentRunner()      : Gets the worker thread that runs tournaments
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * - PokeArena()                       : Create a new PokeArena with two starting Pokemon in the arena
@@ -83,8 +105,19 @@ public class PokeArena extends PokeWorld {
     private final String OCEAN      = "./sounds/ocean_theme.mp3";
     private final String VERMILLION = "./sounds/vermillion_city_theme.mp3";
     private final String[] SONG_LIST = { PALETTE, CELADON, CERULEAN, CINNABAR, LAVENDAR, OCEAN, VERMILLION };
-    private GreenfootSound bgMusic;
-    private Random random = new Random();
+    
+    private InputQueue input = new InputQueue();
+    private final String JENNY_KEY  = "space";
+    private final String REPLAY_KEY = "r";
+    
+    private final String OPPONENT_KEY = "c";
+    private static BattleAI opponent = null;
+    
+    private final String TOURNAMENT_KEY = "t";
+    private static ExecutorService tournamentRunner;
+    private static Future<Tournament.Standings> tournament = null;
+    private final int TOURNAMENT_ROWS = 8;
+    private final int RESULTS_X = WIDTH - 190, RESULTS_Y = HEIGHT/2;
     
     /**
      * Creates a new PokeArena with two Pokemon added to the world. These Pokemon are
@@ -114,6 +147,7 @@ public class PokeArena extends PokeWorld {
         pokemonActive = new ArrayList<Actor>();
         pokemonActive.add( pika );
         pokemonActive.add( pika2 );
+        watchKeys();
         
         //start playing background music. Comment this line out if you do not want to play any music!
         startMusic = true;
@@ -134,6 +168,7 @@ public class PokeArena extends PokeWorld {
         
         pokemonActive = new ArrayList<Actor>();
         pokemonActive.add( pokemon );
+        watchKeys();
         
         //start playing background music. Comment this line out if you do not want to play any music!
         startMusic = true;
@@ -143,29 +178,39 @@ public class PokeArena extends PokeWorld {
      * Runs repeatedly, checking if Pokemon have intersected each other, which starts a battle, and if
      * any Pokemon have run off the edge of the screen, which removes that Pokemon
      * 
-     * @see getRandomBGMusic()
-     * @see GreenfootSound.play()
-     * @see GreenfootSound.isPlaying()
+     * @see FrameTimer.beginAct( World world )
+     * @see AudioManager.playPlaylist( String[] songList )
+     * @see AudioManager.update()
+     * @see InputQueue.update()
+     * @see InputQueue.pollPress()
+     * @see handleKey( InputQueue.Event keyEvent )
+     * @see checkTournament()
      * @see PokemonActor.isTouchingPokemon( Class cls )
      * @see PokemonActor.getOneIntersectingPokemon( Class cls )
      * @see beginBattle( Pair battlePair )
      * @see removeObject( Actor actor )
      */
     public void act() {
+        FrameTimer.beginAct( this );
+        
+        FrameTimer.begin( FrameTimer.Phase.AUDIO );
         if( startMusic ) {
-            bgMusic = new GreenfootSound( getRandomBGMusic() );
-            bgMusic.play();
+            AudioManager.playPlaylist( SONG_LIST );
             startMusic = false;
         }
         
-        if( bgMusic != null && !bgMusic.isPlaying() ) {
-            bgMusic = new GreenfootSound( getRandomBGMusic() );
-            bgMusic.play();
-        }
+        AudioManager.update();
+        FrameTimer.end( FrameTimer.Phase.AUDIO );
         
-        if( Greenfoot.isKeyDown("space") )
-            addOfficerJenny();
+        FrameTimer.begin( FrameTimer.Phase.INPUT );
+        input.update();
+        InputQueue.Event keyEvent = input.pollPress();
+        FrameTimer.end( FrameTimer.Phase.INPUT );
+        if( keyEvent != null && handleKey( keyEvent ) )
+            return;
+        checkTournament();
         
+        FrameTimer.begin( FrameTimer.Phase.BATTLE_LOGIC );
         for( Actor actor: pokemonActive ) {
             if( ((PokemonActor)actor).isTouchingPokemon( PokemonActor.class ) ) {
                 Actor battlePokemon = ((PokemonActor)actor).getOneIntersectingPokemon( PokemonActor.class );
@@ -180,15 +225,44 @@ public class PokeArena extends PokeWorld {
             int actorY = actor.getY();
             if( actorX > WIDTH || actorX < 0 || actorY > HEIGHT || actorY < 0 ) removeObject( actor );
         }
+        FrameTimer.end( FrameTimer.Phase.BATTLE_LOGIC );
+    }
+    
+    /**
+     * Watches the keys of the arena with the InputQueue. None of them repeat, so holding a key down only counts as one
+     * press
+     * 
+     * @see InputQueue.watch( String key )
+     */
+    private void watchKeys() {
+        input.watch( JENNY_KEY );
+        input.watch( REPLAY_KEY );
+        input.watch( OPPONENT_KEY );
+        input.watch( TOURNAMENT_KEY );
     }
     
     /**
-     * Play a random background song from the SONG_LIST
+     * Handles the key press of this act: adds Officer Jenny, plays the last battle again, changes the computer
+     * opponent, or runs a tournament
      * 
-     * @return String The String path for this bg mp3 song
+     * @param keyEvent The key press of this act
+     * @return boolean True if the world was changed, so the rest of the act should be skipped, false otherwise
+     * @see act()
+     * @see addOfficerJenny()
+     * @see replayLastBattle()
+     * @see toggleComputerOpponent()
+     * @see runTournament()
      */
-    private String getRandomBGMusic() {
-        return SONG_LIST[ random.nextInt( SONG_LIST.length ) ];
+    private boolean handleKey( InputQueue.Event keyEvent ) {
+        String key = keyEvent.getKey();
+        if(      key.equals( JENNY_KEY ) )      addOfficerJenny();
+        else if( key.equals( OPPONENT_KEY ) )   toggleComputerOpponent();
+        else if( key.equals( TOURNAMENT_KEY ) ) runTournament();
+        else if( key.equals( REPLAY_KEY ) ) {
+            replayLastBattle();
+            return true;
+        }
+        return false;
     }
     
     /**
@@ -212,13 +286,161 @@ public class PokeArena extends PokeWorld {
      * 
      * @param pokemonPair This is the Pair of Pokemon that are entering into the battle
      * @see act()
+     * @see AudioManager.stopMusic()
      * @see removeObjects( List<Actor> actorList )
      * @see Greenfoot.setWorld( World w )
+     * @see PokeBattle( Pair battlePair, World world, BattleAI opponent )
      */
     private void beginBattle( Pair pokemonPair ) {
-        bgMusic.stop();
+        AudioManager.stopMusic();
         removeObjects( pokemonActive );
-        Greenfoot.setWorld( new PokeBattle( pokemonPair, this ) );
+        Greenfoot.setWorld( new PokeBattle( pokemonPair, this, opponent ) );
+    }
+    
+    /**
+     * Changes the computer opponent, from off, to an ExpectimaxAI, to a MonteCarloAI, and back to off. While it is on,
+     * the second Pokemon of each battle is played by the computer instead of the keyboard
+     * 
+     * @see act()
+     * @see PokeBattle( Pair battlePair, World world, BattleAI opponent )
+     */
+    private void toggleComputerOpponent() {
+        String name;
+        if(      opponent == null )                    { opponent = new ExpectimaxAI(); name = "expectimax"; }
+        else if( opponent instanceof ExpectimaxAI )    { opponent = new MonteCarloAI(); name = "Monte Carlo"; }
+        else                                           { opponent = null;               name = "off"; }
+        showText( "Computer opponent: " + name + " (press '" + OPPONENT_KEY + "')", WIDTH/2, HEIGHT - 20 );
+    }
+    
+    /**
+     * Starts a round-robin tournament between every Pokemon class of the scenario, without battling on the screen.
+     * Finding the entrants, creating their Pokemon, and running the matchups take far longer than one act, so the
+     * tournament runs on a worker thread and the arena keeps acting; checkTournament() shows the results once it is
+     * over. Every battle of the tournament updates the ratings of the builds. Only one tournament runs at a time
+     * 
+     * @see act()
+     * @see checkTournament()
+     * @see Tournament.discoverEntrants()
+     * @see Tournament.run()
+     * @see RatingStore.recordTournament( Tournament.Standings standings )
+     */
+    private void runTournament() {
+        if( tournament != null ) {
+            showText( "A tournament is already running.", WIDTH/2, HEIGHT - 20 );
+            return;
+        }
+        
+        showText( null, RESULTS_X, RESULTS_Y );
+        showText( "Running a tournament of every Pokemon class...", WIDTH/2, HEIGHT - 20 );
+        final long seed = System.nanoTime();
+        tournament = getTournamentRunner().submit( new Callable<Tournament.Standings>() {
+            public Tournament.Standings call() {
+                Tournament roundRobin = new Tournament( Tournament.discoverEntrants(), Tournament.DEFAULT_BEST_OF,
+                                                        seed );
+                if( roundRobin.getEntrantCount() < 2 ) return null;
+                
+                Tournament.Standings standings = roundRobin.run();
+                RatingStore.getDefault().recordTournament( standings );
+                return standings;
+            }
+        } );
+    }
+    
+    /**
+     * Shows the results of the tournament once it is over: the best places of the standings, each with the rating of
+     * its build and its place on the rating leaderboard, beside the arena, and the champion at the bottom of the arena.
+     * Does nothing while the tournament is still running
+     * 
+     * @see act()
+     * @see runTournament()
+     * @see RatingStore.getRating( String key )
+     * @see RatingStore.getRank( String key )
+     */
+    private void checkTournament() {
+        if( tournament == null || !tournament.isDone() ) return;
+        
+        Tournament.Standings standings;
+        try {
+            standings = tournament.get();
+        } catch( Exception e ) {
+            e.printStackTrace();
+            showText( "The tournament could not be run.", WIDTH/2, HEIGHT - 20 );
+            return;
+        } finally {
+            tournament = null;
+        }
+        if( standings == null ) {
+            showText( "A tournament needs at least two Pokemon classes.", WIDTH/2, HEIGHT - 20 );
+            return;
+        }
+        
+        RatingStore ratings = RatingStore.getDefault();
+        StringBuilder results = new StringBuilder( "Tournament standings" );
+        Tournament.Standing[] ranking = standings.getRanking();
+        for( int i = 0; i < ranking.length && i < TOURNAMENT_ROWS; i++ ) {
+            String key = standings.getRatingKey( ranking[i].getIndex() );
+            results.append( "\n" ).append( ranking[i].getRank() ).append( ". " ).append( ranking[i].getName() )
+                   .append( String.format( " %.1f pts, rated %.0f (#%d)", ranking[i].getPoints(),
+                                           ratings.getRating( key ).getRating(), ratings.getRank( key ) ) );
+        }
+        showText( results.toString(), RESULTS_X, RESULTS_Y );
+        
+        Tournament.Standing champion = standings.getChampion();
+        showText( "Tournament champion: " + champion.getName() + " (" + champion.getMatchupsWon() + " of " +
+                  (standings.getEntrantCount() - 1) + " matchups won)", WIDTH/2, HEIGHT - 20 );
+    }
+    
+    /**
+     * Gets the worker thread that runs tournaments. The thread is a daemon thread, so it does not keep the program
+     * running once Greenfoot closes
+     * 
+     * @return ExecutorService The worker thread that runs tournaments
+     */
+    private static synchronized ExecutorService getTournamentRunner() {
+        if( tournamentRunner == null ) {
+            tournamentRunner = Executors.newSingleThreadExecutor( new ThreadFactory() {
+                public Thread newThread( Runnable task ) {
+                    Thread thread = new Thread( task, "PokeArena-tournament" );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+        
+        return tournamentRunner;
+    }
+    
+    /**
+     * Plays the last battle of the battle log between two single Pokemon again, in a new PokeBattle world. Team
+     * battles are skipped, since PokeBattle only shows one Pokemon of each side. The PokeBattle sets the world
+     * back to this arena once the replay is over
+     * 
+     * @see act()
+     * @see BattleLog.readAll( String fileLoc )
+     * @see BattleLog.Replay.read( byte[] log )
+     * @see BattleLog.Replay.isSingleBattle()
+     * @see PokeBattle( BattleLog.Replay replay, World world )
+     */
+    private void replayLastBattle() {
+        List<byte[]> logs = BattleLog.readAll( BattleLog.LOG_FILE_LOC );
+        BattleLog.Replay replay = null;
+        for( int i = logs.size() - 1; i >= 0 && replay == null; i-- ) {
+            try {
+                replay = BattleLog.Replay.read( logs.get(i) );
+            } catch( BattleLog.InvalidLogException e ) {
+                e.printStackTrace();
+                return;
+            }
+            if( !replay.isSingleBattle() ) replay = null;
+        }
+        if( replay == null ) {
+            showText( "No battles have been logged yet.", WIDTH/2, HEIGHT - 20 );
+            return;
+        }
+        
+        AudioManager.stopMusic();
+        startMusic = true;
+        Greenfoot.setWorld( new PokeBattle( replay, this ) );
     }
     
     /**
@@ -1,6 +1,7 @@
 import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Scanner;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -19,8 +20,10 @@ import java.io.IOException;
  * 
  * PRIVATE FIELDS
  * ------------------------------
- * - DELAY_CYCLES               : Used to delay the act cycle in order to not skip screens when the user
- *                                presses the enter button
+ * - input                      : The InputQueue that turns the keys pressed during each act into key Events
+ * - keyEvent                   : The key press handled during the current act, or null if no key was pressed
+ * - ARROW_REPEAT_DELAY, ARROW_REPEAT_INTERVAL : The number of acts that an arrow key is held down before it repeats,
+ *                                and the number of acts between repeats
  *                                
  * - BG_IMAGE_LOC               : The location of the background image for this world
  * 
@@ -68,6 +71,7 @@ import java.io.IOException;
  * - battleImages               : The pair of BattleImages that are used for the PokeBattle
  * 
  * - activeActors               : The list of the current Actors within this world... currently restricted to PokemonActors
+ * - typeBadgeGrid              : The grid of type badges shown on the Pokedex effectivity screen
  * 
  * - TURN_ORDER                 : @DEPRECATED - The list of BattleTurn turns in order for the main sequence
  * - currentTurn                : The current BattleTurn of the PokeBattle
@@ -78,22 +82,45 @@ import java.io.IOException;
  * - pageNumber                 : The current page number of the current menu
  * 
  * - MEDIUM_FONT_SIZE           : The size for TextImages for text within the text box
+ * - SMALL_FONT_SIZE            : The size for the rows of text on the Pokedex damage screen
  * 
  * - textList                   : The list of TextImages that are on the screen
  * 
- * - currentEffectiveness       : The current effectiveness multiplier for the most recently used Move
- * - moveMissed                 : Keeps track of whether the most recent Move missed or hit
+ * - engine                     : The BattleEngine that runs the rules of the battle. This world only shows its Events
+ * - opponent                   : The BattleAI that plays the second Pokemon, or null if the player plays both Pokemon
+ * - ratingKeys                 : The RatingStore keys of the two Pokemon's builds from the start of the battle, since
+ *                                a Pokemon that levels up at the end of the battle becomes a new build
+ * - turnEvents                 : The Events of the most recent attack, which are shown over several screens
+ * 
+ * - UNDO_KEY                   : The key that takes back the last turn from the main menu ('u')
+ * - UNDO_LIMIT                 : The most turns that can be taken back
+ * - undoStack                  : The Snapshots of the battle before each Action, newest first. Each Snapshot shares
+ *                                everything that did not change with the one before it (see BattleEngine.saveState())
+ * - isUndone                   : Whether a turn has been taken back. The BattleLog does not save the PokeRandom, so a
+ *                                battle with an undone turn cannot be replayed, and is not logged or rated
+ * 
+ * - TURBO_KEY                  : The key that changes the Turbo setting ('f')
+ * - turbo                      : The Turbo setting, which is kept from one battle to the next
+ * - AUTO_ENTER                 : The enter press that Turbo uses to go through the text of the battle
+ * - MAX_INSTANT_STEPS          : The most screens that INSTANT goes through in one act
+ * - NORMAL_SPEED, TURBO_SPEED  : The Greenfoot speed of a battle without and with Turbo
+ * - speedBeforeTurbo           : The Greenfoot speed that the player set before Turbo started, which is put back when
+ *                                Turbo ends (ERROR while Turbo is not running)
+ * - TURBO_TEXT_X, TURBO_TEXT_Y : The location of the text that shows the Turbo setting
+ * - isHUDDeferred, isHUDPending : Whether the health bars, exp bars, and names are being drawn only once at the end of
+ *                                the act, and whether they need to be drawn then
  * 
  * - startMusic                 : Determines whether to start playing music or not
  * - POKEMON_GYM, BATTLE_TRAINER, BATTLE_LEADER : The different background music mp3 paths
- * - SONG_LIST                  : The list of background music mp3s
- * - bgMusic                    : The background music GreenfootSound
- * - random                     : A Random object for randomizing
+ * - SONG_LIST                  : The list of background music mp3s, played by the AudioManager
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * - BattleTurn     : INTRO, MENU, SELECT_MOVE, USE_MOVE, MOVE_EFFECT, MOVE_RESULT, POKEDEX_MENU, POKEDEX_EFFECTIVITY,
                       POKEDEX_EFFECTIVITY_SELECT, POKEDEX_EXPERIENCE, POKEDEX_MOVE, POKEDEX_STATUS, POKEDEX_POKEMON,
-                      AWARD_EXP, OUTRO, ITEM, USE_ITEM, CHOOSE_MOVE_FOR_ITEM, RUN
+                      POKEDEX_DAMAGE, AWARD_EXP, OUTRO, ITEM, USE_ITEM, CHOOSE_MOVE_FOR_ITEM, RUN
+ * 
+ * - Turbo          : NORMAL, FAST (goes through the text of the battle one screen per act, at the fastest speed),
+ *                    INSTANT (plays the battle to the next choice of the player, or to the end, in one act)
  * 
  * - PokemonTurn    : PLAYER_1, PLAYER_2
  * 
@@ -102,6 +129,10 @@ import java.io.IOException;
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ Constructors @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * PokeBattle( Pair battlePair, World world ) : Create a PokeBattle world, given the pair of PokemonActors and a reference
  *                                              to the previous world object
+ * PokeBattle( Pair battlePair, World world, BattleAI opponent ) : Create a PokeBattle world where the computer
+ *                                                                plays the second Pokemon
+ * PokeBattle( BattleLog.Replay replay, World world ) : Create a PokeBattle world that plays a logged battle again, and
+ *                                                      goes back to the given world once the battle is over
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ Methods @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * PUBLIC METHODS
@@ -114,32 +145,38 @@ import java.io.IOException;
  *                    are navigated using a system of arrow keys and the 'enter' button. The conclusion of the act()
  *                    methods results in the winning Pokemon being returned to the original world (PokeArena) with its
  *                    new current field state, and setting the world back to the PokeArena.
+ * - setTurbo( Turbo turbo ), getTurbo() : Sets or gets the Turbo setting of every battle
  * 
  * PRIVATE METHODS
  * ------------------------------
+ * - handleKey()                : Handles the key press of this act for the current BattleTurn
+ * - isAutoTurn()               : Determines whether Turbo goes on from the current screen without the player
+ * - resolveInstantly()         : Goes through every screen that does not need the player, drawing only the last one
+ * - changeTurbo()              : Changes to the next Turbo setting
+ * - showTurbo()                : Shows the Turbo setting and sets the speed of the battle
+ * - endTurbo()                 : Puts back the speed that the player set before Turbo started
+ * - getSpeed()                 : Gets the current Greenfoot speed
+ * 
  * - addPokemonImages()         : Adds the BATTLE_IMAGEs to the PokeBattle
  * 
  * - changeSelectionImage()     : Changes the text and selection image for menu options
  * 
- * - hasPP()                    : Determines whether the current Move has PP or not
- * - printNoPP()                : Prints that there is no PP left for this Move. The Move 'STRUGGLE' will be used instead
- * 
- * - attack()                   : Launches the attack sequence. The attack sequence includes the following:
- *                                1) Display text of Pokemon using attack: "<Pokemon.NAME> used <Move.NAME>!"
- *                                2) Subtract move PP
- *                                3) Get move power and accuracy. Get Attacking Pokemon current (for all) attack
- *                                   or special attack, accuracy, and level. Get Defending Pokemon current (for all)
- *                                   defense or special defense, and evasion. Get effectiveness based on Pokemon types
- *                                4) Calculate damage / determine if hit
- *                                5) Calculate Status effects and other side-effects - @@TO DO
- *                                6) Set damage inflicted by adjusting defender Pokemon HP
- *                                7) Adjust on-screen images, such health bars and health totals - @@TO DO
- * 
- * - determineIfHit( double chanceToHit )   : Determines whether the Move will hit based on the calculated chanceToHit input
+ * - attack()                   : Launches the attack sequence through the BattleEngine, and displays the text of the
+ *                                Pokemon using the attack: "<Pokemon.NAME> used <Move.NAME>!" If the Move has no PP left,
+ *                                the Move 'STRUGGLE' is used instead
+ * - applyAction( BattleEngine.Action action )     : Applies the Action to the BattleEngine and returns its Events
+ * - getTurnEvent( BattleEngine.Event.Type type )  : Gets the Event of the given type from the Events of the last attack
+ * - changeTurn( BattleEngine.Event event )        : Makes the Pokemon whose turn it is the current Pokemon on the screen
+ * - playReplayAction()                            : Plays the next Action of a replayed battle
+ * - playComputerAction()                          : Plays the Action that the computer opponent chooses
+ * - playAction( BattleEngine.Action action )      : Plays an Action the same way that the player would choose it
+ * - isComputerTurn()                              : Determines whether it is the computer opponent's turn
+ * - canUndo()                                     : Determines whether there is a turn that can be taken back
+ * - undo()                                        : Takes back the last turn of the player, going back to the main menu
  * 
  * - getCurrentPokemon()                    : Gets the current active Pokemon (the one that is attacking)
  * - getOtherPokemon()                      : Gets the non-active Pokemon (the one that is defending)
- * - getCurrentMove( PokemonActor pokemon ) : Gets the current Move that is being used by the active (attacking) Pokemon
+ * - getSelectedMoveIndex()                 : Gets the index of the Move chosen with the selection arrow
  * 
  * - displayMoveEffect()                    : Displays any unsual effects following an effect, including Status effects and
  *                                            the irregular effectiveness of the attack
@@ -151,12 +188,14 @@ import java.io.IOException;
  *                                            if necessary
  * 
  * - changeWorlds()                         : Changes the world back to the PokeArena, adding the winner of the Battle to the
- *                                            arena
+ *                                            arena, and saves the BattleLog of the battle
  * 
  * - setSelection()                         : Sets the menu based on the current BattleTurn
  * - selectMenu()                           : Selects the correct menu based on the current selection
  *
  * - clearText()                            : Clears all TextImages off the screen
+ * - readInput()                            : Takes the key press of this act off the InputQueue
+ * - isPressed( String key )                : Determines whether the key was pressed (or repeated) during this act
  * 
  * - setMenu()                              : Sets the main menu options
  * - setMenu( String imageLoc )             : Sets the main menu images and text
@@ -197,10 +236,14 @@ import java.io.IOException;
  * - pokedexStatus()              : Sets the search result using the text input. If the search is valid, displays the
  *                                  corresponding Status and its information, as well as displaying the current Pokemon's
  *                                  current Status. If not valid, display a 'not found' template
+ * - pokedexDamage()              : Sets the Pokedex image to show the damage range and KO chance of each of the current
+ *                                  Pokemon's Moves against the defending Pokemon (see DamageCalculator)
  * 
  * - runSelection()               : Sets the menu to confirm the use of an item
  * - chooseMove()                 : Allow the the user to choose the Move that this item will affect
  * - useItemMenu()                : Uses the item and displays a message of the relevant changes
+ * - getStatChangeText( BattleEngine.Event event ) : Gets the text that tells how an item or Move changed a property
+ * - getConditionText( BattleEngine.Event event ) : Gets the text that tells what a status or condition did
  * 
  * - getAllMoveNames( PokemonActor pokemon ): Gets a list of all the Move names of the current Pokemon
  * - getAllMovePP( PokemonActor pokemon )   : Gets a list of all the Move PP of the current Pokemon
@@ -237,12 +280,17 @@ import java.io.IOException;
  * @see PokeWorld.java
  * @see Move.java
  * @see Pokedex.java
+ * @see BattleLog.java
+ * @see BattleAI.java
  */
 public class PokeBattle extends PokeWorld {
 
-    /* Used to delay the act cycles. This is needed since the 'isKeyDown'
-     * method can pick up a second keystroke if it is pressed for too long */
-    private final int DELAY_CYCLES         = 10;
+    /* Keys are handled as Events, so a key that is held down is only handled once (or repeats, for the arrow keys)
+     * without having to delay the act cycles */
+    private InputQueue input = new InputQueue();
+    private InputQueue.Event keyEvent;
+    private final int ARROW_REPEAT_DELAY    = 15;
+    private final int ARROW_REPEAT_INTERVAL = 6;
     
     private final String BG_IMAGE_LOC      = "./images/battlescene.png";
     
@@ -308,11 +356,16 @@ public class PokeBattle extends PokeWorld {
     private boolean isRedHighlight = true;
     private boolean isYes          = true;
     private String lastTypeImageLoc;
+    private TypeBadgeGrid typeBadgeGrid;
     
     protected enum BattleTurn {
         INTRO, MENU, SELECT_MOVE, USE_MOVE, MOVE_EFFECT, MOVE_RESULT, POKEDEX_MENU, POKEDEX_EFFECTIVITY,
         POKEDEX_EFFECTIVITY_SELECT, POKEDEX_EXPERIENCE, POKEDEX_MOVE, POKEDEX_STATUS, POKEDEX_POKEMON,
-        AWARD_EXP, OUTRO, ITEM, USE_ITEM, CHOOSE_MOVE_FOR_ITEM, RUN;
+        POKEDEX_DAMAGE, AWARD_EXP, OUTRO, ITEM, USE_ITEM, CHOOSE_MOVE_FOR_ITEM, RUN;
+    }
+    
+    public enum Turbo {
+        NORMAL, FAST, INSTANT;
     }
     
     protected enum PokemonTurn {
@@ -332,28 +385,41 @@ public class PokeBattle extends PokeWorld {
     
     private final int MEDIUM_FONT_SIZE  = 18;
     private final int LARGE_FONT_SIZE   = 28;
+    private final int SMALL_FONT_SIZE   = 13;
     private int currentFontSize         = MEDIUM_FONT_SIZE;
-    private double pixelToFontSizeRatio = 2.0;
     
     private ArrayList<TextImage> textList = new ArrayList<TextImage>();
     
-    private double currentEffectiveness = 1.0;
-    private boolean moveMissed          = false;
-    private boolean hasCriticalHit      = false;
-    
-    //Variables to keep track of attacking special effects
-    private double lastDamage           = (double)PokeWorld.ERROR;
-    private Move lastAttack             = null;
-    private boolean isPhasedOut1        = false; //These should be Pokemon fields. I'm leaving this as is right now so that students don't have to change everything once again @@FIX
-    private boolean isPhasedOut2        = false;
+    private BattleEngine engine;
+    private BattleLog battleLog;
+    private BattleLog.Replay replay;
+    private BattleAI opponent;
+    private String[] ratingKeys;
+    private List<BattleEngine.Event> turnEvents = new ArrayList<BattleEngine.Event>();
+    
+    private final String UNDO_KEY = "u";
+    private final int UNDO_LIMIT  = 64;
+    private ArrayDeque<BattleEngine.Snapshot> undoStack = new ArrayDeque<BattleEngine.Snapshot>();
+    private boolean isUndone      = false;
+    
+    /* Turbo skips the pacing of the battle text for spectators. The enter press is made up, so that the battle
+     * goes through exactly the same screens as it does when enter is pressed */
+    private final String TURBO_KEY = "f";
+    private static Turbo turbo     = Turbo.NORMAL;
+    private static final InputQueue.Event AUTO_ENTER = new InputQueue.Event( "enter", InputQueue.Event.Type.PRESSED );
+    private final int MAX_INSTANT_STEPS = 10000;
+    private final int NORMAL_SPEED      = 50;
+    private final int TURBO_SPEED       = 100;
+    private int speedBeforeTurbo        = PokeWorld.ERROR;
+    private final int TURBO_TEXT_X      = 740;
+    private final int TURBO_TEXT_Y      = 15;
+    private boolean isHUDDeferred = false, isHUDPending = false;
     
     private boolean startMusic          = false;
     private final String POKEMON_GYM    = "./sounds/pokemon_gym.mp3";
     private final String BATTLE_TRAINER = "./sounds/battle_verses_trainer.mp3";
     private final String BATTLE_LEADER  = "./sounds/battle_verses_gym_leader.mp3";
     private final String[] SONG_LIST    = { POKEMON_GYM, BATTLE_TRAINER, BATTLE_LEADER };
-    private GreenfootSound bgMusic;
-    private Random random = new Random();
     
     /**
      * Constructor for objects of class PokeBattle.
@@ -361,31 +427,97 @@ public class PokeBattle extends PokeWorld {
      * @param battlePair The Pair of PokemonActors that are battling
      * @param world The reference to the PokemonArena world
      * @see Pair.getFirst(), Pair.getSecond()
+     * @see PokeBattle( PokemonActor first, PokemonActor second, World world, BattleLog.Replay replay )
+     */
+    public PokeBattle( Pair battlePair, World world ) {
+        this( battlePair, world, null );
+    }
+    
+    /**
+     * Constructor for a PokeBattle world where the computer plays the second Pokemon. On the second Pokemon's turn,
+     * each press of enter lets the computer choose and play its Action
+     * 
+     * @param battlePair The Pair of PokemonActors that are battling
+     * @param world The reference to the PokemonArena world
+     * @param opponent The BattleAI that plays the second Pokemon (an ExpectimaxAI or a MonteCarloAI), or null if the
+     *                 player plays both Pokemon
+     * @see PokeBattle( PokemonActor first, PokemonActor second, World world, BattleLog.Replay replay )
+     * @see playComputerAction()
+     */
+    public PokeBattle( Pair battlePair, World world, BattleAI opponent ) {
+        this( (PokemonActor)battlePair.getFirst(), (PokemonActor)battlePair.getSecond(), world, null );
+        this.opponent = opponent;
+        if( opponent != null ) opponent.newBattle();
+    }
+    
+    /**
+     * Constructor for a PokeBattle world that plays a logged battle again. Each press of enter plays the next Action
+     * of the log, and the world is set back to the given world once the battle is over
+     * 
+     * @param replay The battle read from a BattleLog
+     * @param world The world to go back to once the battle is over
+     * @see BattleLog.Replay.read( byte[] log )
+     * @see PokeBattle( PokemonActor first, PokemonActor second, World world, BattleLog.Replay replay )
+     */
+    public PokeBattle( BattleLog.Replay replay, World world ) {
+        this( replay.getFirst(), replay.getSecond(), world, replay );
+    }
+    
+    /**
+     * Sets up the battle. A new battle gets a new seed and a BattleLog, which is saved once the battle is over. A
+     * replayed battle uses the seed of its log and is not logged again
+     * 
+     * @param first The first Pokemon, which attacks first
+     * @param second The second Pokemon
+     * @param world The reference to the previous world
+     * @param replay The battle to play again, or null for a new battle
      * @see addPokemonImages()
      * @see setText( String text )
      * @see addToPokedex( PokemonActor pokemon, PokemonActor[] pokemonList )
      * @see PokeWorld.capFirstLetter( String token )
+     * @see BattleLog( long seed, PokemonActor first, PokemonActor second )
      */
-    public PokeBattle( Pair battlePair, World world ) {
+    private PokeBattle( PokemonActor first, PokemonActor second, World world, BattleLog.Replay replay ) {
         // Create a new world with 817x545 cells with a cell size of 1x1 pixels.
         super( 817, 545, 1 );
         
         this.world = world;
+        input.watch( "enter" );
+        input.watch( UNDO_KEY );
+        input.watch( TURBO_KEY );
+        for( String arrow : new String[]{ "left", "right", "up", "down" } )
+            input.watch( arrow, ARROW_REPEAT_DELAY, ARROW_REPEAT_INTERVAL );
         GreenfootImage bgImage = new GreenfootImage( BG_IMAGE_LOC );
         this.WIDTH = bgImage.getWidth();
         this.HEIGHT = bgImage.getHeight();
         
-        this.first = (PokemonActor)battlePair.getFirst();
-        this.second = (PokemonActor)battlePair.getSecond();
+        this.first = first;
+        this.second = second;
+        this.replay = replay;
+        if( replay == null ) {
+            long seed = PokeRandom.create().nextLong();
+            this.battleLog = new BattleLog( seed, first, second );
+            this.engine = new BattleEngine( first, second, new PokeRandom( seed ) );
+            engine.setLog( battleLog );
+            this.ratingKeys = new String[]{ RatingStore.getKey( first ), RatingStore.getKey( second ) };
+        } else {
+            this.engine = replay.createEngine();
+        }
+        //The faster Pokemon attacks first
+        currentPlayer = engine.getCurrentSide() == BattleEngine.Side.PLAYER_1 ? PokemonTurn.PLAYER_1 :
+                                                                                PokemonTurn.PLAYER_2;
         this.battleImages = addPokemonImages();
+        showTurbo();
         
         String text = PokeWorld.capFirstLetter( first.getName() ) + " wants to fight " +
                       PokeWorld.capFirstLetter( second.getName() ) + "!\n\n<Press ENTER to continue>";
         setText( text );
         
-        //Add Pokemon to Pokedex, for both Pokemon
-        addToPokedex( first, new PokemonActor[]{ second } );
-        addToPokedex( second, new PokemonActor[]{ first } );
+        //Add Pokemon to Pokedex, for both Pokemon. Replayed battles have already been added
+        if( replay == null ) {
+            addToPokedex( first, new PokemonActor[]{ second } );
+            addToPokedex( second, new PokemonActor[]{ first } );
+        }
         
         //start playing background music. Comment this line out if you do not want to play any music!
         startMusic = true;
@@ -400,8 +532,8 @@ public class PokeBattle extends PokeWorld {
         String firstImageLoc = first.getBattleImageName();
         String secondImageLoc = second.getBattleImageName();
         
-        BattleImage firstImage = new BattleImage( firstImageLoc );
-        BattleImage secondImage = new BattleImage( secondImageLoc );
+        BattleImage firstImage = ActorPool.getBattleImage( firstImageLoc );
+        BattleImage secondImage = ActorPool.getBattleImage( secondImageLoc );
         
         addObject( firstImage, (int)(WIDTH/3.4), (int)(HEIGHT*0.85) - firstImage.getHeight() );
         addObject( secondImage, (int)(WIDTH*0.75), (int)(HEIGHT*0.03) + secondImage.getHeight() );
@@ -423,6 +555,13 @@ public class PokeBattle extends PokeWorld {
      * @see showResults()
      * @see awardExp()
      * @see changeWorlds()
+     * @see playReplayAction()
+     * @see playComputerAction()
+     * @see undo()
+     * @see handleKey()
+     * @see isAutoTurn()
+     * @see resolveInstantly()
+     * @see changeTurbo()
      * @see setPokedex()
      * @see pokedexSearch( String text )
      * @see pokedexMove( String text )
@@ -432,146 +571,297 @@ public class PokeBattle extends PokeWorld {
      * @see runSelection()
      * 
      * @see clearText()
-     * @see Greenfoot.delay( int numCycles )
+     * @see readInput()
+     * @see isPressed( String key )
      * @see TextField.getText()
      * @see removeObject( Actor actor )
      * 
-     * @see getRandomBGMusic()
-     * @see GreenfootSound.play()
-     * @see GreenfootSound.isPlaying()
+     * @see AudioManager.playPlaylist( String[] songList )
+     * @see AudioManager.update()
+     * @see FrameTimer.beginAct( World world )
      */
     public void act() {
-        if(        currentTurn == BattleTurn.INTRO && Greenfoot.isKeyDown("enter") ) {
+        FrameTimer.beginAct( this );
+        readInput();
+        FrameTimer.begin( FrameTimer.Phase.BATTLE_LOGIC );
+        if( isPressed( TURBO_KEY ) && activeTextField == null ) {
+            changeTurbo();
+            keyEvent = null;
+        }
+        
+        if( turbo == Turbo.INSTANT ) {
+            resolveInstantly();
+        } else {
+            if( turbo == Turbo.FAST && keyEvent == null && isAutoTurn() ) keyEvent = AUTO_ENTER;
+            handleKey();
+        }
+        FrameTimer.end( FrameTimer.Phase.BATTLE_LOGIC );
+        
+        FrameTimer.begin( FrameTimer.Phase.AUDIO );
+        //Begin playing music. Turbo does not start or change songs
+        if( startMusic && turbo == Turbo.NORMAL ) {
+            AudioManager.playPlaylist( SONG_LIST );
+            startMusic = false;
+        }
+        
+        //Play the next (already loaded) song once the current song finishes playing
+        if( turbo == Turbo.NORMAL ) AudioManager.update();
+        FrameTimer.end( FrameTimer.Phase.AUDIO );
+    }
+    
+    /**
+     * Handles the key press of this act for the current BattleTurn: moving the selection arrow, choosing a menu option,
+     * or going on to the next screen of the battle
+     * 
+     * @see act()
+     * @see isPressed( String key )
+     */
+    private void handleKey() {
+        if(        currentTurn == BattleTurn.INTRO && isPressed("enter") && replay != null ) {
+            clearText();
+            playReplayAction();
+            addPokeInfo();
+        } else if( currentTurn == BattleTurn.INTRO && isPressed("enter") && isComputerTurn() ) {
+            clearText();
+            playComputerAction();
+            addPokeInfo();
+        } else if( currentTurn == BattleTurn.INTRO && isPressed("enter") ) {
             clearText();
             setMenu();
             isHighlighted = false; //Reset for the pokedexEffectivity() function
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES ); //delay cycles so that the next listen for 'enter' does not pick up this one
         } else if( ( currentTurn == BattleTurn.MENU || currentTurn == BattleTurn.SELECT_MOVE ||
                      currentTurn == BattleTurn.POKEDEX_MENU || currentTurn == BattleTurn.CHOOSE_MOVE_FOR_ITEM ) &&
-                   ( Greenfoot.isKeyDown("left") || Greenfoot.isKeyDown("right") ||
-                     Greenfoot.isKeyDown("up") || Greenfoot.isKeyDown("down") ) ) {
+                   ( isPressed("left") || isPressed("right") ||
+                     isPressed("up") || isPressed("down") ) ) {
             changeSelection();
             addPokeInfo();
-        } else if( currentTurn == BattleTurn.MENU && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.MENU && isPressed( UNDO_KEY ) && canUndo() ) {
+            clearText();
+            undo();
+            addPokeInfo();
+        } else if( currentTurn == BattleTurn.MENU && isPressed("enter") ) {
             clearText();
             selectMenu();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.SELECT_MOVE && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.SELECT_MOVE && isPressed("enter") ) {
             clearText();
-            if( !hasPP() )
-                printNoPP(); //Sets current Move to STRUGGLE
             attack();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.MOVE_EFFECT && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.MOVE_EFFECT && isPressed("enter") ) {
             clearText();
             displayMoveEffect();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.MOVE_RESULT && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.MOVE_RESULT && isPressed("enter") ) {
             clearText();
             showResults();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.AWARD_EXP && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.AWARD_EXP && isPressed("enter") ) {
             clearText();
             awardExp();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.OUTRO && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.OUTRO && isPressed("enter") ) {
             clearText();
             changeWorlds();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_MENU && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_MENU && isPressed("enter") ) {
             clearText();
             setPokedex();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_POKEMON && Greenfoot.isKeyDown("enter") && activeTextField != null ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_POKEMON && isPressed("enter") && activeTextField != null ) {
             clearText();
             lastSearch = activeTextField.getText();
             pokedexSearch( lastSearch );
             removeObject( activeTextField );
             activeTextField = null;
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_POKEMON && Greenfoot.isKeyDown("enter") && !remainingText.equals("") ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_POKEMON && isPressed("enter") && !remainingText.equals("") ) {
             clearText();
             pokedexSearch( lastSearch );
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_MOVE && Greenfoot.isKeyDown("enter") && activeTextField != null ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_MOVE && isPressed("enter") && activeTextField != null ) {
             clearText();
             lastSearch = activeTextField.getText();
             pokedexMove( lastSearch );
             removeObject( activeTextField );
             activeTextField = null;
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_MOVE && Greenfoot.isKeyDown("enter") && !remainingText.equals("") ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_MOVE && isPressed("enter") && !remainingText.equals("") ) {
             clearText();
             pokedexMove( lastSearch );
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_EFFECTIVITY_SELECT && Greenfoot.mouseClicked( null ) && !Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_EFFECTIVITY_SELECT && Greenfoot.mouseClicked( null ) && !input.isDown("enter") ) {
             addHighlights();
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_STATUS && Greenfoot.isKeyDown("enter") && activeTextField != null ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_STATUS && isPressed("enter") && activeTextField != null ) {
             clearText();
             lastSearch = activeTextField.getText();
             pokedexStatus( lastSearch );
             removeObject( activeTextField );
             activeTextField = null;
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.POKEDEX_STATUS && Greenfoot.isKeyDown("enter") && !remainingText.equals("") ) {
+        } else if( currentTurn == BattleTurn.POKEDEX_STATUS && isPressed("enter") && !remainingText.equals("") ) {
             clearText();
             pokedexStatus( lastSearch );
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.ITEM && ( (Greenfoot.isKeyDown("up") || Greenfoot.isKeyDown("down")) ||
-                                                       (!remainingText.equals("") && Greenfoot.isKeyDown("enter")) ) ) {
+        } else if( currentTurn == BattleTurn.ITEM && ( (isPressed("up") || isPressed("down")) ||
+                                                       (!remainingText.equals("") && isPressed("enter")) ) ) {
             clearText();
             setItemMenu();
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
         } else if( currentTurn == BattleTurn.ITEM &&
-                   (Greenfoot.isKeyDown("enter") || (currentItem != null &&
-                                                     (Greenfoot.isKeyDown("left") || Greenfoot.isKeyDown("right")) ) ) ) {
+                   (isPressed("enter") || (currentItem != null &&
+                                           (isPressed("left") || isPressed("right")) ) ) ) {
             runSelection();
             //addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
-        } else if( currentTurn == BattleTurn.CHOOSE_MOVE_FOR_ITEM && Greenfoot.isKeyDown("enter") ) {
+        } else if( currentTurn == BattleTurn.CHOOSE_MOVE_FOR_ITEM && isPressed("enter") ) {
             clearText();
             useItemMenu();
             addPokeInfo();
-            Greenfoot.delay( DELAY_CYCLES );
         }
-        
-        //Begin playing music
-        if( startMusic ) {
-            bgMusic = new GreenfootSound( getRandomBGMusic() );
-            bgMusic.play();
-            startMusic = false;
+    }
+    
+    /**
+     * Determines whether Turbo goes on from the current screen without the player: the screens that show what
+     * happened during a turn, and the screen before a turn of the computer opponent or of a replay. The menus, the
+     * Pokedex, and the end of the battle still wait for the player
+     * 
+     * @return boolean True if the current screen only waits for enter, and is followed by more of the battle
+     * @see isComputerTurn()
+     */
+    private boolean isAutoTurn() {
+        return currentTurn == BattleTurn.MOVE_EFFECT || currentTurn == BattleTurn.MOVE_RESULT ||
+               currentTurn == BattleTurn.AWARD_EXP ||
+               ( currentTurn == BattleTurn.INTRO && ( replay != null || isComputerTurn() ) );
+    }
+    
+    /**
+     * Goes through every screen of the battle that does not need the player, all in this act. Greenfoot only draws the
+     * world once the act is over, so only the last screen is shown, and the health bars, exp bars, and names are only
+     * drawn once, for the last screen. A key press of the player is handled first
+     * 
+     * @see act()
+     * @see handleKey()
+     * @see isAutoTurn()
+     * @see addPokeInfo()
+     */
+    private void resolveInstantly() {
+        isHUDDeferred = true;
+        if( keyEvent != null ) handleKey();
+        for( int steps = 0; isAutoTurn() && steps < MAX_INSTANT_STEPS; steps++ ) {
+            keyEvent = AUTO_ENTER;
+            handleKey();
         }
+        isHUDDeferred = false;
         
-        //Play a new song once the current song finishes playing
-        if( bgMusic != null && !bgMusic.isPlaying() ) {
-            bgMusic = new GreenfootSound( getRandomBGMusic() );
-            bgMusic.play();
+        if( isHUDPending ) addPokeInfo();
+    }
+    
+    /**
+     * Changes to the next Turbo setting: NORMAL, then FAST, then INSTANT, then back to NORMAL
+     * 
+     * @see act()
+     * @see showTurbo()
+     */
+    private void changeTurbo() {
+        Turbo[] settings = Turbo.values();
+        turbo = settings[ (turbo.ordinal() + 1) % settings.length ];
+        showTurbo();
+    }
+    
+    /**
+     * Shows the Turbo setting in the corner of the screen, and runs the battle at the fastest speed while Turbo is on.
+     * The speed that the player set is saved when Turbo starts and put back when it ends, so the speed slider of
+     * Greenfoot is left alone without Turbo
+     * 
+     * @see Greenfoot.setSpeed( int speed )
+     * @see getSpeed()
+     * @see endTurbo()
+     */
+    private void showTurbo() {
+        if( turbo == Turbo.NORMAL ) {
+            showText( "", TURBO_TEXT_X, TURBO_TEXT_Y );
+            endTurbo();
+        } else {
+            showText( turbo.name() + " >>", TURBO_TEXT_X, TURBO_TEXT_Y );
+            if( speedBeforeTurbo == PokeWorld.ERROR )
+                speedBeforeTurbo = getSpeed();
+            Greenfoot.setSpeed( TURBO_SPEED );
         }
     }
     
     /**
-     * Play a random background song from the SONG_LIST
+     * Puts back the speed that the player set before Turbo started. Does nothing while Turbo is not running
+     * 
+     * @see Greenfoot.setSpeed( int speed )
+     */
+    private void endTurbo() {
+        if( speedBeforeTurbo == PokeWorld.ERROR )
+            return;
+        Greenfoot.setSpeed( speedBeforeTurbo );
+        speedBeforeTurbo = PokeWorld.ERROR;
+    }
+    
+    /**
+     * Gets the current Greenfoot speed, which the player sets with the speed slider. The Greenfoot class can set the
+     * speed but not get it, so the speed is read from the simulation of the Greenfoot runtime. Outside of Greenfoot
+     * (such as in a test), this is NORMAL_SPEED
+     * 
+     * @return int The current speed, from 1 to 100
+     */
+    private int getSpeed() {
+        try {
+            Class<?> simulation = Class.forName( "greenfoot.core.Simulation" );
+            Object instance = simulation.getMethod( "getInstance" ).invoke( null );
+            return ((Integer)simulation.getMethod( "getSpeed" ).invoke( instance )).intValue();
+        } catch( Exception e ) {
+            //Not running inside of Greenfoot
+            return NORMAL_SPEED;
+        }
+    }
+    
+    /**
+     * Sets the Turbo setting of every battle, such as for watching the battles of a tournament
+     * 
+     * @param turbo NORMAL, FAST, or INSTANT
+     */
+    public static void setTurbo( Turbo turbo ) {
+        PokeBattle.turbo = turbo;
+    }
+    
+    /**
+     * Gets the Turbo setting of every battle
      * 
-     * @return The String path for this bg mp3 song
+     * @return Turbo NORMAL, FAST, or INSTANT
      */
-    private String getRandomBGMusic() {
-        return SONG_LIST[ random.nextInt( SONG_LIST.length ) ];
+    public static Turbo getTurbo() {
+        return turbo;
+    }
+    
+    /**
+     * Checks the keys once for this act and takes the oldest key press off the InputQueue. Only one key press is
+     * handled each act; the others wait in the queue for the next acts, so no key press is lost or handled twice
+     * 
+     * @see act()
+     * @see InputQueue.update()
+     * @see InputQueue.pollPress()
+     * @see FrameTimer.begin( FrameTimer.Phase phase )
+     */
+    private void readInput() {
+        FrameTimer.begin( FrameTimer.Phase.INPUT );
+        input.update();
+        keyEvent = input.pollPress();
+        FrameTimer.end( FrameTimer.Phase.INPUT );
+    }
+    
+    /**
+     * Determines whether the key was pressed during this act, or repeated because it was held down
+     * 
+     * @param key The name of the key
+     * @return boolean True if the key press of this act is a press of the key, false otherwise
+     * @see readInput()
+     */
+    private boolean isPressed( String key ) {
+        return keyEvent != null && keyEvent.isPress( key );
     }
     
     /**
@@ -582,203 +872,252 @@ public class PokeBattle extends PokeWorld {
      * @see setSelection()
      */
     private void changeSelection() {
-        if( Greenfoot.isKeyDown("left") && currentSelection == SelectionArrow.TOP_RIGHT ) {
+        if( isPressed("left") && currentSelection == SelectionArrow.TOP_RIGHT ) {
             currentSelection = SelectionArrow.TOP_LEFT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("left") && currentSelection == SelectionArrow.BOTTOM_RIGHT ) {
+        } else if( isPressed("left") && currentSelection == SelectionArrow.BOTTOM_RIGHT ) {
             currentSelection = SelectionArrow.BOTTOM_LEFT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("right") && currentSelection == SelectionArrow.TOP_LEFT && totalSelectionOptions >= 3 ) {
+        } else if( isPressed("right") && currentSelection == SelectionArrow.TOP_LEFT && totalSelectionOptions >= 3 ) {
             currentSelection = SelectionArrow.TOP_RIGHT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("right") && currentSelection == SelectionArrow.BOTTOM_LEFT && totalSelectionOptions >= 4 ) {
+        } else if( isPressed("right") && currentSelection == SelectionArrow.BOTTOM_LEFT && totalSelectionOptions >= 4 ) {
             currentSelection = SelectionArrow.BOTTOM_RIGHT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("up") && currentSelection == SelectionArrow.BOTTOM_LEFT ) {
+        } else if( isPressed("up") && currentSelection == SelectionArrow.BOTTOM_LEFT ) {
             currentSelection = SelectionArrow.TOP_LEFT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("up") && currentSelection == SelectionArrow.BOTTOM_RIGHT ) {
+        } else if( isPressed("up") && currentSelection == SelectionArrow.BOTTOM_RIGHT ) {
             currentSelection = SelectionArrow.TOP_RIGHT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("down") && currentSelection == SelectionArrow.TOP_LEFT && totalSelectionOptions >= 2 ) {
+        } else if( isPressed("down") && currentSelection == SelectionArrow.TOP_LEFT && totalSelectionOptions >= 2 ) {
             currentSelection = SelectionArrow.BOTTOM_LEFT;
             setSelection();
-        } else if( Greenfoot.isKeyDown("down") && currentSelection == SelectionArrow.TOP_RIGHT && totalSelectionOptions >= 4 ) {
+        } else if( isPressed("down") && currentSelection == SelectionArrow.TOP_RIGHT && totalSelectionOptions >= 4 ) {
             currentSelection = SelectionArrow.BOTTOM_RIGHT;
             setSelection();
         }
     }
     
     /**
-     * Determines whether there is enough PP to use the current Move
+     * Launch the attack sequence. The Move chosen with the selection arrow is handed to the BattleEngine, which runs
+     * the attack sequence (see BattleEngine.useMove). This shows the first part of the results:
+     * 
+     * 1) If the status of the Pokemon kept it from moving: "<Pokemon.NAME> is fast asleep." (and so on)
+     * 2) If the Move has no PP left: "______ has no moves left! Blank used STRUGGLE in its confusion!"
+     * 3) Display text of Pokemon using attack: "<Pokemon.NAME> used <Move.NAME>!"
+     * 4) If the Move hit more than once: "Hit <hits> times!"
+     * 
+     * The Events of the attack are kept in turnEvents, so that displayMoveEffect() and showResults() can show the rest
      * 
-     * @return boolean True if there is enough PP, false otherwise
      * @see act()
-     * @see getCurrentMove( PokemonActor pokemon )
-     * @see getCurrentPokemon()
-     * @see Move.getCurrentPP()
+     * @see getSelectedMoveIndex()
+     * @see applyAction( BattleEngine.Action action )
+     * @see BattleEngine.Action.useMove( int moveIndex )
+     * @see PokeWorld.capFirstLetter( String token )
+     * @see setText( String text )
+     * @see setText( String text, int addXOffset, int addYOffset )
+     * @see getConditionText( BattleEngine.Event event )
      */
-    private boolean hasPP() {
-        return getCurrentMove( getCurrentPokemon() ).getCurrentPP() > 0;
+    private void attack() {
+        currentTurn = BattleTurn.USE_MOVE;
+        
+        /*Reset selection arrow. Must be done AFTER the getSelectedMoveIndex() function,
+          which depends on the previous arrow location */
+        int moveIndex = getSelectedMoveIndex();
+        currentSelection = SelectionArrow.TOP_LEFT;
+        
+        turnEvents = applyAction( BattleEngine.Action.useMove( moveIndex ) );
+        
+        currentTurn = BattleTurn.MOVE_RESULT;
+        int yOffset = 0;
+        for( BattleEngine.Event event : turnEvents ) {
+            String name = event.getPokemon().getName();
+            if( event.getType() == BattleEngine.Event.Type.CANT_MOVE ) {
+                setText( getConditionText( event ), 0, yOffset );
+                yOffset += 30;
+            } else if( event.getType() == BattleEngine.Event.Type.NO_PP ) {
+                name = PokeWorld.capFirstLetter( name );
+                setText( name + " has no moves left!", 0, yOffset );
+                setText( name + " used STRUGGLE in its confusion!", 0, yOffset + 30 );
+                yOffset += 60;
+            } else if( event.getType() == BattleEngine.Event.Type.MOVE_USED ) {
+                setText( name + " used " + event.getMove().getName() + "!", 0, yOffset );
+            } else if( event.getType() == BattleEngine.Event.Type.DAMAGE_DEALT ) {
+                if( event.getHits() > 1 )
+                    setText( "Hit " + event.getHits() + " times!", 0, yOffset + 30 );
+                PokemonActor.Status otherStatus = event.getStatus();
+                if( event.getEffectiveness() != Pokedex.REG_EFFECTIVE || event.isCritical() ||
+                    ( otherStatus != PokemonActor.Status.NORMAL && otherStatus != PokemonActor.Status.FAINTED ) )
+                    currentTurn = BattleTurn.MOVE_EFFECT;
+            }
+        }
     }
     
     /**
-     * Print to the screen that the current move has no
+     * Plays the next Action of the replayed battle, the same way that the player chose it. Once there are no Actions
+     * left, the battle ends
      * 
-     * "______ has no moves left! Blank used STRUGGLE in its confusion!"
+     * @see act()
+     * @see BattleLog.Replay.nextAction( BattleEngine engine )
+     * @see playAction( BattleEngine.Action action )
+     */
+    private void playReplayAction() {
+        BattleEngine.Action action = replay.nextAction( engine );
+        if( action == null ) {
+            setText( "The replay is over.\n\n<Press ENTER to continue>" );
+            currentTurn = BattleTurn.OUTRO;
+            return;
+        }
+        
+        playAction( action );
+    }
+    
+    /**
+     * Lets the computer opponent choose its Action, and plays it the same way that the player would choose it. The
+     * search is timed as the AI_SEARCH phase, and its report (depth and nodes) is shown in the overlay of the
+     * FrameTimer while the timer is on, so that the time budget of the BattleAI can be tuned to fit in one act
      * 
      * @see act()
-     * @see getCurrentPokemon()
-     * @see PokeWorld.capFirstLetter( String token )
-     * @see PokemonActor.getName()
-     * @see PokemonActor.getPokedex()
-     * @see Pokedex.getMoveFromName( String name )
-     * @see PokemonActor.setCurrentMove( Move currentMove )
-     * @see setText( String text )
-     * @see setText( String text, int addXOffset, int addYOffset )
+     * @see BattleAI.chooseAction( BattleEngine engine )
+     * @see BattleAI.getLastReport()
+     * @see FrameTimer.setNote( String note )
+     * @see playAction( BattleEngine.Action action )
      */
-    private void printNoPP() {
-        PokemonActor pokemon = getCurrentPokemon();
-        String name = PokeWorld.capFirstLetter( pokemon.getName() );
-        String text = name + " has no moves left!";
-        String text2 = name + " used STRUGGLE in its confusion!";
+    private void playComputerAction() {
+        FrameTimer.begin( FrameTimer.Phase.AI_SEARCH );
+        BattleEngine.Action action = opponent.chooseAction( engine );
+        FrameTimer.end( FrameTimer.Phase.AI_SEARCH );
         
-        //Set current move of PokemonActor to STRUGGLE
-        Move struggle = null;
-        try {
-            struggle = pokemon.getPokedex().getMoveFromName("STRUGGLE");
-        } catch( Pokedex.InvalidMovesFileException e ) {
-            e.printStackTrace();
-        }
-        pokemon.setCurrentMove( struggle );
+        if( FrameTimer.isEnabled() )
+            FrameTimer.setNote( "AI: " + opponent.getLastReport() );
         
-        setText( text );
-        setText( text2, 0, 30 );
+        playAction( action );
     }
     
     /**
-     * Launch the attack sequence. The attack sequence includes the following:
+     * Determines whether it is the computer opponent's turn to choose an Action
      * 
-     * 1) Display text of Pokemon using attack: "<Pokemon.NAME> used <Move.NAME>!"
-     * 2) Subtract move PP
-     * 3) Get move power and accuracy. Get Attacking Pokemon current (for all) attack
-     *    or special attack, accuracy, and level. Get Defending Pokemon current (for all)
-     *    defense or special defense, and evasion. Get effectiveness based on Pokemon types
-     * 4) Calculate damage / determine if hit
-     * 5) Calculate Status effects and other side-effects
-     * 6) Set damage inflicted by adjusting defender Pokemon HP
-     * 7) Adjust on-screen images, such health bars and health totals
+     * @return boolean True if there is a computer opponent and the second Pokemon must choose an Action, false otherwise
+     */
+    private boolean isComputerTurn() {
+        return opponent != null && engine.getState() == BattleEngine.State.SELECT_ACTION &&
+               engine.getCurrentSide() == BattleEngine.Side.PLAYER_2;
+    }
+    
+    /**
+     * Plays an Action the same way that the player would choose it: Moves through attack(), Items through
+     * useItemMenu(), and running through setRunMenu()
      * 
-     * @see act()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
-     * @see PokemonActor.getName()
-     * @see setText( String text )
-     * @see setText( String text, int addXOffset, int addYOffset )
-     * @see Move.setCurrentPP( int PP )
-     * @see Move.getCurrentPower()
-     * @see Move.getCurrentAccuracy()
-     * @see Move.getType()
-     * @see Move.getCategory()
-     * @see PokemonActor.getCurrentMove()
-     * @see PokemonActor.getCurrentAttack()
-     * @see PokemonActor.getCurrentDefense()
-     * @see PokemonActor.getCurrentSpecialAttack()
-     * @see PokemonActor.getCurrentSpecialDefense()
-     * @see PokemonActor.getCurrentAccuracy()
-     * @see PokemonActor.getCurrentLevel()
-     * @see PokemonActor.getCurrentEvasion()
-     * @see PokemonActor.getPokedex()
-     * @see Pokedex.getEffectiveness( String attackType, String defendingPokemonType )
-     * @see determineIfHit( double chanceToHit )
+     * @param action The Action to play
+     * @see attack()
+     * @see useItemMenu()
+     * @see setRunMenu()
      */
-    private void attack() {
-        currentTurn = BattleTurn.USE_MOVE;
+    private void playAction( BattleEngine.Action action ) {
+        if( action.getMoveIndex() != PokeWorld.ERROR )
+            currentSelection = SelectionArrow.values()[ action.getMoveIndex() ];
         
-        PokemonActor pokemon = getCurrentPokemon();       //Attacking Pokemon
-        String pokemonName = pokemon.getName();
-        PokemonActor otherPokemon = getOtherPokemon();
-        String otherPokemonName = otherPokemon.getName(); //Defending Pokemon
+        if(      action.getType() == BattleEngine.Action.Type.USE_MOVE ) attack();
+        else if( action.getType() == BattleEngine.Action.Type.USE_ITEM ) {
+            getCurrentPokemon().setCurrentItem( action.getItem() );
+            useItemMenu();
+        }
+        else if( action.getType() == BattleEngine.Action.Type.RUN )      setRunMenu();
+    }
+    
+    /**
+     * Determines whether there is a turn that can be taken back. Replayed battles cannot be changed, and against the
+     * computer opponent only the turns of the player can be taken back
+     * 
+     * @return boolean True if undo() would take back a turn, false otherwise
+     * @see undo()
+     */
+    private boolean canUndo() {
+        if( replay != null ) return false;
         
-        boolean endAttackSequence = false;
+        for( BattleEngine.Snapshot snapshot : undoStack )
+            if( opponent == null || snapshot.getCurrentSide() == BattleEngine.Side.PLAYER_1 ) return true;
         
-        Move move = pokemon.getCurrentMove();
-        String moveName = move.getName();
+        return false;
+    }
+    
+    /**
+     * Takes back the last turn, putting the battle and both Pokemon back the way they were before the last Action.
+     * Against the computer opponent, the turns are taken back until it is the player's turn again, and the opponent
+     * forgets what it searched, since the battle went back to a turn it already left
+     * 
+     * @see canUndo()
+     * @see BattleEngine.restoreState( BattleEngine.Snapshot snapshot )
+     * @see BattleAI.newBattle()
+     * @see setMenu()
+     */
+    private void undo() {
+        BattleEngine.Snapshot snapshot = undoStack.pop();
+        while( opponent != null && snapshot.getCurrentSide() != BattleEngine.Side.PLAYER_1 )
+            snapshot = undoStack.pop();
         
-        /*Reset selection arrow. Must be done AFTER the getCurrentMove(...) function,
-          which depends on the previous arrow location */
+        engine.restoreState( snapshot );
+        currentPlayer = snapshot.getCurrentSide() == BattleEngine.Side.PLAYER_1 ? PokemonTurn.PLAYER_1 :
+                                                                                   PokemonTurn.PLAYER_2;
         currentSelection = SelectionArrow.TOP_LEFT;
+        if( opponent != null ) opponent.newBattle();
         
-        //1) Display text of Pokemon using attack: "<Pokemon.NAME> used <Move.NAME>!"
-        String text = pokemonName + " used " + moveName + "!";
-        setText( text );
+        //The log can no longer be replayed from its seed, so stop recording it
+        if( !isUndone ) engine.setLog( null );
+        isUndone = true;
         
-        //2) Subtract move PP
-        move.setCurrentPP( move.getCurrentPP() - 1 );
-        
-        /* 3) Get move power and accuracy. Get Attacking Pokemon current (for all) attack
-         *    or special attack, accuracy, and level. Get Defending Pokemon current (for all)
-         *    defense or special defense, and evasion. Get effectiveness based on Pokemon types */
-        int movePower = move.getCurrentPower();
-        int moveAccuracy = move.getCurrentAccuracy();
-        Move.MoveType moveType = move.getType();
-        Move.MoveCategory moveCategory = move.getCategory();
-        int currentAttack;
-        int otherCurrentDefense;
-        if( moveCategory == Move.MoveCategory.PHYSICAL || moveCategory == Move.MoveCategory.STATUS ) {
-            currentAttack = pokemon.getCurrentAttack();
-            otherCurrentDefense = otherPokemon.getCurrentDefense();
-        } else { //MoveCategory.SPECIAL
-            currentAttack = pokemon.getSpecialAttack();
-            otherCurrentDefense = otherPokemon.getCurrentSpecialDefense();
+        setMenu();
+    }
+    
+    /**
+     * Applies the Action to the BattleEngine. The computer opponent is told about the Action first, so that it can
+     * keep what it searched on earlier turns. The battle is saved before every choice of Action, so that the turn can
+     * be taken back with undo()
+     * 
+     * @param action The Action to apply
+     * @return List<BattleEngine.Event> The Events that happened, or an empty list if the Action could not be applied
+     * @see BattleEngine.apply( BattleEngine.Action action )
+     * @see BattleEngine.saveState( BattleEngine.Snapshot base )
+     * @see BattleAI.observe( BattleEngine engine, BattleEngine.Action action )
+     */
+    private List<BattleEngine.Event> applyAction( BattleEngine.Action action ) {
+        if( replay == null && engine.getState() == BattleEngine.State.SELECT_ACTION ) {
+            BattleEngine.Snapshot snapshot = engine.saveState( undoStack.peek() );
+            if( snapshot != undoStack.peek() ) undoStack.push( snapshot );
+            if( undoStack.size() > UNDO_LIMIT ) undoStack.removeLast();
         }
-        int currentAccuracy = pokemon.getCurrentAccuracy();
-        int currentLevel = pokemon.getCurrentLevel();
-        int otherCurrentEvasion = otherPokemon.getCurrentEvasion();
-        double effectiveness = 1.0; //to be overwritten
+        
+        if( opponent != null ) opponent.observe( engine, action );
         try {
-            effectiveness = pokemon.getPokedex().getEffectiveness( moveType.name(), otherPokemon.getType() );
-        } catch( Pokedex.InvalidMoveException e ) {
+            return engine.apply( action );
+        } catch( BattleEngine.InvalidActionException e ) {
             e.printStackTrace();
         }
-        this.currentEffectiveness = effectiveness; //used in the next turn of the battle sequence
         
-        //4) Calculate damage / determine if hit
-        double chanceToHit = (moveAccuracy * ((double)currentAccuracy)/((double)otherCurrentEvasion))/100.0;
-        boolean moveHit = determineIfHit( chanceToHit );
-
-        double damage = ( ( ((((2.0)*currentLevel)/5.0) + 2.0) * (double)movePower *
-                         (((double)currentAttack)/((double)otherCurrentDefense)) )/50.0) + 2.0;
-        
-        double criticalHitRatio = pokemon.getCurrentCriticalHitRatio();
-        hasCriticalHit = new Random().nextDouble() < criticalHitRatio;
-        if( hasCriticalHit )
-            damage *= (2*pokemon.getCurrentLevel() + 5)/(pokemon.getCurrentLevel() + 5);
-                         
-        //5) Calculate Status effects and other side-effects
-        //@@TO DO
-        
-        if( effectiveness != Pokedex.REG_EFFECTIVE ||
-            otherPokemon.getStatus() != PokemonActor.Status.NORMAL ||
-            hasCriticalHit )                                         currentTurn = BattleTurn.MOVE_EFFECT;
-        else                                                         currentTurn = BattleTurn.MOVE_RESULT;
-        
-        if( !moveHit ) {
-            this.moveMissed = true;
-            this.lastDamage = 0.0;
-            currentTurn = BattleTurn.MOVE_RESULT;
-            return;
-        }
-        
-        //6) Set damage inflicted by adjusting defender Pokemon HP
-        int totalDamage = (int)(damage * effectiveness);
-        this.lastDamage = (double)totalDamage;
-        otherPokemon.setCurrentHP( otherPokemon.getCurrentHP() - totalDamage );
-        
-        /* ------------------------------------------------------------------------------------- */
-        
-        this.lastAttack = move;
+        return new ArrayList<BattleEngine.Event>();
+    }
+    
+    /**
+     * Gets the Event of the given type from the Events of the last attack
+     * 
+     * @param type The type of Event
+     * @return BattleEngine.Event The first Event of this type, or null if there is none
+     */
+    private BattleEngine.Event getTurnEvent( BattleEngine.Event.Type type ) {
+        for( BattleEngine.Event event : turnEvents )
+            if( event.getType() == type ) return event;
         
+        return null;
+    }
+    
+    /**
+     * Makes the Pokemon whose turn it is in the BattleEngine the current Pokemon on the screen
+     * 
+     * @param event The TURN_CHANGED Event
+     */
+    private void changeTurn( BattleEngine.Event event ) {
+        currentPlayer = event.getSide() == BattleEngine.Side.PLAYER_1 ? PokemonTurn.PLAYER_1 : PokemonTurn.PLAYER_2;
     }
     
     /**
@@ -788,11 +1127,18 @@ public class PokeBattle extends PokeWorld {
      * @see addHealthBar()
      * @see addExpBar()
      * @see addNames()
+     * @see FrameTimer.begin( FrameTimer.Phase phase )
      */
     private void addPokeInfo() {
+        //Turbo draws the HUD once, for the last screen of the act
+        isHUDPending = isHUDDeferred;
+        if( isHUDDeferred ) return;
+        
+        FrameTimer.begin( FrameTimer.Phase.HUD );
         addHealthBar();
         addExpBar();
         addNames();
+        FrameTimer.end( FrameTimer.Phase.HUD );
     }
     
     /**
@@ -942,20 +1288,6 @@ public class PokeBattle extends PokeWorld {
                      Color.BLACK, false, 120, 103, LARGE_FONT_SIZE ); 
     }
     
-    /**
-     * Determines whether a Move will hit based on the chance to hit. Any chance
-     * to hit that is greater than 1.0 will hit
-     * 
-     * @param chanceToHit The calculated chance of the Move to hit
-     * @return boolean True of the Move will hit, false otherwise
-     */
-    private boolean determineIfHit( double chanceToHit ) {
-        Random random = new Random();
-        
-        if( chanceToHit >= random.nextDouble() ) return true;
-        else                                     return false;
-    }
-    
     /**
      * Gets the current Pokemon
      * 
@@ -979,21 +1311,20 @@ public class PokeBattle extends PokeWorld {
     }
     
     /**
-     * Get the current Move being used in the battle
+     * Get the index of the Move chosen with the selection arrow
      * 
-     * @param PokemonActor pokemon
-     * @return Move The move that is currently being used in this battle
+     * @return int The index of the Move in the current Pokemon's list of Moves
      * @see attack()
-     * @see Pokemon.getMoves()
+     * @see useItemMenu()
      */
-    private Move getCurrentMove( PokemonActor pokemon ) {
+    private int getSelectedMoveIndex() {
         int moveNumber = 0;
         if(      currentSelection == SelectionArrow.TOP_LEFT )    moveNumber = 0;
         else if( currentSelection == SelectionArrow.BOTTOM_LEFT ) moveNumber = 1;
         else if( currentSelection == SelectionArrow.TOP_RIGHT )   moveNumber = 2;
         else                                                      moveNumber = 3;
         
-        return pokemon.getMoves().get( moveNumber );
+        return moveNumber;
     }
     
     /**
@@ -1001,33 +1332,34 @@ public class PokeBattle extends PokeWorld {
      * and the effectivity of the Move if it had any kind of irregular effectiveness
      * 
      * @see act()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
+     * @see getTurnEvent( BattleEngine.Event.Type type )
      * @see Pokemon.getStatusText()
      * @see setText( String text )
      * @see setText( String text, int addXOffset, int addYOffset )
      */
     private void displayMoveEffect() {
-        PokemonActor pokemon = getCurrentPokemon();
-        PokemonActor otherPokemon = getOtherPokemon();
+        BattleEngine.Event hit = getTurnEvent( BattleEngine.Event.Type.DAMAGE_DEALT );
+        PokemonActor otherPokemon = hit.getPokemon();
+        double effectiveness = hit.getEffectiveness();
+        boolean hasCriticalHit = hit.isCritical();
         
         String text = "";
         if( hasCriticalHit ) text = "A critical hit! It's ";
         else                 text = "It's ";
         
-        if( currentEffectiveness != Pokedex.REG_EFFECTIVE ) {
-            if(      currentEffectiveness == Pokedex.SUPER_EFFECTIVE )    text += "super effective!";
-            else if( currentEffectiveness == Pokedex.NOT_VERY_EFFECTIVE ) text += "not very effective...";
-            else                           /*Pokedex.NO_EFFECT*/          text = "It had no effect!";
+        if( effectiveness != Pokedex.REG_EFFECTIVE ) {
+            if(      effectiveness == Pokedex.SUPER_EFFECTIVE )    text += "super effective!";
+            else if( effectiveness == Pokedex.NOT_VERY_EFFECTIVE ) text += "not very effective...";
+            else                    /*Pokedex.NO_EFFECT*/          text = "It had no effect!";
             setText( text );
             
-            PokemonActor.Status otherStatus = otherPokemon.getStatus();
+            PokemonActor.Status otherStatus = hit.getStatus();
             if( otherStatus != PokemonActor.Status.NORMAL && otherStatus != PokemonActor.Status.FAINTED ) {
                 text = otherPokemon.getStatusText();
                 setText( text, 0, 30 );
             }
         } else {
-            PokemonActor.Status otherStatus = otherPokemon.getStatus();
+            PokemonActor.Status otherStatus = hit.getStatus();
             if( otherStatus != PokemonActor.Status.NORMAL && otherStatus != PokemonActor.Status.FAINTED ) {
                 if( hasCriticalHit ) text = "A critical hit! " + otherPokemon.getStatusText();
                 else                 text = otherPokemon.getStatusText();
@@ -1038,84 +1370,110 @@ public class PokeBattle extends PokeWorld {
     }
     
     /**
-     * Show the results of the Battle
+     * Show the results of the Battle: whether the attack missed, the stat and status changes caused by the Move's
+     * effects, the damage and changes of statuses and conditions at the end of the turn, whether a Pokemon fainted,
+     * and whose turn it is next
      * 
      * @see act()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
+     * @see getStatChangeText( BattleEngine.Event event )
+     * @see getConditionText( BattleEngine.Event event )
+     * @see changeTurn( BattleEngine.Event event )
      * @see PokemonActor.getName()
      * @see setText( String text )
      * @see setText( String text, int addXOffset, int addYOffset )
-     * @see PokemonActor.getStatus()
      */
     private void showResults() {
-        PokemonActor pokemon = getCurrentPokemon();
-        PokemonActor otherPokemon = getOtherPokemon();
-        if( this.moveMissed ) {
-            this.moveMissed = false;
-            String text = pokemon.getName() + "'s attack missed!";
-            setText( text );
-            text = "It's " + otherPokemon.getName() + "'s turn.";
-            setText( text, 0, 30 );
-            currentTurn = BattleTurn.INTRO;
-            currentPlayer = currentPlayer == PokemonTurn.PLAYER_1 ? PokemonTurn.PLAYER_2 : PokemonTurn.PLAYER_1;
-        } else if( otherPokemon.getStatus() == PokemonActor.Status.FAINTED ) {
-            String text = otherPokemon.getName() + " fainted!";
-            setText( text );
-            currentTurn = BattleTurn.AWARD_EXP;
-        } else {
-            String text = "It's " + otherPokemon.getName() + "'s turn.";
-            setText( text );
-            currentTurn = BattleTurn.INTRO;
-            currentPlayer = currentPlayer == PokemonTurn.PLAYER_1 ? PokemonTurn.PLAYER_2 : PokemonTurn.PLAYER_1;
+        int yOffset = 0;
+        for( BattleEngine.Event event : turnEvents ) {
+            String name = event.getPokemon().getName();
+            if( event.getType() == BattleEngine.Event.Type.MOVE_MISSED ) {
+                setText( name + "'s attack missed!", 0, yOffset );
+                yOffset += 30;
+            } else if( event.getType() == BattleEngine.Event.Type.STAT_CHANGED ) {
+                setText( getStatChangeText( event ), 0, yOffset );
+                yOffset += 30;
+            } else if( event.getType() == BattleEngine.Event.Type.STATUS_CAUSED ) {
+                setText( name + " was inflicted with " + event.getStatus().name() + "!", 0, yOffset );
+                yOffset += 30;
+            } else if( event.getType() == BattleEngine.Event.Type.STATUS_DAMAGE ||
+                       event.getType() == BattleEngine.Event.Type.STATUS_HEALED ||
+                       event.getType() == BattleEngine.Event.Type.CONDITION_STARTED ||
+                       event.getType() == BattleEngine.Event.Type.CONDITION_ENDED ) {
+                setText( getConditionText( event ), 0, yOffset );
+                yOffset += 30;
+            } else if( event.getType() == BattleEngine.Event.Type.FAINTED ) {
+                setText( name + " fainted!", 0, yOffset );
+                currentTurn = BattleTurn.AWARD_EXP;
+            } else if( event.getType() == BattleEngine.Event.Type.TURN_CHANGED ) {
+                setText( "It's " + name + "'s turn.", 0, yOffset );
+                currentTurn = BattleTurn.INTRO;
+                changeTurn( event );
+            }
         }
     }
     
     /**
-     * Awards exp to the winner, assesses levels, and congratulates the Player
+     * Awards exp to the winner, assesses levels, and congratulates the Player. The winner becomes the current
+     * Pokemon, since the Pokemon that attacked last may have fainted from its own Move
      * 
      * @see act()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
-     * @see PokemonActor.getPokedex()
-     * @see Pokedex.getExperienceFromBattle( PokemonActor winner, PokemonActor loser )
+     * @see applyAction( BattleEngine.Action action )
+     * @see BattleEngine.Action.proceed()
      * @see PokemonActor.getName()
      * @see setText( String text )
-     * @see PokemonActor.addExp( int exp )
      * @see setText( String text, int addXOffset, int addYOffset )
-     * @see PokemonActor.setTotalWins( int wins )
-     * @see PokemonActor.getTotalWins()
      */
     private void awardExp() {
-        PokemonActor pokemon = getCurrentPokemon();
-        PokemonActor otherPokemon = getOtherPokemon();
-        int expGained = pokemon.getPokedex().getExperienceFromBattle( pokemon, otherPokemon );
-        String text = pokemon.getName() + " won! " + pokemon.getName() + " gained " + expGained + " experience.";
-        setText( text );
-        
-        boolean leveledUp = pokemon.addExp( expGained );
-        if( leveledUp ) {
-            text = pokemon.getName() + " has leveled up!";
-            setText( text, 0, 30 );
+        for( BattleEngine.Event event : applyAction( BattleEngine.Action.proceed() ) ) {
+            String name = event.getPokemon().getName();
+            if( event.getType() == BattleEngine.Event.Type.EXP_GAINED ) {
+                setText( name + " won! " + name + " gained " + event.getAmount() + " experience." );
+                changeTurn( event );
+            }
+            else if( event.getType() == BattleEngine.Event.Type.LEVEL_UP )
+                setText( name + " has leveled up!", 0, 30 );
         }
         
-        pokemon.setTotalWins( pokemon.getTotalWins() + 1 );
-        
         currentTurn = BattleTurn.OUTRO;
     }
     
     /**
-     * Change the world back to the PokeArena world
+     * Change the world back to the PokeArena world, add the log of the battle to the end of the battle log file, and
+     * update the ratings of the two Pokemon's builds if the battle had a winner. A replayed battle goes back to the
+     * world that it was started from instead, and a battle with an undone turn is neither logged nor rated
      * 
      * @see act()
+     * @see BattleLog.append( String fileLoc, byte[] log )
+     * @see RatingStore.record( String key1, String key2, double score1 )
+     * @see AudioManager.stopMusic()
+     * @see endTurbo()
      * @see removeObjects( ArrayList<Actor> list )
+     * @see ActorPool.releaseAll( List<? extends Actor> actors )
      * @see Greenfoot.setWorld( World world )
      * @see getCurrentPokemon()
      */
     private void changeWorlds() {
-        bgMusic.stop();
-        bgMusic = null;
+        AudioManager.stopMusic();
+        endTurbo();
         removeObjects( activeActors );
+        ActorPool.releaseAll( activeActors );
+        activeActors.clear();
+        
+        //Replayed battles go back to the world that they were started from, and are not logged again
+        if( replay != null ) {
+            Greenfoot.setWorld( world );
+            return;
+        }
+        
+        FrameTimer.begin( FrameTimer.Phase.FILE_IO );
+        if( !isUndone ) {
+            BattleLog.append( BattleLog.LOG_FILE_LOC, battleLog.toByteArray() );
+            if( engine.getWinner() != null )
+                RatingStore.getDefault().record( ratingKeys[0], ratingKeys[1],
+                                                 engine.getWinner() == BattleEngine.Side.PLAYER_1 ? 1.0 : 0.0 );
+        }
+        FrameTimer.end( FrameTimer.Phase.FILE_IO );
+        
         PokemonActor pokemon = getCurrentPokemon();
         PokeArena world = new PokeArena( pokemon );
         Greenfoot.setWorld( world );
@@ -1168,14 +1526,20 @@ public class PokeBattle extends PokeWorld {
     }
     
     /**
-     * Remove the TextImages from the screen and clear the images from the ArrayList
+     * Remove the TextImages from the screen and clear the images from the ArrayList. The TextImages
+     * are given back to the ActorPool so that they can be reused
      * 
      * @see textList global variable
      * @see World.removeObjects( List<Actor> list )
+     * @see ActorPool.releaseAll( List<? extends Actor> actors )
+     * @see FrameTimer.begin( FrameTimer.Phase phase )
      */
     private void clearText() {
+        FrameTimer.begin( FrameTimer.Phase.HUD );
         removeObjects( textList );
+        ActorPool.releaseAll( textList );
         textList.clear();
+        FrameTimer.end( FrameTimer.Phase.HUD );
     }
     
     /**
@@ -1403,8 +1767,7 @@ public class PokeBattle extends PokeWorld {
      */
     private void setPokedexMenu() {
         currentTurn = BattleTurn.POKEDEX_MENU;
-        if( pageNumber == 1 ) totalSelectionOptions = 4;
-        else                  totalSelectionOptions = 3;
+        totalSelectionOptions = 4;
 
         String text = "Pick a Pokedex Option:";
         setText( text );
@@ -1414,10 +1777,10 @@ public class PokeBattle extends PokeWorld {
             else if( currentSelection == SelectionArrow.TOP_RIGHT )   setPokedexMenu( MENU_TOP_RIGHT, "POKEMON", "MOVE", "EFFECTIVITY", "NEXT PAGE" );
             else                                                      setPokedexMenu( MENU_BOTTOM_RIGHT, "POKEMON", "MOVE", "EFFECTIVITY", "NEXT PAGE" );
         } else { //pageNumber == 2
-            if(      currentSelection == SelectionArrow.TOP_LEFT )    setPokedexMenu( MENU_TOP_LEFT, "EXP", "STATUS", "MENU", "" );
-            else if( currentSelection == SelectionArrow.BOTTOM_LEFT ) setPokedexMenu( MENU_BOTTOM_LEFT, "EXP", "STATUS", "MENU", "" );
-            else if( currentSelection == SelectionArrow.TOP_RIGHT )   setPokedexMenu( MENU_TOP_RIGHT, "EXP", "STATUS", "MENU", "" );
-            else                                                      setPokedexMenu( MENU_BOTTOM_RIGHT, "EXP", "STATUS", "MENU", "" );
+            if(      currentSelection == SelectionArrow.TOP_LEFT )    setPokedexMenu( MENU_TOP_LEFT, "EXP", "STATUS", "MENU", "DAMAGE" );
+            else if( currentSelection == SelectionArrow.BOTTOM_LEFT ) setPokedexMenu( MENU_BOTTOM_LEFT, "EXP", "STATUS", "MENU", "DAMAGE" );
+            else if( currentSelection == SelectionArrow.TOP_RIGHT )   setPokedexMenu( MENU_TOP_RIGHT, "EXP", "STATUS", "MENU", "DAMAGE" );
+            else                                                      setPokedexMenu( MENU_BOTTOM_RIGHT, "EXP", "STATUS", "MENU", "DAMAGE" );
         }
     }
     
@@ -1463,6 +1826,7 @@ public class PokeBattle extends PokeWorld {
      * @see pokedexEffectivity()
      * @see pokedexExperience()
      * @see pokedexStatus()
+     * @see pokedexDamage()
      * @see setPokedexMenu()
      * @see setMenu()
      */
@@ -1490,6 +1854,11 @@ public class PokeBattle extends PokeWorld {
             pageNumber = 1;
             totalSelectionOptions = 4;
             pokedexStatus();
+        } else if( currentSelection == SelectionArrow.BOTTOM_RIGHT && pageNumber == 2 ) {
+            currentTurn = BattleTurn.POKEDEX_DAMAGE;
+            pageNumber = 1;
+            totalSelectionOptions = 4;
+            pokedexDamage();
         } else {
             pageNumber = 1;
             totalSelectionOptions = 4;
@@ -1543,8 +1912,12 @@ public class PokeBattle extends PokeWorld {
         Pokedex pokedex = pokemon.getPokedex();
         String pokedexFileName = pokedex.getPokedexFileName();
         
+        FrameTimer.begin( FrameTimer.Phase.FILE_IO );
+        boolean hasPokemonInfo = pokedex.hasPokemonInfo( pokedexFileName, text );
+        FrameTimer.end( FrameTimer.Phase.FILE_IO );
+        
         //If the search has an incorrect query, or if the Pokemon being searched for has not been found yet
-        if( !pokedex.hasPokemonInfo( pokedexFileName, text ) ) {
+        if( !hasPokemonInfo ) {
             setTextImage( POKEDEX_POKEMON_INFO, "", 40, 190, 410, 220 );
             setText( POKEDEX_POKEMON_INFO_WIDTH, POKEDEX_POKEMON_INFO_HEIGHT, "Cannot find the Pokemon \"" + text + "\"!",
                      20, 20, Color.BLACK, false, 400, 300 );
@@ -1562,6 +1935,7 @@ public class PokeBattle extends PokeWorld {
         }
         
         //Get Pokemon information from pokedexFileName
+        FrameTimer.begin( FrameTimer.Phase.FILE_IO );
         Scanner scanner = null;
         try {
             scanner = new Scanner( new File( pokedexFileName ) );
@@ -1586,6 +1960,7 @@ public class PokeBattle extends PokeWorld {
                 description = scanner.nextLine();
             }
         }
+        FrameTimer.end( FrameTimer.Phase.FILE_IO );
         
         //Set description and main image
         setTextImage( POKEDEX_POKEMON_INFO, "", 40, 190, 410, 220 );
@@ -1631,41 +2006,24 @@ public class PokeBattle extends PokeWorld {
      *                     the space inbetween text
      * @return String The text that does not fit within the specified region. If all the text fits, returns ""
      * @see pokedexSearch( String text )
+     * @see TextLayout.layout( String text, int maxLineWidth, int regionHeight, int fontSize, boolean isBold,
+     *                         double leadingRatio )
      */
     private String addTextToRegion( String text, int regionWidth, int regionHeight, int xOffset, int yOffset, int x, int y,
                                     double leadingRatio ) {
-        int charWidth = (int)((double)currentFontSize * ( 1.0 / pixelToFontSizeRatio ) );
-        int maxCharsPerLine = regionWidth / charWidth - 1;
-        int leading = (int)(currentFontSize / leadingRatio);
-        int maxLines = regionHeight / (currentFontSize + leading);
-        
-        //Parse text into correctly sized lines. Only parse at spaces
-        ArrayList<String> linesOfText = new ArrayList<String>();
-        while( text.length() > maxCharsPerLine ) {
-            int indexOfLastSpace = text.lastIndexOf( " ", maxCharsPerLine );
-            if( indexOfLastSpace == PokeWorld.ERROR ) indexOfLastSpace = maxCharsPerLine;
-            String line = text.substring( 0, indexOfLastSpace );
-            linesOfText.add( line );
-            text = text.substring( indexOfLastSpace + 1, text.length() );
-        }
-        linesOfText.add( text );
+        //Lines are measured with the real font, and are only laid out once per text and region
+        TextLayout.Layout layout = TextLayout.layout( text, regionWidth - xOffset, regionHeight, currentFontSize, false,
+                                                      leadingRatio );
         
         //Set text to region
-        int linesOfTextSize = linesOfText.size();
-        for( int i = 0; i < linesOfTextSize && i < maxLines; i++ ) {
-            setText( regionWidth, regionHeight, linesOfText.get(i), xOffset, yOffset,
-                     Color.BLACK, false, x, y + i * ( currentFontSize + leading ) );
+        int lineCount = layout.getLineCount();
+        for( int i = 0; i < lineCount; i++ ) {
+            setText( regionWidth, regionHeight, layout.getLine(i), xOffset, yOffset,
+                     Color.BLACK, false, x, y + i * layout.getLineHeight() );
         }
         
         //If there are more lines then the region can hold, return the excess text
-        String excessText = "";
-        if( linesOfTextSize > maxLines ) {
-            for( int i = maxLines; i < linesOfTextSize; i++ ) {
-                excessText += linesOfText.get(i) + " ";
-            }
-        }
-        
-        return excessText;
+        return layout.getExcessText();
     }
     
     /**
@@ -1683,8 +2041,10 @@ public class PokeBattle extends PokeWorld {
      * @see createNewPokedexTextFile( PokemonActor pokemon )
      * @see PokeWorld.addToFile( String fileName, String text )
      * @see getPokedexPokemonInfo( PokemonActor pokemon )
+     * @see FrameTimer.begin( FrameTimer.Phase phase )
      */
     private void addToPokedex( PokemonActor pokemon, PokemonActor[] pokemonList ) {
+        FrameTimer.begin( FrameTimer.Phase.FILE_IO );
         String name = pokemon.getName();
         final String POKEDEX_TEXT_FILE_SUFFIX = "_pokedex.txt";
         String fileName = name + pokemon.getUniqueID() + POKEDEX_TEXT_FILE_SUFFIX;
@@ -1711,6 +2071,7 @@ public class PokeBattle extends PokeWorld {
             if( !pokemon.getPokedex().hasPokemonInfo( fileName, pokemonFound.getName() ) )
                 PokeWorld.addToFile( fileName, getPokedexPokemonInfo( pokemonFound ) );
         }
+        FrameTimer.end( FrameTimer.Phase.FILE_IO );
     }
     
     /**
@@ -1848,7 +2209,7 @@ public class PokeBattle extends PokeWorld {
      * @see setText( int width, int height, String text, int xOffset, int yOffset, Color color, boolean isBold, int x, int y )
      * @see addTextToRegion( String text, int regionWidth, int regionHeight, int xOffset, int yOffset, int x, int y,
      *                       double leadingRatio )
-     * @see PokeWorld.getTextWidth( String text, int fontSize, double pixelToFontRatio )
+     * @see PokeWorld.getTextWidth( String text, int fontSize, boolean isBold )
      */
     private void pokedexMove( String text ) {
         PokemonActor pokemon = getCurrentPokemon();
@@ -1861,7 +2222,7 @@ public class PokeBattle extends PokeWorld {
             if( !pokedex.moveExists( text ) ) {
                 setTextImage( POKEDEX_MOVE_INFO, "", 40, 190, xLoc, 220 );
                 setText( 200, 100, "Cannot find Move!", 20, 20, Color.BLACK, true, 317, 250 );
-                int textWidth = PokeWorld.getTextWidth( "?", MEDIUM_FONT_SIZE, 1.38 );
+                int textWidth = PokeWorld.getTextWidth( "?", MEDIUM_FONT_SIZE, true );
                 setText( 200, 100, "?", 20, 20, Color.WHITE, true, xLoc - 20 + 100 - (textWidth / 2), 162 );
                 setText( 200, 100, "?", 20, 20, Color.WHITE, false, 450, 337 );
                 setText( 200, 100, "?", 20, 20, Color.WHITE, false, 450, 362 );
@@ -1879,7 +2240,8 @@ public class PokeBattle extends PokeWorld {
             e.printStackTrace();
         }
         
-        //Get Pokemon information from pokedexFileName
+        //Get Move information from moveFileName
+        FrameTimer.begin( FrameTimer.Phase.FILE_IO );
         Scanner scanner = null;
         try {
             scanner = new Scanner( new File( moveFileName ) );
@@ -1902,6 +2264,7 @@ public class PokeBattle extends PokeWorld {
                 description = tokens[6];
             }
         }
+        FrameTimer.end( FrameTimer.Phase.FILE_IO );
         
         //Set description and main image
         setTextImage( POKEDEX_MOVE_INFO, "", 40, 190, xLoc, 220 );
@@ -1918,7 +2281,7 @@ public class PokeBattle extends PokeWorld {
         }
         
         //Set Move name, type, category, power, accuracy, and pp. Type and category are displayed as images
-        int textWidth = PokeWorld.getTextWidth( name, MEDIUM_FONT_SIZE, 1.38 );
+        int textWidth = PokeWorld.getTextWidth( name, MEDIUM_FONT_SIZE, true );
         setText( 200, 100, name, 20, 20, Color.WHITE, true, xLoc - 20 + 100 - (textWidth / 2), 162 );
         setTextImage( TYPE_LOC_GENERIC.replace( "@", type.toLowerCase() ), "", 0, 0, 373, 300 );
         setTextImage( CATEGORY_LOC_GENERIC.replace( "@", category.toLowerCase() ), "", 0, 0, 373, 326 );
@@ -1933,49 +2296,28 @@ public class PokeBattle extends PokeWorld {
      * @see setPokedex()
      * @see setTextImage( String imageLoc, String text, int xOffset, int yOffset, int x, int y )
      * @see setText( int width, int height, String text, int xOffset, int yOffset, Color color, boolean isBold, int x, int y )
-     * @see World.addObject( Actor actor, int x, int y )
+     * @see setTextImage( GreenfootImage image, String text, int xOffset, int yOffset, int x, int y )
+     * @see TypeBadgeGrid()
      */
     private void pokedexEffectivity() {
         setTextImage( POKEDEX_POKEMON_SEARCH, "Select two types", 36, 103, 230, 350 );
         setText( 200, 100, "(order matters):", 20, 20, Color.BLACK, false, 145, 360 );
         
-        double scaleRatio = 0.7;
-        String[] typeFileNameList = { "./images/type_normal.png", "./images/type_fire.png", "./images/type_water.png",
-                                      "./images/type_electric.png", "./images/type_grass.png", "./images/type_ice.png",
-                                      "./images/type_fighting.png", "./images/type_poison.png", "./images/type_ground.png",
-                                      "./images/type_flying.png", "./images/type_psychic.png", "./images/type_bug.png",
-                                      "./images/type_rock.png", "./images/type_ghost.png", "./images/type_dragon.png",
-                                      "./images/type_dark.png", "./images/type_self.png" };
-        GreenfootImage[] images = { new GreenfootImage( typeFileNameList[0] ), new GreenfootImage( typeFileNameList[1] ),
-                                    new GreenfootImage( typeFileNameList[2] ), new GreenfootImage( typeFileNameList[3] ),
-                                    new GreenfootImage( typeFileNameList[4] ), new GreenfootImage( typeFileNameList[5] ),
-                                    new GreenfootImage( typeFileNameList[6] ), new GreenfootImage( typeFileNameList[7] ),
-                                    new GreenfootImage( typeFileNameList[8] ), new GreenfootImage( typeFileNameList[9] ),
-                                    new GreenfootImage( typeFileNameList[10] ), new GreenfootImage( typeFileNameList[11] ),
-                                    new GreenfootImage( typeFileNameList[12] ), new GreenfootImage( typeFileNameList[13] ),
-                                    new GreenfootImage( typeFileNameList[14] ), new GreenfootImage( typeFileNameList[15] ),
-                                    new GreenfootImage( typeFileNameList[16] ) };
-        for( int i = 0, j = 0, columnMargin = 0; i < typeFileNameList.length; i++, j++ ) {
-            images[i].scale( (int)(images[i].getWidth() * scaleRatio), (int)(images[i].getHeight() * scaleRatio ) );
-            setTextImage( images[i], "", 0, 0, 283 + columnMargin, 300 + (j * 20) );
-            if( j == 5 ) {
-                j = -1;
-                columnMargin += 50;
-            }
-        }
+        //The badge images are cached, so only the grid image needs to be made
+        typeBadgeGrid = new TypeBadgeGrid();
+        setTextImage( typeBadgeGrid.getImage(), "", 0, 0, typeBadgeGrid.getCenterX(), typeBadgeGrid.getCenterY() );
         currentTurn = BattleTurn.POKEDEX_EFFECTIVITY_SELECT;
     }
     
     /**
-     * Checks if the mouse is above one of the Types. If it is, replace the TextImage with the correct
-     * highlighted version, either being red (attacking selection) or blue (defending selection)
+     * Checks if the mouse is above one of the Types. If it is, highlight that type badge with the correct
+     * version, either being red (attacking selection) or blue (defending selection)
      * 
      * @see act()
      * @see Greenfoot.getMouseInfo()
-     * @see MouseInfo.getActor()
-     * @see Actor.getImage()
-     * @see GreenfootImage.toString()
-     * @see setTextImage( String imageLoc, String text, int xOffset, int yOffset, int x, int y )
+     * @see MouseInfo.getX(), MouseInfo.getY()
+     * @see TypeBadgeGrid.getBadgeAt( int x, int y )
+     * @see TypeBadgeGrid.highlight( int index, boolean isRed )
      * @see getCurrentPokemon()
      * @see PokemonActor.getPokedex()
      * @see Pokedex.getEffectivenessText( String attackType, String defendingPokemonType )
@@ -1983,57 +2325,36 @@ public class PokeBattle extends PokeWorld {
      *                       double leadingRatio )
      */
     private void addHighlights() {
-        //Check the image name of the actor beneath the location of the mouse
-        MouseInfo info = null;
-        //The try catch is needed if the mouse is ever off-screen
-        try {
-            info = Greenfoot.getMouseInfo();
-            if( info == null) return;
-        } catch( NullPointerException e ) {
-            return;
-        }
+        //Find the type badge beneath the location of the mouse
+        MouseInfo info = Greenfoot.getMouseInfo();
+        if( info == null || typeBadgeGrid == null ) return;
         
-        Actor actor = null;
-        //The try catch is needed if there is no actor beneath the mouse location
-        try {
-            actor = info.getActor();
-        } catch( NullPointerException e ) {
+        int index = typeBadgeGrid.getBadgeAt( info.getX(), info.getY() );
+        if( index == PokeWorld.ERROR || typeBadgeGrid.isHighlighted( index ) || isHighlighted ) return;
+        
+        //Do not allow the first type clicked to be self
+        if( isRedHighlight && index == TypeBadgeGrid.SELF_INDEX ) return;
+        
+        //Highlight the type badge clicked (this also enlargens the selection)
+        boolean isAttackingType = isRedHighlight;
+        typeBadgeGrid.highlight( index, isAttackingType );
+        isRedHighlight = !isRedHighlight;
+        
+        //Remember the first type String
+        if( isAttackingType ) {
+            lastSearch = typeBadgeGrid.getTypeName( index );
             return;
         }
         
-        //Add highlights to the type buttons clicked. Once the second type is selected, display the effectiveness result
-        if( actor != null && actor.getImage().toString().contains("type") ) {
-            String toStringText = actor.getImage().toString();
-            if( !toStringText.contains("_red") && !toStringText.contains("_blue") && !isHighlighted ) {
-                //Do not allow the first type clicked to be self
-                if( isRedHighlight && toStringText.contains("self") ) return;
-                
-                //Paste highlighted type button over original button (this also enlargens the selection)
-                String fileName = toStringText.split(" ")[3];
-                String highlight = isRedHighlight ? "_red.png" : "_blue.png";
-                String fileNameColor = fileName.replace(".png", highlight);
-                setTextImage( fileNameColor, "", 0, 0, actor.getX(), actor.getY() );
-                isRedHighlight = !isRedHighlight;
-                
-                //Remember the first type String
-                if( highlight.contains("_red") ) {
-                    lastSearch = fileNameColor.replace("_red.png","").replace("./images/type_","");
-                }
-                
-                //Find effectiveness based on the two types selected, and print this to the screen
-                if( highlight.contains("_blue") ) {
-                    isHighlighted = true;
-                    String defendingPokemonType = fileNameColor.replace("_blue.png","").replace("./images/type_","");
-                    //Defending pokemon type is equal to the attacking type if the second type selection is 'self'
-                    if( defendingPokemonType.equals("self") ) defendingPokemonType = lastSearch;
-                    
-                    String effectivenessText = getCurrentPokemon().getPokedex().getEffectivenessText( lastSearch, defendingPokemonType );
-                    addTextToRegion( effectivenessText, 150, 100, 20, 20, 120, 385, 4.0 );
-                    currentTurn = BattleTurn.INTRO;
-                    currentSelection = SelectionArrow.TOP_LEFT;
-                }
-            }
-        }
+        //Find effectiveness based on the two types selected, and print this to the screen
+        isHighlighted = true;
+        //Defending pokemon type is equal to the attacking type if the second type selection is 'self'
+        String defendingPokemonType = index == TypeBadgeGrid.SELF_INDEX ? lastSearch : typeBadgeGrid.getTypeName( index );
+        
+        String effectivenessText = getCurrentPokemon().getPokedex().getEffectivenessText( lastSearch, defendingPokemonType );
+        addTextToRegion( effectivenessText, 150, 100, 20, 20, 120, 385, 4.0 );
+        currentTurn = BattleTurn.INTRO;
+        currentSelection = SelectionArrow.TOP_LEFT;
     }
     
     /**
@@ -2069,6 +2390,54 @@ public class PokeBattle extends PokeWorld {
         currentSelection = SelectionArrow.TOP_LEFT;
     } 
 
+    /**
+     * Displays the Pokedex to show what each of the current Pokemon's Moves would do to the defending Pokemon: the range
+     * of damage when the Move hits, and the chance that the Move knocks the defending Pokemon out. The chances are worked
+     * out exactly by the DamageCalculator, without attacking, through the screens that the defending Pokemon has up
+     * 
+     * @see setPokedex()
+     * @see setTextImage( String imageLoc, String text, int xOffset, int yOffset, int x, int y )
+     * @see setTextImage( GreenfootImage image, String text, int xOffset, int yOffset, int x, int y )
+     * @see setText( int width, int height, String text, int xOffset, int yOffset,
+     *               Color color, boolean isBold, int x, int y, int fontSize )
+     * @see getCurrentPokemon()
+     * @see getOtherPokemon()
+     * @see DamageCalculator.getDistribution( PokemonActor attacker, Move move, PokemonActor defender,
+     *                                       double damageMultiplier )
+     * @see PokeWorld.scaleImageToMaxLimit( GreenfootImage image, int limitWidth, int limitHeight )
+     */
+    private void pokedexDamage() {
+        PokemonActor pokemon = getCurrentPokemon();
+        PokemonActor otherPokemon = getOtherPokemon();
+        
+        GreenfootImage pokemonImage = new GreenfootImage( otherPokemon.getBattleImageName() );
+        PokeWorld.scaleImageToMaxLimit( pokemonImage, 137, 90 );
+        
+        setTextImage( POKEDEX_POKEMON_SEARCH, "", 0, 0, 230, 350 );
+        setTextImage( pokemonImage, "", 0, 0, 130, 335 );
+        setText( 200, 100, "vs " + PokeWorld.capFirstLetter( otherPokemon.getName() ) + " " +
+                 otherPokemon.getCurrentHP() + "/" + otherPokemon.getHP(), 20, 20, Color.BLACK, true, 350, 360 );
+        
+        //One row per Move: the name, the range of damage (of every hit together), and the chance of a KO
+        int y = 384;
+        for( Move move : pokemon.getMoves() ) {
+            double damageMultiplier = engine.getStatuses().getDamageMultiplier( otherPokemon, move.getCategory() );
+            DamageCalculator.Distribution distribution = DamageCalculator.getDistribution( pokemon, move, otherPokemon,
+                                                                                           damageMultiplier );
+            int min = distribution.getMinDamage(), max = distribution.getMaxDamage();
+            String damage = min == max ? "" + min : min + "-" + max;
+            int minHits = move.getEffects().getMinHits(), maxHits = move.getEffects().getMaxHits();
+            if( maxHits > 1 ) damage += " (" + (minHits == maxHits ? "" + minHits : minHits + "-" + maxHits) + "x)";
+            String koChance = (int)Math.round( 100.0 * distribution.getKOChance() ) + "%";
+            setText( 200, 100, move.getName() + " " + damage + " KO " + koChance, 20, 20,
+                     Color.BLACK, false, 350, y, SMALL_FONT_SIZE );
+            y += 20;
+        }
+        
+        currentTurn = BattleTurn.INTRO;
+        currentSelection = SelectionArrow.TOP_LEFT;
+    }
+
     /**
      * Displays the Pokedex to allow the user to look up a Status effect
      * 
@@ -2238,11 +2607,11 @@ public class PokeBattle extends PokeWorld {
         int totalItemsLeft = itemList.size() - itemIndexAdjustment;
         
         //Adjust variable used for arrow position
-        if(      Greenfoot.isKeyDown("up") && selectionArrowListPosition != 0 )
+        if(      isPressed("up") && selectionArrowListPosition != 0 )
             --selectionArrowListPosition;
-        else if( Greenfoot.isKeyDown("down") && (( ( totalItemsLeft != 0 && (selectionArrowListPosition != totalItemsLeft &&
-                                                                         selectionArrowListPosition != MAX_ITEMS_PER_WINDOW) ) ||
-                                                   ( totalItemsLeft == 0 && selectionArrowListPosition != totalItemsLeft + 1 )) ) )
+        else if( isPressed("down") && (( ( totalItemsLeft != 0 && (selectionArrowListPosition != totalItemsLeft &&
+                                                                selectionArrowListPosition != MAX_ITEMS_PER_WINDOW) ) ||
+                                          ( totalItemsLeft == 0 && selectionArrowListPosition != totalItemsLeft + 1 )) ) )
             ++selectionArrowListPosition;
         
         //Display the Pokebag if the Pokemon / player has no items
@@ -2269,7 +2638,7 @@ public class PokeBattle extends PokeWorld {
             setText( 200, 100, "Next page", 20, 20, Color.BLACK, false, 376, 213 + itemsOnPage * LEADING );
         
         //Display the Item image and description
-        if( Greenfoot.isKeyDown("up") || Greenfoot.isKeyDown("down") ) remainingText = "";
+        if( isPressed("up") || isPressed("down") ) remainingText = "";
         
         int currentItemSelectionIndex = itemIndexAdjustment + selectionArrowListPosition;
         if( selectionArrowListPosition != MAX_ITEMS_PER_WINDOW && totalItemsLeft > 0 &&
@@ -2313,7 +2682,7 @@ public class PokeBattle extends PokeWorld {
         if( selectionArrowListPosition < MAX_ITEMS_PER_WINDOW && currentItemNumber != itemList.size() ) {
             /* Item will be used. Reset values and change turn enum. Don't allow for last 'enter' to carry into
                initiating the use of this item (note that currentItem is set AFTER this if statement */   
-            if( Greenfoot.isKeyDown("enter") && isYes && currentItem != null ) {
+            if( isPressed("enter") && isYes && currentItem != null ) {
                 currentTurn = BattleTurn.USE_ITEM;
                 
                 pageNumber = 1;
@@ -2332,8 +2701,6 @@ public class PokeBattle extends PokeWorld {
                 else                       useItemMenu();
                 
                 addPokeInfo();
-                
-                Greenfoot.delay( DELAY_CYCLES );
                 return;
             }
             
@@ -2343,7 +2710,7 @@ public class PokeBattle extends PokeWorld {
             pokemon.setCurrentItem( item );
             
             //Update arrow menu option marker
-            if( (Greenfoot.isKeyDown("left") && !isYes) || (Greenfoot.isKeyDown("right") && isYes) )
+            if( (isPressed("left") && !isYes) || (isPressed("right") && isYes) )
                 isYes = !isYes;
             
             //Change menu arrows
@@ -2378,8 +2745,6 @@ public class PokeBattle extends PokeWorld {
             isHighlighted = false; //Reset for the pokedexEffectivity() function
             
             addPokeInfo();
-            
-            Greenfoot.delay( DELAY_CYCLES ); //delay cycles so that the next listen for 'enter' does not pick up this one
         }
         
     }
@@ -2399,1223 +2764,160 @@ public class PokeBattle extends PokeWorld {
     }
     
     /**
-     * Uses the currentItem and displays the results in the menu
+     * Uses the currentItem and displays the results in the menu. The item is handed to the BattleEngine, which checks
+     * the item's requirements and changes the stats (see BattleEngine.useItem)
      * 
      * @see act()
-     * @see itemAddCurrent( String propertyName, double propertyValue, Item item )
-     * @see itemAddMax( String propertyName, double propertyValue, Item item )
-     * @see itemMultCurrent( String propertyName, double propertyValue, Item item )
-     * @see itemMultMax( String propertyName, double propertyValue, Item item )
+     * @see applyAction( BattleEngine.Action action )
+     * @see BattleEngine.Action.useItem( Item item, int moveIndex )
+     * @see getStatChangeText( BattleEngine.Event event )
+     * @see getConditionText( BattleEngine.Event event )
+     * @see changeTurn( BattleEngine.Event event )
      * @see setText( int width, int height, String text, int xOffset, int yOffset, Color color, boolean isBold, int x, int y )
-     * @see ...
      */
     public void useItemMenu() {
-        PokemonActor currentPokemon = getCurrentPokemon();
+        Item item = getCurrentPokemon().getCurrentItem();
+        BattleEngine.Action action = item.getChooseMove() ? BattleEngine.Action.useItem( item, getSelectedMoveIndex() )
+                                                          : BattleEngine.Action.useItem( item );
         currentSelection = SelectionArrow.TOP_LEFT;
         
-        ArrayList<String> propertyNamesChanged = new ArrayList<String>();
-        ArrayList<Double> parallelValuesChanged = new ArrayList<Double>();
-        Item item = currentPokemon.getCurrentItem();
-        double[] properties = item.getProperties();
-        String[] propertyNames = Item.PROPERTY_NAMES;
-        
-        /*Check boolean requirements. If not met, do not use item, and display message showing that the item
-          could not be used */
-        boolean affectThis = item.getAffectThis();
-        String reqXType = item.getReqXType();
-        String reqXCat = item.getReqXCat();
-        int reqHPX = item.getReqHPX();
-        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
-        
-        //Save old values before using item
-        int oldHP                  = affectedPokemon.getHP(); int oldCurrentHP = affectedPokemon.getCurrentHP();
-        int oldAttack              = affectedPokemon.getAttack(); int oldCurrentAttack = affectedPokemon.getCurrentAttack();
-        int oldDefense             = affectedPokemon.getDefense(); int oldCurrentDefense = affectedPokemon.getCurrentDefense();
-        int oldSpecialAttack       = affectedPokemon.getSpecialAttack(); int oldCurrentSpecialAttack = affectedPokemon.getCurrentSpecialAttack();
-        int oldSpecialDefense      = affectedPokemon.getSpecialDefense(); int oldCurrentSpecialDefense = affectedPokemon.getCurrentSpecialDefense();
-        int oldSpeed               = affectedPokemon.getSpeed(); int oldCurrentSpeed = affectedPokemon.getCurrentSpeed();
-        int oldEvasion             = affectedPokemon.getEvasion(); int oldCurrentEvasion = affectedPokemon.getCurrentEvasion();
-        int oldAccuracy            = affectedPokemon.getAccuracy(); int oldCurrentAccuracy = affectedPokemon.getCurrentAccuracy();
-        int oldExp                 = affectedPokemon.getTotalExp(); int oldCurrentExp = affectedPokemon.getTotalAddedExp();
-        double oldCriticalHitRatio = affectedPokemon.getCriticalHitRatio(); double oldCurrentCriticalHitRatio = affectedPokemon.getCurrentCriticalHitRatio();
-        
-        int oldLevel = affectedPokemon.getCurrentLevel();
-        
-        Pokemon.Status oldStatus = affectedPokemon.getStatus();
-        
-        int totalMoves = affectedPokemon.getMoves().size();
-        int[][] oldMoveStats = new int[ totalMoves ][3]; //3 -> movePower, moveAccuracy, movePP
-        int[][] oldCurrentMoveStats = new int[ totalMoves ][3];
-        for( int i = 0; i < totalMoves; i++ ) {
-            int oldMovePower           = affectedPokemon.getMoves().get(i).getPower();
-            int oldCurrentMovePower    = affectedPokemon.getMoves().get(i).getCurrentPower();
-            int oldMoveAccuracy        = affectedPokemon.getMoves().get(i).getAccuracy();
-            int oldCurrentMoveAccuracy = affectedPokemon.getMoves().get(i).getCurrentAccuracy();
-            int oldMovePP              = affectedPokemon.getMoves().get(i).getPP();
-            int oldCurrentMovePP       = affectedPokemon.getMoves().get(i).getCurrentPP();
-            
-            oldMoveStats[i][0] = oldMovePower; oldMoveStats[i][1] = oldMoveAccuracy; oldMoveStats[i][2] = oldMovePP;
-            oldCurrentMoveStats[i][0] = oldCurrentMovePower;
-            oldCurrentMoveStats[i][1] = oldCurrentMoveAccuracy;
-            oldCurrentMoveStats[i][2] = oldCurrentMovePP;
-        }
-        
-        //See if Item doesn't meet requirements
-        boolean affectsAllMoves = item.getAffectsAllMoves();
-        if( !affectsAllMoves && (!reqXType.equals("na") || !reqXCat.equals("na")) &&
-            (( !reqXType.replace("req","").replace("Type","").toUpperCase()
-              .equals( affectedPokemon.getCurrentMove().getType().name() ) ||
-              !reqXCat.replace("req","").replace("Cat","").toUpperCase()
-              .equals( affectedPokemon.getCurrentMove().getCategory().name() ) ) ||
-            ( (reqHPX != 0 && ( reqHPX == 1 && ((double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP() ) > 0.33) ||
-                              ( reqHPX == 2 && ((double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP() ) >= 0.5) ||
-                              ( reqHPX == 3 && ((double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP() ) <= 0.5) ||
-                              ( reqHPX == 4 && ((double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP() ) < 0.66) ||
-                              ( reqHPX == 5 && ((double)affectedPokemon.getCurrentHP() / (double)affectedPokemon.getHP() ) <= 0.99) ) ) ) ) {
-            setText( 500, 100, affectedPokemon.getName() + " cannot use " + item.getName() + "!",
-                     20, 20, Color.BLACK, false, 270, 450 );
-            
-            //Change turns when item is used
-            currentTurn = BattleTurn.INTRO;
-            //@@QUESTION - Don't switch turn if Item doesn't meet requirements for use?
-            //currentPlayer = currentPlayer == PokemonTurn.PLAYER_1 ? PokemonTurn.PLAYER_2 : PokemonTurn.PLAYER_1;
-            
-            return;
-        }
-        
-        //Get the Strings and corresponding values
-        for( int i = 0; i < properties.length; i++ ) {
-            if( properties[i] != 0.0 ) {
-                propertyNamesChanged.add( propertyNames[i] );
-                parallelValuesChanged.add( properties[i] );
-            }
-        }
-        
-        //Change stats of Pokemon / opponent
-        int size = propertyNamesChanged.size();
-        ArrayList<Double> valueResults = new ArrayList<Double>();
-        for( int i = 0; i < size; i++ ) {
-            boolean addValues     = item.getAddValues();
-            boolean affectCurrent = item.getAffectCurrent();
-            if(      addValues && affectCurrent )
-                valueResults.add(
-                    itemAddCurrent( propertyNamesChanged.get(i), parallelValuesChanged.get(i), item ) );
-            else if( addValues && !affectCurrent )
-                valueResults.add(
-                    itemAddMax( propertyNamesChanged.get(i), parallelValuesChanged.get(i), item ) );
-            else if( !addValues && affectCurrent )
-                valueResults.add(
-                    itemMultCurrent( propertyNamesChanged.get(i), parallelValuesChanged.get(i), item ) );
-            else   /*!addValues && !affectCurrent*/
-                valueResults.add(
-                    itemMultMax( propertyNamesChanged.get(i), parallelValuesChanged.get(i), item ) );
-        }
-        
-        //Change Status of Pokemon, if Item heals Status
-        boolean healStatus = item.getHealStatus();
-        if( healStatus ) currentPokemon.setStatus( Pokemon.Status.NORMAL );
-        String healX = item.getHealX();
-        if( !healX.equals("na") ) {
-            if(      healX.equals("healBurn") && currentPokemon.getStatus() == Pokemon.Status.BURN )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healFreeze") && currentPokemon.getStatus() == Pokemon.Status.FREEZE )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healParalysis") && currentPokemon.getStatus() == Pokemon.Status.PARALYSIS )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healPoison") && currentPokemon.getStatus() == Pokemon.Status.POISON )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healSleep") && currentPokemon.getStatus() == Pokemon.Status.SLEEP )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healBound") && currentPokemon.getStatus() == Pokemon.Status.BOUND )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healConfusion") && currentPokemon.getStatus() == Pokemon.Status.CONFUSION )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            else if( healX.equals("healFainted") && currentPokemon.getStatus() == Pokemon.Status.FAINTED )
-                currentPokemon.setStatus( Pokemon.Status.NORMAL );
-            
-            healStatus = true;
-        }
-        
-        //Change quantities if Item has been used, or remove item
-        boolean oneTimeUse = item.getOneTimeUse();
-        if( oneTimeUse )
-            currentPokemon.removeItem( item );
-        
-        //Get the text to write to the screen
-        String intro = currentPokemon.getName() + " used " + item.getName() + "!";
-        setText( 500, 100, intro, 20, 20, Color.WHITE, true, 270, 450 );
         final int LEADING = 25;
-        
-        //If any of these are true, do not run the next for loop, run a special one instead
-        boolean affectsAllStats       = item.getAffectsAllStats();
-        //affectsAllMoves is instantiated on a line earlier in this method
-        boolean restoresLoweredStats  = item.getRestoresLoweredStats();
-        boolean affectValuesOnLevelUp = item.getAffectValuesOnLevelUp();
-        
-        int resultsSize = valueResults.size();
-        if( !affectsAllStats && !affectsAllMoves && !restoresLoweredStats && !affectValuesOnLevelUp ) {
-        for( int i = 0; i < resultsSize; i++ ) {
-            String itemDetails = currentPokemon.getName() + " ";
-            boolean affectCurrent = item.getAffectCurrent();
-            if( propertyNamesChanged.get(i).equals("HP") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)(valueResults.get(i) - oldCurrentHP) + " HP!";
-                    else
-                        itemDetails += "lost " + (int)(oldCurrentHP - valueResults.get(i)) + " HP!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)(valueResults.get(i) - oldHP) + " HP!";
-                    else
-                        itemDetails += "permanently lost " + (int)(oldHP - valueResults.get(i)) + " HP!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("attack") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentAttack) + " Attack!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentAttack - valueResults.get(i)) + " Attack!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldAttack) + " Attack!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldAttack - valueResults.get(i)) + " Attack!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("defense") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentDefense) + " Defense!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentDefense - valueResults.get(i)) + " Defense!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldDefense) + " Defense!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldDefense - valueResults.get(i)) + " Defense!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("specialAttack") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentSpecialAttack) + " Special Attack!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentSpecialAttack - valueResults.get(i)) + " Special Attack!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldSpecialAttack) + " Special Attack!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldSpecialAttack - valueResults.get(i)) + " Special Attack!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("specialDefense") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentSpecialDefense) + " Special Defense!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentSpecialDefense - valueResults.get(i)) + " Special Defense!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldSpecialDefense) + " Special Defense!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldSpecialDefense - valueResults.get(i)) + " Special Defense!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("speed") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentSpeed) + " Speed!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentSpeed - valueResults.get(i)) + " Speed!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldSpeed) + " Speed!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldSpeed - valueResults.get(i)) + " Speed!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("evasion") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentEvasion) + " Evasion!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentEvasion - valueResults.get(i)) + " Evasion!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldEvasion) + " Evasion!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldEvasion - valueResults.get(i)) + " Evasion!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("accuracy") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentAccuracy) + " Accuracy!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentAccuracy - valueResults.get(i)) + " Accuracy!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldAccuracy) + " Accuracy!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldAccuracy - valueResults.get(i)) + " Accuracy!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("exp") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(valueResults.get(i) - oldCurrentExp) + " exp!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentExp - valueResults.get(i)) + " exp!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(valueResults.get(i) - oldExp) + " exp!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldExp - valueResults.get(i)) + " exp!";
-                }
-                
-                //If Level Up
-                int newLevel = currentPokemon.getCurrentLevel();
-                if( newLevel != oldLevel ) {
-                    itemDetails += " " + currentPokemon.getName() + " leveled up!";
-                    if( newLevel - oldLevel > 1 )
-                        itemDetails.substring( 0, itemDetails.length() - 1).concat( (newLevel - oldLevel) + " times!" );
-                }
-            } else if( propertyNamesChanged.get(i).equals("criticalHitRatio") ) {
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + Math.abs(valueResults.get(i) - oldCurrentCriticalHitRatio) +
-                            "% to their critical hit ratio!";
-                    else
-                        itemDetails += "lost " + Math.abs(oldCurrentCriticalHitRatio - valueResults.get(i)) +
-                            "% to their critical hit ratio!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + Math.abs(valueResults.get(i) - oldCriticalHitRatio) +
-                            "% to their critical hit ratio!";
-                    else
-                        itemDetails += "permanently lost " + Math.abs(oldCriticalHitRatio - valueResults.get(i)) +
-                            "% to their critical hit ratio!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("movePower") ) {
-                Move move = currentPokemon.getCurrentMove();
-                itemDetails = currentPokemon.getName() + "'s Move " + move.getName() + " ";
-                int moveIndex = currentPokemon.getMoveIndex( move.getName() );
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(move.getCurrentPower() - oldCurrentMoveStats[moveIndex][0]) + " Power!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentMoveStats[moveIndex][0] - move.getCurrentPower()) + " Power!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(move.getPower() - oldMoveStats[moveIndex][0]) + " Power!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldMoveStats[moveIndex][0] - move.getPower()) + " Power!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("moveAccuracy") ) {
-                Move move = currentPokemon.getCurrentMove();
-                itemDetails = currentPokemon.getName() + "'s Move " + move.getName() + " ";
-                int moveIndex = currentPokemon.getMoveIndex( move.getName() );
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(move.getCurrentAccuracy() - oldCurrentMoveStats[moveIndex][1]) + " Accuracy!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentMoveStats[moveIndex][1] - move.getCurrentAccuracy()) + " Accuracy!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(move.getAccuracy() - oldMoveStats[moveIndex][1]) + " Accuracy!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldMoveStats[moveIndex][1] - move.getAccuracy()) + " Accuracy!";
-                }
-            } else if( propertyNamesChanged.get(i).equals("movePP") ) {
-                Move move = currentPokemon.getCurrentMove();
-                itemDetails = currentPokemon.getName() + "'s Move " + move.getName() + " ";
-                int moveIndex = currentPokemon.getMoveIndex( move.getName() );
-                if( affectCurrent ) {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "gained " + (int)Math.abs(move.getCurrentPP() - oldCurrentMoveStats[moveIndex][2]) + " PP!";
-                    else
-                        itemDetails += "lost " + (int)Math.abs(oldCurrentMoveStats[moveIndex][2] - move.getCurrentPower()) + " PP!";
-                } else {
-                    if( parallelValuesChanged.get(i) > 0.0 || parallelValuesChanged.get(i) == (double)PokeWorld.ERROR )
-                        itemDetails += "permanently gained " + (int)Math.abs(move.getPP() - oldMoveStats[moveIndex][2]) + " PP!";
-                    else
-                        itemDetails += "permanently lost " + (int)Math.abs(oldMoveStats[moveIndex][2] - move.getPP()) + " PP!";
-                }
-            }
+        int i = 0;
+        BattleTurn nextTurn = BattleTurn.INTRO;
+        for( BattleEngine.Event event : applyAction( action ) ) {
+            String name = event.getPokemon().getName();
+            String text = null;
+            if(      event.getType() == BattleEngine.Event.Type.ITEM_REJECTED )
+                setText( 500, 100, name + " cannot use " + item.getName() + "!",
+                         20, 20, Color.BLACK, false, 270, 450 );
+            else if( event.getType() == BattleEngine.Event.Type.ITEM_USED )
+                setText( 500, 100, name + " used " + item.getName() + "!",
+                         20, 20, Color.WHITE, true, 270, 450 );
+            else if( event.getType() == BattleEngine.Event.Type.STAT_CHANGED )   text = getStatChangeText( event );
+            else if( event.getType() == BattleEngine.Event.Type.LEVEL_UP )       text = name + " leveled up!";
+            else if( event.getType() == BattleEngine.Event.Type.ALL_STATS_UP )   text = name + "'s stats went up!";
+            else if( event.getType() == BattleEngine.Event.Type.MOVES_REPLENISHED )
+                text = name + "'s Moves were replenished!";
+            else if( event.getType() == BattleEngine.Event.Type.LOWERED_STATS_RESTORED )
+                text = name + "'s lowered stats went up!";
+            else if( event.getType() == BattleEngine.Event.Type.STATUS_HEALED ||
+                     event.getType() == BattleEngine.Event.Type.STATUS_DAMAGE ||
+                     event.getType() == BattleEngine.Event.Type.CONDITION_ENDED )
+                text = getConditionText( event );
+            else if( event.getType() == BattleEngine.Event.Type.FAINTED ) {
+                text = name + " fainted!";
+                nextTurn = BattleTurn.AWARD_EXP;
+            } else if( event.getType() == BattleEngine.Event.Type.TURN_CHANGED )
+                changeTurn( event );
             
             //Write details to the screen
-            setText( 500, 100, itemDetails, 20, 20, Color.WHITE, true, 270, 475 + i * LEADING );
-        }
-        }
-        
-        int i = 0;
-        if( affectsAllStats )      setText( 500, 100, currentPokemon.getName() + "'s stats went up!",
-                                            20, 20, Color.WHITE, true, 270, 475 + i++ * LEADING );
-        if( affectsAllMoves )      setText( 500, 100, currentPokemon.getName() + "'s Moves were replenished!",
-                                            20, 20, Color.WHITE, true, 270, 475 + i++ * LEADING );
-        if( restoresLoweredStats ) setText( 500, 100, currentPokemon.getName() + "'s lowered stats went up!",
-                                            20, 20, Color.WHITE, true, 270, 475 + i++ * LEADING );
-        if( healStatus )           setText( 500, 100, currentPokemon.getName() + " was healed of its " + oldStatus.name() + "!",
-                                            20, 20, Color.WHITE, true, 270, 475 + i++ * LEADING );
-                                            
-        //Change turns when item is used
-        currentTurn = BattleTurn.INTRO;
-        currentPlayer = currentPlayer == PokemonTurn.PLAYER_1 ? PokemonTurn.PLAYER_2 : PokemonTurn.PLAYER_1;
-    }
-    
-    /**
-     * Adds the value to the given current property for the selected Pokemon, which is dependent on the 'affectThis' variable
-     * 
-     * @param propertyName The name of the property that is being affected by this Item
-     * @param propertyValue The value of the property that is going to be added to the corresponding current property
-     *                      of the selected Pokemon
-     * @param item The item whose properties are affecting the selected Pokemon
-     * @see useItemMenu()
-     * @see Item.getAffectThis()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
-     * @see PokemonActor.addHP( int HP )
-     * @see PokemonActor.getCurrentHP()
-     * @see PokemonActor.setCurrentAttack( int currentAttack )
-     * @see PokemonActor.getCurrentAttack()
-     * @see ...
-     */
-    private double itemAddCurrent( String propertyName, double propertyValue, Item item ) {
-        boolean affectThis = item.getAffectThis();
-        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
-        if( item.getRandomStat() )
-            propertyName = Item.PROPERTY_NAMES[ new Random().nextInt( Item.PROPERTY_NAMES.length ) ];
-        
-        //Adjustment properties
-        boolean affectsAllStats      = item.getAffectsAllStats();
-        boolean affectsAllMoves      = item.getAffectsAllMoves();
-        boolean restoreCurrentToFull = item.getRestoreCurrentToFull();
-        boolean restoresLoweredStats = item.getRestoresLoweredStats();
-        boolean maximizeValues       = propertyValue == (double)PokeWorld.ERROR ? true : false;
-        
-        switch( propertyName ) {
-            case "HP":
-                if( !restoresLoweredStats || propertyName.equals( "HP" ) )
-                affectedPokemon.addHP( (int)propertyValue );
-                tryRestoreCurrentHP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentHP();
-            case "attack":
-                if( !restoresLoweredStats || propertyName.equals( "attack" ) )
-                affectedPokemon.setCurrentAttack( affectedPokemon.getCurrentAttack() + (int)propertyValue );
-                tryRestoreCurrentAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentAttack();
-            case "defense":
-                if( !restoresLoweredStats || propertyName.equals( "defense" ) )
-                affectedPokemon.setCurrentDefense( affectedPokemon.getCurrentDefense() + (int)propertyValue );
-                tryRestoreCurrentDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentDefense();
-            case "specialAttack":
-                if( !restoresLoweredStats || propertyName.equals( "specialAttack" ) )
-                affectedPokemon.setCurrentSpecialAttack( affectedPokemon.getCurrentSpecialAttack() + (int)propertyValue );
-                tryRestoreCurrentSpecialAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpecialAttack();
-            case "specialDefense":
-                if( !restoresLoweredStats || propertyName.equals( "specialDefense" ) )
-                affectedPokemon.setCurrentSpecialDefense( affectedPokemon.getCurrentSpecialDefense() + (int)propertyValue );
-                tryRestoreCurrentSpecialDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpecialDefense();
-            case "speed":
-                if( !restoresLoweredStats || propertyName.equals( "speed" ) )
-                affectedPokemon.setCurrentSpeed( affectedPokemon.getCurrentSpeed() + (int)propertyValue );
-                tryRestoreCurrentSpeed( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpeed();
-            case "evasion":
-                if( !restoresLoweredStats || propertyName.equals( "evasion" ) )
-                affectedPokemon.setCurrentEvasion( affectedPokemon.getCurrentEvasion() + (int)propertyValue );
-                tryRestoreCurrentEvasion( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentEvasion();
-            case "accuracy":
-                if( !restoresLoweredStats || propertyName.equals( "accuracy" ) )
-                affectedPokemon.setCurrentAccuracy( affectedPokemon.getCurrentAccuracy() + (int)propertyValue );
-                tryRestoreCurrentAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentAccuracy();
-            case "points":
-                /* no item should add points */
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)PokeWorld.ERROR;
-            case "exp":
-                if( !restoresLoweredStats || propertyName.equals( "exp" ) )
-                affectedPokemon.addExp( (int)propertyValue );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getTotalAddedExp();
-            case "movePower":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                    affectedPokemon.getCurrentMove().addPower( (int)propertyValue );
-                    tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentPower();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            move.addPower( (int)propertyValue );
-                            tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentPower();
-                }
-            case "moveAccuracy":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                    affectedPokemon.getCurrentMove().addAccuracy( (int)propertyValue );
-                    tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentAccuracy();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            move.addAccuracy( (int)propertyValue );
-                            tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentAccuracy();
-                }
-            case "movePP":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats && propertyName.equals( "movePP" ) )
-                    affectedPokemon.getCurrentMove().addToCurrentPP( (int)propertyValue );
-                    tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentPP();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            move.addToCurrentPP( (int)propertyValue );
-                            tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentPP();
-                }
-            case "criticalHitRatio":
-                if( !restoresLoweredStats || propertyName.equals( "criticalHitRatio" ) )
-                affectedPokemon.setCurrentCriticalHitRatio( affectedPokemon.getCurrentCriticalHitRatio() + propertyValue );
-                tryRestoreCurrentCriticalHitRatio( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                return affectedPokemon.getCurrentCriticalHitRatio();
-            default: break;
+            if( text != null )
+                setText( 500, 100, text, 20, 20, Color.WHITE, true, 270, 475 + i++ * LEADING );
         }
         
-        return (double)PokeWorld.ERROR;
+        currentTurn = nextTurn;
     }
     
     /**
-     * Adds the value to the given max property for the selected Pokemon, which is dependent on the 'affectThis' variable
+     * Gets the text that tells how an item or Move changed a property, such as "pikachu gained 20 HP!" or
+     * "pikachu's Move THUNDER permanently lost 5 Power!"
      * 
-     * @param propertyName The name of the property that is being affected by this Item
-     * @param propertyValue The value of the property that is going to be added to the corresponding max property
-     *                      of the selected Pokemon
-     * @param item The item whose properties are affecting the selected Pokemon
+     * @param event The STAT_CHANGED Event
+     * @return String The text to show
      * @see useItemMenu()
+     * @see showResults()
      */
-    private double itemAddMax( String propertyName, double propertyValue, Item item ) {
-        boolean affectThis = item.getAffectThis();
-        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
-        if( item.getRandomStat() )
-            propertyName = Item.PROPERTY_NAMES[ new Random().nextInt( Item.PROPERTY_NAMES.length ) ];
-            
-        //Adjustment properties
-        boolean affectsAllStats      = item.getAffectsAllStats();
-        boolean affectsAllMoves      = item.getAffectsAllMoves();
-        boolean restoreCurrentToFull = item.getRestoreCurrentToFull();
-        boolean restoresLoweredStats = item.getRestoresLoweredStats();
-        boolean maximizeValues       = propertyValue == (double)PokeWorld.ERROR ? true : false;
-            
-        switch( propertyName ) {
-            case "HP":
-                if( !restoresLoweredStats || propertyName.equals( "HP" ) )
-                affectedPokemon.setHP( affectedPokemon.getHP() + (int)propertyValue );
-                tryRestoreCurrentHP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getHP();
-            case "attack":
-                if( !restoresLoweredStats || propertyName.equals( "attack" ) )
-                affectedPokemon.setAttack( affectedPokemon.getAttack() + (int)propertyValue );
-                tryRestoreCurrentAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getAttack();
-            case "defense":
-                if( !restoresLoweredStats || propertyName.equals( "defense" ) )
-                affectedPokemon.setDefense( affectedPokemon.getDefense() + (int)propertyValue );
-                tryRestoreCurrentDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getDefense();
-            case "specialAttack":
-                if( !restoresLoweredStats || propertyName.equals( "specialAttack" ) )
-                affectedPokemon.setSpecialAttack( affectedPokemon.getSpecialAttack() + (int)propertyValue );
-                tryRestoreCurrentSpecialAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpecialAttack();
-            case "specialDefense":
-                if( !restoresLoweredStats || propertyName.equals( "specialDefense" ) )
-                affectedPokemon.setSpecialDefense( affectedPokemon.getSpecialDefense() + (int)propertyValue );
-                tryRestoreCurrentSpecialDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpecialDefense();
-            case "speed":
-                if( !restoresLoweredStats || propertyName.equals( "speed" ) )
-                affectedPokemon.setSpeed( affectedPokemon.getSpeed() + (int)propertyValue );
-                tryRestoreCurrentSpeed( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpeed();
-            case "evasion":
-                if( !restoresLoweredStats || propertyName.equals( "evasion" ) )
-                affectedPokemon.setEvasion( affectedPokemon.getEvasion() + (int)propertyValue );
-                tryRestoreCurrentEvasion( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getEvasion();
-            case "accuracy":
-                if( !restoresLoweredStats || propertyName.equals( "accuracy" ) )
-                affectedPokemon.setAccuracy( affectedPokemon.getAccuracy() + (int)propertyValue );
-                tryRestoreCurrentAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getAccuracy();
-            case "points":
-                /* no item should add points */
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)PokeWorld.ERROR;
-            case "exp":
-                if( !restoresLoweredStats || propertyName.equals( "exp" ) )
-                affectedPokemon.addExp( (int)propertyValue );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getTotalAddedExp();
-            case "movePower":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "movePower" ) ) {
-                        Move move = affectedPokemon.getCurrentMove();
-                        move.setPower( move.getPower() + (int)propertyValue );
-                    }
-                    tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getPower();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                            move.setPower( move.getPower() + (int)propertyValue );
-                            tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getPower();
-                }
-            case "moveAccuracy":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    Move move = affectedPokemon.getCurrentMove();
-                    if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                    move.setAccuracy( move.getAccuracy() + (int)propertyValue );
-                    if( maximizeValues ) {
-                        if( move.getCategory() == Move.MoveCategory.SPECIAL &&
-                            move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                            move.setAccuracy( Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() );
-                        else if( move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                            move.setAccuracy( Move.getMaximumAccuracy() );
-                    }
-                    tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getAccuracy();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                            move.setAccuracy( move.getAccuracy() + (int)propertyValue );
-                            if( move.getCategory() == Move.MoveCategory.SPECIAL &&
-                                move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                                move.setAccuracy( Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() );
-                            else if( move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                                move.setAccuracy( Move.getMaximumAccuracy() );
-                            tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getAccuracy();
-                }
-            case "movePP":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    Move move = affectedPokemon.getCurrentMove();
-                    if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                    move.setPP( move.getPP() + (int)propertyValue );
-                    if( maximizeValues && move.getPP() < Move.getMaximumPP() )
-                        move.setPP( Move.getMaximumPP() );
-                    tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getPP();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                            move.setPP( move.getPP() + (int)propertyValue );
-                            if( maximizeValues && move.getPP() < Move.getMaximumPP() )
-                                move.setPP( Move.getMaximumPP() );
-                            tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getPP();
-                }
-            case "criticalHitRatio":
-                if( !restoresLoweredStats || propertyName.equals( "criticalHitRatio" ) )
-                affectedPokemon.setCriticalHitRatio( affectedPokemon.getCriticalHitRatio() + propertyValue );
-                tryRestoreCurrentCriticalHitRatio( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                return affectedPokemon.getCriticalHitRatio();
-            default: break;
-        }
+    private String getStatChangeText( BattleEngine.Event event ) {
+        String propertyName = event.getPropertyName();
+        String itemDetails = event.getPokemon().getName() + " ";
+        if( propertyName.startsWith("move") )
+            itemDetails = event.getPokemon().getName() + "'s Move " + event.getMove().getName() + " ";
         
-        return (double)PokeWorld.ERROR;
-    }
-    
-    /**
-     * Adds the value to the given current property for the selected Pokemon, which is dependent on the 'affectThis' variable
-     * 
-     * @param propertyName The name of the property that is being affected by this Item
-     * @param propertyValue The value of the property that is going to be added to the corresponding current property
-     *                      of the selected Pokemon
-     * @param item The item whose properties are affecting the selected Pokemon
-     * @see useItemMenu()
-     * @see Item.getAffectThis()
-     * @see getCurrentPokemon()
-     * @see getOtherPokemon()
-     * @see PokemonActor.addHP( int HP )
-     * @see PokemonActor.getCurrentHP()
-     * @see PokemonActor.setCurrentAttack( int currentAttack )
-     * @see PokemonActor.getCurrentAttack()
-     * @see ...
-     */
-    private double itemMultCurrent( String propertyName, double propertyValue, Item item ) {
-        boolean affectThis = item.getAffectThis();
-        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
-        if( item.getRandomStat() )
-            propertyName = Item.PROPERTY_NAMES[ new Random().nextInt( Item.PROPERTY_NAMES.length ) ];
-        
-        //Adjustment properties
-        boolean affectsAllStats      = item.getAffectsAllStats();
-        boolean affectsAllMoves      = item.getAffectsAllMoves();
-        boolean restoreCurrentToFull = item.getRestoreCurrentToFull();
-        boolean restoresLoweredStats = item.getRestoresLoweredStats();
-        boolean maximizeValues       = propertyValue == (double)PokeWorld.ERROR ? true : false;
-            
-        switch( propertyName ) {
-            case "HP":
-                if( !restoresLoweredStats || propertyName.equals( "HP" ) )
-                affectedPokemon.addHP( (int)(affectedPokemon.getCurrentHP() * propertyValue) );
-                tryRestoreCurrentHP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentHP();
-            case "attack":
-                if( !restoresLoweredStats || propertyName.equals( "attack" ) )
-                affectedPokemon.setCurrentAttack(
-                    affectedPokemon.getCurrentAttack() + (int)(affectedPokemon.getCurrentAttack() * propertyValue) );
-                tryRestoreCurrentAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentAttack();
-            case "defense":
-                if( !restoresLoweredStats || propertyName.equals( "defense" ) )
-                affectedPokemon.setCurrentDefense(
-                    affectedPokemon.getCurrentDefense() + (int)(affectedPokemon.getCurrentDefense() * propertyValue) );
-                tryRestoreCurrentDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentDefense();
-            case "specialAttack":
-                if( !restoresLoweredStats || propertyName.equals( "specialAttack" ) )
-                affectedPokemon.setCurrentSpecialAttack(
-                    affectedPokemon.getCurrentSpecialAttack() + (int)(affectedPokemon.getCurrentSpecialAttack() * propertyValue) );
-                tryRestoreCurrentSpecialAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpecialAttack();
-            case "specialDefense":
-                if( !restoresLoweredStats || propertyName.equals( "specialDefense" ) )
-                affectedPokemon.setCurrentSpecialDefense(
-                    affectedPokemon.getCurrentSpecialDefense() + (int)(affectedPokemon.getCurrentSpecialDefense() * propertyValue) );
-                tryRestoreCurrentSpecialDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpecialDefense();
-            case "speed":
-                if( !restoresLoweredStats || propertyName.equals( "speed" ) )
-                affectedPokemon.setCurrentSpeed( 
-                    affectedPokemon.getCurrentSpeed() + (int)(affectedPokemon.getCurrentSpeed() * propertyValue) );
-                tryRestoreCurrentSpeed( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentSpeed();
-            case "evasion":
-                if( !restoresLoweredStats || propertyName.equals( "evasion" ) )
-                affectedPokemon.setCurrentEvasion(
-                    affectedPokemon.getCurrentEvasion() + (int)(affectedPokemon.getCurrentEvasion() * propertyValue) );
-                tryRestoreCurrentEvasion( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentEvasion();
-            case "accuracy":
-                if( !restoresLoweredStats || propertyName.equals( "accuracy" ) )
-                affectedPokemon.setCurrentAccuracy(
-                    affectedPokemon.getCurrentAccuracy() + (int)(affectedPokemon.getCurrentAccuracy() * propertyValue) );
-                tryRestoreCurrentAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getCurrentAccuracy();
-            case "points":
-                /* no item should add points */
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)PokeWorld.ERROR;
-            case "exp":
-                if( !restoresLoweredStats || propertyName.equals( "exp" ) )
-                affectedPokemon.addExp( (int)(affectedPokemon.getTotalExp() * propertyValue) );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getTotalAddedExp();
-            case "movePower":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                    affectedPokemon.getCurrentMove().addPower(
-                        (int)(affectedPokemon.getCurrentMove().getCurrentPower() * propertyValue) );
-                    tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentPower();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                            move.addPower( (int)(move.getCurrentPower() * propertyValue) );
-                            tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentPower();
-                }
-            case "moveAccuracy":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                    affectedPokemon.getCurrentMove().addAccuracy(
-                        (int)(affectedPokemon.getCurrentMove().getCurrentAccuracy() * propertyValue) );
-                    tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentAccuracy();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                            move.addAccuracy( (int)(move.getCurrentAccuracy() * propertyValue) );
-                            tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentAccuracy();
-                }
-            case "movePP":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                    affectedPokemon.getCurrentMove().addPP(
-                        (int)(affectedPokemon.getCurrentMove().getCurrentPP() * propertyValue) );
-                    tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getCurrentPP();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                            move.addPP( (int)(move.getCurrentPP() * propertyValue) );
-                            tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getCurrentPP();
-                }
-            case "criticalHitRatio":
-                if( !restoresLoweredStats || propertyName.equals( "criticalHitRatio" ) )
-                affectedPokemon.setCurrentCriticalHitRatio( affectedPokemon.getCurrentCriticalHitRatio() +
-                    (affectedPokemon.getCurrentCriticalHitRatio() * propertyValue) );
-                tryRestoreCurrentCriticalHitRatio( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                return affectedPokemon.getCurrentCriticalHitRatio();
-            default: break;
-        }
+        double change = event.getNewValue() - event.getOldValue();
+        if( !event.isPermanent() ) itemDetails += change >= 0.0 ? "gained " : "lost ";
+        else                       itemDetails += change >= 0.0 ? "permanently gained " : "permanently lost ";
+        
+        if( propertyName.equals("criticalHitRatio") )
+            return itemDetails + Math.abs( change ) + "% to their critical hit ratio!";
         
-        return (double)PokeWorld.ERROR;
+        itemDetails += (int)Math.abs( change );
+        if(      propertyName.equals("HP") )             itemDetails += " HP!";
+        else if( propertyName.equals("attack") )         itemDetails += " Attack!";
+        else if( propertyName.equals("defense") )        itemDetails += " Defense!";
+        else if( propertyName.equals("specialAttack") )  itemDetails += " Special Attack!";
+        else if( propertyName.equals("specialDefense") ) itemDetails += " Special Defense!";
+        else if( propertyName.equals("speed") )          itemDetails += " Speed!";
+        else if( propertyName.equals("evasion") )        itemDetails += " Evasion!";
+        else if( propertyName.equals("accuracy") )       itemDetails += " Accuracy!";
+        else if( propertyName.equals("points") )         itemDetails += " points!";
+        else if( propertyName.equals("exp") )            itemDetails += " exp!";
+        else if( propertyName.equals("movePower") )      itemDetails += " Power!";
+        else if( propertyName.equals("moveAccuracy") )   itemDetails += " Accuracy!";
+        else if( propertyName.equals("movePP") )         itemDetails += " PP!";
+        
+        return itemDetails;
     }
     
     /**
-     * Adds the value to the given max property for the selected Pokemon, which is dependent on the 'affectThis' variable
+     * Gets the text that tells what a status or condition did, such as "pikachu is fast asleep." or "pikachu's health
+     * is sapped by LEECH SEED!"
      * 
-     * @param propertyName The name of the property that is being affected by this Item
-     * @param propertyValue The value of the property that is going to be added to the corresponding max property
-     *                      of the selected Pokemon
-     * @param item The item whose properties are affecting the selected Pokemon
+     * @param event The CANT_MOVE, STATUS_DAMAGE, STATUS_HEALED, CONDITION_STARTED, or CONDITION_ENDED Event
+     * @return String The text to show
+     * @see attack()
+     * @see showResults()
      * @see useItemMenu()
      */
-    private double itemMultMax( String propertyName, double propertyValue, Item item ) {
-        boolean affectThis = item.getAffectThis();
-        PokemonActor affectedPokemon = affectThis ? getCurrentPokemon() : getOtherPokemon();
-        if( item.getRandomStat() )
-            propertyName = Item.PROPERTY_NAMES[ new Random().nextInt( Item.PROPERTY_NAMES.length ) ];
-        
-        //Adjustment properties
-        boolean affectsAllStats      = item.getAffectsAllStats();
-        boolean affectsAllMoves      = item.getAffectsAllMoves();
-        boolean restoreCurrentToFull = item.getRestoreCurrentToFull();
-        boolean restoresLoweredStats = item.getRestoresLoweredStats();
-        boolean maximizeValues       = propertyValue == (double)PokeWorld.ERROR ? true : false;
-            
-        switch( propertyName ) {
-            case "HP":
-                if( !restoresLoweredStats || propertyName.equals( "HP" ) )
-                affectedPokemon.setHP(
-                    affectedPokemon.getHP() + (int)(affectedPokemon.getHP() * propertyValue) );
-                tryRestoreCurrentHP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getHP();
-            case "attack":
-                if( !restoresLoweredStats || propertyName.equals( "attack" ) )
-                affectedPokemon.setAttack(
-                    affectedPokemon.getAttack() + (int)(affectedPokemon.getAttack() * propertyValue) );
-                tryRestoreCurrentAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getAttack();
-            case "defense":
-                if( !restoresLoweredStats || propertyName.equals( "defense" ) )
-                affectedPokemon.setDefense(
-                    affectedPokemon.getDefense() + (int)(affectedPokemon.getDefense() * propertyValue) );
-                tryRestoreCurrentDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getDefense();
-            case "specialAttack":
-                if( !restoresLoweredStats || propertyName.equals( "specialAttack" ) )
-                affectedPokemon.setSpecialAttack(
-                    affectedPokemon.getSpecialAttack() + (int)(affectedPokemon.getSpecialAttack() * propertyValue) );
-                tryRestoreCurrentSpecialAttack( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpecialAttack();
-            case "specialDefense":
-                if( !restoresLoweredStats || propertyName.equals( "specialDefense" ) )
-                affectedPokemon.setSpecialDefense(
-                    affectedPokemon.getSpecialDefense() + (int)(affectedPokemon.getSpecialDefense() * propertyValue) );
-                tryRestoreCurrentSpecialDefense( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpecialDefense();
-            case "speed":
-                if( !restoresLoweredStats || propertyName.equals( "speed" ) )
-                affectedPokemon.setSpeed(
-                    affectedPokemon.getSpeed() + (int)(affectedPokemon.getSpeed() * propertyValue) );
-                tryRestoreCurrentSpeed( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getSpeed();
-            case "evasion":
-                if( !restoresLoweredStats || propertyName.equals( "evasion" ) )
-                affectedPokemon.setEvasion(
-                    affectedPokemon.getEvasion() + (int)(affectedPokemon.getEvasion() * propertyValue) );
-                tryRestoreCurrentEvasion( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getEvasion();
-            case "accuracy":
-                if( !restoresLoweredStats || propertyName.equals( "accuracy" ) )
-                affectedPokemon.setAccuracy(
-                    affectedPokemon.getAccuracy() + (int)(affectedPokemon.getAccuracy() * propertyValue) );
-                tryRestoreCurrentAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getAccuracy();
-            case "points":
-                /* no item should add points */
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)PokeWorld.ERROR;
-            case "exp":
-                if( !restoresLoweredStats || propertyName.equals( "exp" ) )
-                affectedPokemon.addExp( (int)(affectedPokemon.getTotalExp() * propertyValue) );
-                if( !affectsAllStats && !restoresLoweredStats )
-                return (double)affectedPokemon.getTotalAddedExp();
-            case "movePower":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    Move move = affectedPokemon.getCurrentMove();
-                    if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                    move.setPower( move.getPower() + (int)(move.getPower() * propertyValue) );
-                    tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getPower();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePower" ) )
-                            move.setPower( move.getPower() + (int)(move.getPower() * propertyValue) );
-                            tryRestoreCurrentMovePower( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getPower();
-                }
-            case "moveAccuracy":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    Move move = affectedPokemon.getCurrentMove();
-                    if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                    move.setAccuracy( move.getAccuracy() + (int)(move.getAccuracy() * propertyValue) );
-                    if( maximizeValues ) {
-                        if( move.getCategory() == Move.MoveCategory.SPECIAL &&
-                            move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                            move.setAccuracy( Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() );
-                        else if( move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                            move.setAccuracy( Move.getMaximumAccuracy() );
-                    }
-                    tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getAccuracy();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "moveAccuracy" ) )
-                            move.setAccuracy( move.getAccuracy() + (int)(move.getAccuracy() * propertyValue) );
-                            if( maximizeValues ) {
-                                if( move.getCategory() == Move.MoveCategory.SPECIAL &&
-                                    move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                                    move.setAccuracy( Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() );
-                                else if( move.getAccuracy() < Move.getMaximumAccuracy() - Move.getSpecialAccuracyLimit() )
-                                    move.setAccuracy( Move.getMaximumAccuracy() );
-                            }
-                            tryRestoreCurrentMoveAccuracy( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getAccuracy();
-                }
-            case "movePP":
-                if( !affectsAllStats && !affectsAllMoves ) {
-                    Move move = affectedPokemon.getCurrentMove();
-                    if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                    move.setPP( move.getPP() + (int)( move.getPP() * propertyValue) );
-                    if( maximizeValues && move.getPP() < Move.getMaximumPP() )
-                        move.setPP( Move.getMaximumPP() );
-                    tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                    if( !restoresLoweredStats )
-                    return (double)affectedPokemon.getCurrentMove().getPP();
-                } else if( !affectsAllStats && affectsAllMoves ) {
-                    ArrayList<Move> moves = affectedPokemon.getMoves();
-                    for( Move move : moves ) {
-                        String reqXType = item.getReqXType();
-                        String reqXCat  = item.getReqXCat();
-                        boolean matchesType = reqXType.equals("na") ||
-                                              reqXType.replace("req","").replace("Type","").toUpperCase()
-                                              .equals( move.getType().name() ) ? true : false;
-                        boolean matchesCat  = reqXCat.equals("na") ||
-                                              reqXCat.replace("req","").replace("Cat","").toUpperCase()
-                                              .equals( move.getCategory().name() ) ? true : false;
-                        if( matchesType && matchesCat ) {
-                            if( !restoresLoweredStats || propertyName.equals( "movePP" ) )
-                            move.setPP( move.getPP() + (int)(move.getPP() * propertyValue) );
-                            if( maximizeValues && move.getPP() < Move.getMaximumPP() )
-                                move.setPP( Move.getMaximumPP() );
-                            tryRestoreCurrentMovePP( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                        }
-                    }
-                    if( !restoresLoweredStats )
-                    return (double)moves.get(0).getPP();
-                }
-            case "criticalHitRatio":
-                if( !restoresLoweredStats || propertyName.equals( "criticalHitRatio" ) )
-                affectedPokemon.setCriticalHitRatio(
-                    affectedPokemon.getCriticalHitRatio() + (affectedPokemon.getCriticalHitRatio() * propertyValue) );
-                tryRestoreCurrentCriticalHitRatio( restoreCurrentToFull, maximizeValues, restoresLoweredStats, affectedPokemon );
-                return affectedPokemon.getCriticalHitRatio();
-            default: break;
+    private String getConditionText( BattleEngine.Event event ) {
+        String name = event.getPokemon().getName();
+        PokemonActor.Status status = event.getStatus();
+        BattleEngine.Event.Type type = event.getType();
+        
+        if( type == BattleEngine.Event.Type.CANT_MOVE ) {
+            if(      status == PokemonActor.Status.SLEEP )     return name + " is fast asleep.";
+            else if( status == PokemonActor.Status.FREEZE )    return name + " is frozen solid!";
+            else if( status == PokemonActor.Status.PARALYSIS ) return name + " is paralyzed! It can't move!";
+            else if( status == PokemonActor.Status.BOUND )     return name + " is bound and can't move!";
+            else                 /*Status.CONFUSION*/          return name + " is confused!";
+        } else if( type == BattleEngine.Event.Type.STATUS_DAMAGE ) {
+            if(      event.getMove() != null )                 return name + "'s health is sapped by " +
+                                                                      event.getMove().getName() + "!";
+            else if( status == PokemonActor.Status.BURN )      return name + " is hurt by its burn!";
+            else if( status == PokemonActor.Status.POISON )    return name + " is hurt by poison!";
+            else if( status == PokemonActor.Status.BOUND )     return name + " is hurt by the trap!";
+            else                 /*Status.CONFUSION*/          return "It hurt itself in its confusion!";
+        } else if( type == BattleEngine.Event.Type.STATUS_HEALED ) {
+            if( event.getItem() != null )                      return name + " was healed of its " + status.name() + "!";
+            else if( status == PokemonActor.Status.SLEEP )     return name + " woke up!";
+            else if( status == PokemonActor.Status.FREEZE )    return name + " thawed out!";
+            else if( status == PokemonActor.Status.CONFUSION ) return name + " snapped out of its confusion!";
+            else if( status == PokemonActor.Status.BOUND )     return name + " was freed from the trap!";
+            else                                               return name + " was healed of its " + status.name() + "!";
+        } else if( type == BattleEngine.Event.Type.CONDITION_STARTED ) {
+            return name + " is under the effect of " + event.getMove().getName() + "!";
+        } else { //Type.CONDITION_ENDED
+            return name + "'s " + event.getMove().getName() + " wore off!";
         }
-        
-        return (double)PokeWorld.ERROR;
-    }
-    
-    /**
-     * The tryRestoreCurrent____ helper functions restore current values to their maximums, making use of the
-     * maximizeValues and restoreCurrentToFull properties of that item
-     * 
-     * @param restoreCurrentToFull True if the item restores the current property value to its max value, false otherwise
-     * @param maximizeValues True if the item restores the current property value to its max value, false otherwise
-     * @param restoresLoweredStats True if the item restores all lowered current property values to their max values,
-     *                             false otherwise
-     * @param affectedPokemon The Pokemon that is affected by these effects
-     * @see ...
-     */
-    private void tryRestoreCurrentHP( boolean restoreCurrentToFull, boolean maximizeValues, boolean restoresLoweredStats,
-                                      PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentHP() < affectedPokemon.getHP() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentHP( affectedPokemon.getHP() );
-    }
-    private void tryRestoreCurrentAttack( boolean restoreCurrentToFull, boolean maximizeValues, boolean restoresLoweredStats,
-                                          PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentAttack() < affectedPokemon.getAttack() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentAttack( affectedPokemon.getAttack() ); 
-    }
-    private void tryRestoreCurrentDefense( boolean restoreCurrentToFull, boolean maximizeValues, boolean restoresLoweredStats,
-                                           PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentDefense() < affectedPokemon.getDefense() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentDefense( affectedPokemon.getDefense() ); 
-    }
-    private void tryRestoreCurrentSpecialAttack( boolean restoreCurrentToFull, boolean maximizeValues,
-                                                 boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentSpecialAttack() < affectedPokemon.getSpecialAttack() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentSpecialAttack( affectedPokemon.getSpecialAttack() ); 
-    }
-    private void tryRestoreCurrentSpecialDefense( boolean restoreCurrentToFull, boolean maximizeValues,
-                                                  boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentSpecialDefense() < affectedPokemon.getSpecialDefense() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentSpecialDefense( affectedPokemon.getSpecialDefense() ); 
-    }
-    private void tryRestoreCurrentSpeed( boolean restoreCurrentToFull, boolean maximizeValues,
-                                         boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentSpeed() < affectedPokemon.getSpeed() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentSpeed( affectedPokemon.getSpeed() ); 
-    }
-    private void tryRestoreCurrentEvasion( boolean restoreCurrentToFull, boolean maximizeValues,
-                                           boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentEvasion() < affectedPokemon.getEvasion() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentEvasion( affectedPokemon.getEvasion() ); 
-    }
-    private void tryRestoreCurrentAccuracy( boolean restoreCurrentToFull, boolean maximizeValues,
-                                            boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentAccuracy() < affectedPokemon.getAccuracy() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentAccuracy( affectedPokemon.getAccuracy() );
-    }
-    private void tryRestoreCurrentMovePower( boolean restoreCurrentToFull, boolean maximizeValues,
-                                             boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentMove().getCurrentPower() < affectedPokemon.getCurrentMove().getPower() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.getCurrentMove().setCurrentPower( affectedPokemon.getCurrentMove().getPower() );
-    }
-    private void tryRestoreCurrentMoveAccuracy( boolean restoreCurrentToFull, boolean maximizeValues,
-                                                boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentMove().getCurrentAccuracy() < affectedPokemon.getCurrentMove().getAccuracy() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.getCurrentMove().setCurrentAccuracy( affectedPokemon.getCurrentMove().getAccuracy() );
-    }
-    private void tryRestoreCurrentMovePP( boolean restoreCurrentToFull, boolean maximizeValues,
-                                          boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentMove().getCurrentPP() < affectedPokemon.getCurrentMove().getPP() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.getCurrentMove().setCurrentPP( affectedPokemon.getCurrentMove().getPP() );
-    }
-    private void tryRestoreCurrentCriticalHitRatio( boolean restoreCurrentToFull, boolean maximizeValues,
-                                                    boolean restoresLoweredStats, PokemonActor affectedPokemon ) {
-        if( affectedPokemon.getCurrentCriticalHitRatio() < affectedPokemon.getCriticalHitRatio() &&
-            (restoreCurrentToFull || maximizeValues || restoresLoweredStats ) )
-            affectedPokemon.setCurrentCriticalHitRatio( affectedPokemon.getCriticalHitRatio() ); 
     }
     
     /**
      * Sets the menu when RUN is selected within the main menu
      * 
      * @see selectMenu()
-     * @see SelectionArrow enum
+     * @see applyAction( BattleEngine.Action action )
+     * @see BattleEngine.Action.run()
      */
     private void setRunMenu() {
-        setText( 500, 100, getCurrentPokemon().getName() + " can't run away from this battle!",
-                 20, 20, Color.WHITE, true, 270, 450 );
+        for( BattleEngine.Event event : applyAction( BattleEngine.Action.run() ) )
+            if( event.getType() == BattleEngine.Event.Type.RUN_FAILED )
+                setText( 500, 100, event.getPokemon().getName() + " can't run away from this battle!",
+                         20, 20, Color.WHITE, true, 270, 450 );
         
         currentTurn = BattleTurn.INTRO;
     }
     
     /* @@@@@@ TextImage Object Getter and Setter Methods @@@@@@ */
+    /* TextImages come from the ActorPool, and are given back to it in clearText() */
     /**
      * Sets a large text box's text with default values
      * 
@@ -3723,7 +3025,7 @@ public class PokeBattle extends PokeWorld {
      */
     private TextImage getTextImage( int width, int height, String text, int xOffset, int yOffset,
                                     Color color, boolean isBold ) {
-        TextImage menuText = new TextImage(
+        TextImage menuText = ActorPool.getTextImage(
             width,
             height,
             text,
@@ -3746,7 +3048,7 @@ public class PokeBattle extends PokeWorld {
      */
     private TextImage getTextImage( int width, int height, String text, int xOffset, int yOffset,
                                     Color color, boolean isBold, int fontSize ) {
-        TextImage menuText = new TextImage(
+        TextImage menuText = ActorPool.getTextImage(
             width,
             height,
             text,
@@ -3773,7 +3075,7 @@ public class PokeBattle extends PokeWorld {
      * @see setTextImage( String imageLoc, String text, int xOffset, int yOffset, int x, int y )
      */
     private TextImage getTextImage( String imageLoc, String text, int xOffset, int yOffset ) {
-        TextImage menuImage = new TextImage(
+        TextImage menuImage = ActorPool.getTextImage(
             imageLoc,
             text,
             Color.BLACK,
@@ -3798,7 +3100,7 @@ public class PokeBattle extends PokeWorld {
      * @see setTextImage( String imageLoc, String text, int xOffset, int yOffset, int x, int y )
      */
     private TextImage getTextImage( GreenfootImage image, String text, int xOffset, int yOffset ) {
-        TextImage menuImage = new TextImage(
+        TextImage menuImage = ActorPool.getTextImage(
             image,
             text,
             Color.BLACK,
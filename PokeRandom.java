@@ -0,0 +1,187 @@
+import java.util.SplittableRandom;
+
+/**
+ * PokeRandom.java
+ *
+ * The random number generator for every random decision of the game: hits and critical hits, random item stats,
+ * random items, and the next song to play. Each battle, simulation worker, or other owner has its own PokeRandom,
+ * so that no two threads share one and no random decision has to allocate a new generator.
+ *
+ * PokeRandoms are made in two ways:
+ * 1) create() splits a new PokeRandom off the root generator. The root generator is seeded from the pokemon.seed
+ *    system property if it is set (start Greenfoot with -Dpokemon.seed=1234), so that the battles of a run can be
+ *    played again, and from the clock if it is not
+ * 2) forStream( long seed, long stream ) makes the PokeRandom of one numbered stream of a seed, such as the battle
+ *    number of a simulation. The same seed and stream always give the same numbers, no matter which thread asks
+ *
+ * A PokeRandom is not safe to share between threads. Use split() to give a worker its own generator
+ *
+ * Every yes-or-no decision that has a chance (hits, critical hits, and the chances of Move effects) goes through
+ * nextChance( double chance ). A subclass may override it to choose the outcomes itself, which is how ExpectimaxAI
+ * searches every outcome of a Move instead of one random outcome
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - SEED_PROPERTY      : The system property that seeds the root generator
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - root               : The generator that create() splits new PokeRandoms off of
+ * - random             : The SplittableRandom that makes the numbers of this PokeRandom
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - PokeRandom( long seed ) : Create a PokeRandom with the given seed
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - create()                         : Splits a new PokeRandom off the root generator
+ * - forStream( long seed, long stream ) : Gets the PokeRandom of one numbered stream of the seed
+ * - split()                          : Splits a new, independent PokeRandom off this one
+ *
+ * - nextDouble()                     : Gets a random double from 0 (inclusive) to 1 (exclusive)
+ * - nextInt( int bound )             : Gets a random int from 0 (inclusive) to bound (exclusive)
+ * - nextLong()                       : Gets a random long
+ * - nextBoolean()                    : Gets a random boolean
+ * - nextChance( double chance )      : Decides whether something with the given chance happens
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - mix( long value )                : Scrambles the bits of a value, so that nearby values give unrelated seeds
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleEngine.java
+ * @see BattleSimulator.java
+ * @see AudioManager.java
+ * @see Item.java
+ * @see ExpectimaxAI.java
+ */
+public class PokeRandom {
+
+    public static final String SEED_PROPERTY = "pokemon.seed";
+
+    private static final SplittableRandom root = Long.getLong( SEED_PROPERTY ) != null ?
+                                                 new SplittableRandom( Long.getLong( SEED_PROPERTY ) ) :
+                                                 new SplittableRandom();
+
+    private final SplittableRandom random;
+
+    /**
+     * Create a PokeRandom with the given seed. PokeRandoms with the same seed give the same numbers
+     *
+     * @param seed The seed
+     */
+    public PokeRandom( long seed ) {
+        this( new SplittableRandom( seed ) );
+    }
+
+    /**
+     * Create a PokeRandom that uses the given SplittableRandom
+     *
+     * @param random The SplittableRandom that makes the numbers
+     */
+    private PokeRandom( SplittableRandom random ) {
+        this.random = random;
+    }
+
+    /**
+     * Splits a new PokeRandom off the root generator. This is the only method that locks, and it is called once
+     * per battle (or other owner) rather than once per random decision
+     *
+     * @return PokeRandom A new PokeRandom
+     * @see SEED_PROPERTY
+     */
+    public static PokeRandom create() {
+        synchronized( root ) {
+            return new PokeRandom( root.split() );
+        }
+    }
+
+    /**
+     * Gets the PokeRandom of one numbered stream of the seed. The same seed and stream always give the same
+     * numbers, and different streams give unrelated numbers
+     *
+     * @param seed The seed, such as the seed of a simulation
+     * @param stream The number of the stream, such as the number of a battle
+     * @return PokeRandom The PokeRandom of the stream
+     */
+    public static PokeRandom forStream( long seed, long stream ) {
+        return new PokeRandom( mix( seed ^ mix( stream ) ) );
+    }
+
+    /**
+     * Scrambles the bits of a value (the finalizer of SplitMix64), so that nearby values give unrelated seeds
+     *
+     * @param value The value
+     * @return long The scrambled value
+     */
+    private static long mix( long value ) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Splits a new, independent PokeRandom off this one. This changes the numbers that this PokeRandom gives
+     * afterwards, the same way that taking a number does
+     *
+     * @return PokeRandom The new PokeRandom
+     */
+    public PokeRandom split() {
+        return new PokeRandom( random.split() );
+    }
+
+    /**
+     * Gets a random double
+     *
+     * @return double A random double from 0 (inclusive) to 1 (exclusive)
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * Gets a random int
+     *
+     * @param bound The bound of the int, which must be greater than 0
+     * @return int A random int from 0 (inclusive) to bound (exclusive)
+     */
+    public int nextInt( int bound ) {
+        return random.nextInt( bound );
+    }
+
+    /**
+     * Gets a random long
+     *
+     * @return long A random long
+     */
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Gets a random boolean
+     *
+     * @return boolean True or false, each half of the time
+     */
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    /**
+     * Decides whether something with the given chance happens. One number is always taken, even when the chance is
+     * 0 or 1, so that the numbers taken by a battle do not depend on the chances of its Moves
+     *
+     * @param chance The chance that it happens, from 0 to 1. Chances of 1 or more always happen
+     * @return boolean True if it happens, false otherwise
+     */
+    public boolean nextChance( double chance ) {
+        return random.nextDouble() < chance;
+    }
+}
@@ -45,6 +45,8 @@ import java.io.IOException;
  * - getImageWidth( String fileName )           : Gets the width of the image associated with this file path
  * - getImageHeight( String fileName )          : Gets the height of the image associated with this file path
  * 
+ * - getTextWidth( String text, int fontSize, boolean isBold )              : Gets the width of the text (in pixels),
+ *                                                                            measured with the TextImage font
  * - getTextWidth( String text, int fontSize, double pixelToFontSizeRatio ) : Gets the width of the text (in pixels)
  * 
  * - getFile( String filePath )                 : Gets the File associated with the given file path
@@ -135,16 +137,35 @@ public class PokeWorld extends World {
         return img.getHeight();
     }
     
+    /**
+     * Gets the width (in pixels) of a line of text of the TextImage font. The width is measured
+     * using the real font metrics, which are cached per font size
+     * 
+     * @param text The text to find the width of (in pixels)
+     * @param fontSize The size of this font
+     * @param isBold True if the text is bold, false otherwise
+     * @return int The width (in pixels) of this text
+     * @see TextLayout.getTextWidth( String text )
+     */
+    public static int getTextWidth( String text, int fontSize, boolean isBold ) {
+        return TextLayout.getMeasurer( fontSize, isBold ).getTextWidth( text );
+    }
+    
     /**
      * Gets the width (in pixels) of a line of text of the default font
      * 
+     * @deprecated The width is now measured using the real font metrics, so the ratio is no longer used.
+     *             Use getTextWidth( String text, int fontSize, boolean isBold ) instead
+     * 
      * @param text The text to find the width of (in pixels)
      * @param fontSize The size of this font (its height in pixels, approximately)
-     * @param pixelToFontSizeRatio The ratio of height to width
+     * @param pixelToFontSizeRatio The ratio of height to width. No longer used
      * @return int The width (in pixels) of this text
+     * @see getTextWidth( String text, int fontSize, boolean isBold )
      */
+    @Deprecated
     public static int getTextWidth( String text, int fontSize, double pixelToFontSizeRatio ) {
-        return (int)(text.length() * fontSize / pixelToFontSizeRatio);
+        return getTextWidth( text, fontSize, false );
     }
     
     /**
@@ -77,7 +77,7 @@ import java.io.FileNotFoundException;
  * 
  * - status      : The status of this Pokemon. A healthy Pokemon has a Status.NORMAL status.
  *                 The other statuses include Status.BURN, Status.FREEZE, Status.PARALYSIS,
- *                 Status.POISON, Status.SLEEP, Status.BOUND, and Status.FAINTED
+ *                 Status.POISON, Status.SLEEP, Status.BOUND, Status.CONFUSION, and Status.FAINTED
  * 
  * - totalEvolutions  : The total number of times this Pokemon has evolved
  * 
@@ -91,7 +91,7 @@ import java.io.FileNotFoundException;
  * - uniqueID         : The unique ID of this Pokemon
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ ENUMS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
- * - Status   : NORMAL, BURN, FREEZE, PARALYSIS, POISON, SLEEP, BOUND, FAINTED
+ * - Status   : NORMAL, BURN, FREEZE, PARALYSIS, POISON, SLEEP, BOUND, CONFUSION, FAINTED
  *              [from the Pokemon.java interface]
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
@@ -226,6 +226,10 @@ import java.io.FileNotFoundException;
  * - getCurrentItem()                     : Gets the current Item being held or used by the Pokemon
  * - setCurrentItem( Item currentItem )   : Sets the current Item being held or used by the Pokemon
  * 
+ * - saveState()                          : Saves the values of this Pokemon that change during a battle
+ * - saveState( Snapshot base )           : Saves the values, sharing the parts that have not changed since base
+ * - restoreState( Snapshot snapshot )    : Restores the values saved by saveState()
+ * 
  * PROTECTED METHODS
  * ---------------------------------------------------------------------
  * - evaluateExp( int exp )                  : Used to determine whether a Pokemon has leveled
@@ -237,7 +241,7 @@ import java.io.FileNotFoundException;
  * - printError( String message )            : @Deprecated Prints an error to the screen
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ PRIVATE CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
- * - none
+ * - Snapshot : The values of a Pokemon that change during a battle, saved by saveState()
  * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * --------------------------------------------------------------------------------------------
@@ -482,6 +486,7 @@ public class PokemonActor extends Actor implements Pokemon {
         else if( this.status == Status.POISON )    return this.NAME + " is hurt by poison!";
         else if( this.status == Status.SLEEP )     return this.NAME + " is fast asleep.";
         else if( this.status == Status.BOUND )     return this.NAME + " is bound! It hurt itself trying to escape!";
+        else if( this.status == Status.CONFUSION ) return this.NAME + " is confused!";
         else                  /*Status.FAINTED*/   return this.NAME + " has fainted!";
     }
     
@@ -1436,6 +1441,45 @@ public class PokemonActor extends Actor implements Pokemon {
         this.currentItem = currentItem;
     }
     
+    /**
+     * Saves the values of this Pokemon that change during a battle: its stats and current stats, exp and level,
+     * status, critical hit ratio, Moves (power, accuracy, and PP), and Items with their quantities. A search can
+     * try out Actions on this Pokemon and then put it back the way it was with restoreState( Snapshot snapshot )
+     * 
+     * @return Snapshot The saved values
+     * @see Move.saveState()
+     */
+    public Snapshot saveState() {
+        return new Snapshot( this, null );
+    }
+    
+    /**
+     * Saves the values of this Pokemon like saveState(), but shares every part of the Snapshot base that has not
+     * changed since it was saved, so that a Snapshot only copies what changed. If nothing changed, base itself is
+     * returned and nothing is made at all. Since a Snapshot never changes, sharing its parts is always safe
+     * 
+     * @param base A Snapshot saved earlier from this Pokemon, such as the Snapshot of the turn before. This can be
+     *             null, which saves everything
+     * @return Snapshot The saved values
+     * @see saveState()
+     * @see Move.matchesState( int[] state )
+     */
+    public Snapshot saveState( Snapshot base ) {
+        if( base != null && base.matches( this ) ) return base;
+        return new Snapshot( this, base );
+    }
+    
+    /**
+     * Restores the values saved by saveState(). The Snapshot must have been saved from this Pokemon, or from a
+     * Pokemon of the same class with the same Moves
+     * 
+     * @param snapshot The values saved by saveState()
+     * @see Move.restoreState( int[] state )
+     */
+    public void restoreState( Snapshot snapshot ) {
+        snapshot.restore( this );
+    }
+    
     /**
      * Prints a message to the screen
      * 
@@ -1460,4 +1504,261 @@ public class PokemonActor extends Actor implements Pokemon {
         World w = getWorld();
         w.showText( message, w.getWidth()/2, w.getHeight()/2 );
     }
+    
+    /**
+     * The values of a Pokemon that change during a battle. A Snapshot does not change once it is made, so the same
+     * Snapshot may be restored any number of times
+     */
+    public static class Snapshot {
+        
+        private final int[] stats;
+        private final int level, exp, addedExp, points;
+        private final double criticalHitRatio, currentCriticalHitRatio;
+        private final Status status;
+        private final Move currentMove;
+        private final Item currentItem;
+        private final int currentMoveIndex, currentItemIndex;
+        private final int[][] moveStates;
+        private final Item[] items;
+        private final int[] quantities;
+        
+        /**
+         * Saves the values of the Pokemon, sharing the stats, Move values, and Items of base that have not changed
+         * 
+         * @param pokemon The Pokemon to save
+         * @param base A Snapshot saved earlier from the Pokemon, or null to save everything
+         */
+        private Snapshot( PokemonActor pokemon, Snapshot base ) {
+            if( base != null && matchesStats( pokemon, base.stats ) )
+                stats = base.stats;
+            else
+                stats = new int[]{ pokemon.HP, pokemon.attack, pokemon.defense, pokemon.specialAttack,
+                                   pokemon.specialDefense, pokemon.speed, pokemon.evasion, pokemon.accuracy,
+                                   pokemon.currentHP, pokemon.currentAttack, pokemon.currentDefense,
+                                   pokemon.currentSpecialAttack, pokemon.currentSpecialDefense, pokemon.currentSpeed,
+                                   pokemon.currentEvasion, pokemon.currentAccuracy };
+            level       = pokemon.level;
+            exp         = pokemon.exp;
+            addedExp    = pokemon.addedExp;
+            points      = pokemon.points;
+            criticalHitRatio        = pokemon.criticalHitRatio;
+            currentCriticalHitRatio = pokemon.currentCriticalHitRatio;
+            status      = pokemon.status;
+            currentMove = pokemon.currentMove;
+            currentItem = pokemon.currentItem;
+            
+            currentMoveIndex = pokemon.moves.indexOf( currentMove );
+            currentItemIndex = indexOf( pokemon.items, currentItem );
+            
+            if( base != null && matchesMoves( pokemon, base.moveStates ) ) {
+                moveStates = base.moveStates;
+            } else {
+                moveStates = new int[ pokemon.moves.size() ][];
+                for( int i = 0; i < moveStates.length; i++ ) {
+                    Move move = pokemon.moves.get(i);
+                    if( base != null && i < base.moveStates.length && move.matchesState( base.moveStates[i] ) )
+                        moveStates[i] = base.moveStates[i];
+                    else
+                        moveStates[i] = move.saveState();
+                }
+            }
+            
+            if( base != null && matchesItems( pokemon, base.items ) ) {
+                items = base.items;
+                quantities = matchesQuantities( base.items, base.quantities ) ? base.quantities : saveQuantities( items );
+            } else {
+                items = pokemon.items.toArray( new Item[ pokemon.items.size() ] );
+                quantities = saveQuantities( items );
+            }
+        }
+        
+        /**
+         * Copies a Snapshot, giving the copy its own copies of the saved Items
+         * 
+         * @param snapshot The Snapshot to copy
+         * @see Item.copy()
+         */
+        private Snapshot( Snapshot snapshot ) {
+            stats       = snapshot.stats;
+            level       = snapshot.level;
+            exp         = snapshot.exp;
+            addedExp    = snapshot.addedExp;
+            points      = snapshot.points;
+            criticalHitRatio        = snapshot.criticalHitRatio;
+            currentCriticalHitRatio = snapshot.currentCriticalHitRatio;
+            status      = snapshot.status;
+            currentMove = snapshot.currentMove;
+            currentMoveIndex = snapshot.currentMoveIndex;
+            currentItemIndex = snapshot.currentItemIndex;
+            moveStates  = snapshot.moveStates;
+            quantities  = snapshot.quantities;
+            
+            items = new Item[ snapshot.items.length ];
+            for( int i = 0; i < items.length; i++ )
+                items[i] = snapshot.items[i].copy();
+            
+            if( currentItemIndex != PokeWorld.ERROR ) currentItem = items[ currentItemIndex ];
+            else                                      currentItem = snapshot.currentItem;
+        }
+        
+        /**
+         * Determines whether the Pokemon still has every value saved in this Snapshot
+         * 
+         * @param pokemon The Pokemon to check
+         * @return boolean True if restoring this Snapshot would not change the Pokemon, false otherwise
+         */
+        private boolean matches( PokemonActor pokemon ) {
+            return level == pokemon.level && exp == pokemon.exp && addedExp == pokemon.addedExp &&
+                   points == pokemon.points && criticalHitRatio == pokemon.criticalHitRatio &&
+                   currentCriticalHitRatio == pokemon.currentCriticalHitRatio && status == pokemon.status &&
+                   currentMove == pokemon.currentMove && currentItem == pokemon.currentItem &&
+                   matchesStats( pokemon, stats ) && matchesMoves( pokemon, moveStates ) &&
+                   matchesItems( pokemon, items ) && matchesQuantities( items, quantities );
+        }
+        
+        /**
+         * Determines whether the stats and current stats of the Pokemon are the saved stats
+         * 
+         * @param pokemon The Pokemon to check
+         * @param stats The saved stats
+         * @return boolean True if every stat matches, false otherwise
+         */
+        private static boolean matchesStats( PokemonActor pokemon, int[] stats ) {
+            return pokemon.HP == stats[0] && pokemon.attack == stats[1] && pokemon.defense == stats[2] &&
+                   pokemon.specialAttack == stats[3] && pokemon.specialDefense == stats[4] &&
+                   pokemon.speed == stats[5] && pokemon.evasion == stats[6] && pokemon.accuracy == stats[7] &&
+                   pokemon.currentHP == stats[8] && pokemon.currentAttack == stats[9] &&
+                   pokemon.currentDefense == stats[10] && pokemon.currentSpecialAttack == stats[11] &&
+                   pokemon.currentSpecialDefense == stats[12] && pokemon.currentSpeed == stats[13] &&
+                   pokemon.currentEvasion == stats[14] && pokemon.currentAccuracy == stats[15];
+        }
+        
+        /**
+         * Determines whether every Move of the Pokemon has its saved values
+         * 
+         * @param pokemon The Pokemon to check
+         * @param moveStates The saved values of the Moves
+         * @return boolean True if every Move matches, false otherwise
+         * @see Move.matchesState( int[] state )
+         */
+        private static boolean matchesMoves( PokemonActor pokemon, int[][] moveStates ) {
+            if( pokemon.moves.size() != moveStates.length ) return false;
+            for( int i = 0; i < moveStates.length; i++ )
+                if( !pokemon.moves.get(i).matchesState( moveStates[i] ) ) return false;
+            return true;
+        }
+        
+        /**
+         * Determines whether the Pokemon holds exactly the saved Items, in the same order
+         * 
+         * @param pokemon The Pokemon to check
+         * @param items The saved Items
+         * @return boolean True if the Pokemon holds the same Items, false otherwise
+         */
+        private static boolean matchesItems( PokemonActor pokemon, Item[] items ) {
+            if( pokemon.items.size() != items.length ) return false;
+            for( int i = 0; i < items.length; i++ )
+                if( pokemon.items.get(i) != items[i] ) return false;
+            return true;
+        }
+        
+        /**
+         * Determines whether the Items still have their saved quantities
+         * 
+         * @param items The saved Items
+         * @param quantities The saved quantities of the Items
+         * @return boolean True if every quantity matches, false otherwise
+         */
+        private static boolean matchesQuantities( Item[] items, int[] quantities ) {
+            for( int i = 0; i < items.length; i++ )
+                if( items[i].getQuantity() != quantities[i] ) return false;
+            return true;
+        }
+        
+        /**
+         * Saves the quantities of the Items
+         * 
+         * @param items The Items to save the quantities of
+         * @return int[] The quantities, in the same order as the Items
+         */
+        private static int[] saveQuantities( Item[] items ) {
+            int[] quantities = new int[ items.length ];
+            for( int i = 0; i < items.length; i++ )
+                quantities[i] = items[i].getQuantity();
+            return quantities;
+        }
+        
+        /**
+         * Finds an Item by identity (Items with the same name are equal, but are not the same Item)
+         * 
+         * @param items The Items to search
+         * @param item The Item to find
+         * @return int The index of the Item, or ERROR if it is not in the list
+         */
+        private static int indexOf( ArrayList<Item> items, Item item ) {
+            for( int i = 0; i < items.size(); i++ )
+                if( items.get(i) == item ) return i;
+            return PokeWorld.ERROR;
+        }
+        
+        /**
+         * Makes a copy of this Snapshot that holds its own copies of the saved Items. Restoring the copy into another
+         * Pokemon of the same class lets that Pokemon use Items without changing the quantities of the Items held by
+         * the Pokemon this Snapshot was saved from
+         * 
+         * @return Snapshot The copy of this Snapshot
+         * @see Item.copy()
+         * @see MonteCarloAI.java
+         */
+        public Snapshot withCopiedItems() {
+            return new Snapshot( this );
+        }
+        
+        /**
+         * Puts the saved values back into the Pokemon
+         * 
+         * @param pokemon The Pokemon to restore
+         */
+        private void restore( PokemonActor pokemon ) {
+            pokemon.HP                    = stats[0];
+            pokemon.attack                = stats[1];
+            pokemon.defense               = stats[2];
+            pokemon.specialAttack         = stats[3];
+            pokemon.specialDefense        = stats[4];
+            pokemon.speed                 = stats[5];
+            pokemon.evasion               = stats[6];
+            pokemon.accuracy              = stats[7];
+            pokemon.currentHP             = stats[8];
+            pokemon.currentAttack         = stats[9];
+            pokemon.currentDefense        = stats[10];
+            pokemon.currentSpecialAttack  = stats[11];
+            pokemon.currentSpecialDefense = stats[12];
+            pokemon.currentSpeed          = stats[13];
+            pokemon.currentEvasion        = stats[14];
+            pokemon.currentAccuracy       = stats[15];
+            pokemon.level       = level;
+            pokemon.exp         = exp;
+            pokemon.addedExp    = addedExp;
+            pokemon.points      = points;
+            pokemon.criticalHitRatio        = criticalHitRatio;
+            pokemon.currentCriticalHitRatio = currentCriticalHitRatio;
+            pokemon.status      = status;
+            
+            for( int i = 0; i < moveStates.length && i < pokemon.moves.size(); i++ )
+                pokemon.moves.get(i).restoreState( moveStates[i] );
+            
+            pokemon.items.clear();
+            for( int i = 0; i < items.length; i++ ) {
+                items[i].setQuantity( quantities[i] );
+                pokemon.items.add( items[i] );
+            }
+            
+            //Point at the Pokemon's own Move, which is not the saved Move if the Pokemon is a copy
+            if( currentMoveIndex != PokeWorld.ERROR && currentMoveIndex < pokemon.moves.size() )
+                pokemon.currentMove = pokemon.moves.get( currentMoveIndex );
+            else
+                pokemon.currentMove = currentMove;
+            pokemon.currentItem = currentItem;
+        }
+    }
 }
@@ -0,0 +1,668 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * RatingStore.java
+ *
+ * Keeps a Glicko-2 skill rating for every Pokemon build, and keeps the ratings between runs of the game. A build is a
+ * Pokemon class with one set of stats, type, and Moves, so two students' Pokemon of the same class with different
+ * stats are rated on their own. A rating has three parts: the rating itself (1500 to start), the rating deviation (how
+ * unsure the rating is, 350 to start, which shrinks as the build battles), and the volatility (how much the build's
+ * results jump around).
+ *
+ * Ratings are updated in batches. All of the battles of a batch are one Glicko-2 rating period: each build's new
+ * rating is worked out from every battle it played in the batch at once, against its opponents' ratings from before
+ * the batch, so the order of the battles in a batch does not matter. A battle on the screen is a batch of one, and a
+ * Tournament is one batch of thousands of battles.
+ *
+ * The ratings are kept in two files. Every batch adds one line per changed rating to the end of the log file, with the
+ * whole rating, in a single write. Once the log has SNAPSHOT_INTERVAL lines, every rating is written to the snapshot
+ * file (to a temporary file first, which then replaces the snapshot) and the log is emptied. Loading reads the snapshot
+ * and then the log, and the last line of each build wins, so a log that was not emptied after a snapshot is harmless.
+ *
+ * The leaderboard is kept sorted in memory, by the conservative rating (the rating minus two rating deviations), so that
+ * a build that won its only battle does not top the board.
+ *
+ * Example: RatingStore store = RatingStore.getDefault();
+ *          store.record( RatingStore.getKey( winner ), RatingStore.getKey( loser ), 1.0 );
+ *          System.out.println( store.getLeaderboard( 10 ) );
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - LOG_FILE_LOC, SNAPSHOT_FILE_LOC : The default log and snapshot files
+ * - SNAPSHOT_INTERVAL   : The number of log lines after which a snapshot is written
+ * - DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_VOLATILITY : The rating of a build that has not battled
+ * - TAU                 : The Glicko-2 system constant, which limits how fast the volatility changes
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - SCALE               : The Glicko-2 scale factor between ratings and the internal scale (173.7178)
+ * - EPSILON             : The tolerance of the volatility iteration
+ * - LEADERBOARD_ORDER   : Orders Ratings from the highest conservative rating to the lowest
+ * - defaultStore        : The RatingStore of the default files
+ *
+ * - logFileLoc, snapshotFileLoc : The files of this RatingStore
+ * - ratings             : The Rating of each build, by key
+ * - leaderboard         : Every Rating, sorted by LEADERBOARD_ORDER
+ * - logLines            : The number of lines in the log since the last snapshot
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - RatingStore( String logFileLoc, String snapshotFileLoc ) : Create a RatingStore and load its files
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getDefault()                  : Gets the RatingStore of the default files, loading it the first time
+ * - getKey( PokemonActor pokemon ) : Gets the key of a Pokemon's build: its class and a fingerprint of its build
+ * - getRating( String key )       : Gets the Rating of a build
+ * - record( String key1, String key2, double score1 ) : Records one battle as a batch of one
+ * - recordBatch( List<Game> games ) : Records a batch of battles as one rating period
+ * - recordTournament( Tournament.Standings standings ) : Records every battle of a Tournament as one batch
+ * - getLeaderboard( int count )   : Gets the best Ratings, from first place down
+ * - getRank( String key )         : Gets the place of a build on the leaderboard
+ * - size()                        : Gets the number of rated builds
+ * - snapshot()                    : Writes every rating to the snapshot file and empties the log
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - update( Rating player, List<Rating> opponents, List<Double> scores ) : Gets the new Glicko-2 rating of a build
+ * - getNewVolatility( double phi, double sigma, double delta, double v ) : Works out the new volatility (step 5)
+ * - volatilityFunction( double x, double a, double phi2, double delta2, double v ) : The function of step 5
+ * - g( double phi ), expected( double mu, double opponentMu, double opponentPhi ) : The Glicko-2 functions
+ * - put( Rating rating )          : Puts a Rating in the map and the leaderboard
+ * - load()                        : Reads the snapshot and the log
+ * - readFile( String fileLoc )    : Reads the Ratings of one file, and returns the number of lines read
+ * - append( List<Rating> changed ) : Adds the changed Ratings to the end of the log
+ * - write( String fileLoc, String text, boolean isAppend ) : Writes text to a file
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Rating : The Glicko-2 rating and the record of one build. A Rating never changes
+ * - Game   : One battle between two builds, with its result
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see Tournament.java
+ * @see PokeBattle.java
+ * @see PokeArena.java
+ */
+public class RatingStore {
+
+    public static final String LOG_FILE_LOC       = "./ratings.log";
+    public static final String SNAPSHOT_FILE_LOC  = "./ratings.snapshot";
+    public static final int SNAPSHOT_INTERVAL     = 1000;
+    public static final double DEFAULT_RATING     = 1500.0;
+    public static final double DEFAULT_DEVIATION  = 350.0;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+    public static final double TAU                = 0.5;
+
+    private static final double SCALE   = 173.7178;
+    private static final double EPSILON = 0.000001;
+
+    private static final Comparator<Rating> LEADERBOARD_ORDER = new Comparator<Rating>() {
+        public int compare( Rating a, Rating b ) {
+            int order = Double.compare( b.getConservativeRating(), a.getConservativeRating() );
+            return order != 0 ? order : a.getKey().compareTo( b.getKey() );
+        }
+    };
+
+    private static RatingStore defaultStore = null;
+
+    private final String logFileLoc, snapshotFileLoc;
+    private final HashMap<String, Rating> ratings = new HashMap<String, Rating>();
+    private final TreeSet<Rating> leaderboard = new TreeSet<Rating>( LEADERBOARD_ORDER );
+    private int logLines = 0;
+
+    /**
+     * Create a RatingStore that keeps its ratings in the given files, and load the ratings that are already there
+     *
+     * @param logFileLoc The log file, such as LOG_FILE_LOC
+     * @param snapshotFileLoc The snapshot file, such as SNAPSHOT_FILE_LOC
+     */
+    public RatingStore( String logFileLoc, String snapshotFileLoc ) {
+        this.logFileLoc = logFileLoc;
+        this.snapshotFileLoc = snapshotFileLoc;
+        load();
+    }
+
+    /**
+     * Gets the RatingStore of the default files, LOG_FILE_LOC and SNAPSHOT_FILE_LOC. The files are loaded the first
+     * time this is called
+     *
+     * @return RatingStore The RatingStore of the default files
+     */
+    public static synchronized RatingStore getDefault() {
+        if( defaultStore == null )
+            defaultStore = new RatingStore( LOG_FILE_LOC, SNAPSHOT_FILE_LOC );
+        return defaultStore;
+    }
+
+    /**
+     * Gets the key of a Pokemon's build: its class name and a fingerprint (a 64 bit FNV-1a hash, in hex) of its stats,
+     * type, and the names of its Moves. Pokemon of the same class with the same build have the same key. Level and exp
+     * are not part of the build, but the stats that grow with level are, so a Pokemon that levels up becomes a new build
+     *
+     * @param pokemon The Pokemon
+     * @return String The key, such as "Pikachu#9c0f1e2d3a4b5c6d"
+     */
+    public static String getKey( PokemonActor pokemon ) {
+        StringBuilder build = new StringBuilder();
+        build.append( pokemon.getHP() ).append( ',' ).append( pokemon.getAttack() ).append( ',' )
+             .append( pokemon.getDefense() ).append( ',' ).append( pokemon.getSpecialAttack() ).append( ',' )
+             .append( pokemon.getSpecialDefense() ).append( ',' ).append( pokemon.getSpeed() ).append( ',' )
+             .append( pokemon.getEvasion() ).append( ',' ).append( pokemon.getAccuracy() ).append( ',' )
+             .append( pokemon.getType() );
+        for( Move move : pokemon.getMoves() )
+            build.append( ',' ).append( move.getName() );
+
+        long hash = 0xCBF29CE484222325L;
+        for( byte b : build.toString().getBytes( StandardCharsets.UTF_8 ) ) {
+            hash ^= (b & 0xFF);
+            hash *= 0x100000001B3L;
+        }
+        return pokemon.getClass().getName() + "#" + String.format( "%016x", hash );
+    }
+
+    /**
+     * Gets the Rating of a build. A build that has not battled has the default rating
+     *
+     * @param key The key of the build
+     * @return Rating The Rating of the build
+     * @see getKey( PokemonActor pokemon )
+     */
+    public synchronized Rating getRating( String key ) {
+        Rating rating = ratings.get( key );
+        return rating != null ? rating : new Rating( key );
+    }
+
+    /**
+     * Records one battle as a batch of one
+     *
+     * @param key1 The key of the first build
+     * @param key2 The key of the second build
+     * @param score1 1 if the first build won, 0 if it lost, or 0.5 for a draw
+     * @see recordBatch( List<Game> games )
+     */
+    public void record( String key1, String key2, double score1 ) {
+        ArrayList<Game> games = new ArrayList<Game>();
+        games.add( new Game( key1, key2, score1 ) );
+        recordBatch( games );
+    }
+
+    /**
+     * Records a batch of battles as one Glicko-2 rating period. Each build that battled gets one new rating, worked
+     * out from all of its battles at once against its opponents' ratings from before the batch. The changed ratings
+     * are added to the log in one write, and a snapshot is written if the log has grown long enough. A build cannot
+     * battle itself, and such battles are left out
+     *
+     * @param games The battles of the batch
+     */
+    public synchronized void recordBatch( List<Game> games ) {
+        HashMap<String, ArrayList<Rating>> opponents = new HashMap<String, ArrayList<Rating>>();
+        HashMap<String, ArrayList<Double>> scores = new HashMap<String, ArrayList<Double>>();
+        for( Game game : games ) {
+            if( game.getKey1().equals( game.getKey2() ) ) continue;
+            String[] keys = { game.getKey1(), game.getKey2() };
+            double[] gameScores = { game.getScore1(), 1.0 - game.getScore1() };
+            for( int k = 0; k < 2; k++ ) {
+                if( !opponents.containsKey( keys[k] ) ) {
+                    opponents.put( keys[k], new ArrayList<Rating>() );
+                    scores.put( keys[k], new ArrayList<Double>() );
+                }
+                opponents.get( keys[k] ).add( getRating( keys[1 - k] ) );
+                scores.get( keys[k] ).add( gameScores[k] );
+            }
+        }
+
+        //Work out every new rating before changing any, so that every battle uses the ratings from before the batch
+        ArrayList<Rating> changed = new ArrayList<Rating>();
+        for( Map.Entry<String, ArrayList<Rating>> entry : opponents.entrySet() )
+            changed.add( update( getRating( entry.getKey() ), entry.getValue(), scores.get( entry.getKey() ) ) );
+        for( Rating rating : changed )
+            put( rating );
+
+        append( changed );
+        if( logLines >= SNAPSHOT_INTERVAL )
+            snapshot();
+    }
+
+    /**
+     * Records every battle of a Tournament as one batch
+     *
+     * @param standings The results of the Tournament
+     * @see Tournament.Standings.getRatingKey( int index )
+     */
+    public void recordTournament( Tournament.Standings standings ) {
+        ArrayList<Game> games = new ArrayList<Game>();
+        int n = standings.getEntrantCount();
+        for( int i = 0; i < n; i++ ) {
+            for( int j = i + 1; j < n; j++ ) {
+                String key1 = standings.getRatingKey( i ), key2 = standings.getRatingKey( j );
+                for( int k = 0; k < standings.getWins( i, j ); k++ )  games.add( new Game( key1, key2, 1.0 ) );
+                for( int k = 0; k < standings.getWins( j, i ); k++ )  games.add( new Game( key1, key2, 0.0 ) );
+                for( int k = 0; k < standings.getDraws( i, j ); k++ ) games.add( new Game( key1, key2, 0.5 ) );
+            }
+        }
+        recordBatch( games );
+    }
+
+    /**
+     * Gets the best Ratings, from first place down
+     *
+     * @param count The most Ratings to get
+     * @return List<Rating> The best Ratings, sorted by conservative rating
+     */
+    public synchronized List<Rating> getLeaderboard( int count ) {
+        ArrayList<Rating> best = new ArrayList<Rating>();
+        for( Rating rating : leaderboard ) {
+            if( best.size() >= count ) break;
+            best.add( rating );
+        }
+        return best;
+    }
+
+    /**
+     * Gets the place of a build on the leaderboard
+     *
+     * @param key The key of the build
+     * @return int The place, where 1 is first place, or PokeWorld.ERROR if the build has not battled
+     */
+    public synchronized int getRank( String key ) {
+        Rating rating = ratings.get( key );
+        if( rating == null ) return PokeWorld.ERROR;
+        return leaderboard.headSet( rating ).size() + 1;
+    }
+
+    /**
+     * Gets the number of builds that have battled
+     *
+     * @return int The number of rated builds
+     */
+    public synchronized int size() {
+        return ratings.size();
+    }
+
+    /**
+     * Writes every rating to the snapshot file and empties the log. The ratings are written to a temporary file first,
+     * which then replaces the snapshot, so the snapshot is never left half written
+     */
+    public synchronized void snapshot() {
+        StringBuilder lines = new StringBuilder();
+        for( Rating rating : leaderboard )
+            lines.append( rating.toLine() ).append( '\n' );
+
+        File temporary = new File( snapshotFileLoc + ".tmp" );
+        if( !write( temporary.getPath(), lines.toString(), false ) ) return;
+        try {
+            try {
+                Files.move( temporary.toPath(), new File( snapshotFileLoc ).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            } catch( AtomicMoveNotSupportedException e ) {
+                Files.move( temporary.toPath(), new File( snapshotFileLoc ).toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+        } catch( IOException e ) {
+            e.printStackTrace();
+            return;
+        }
+
+        if( write( logFileLoc, "", false ) )
+            logLines = 0;
+    }
+
+    /**
+     * Gets the new Glicko-2 rating of a build after a rating period (steps 2 to 8 of Glickman's description of the
+     * Glicko-2 system)
+     *
+     * @param player The Rating of the build before the period
+     * @param opponents The Rating of the opponent of each battle, from before the period
+     * @param scores The score of each battle: 1 for a win, 0 for a loss, or 0.5 for a draw
+     * @return Rating The new Rating of the build
+     */
+    private Rating update( Rating player, List<Rating> opponents, List<Double> scores ) {
+        double mu = (player.getRating() - DEFAULT_RATING) / SCALE;
+        double phi = player.getDeviation() / SCALE;
+
+        //Steps 3 and 4: the estimated variance of the rating, and the estimated improvement
+        double inverseV = 0.0, sum = 0.0;
+        int wins = 0, losses = 0, draws = 0;
+        for( int i = 0; i < opponents.size(); i++ ) {
+            double opponentMu = (opponents.get(i).getRating() - DEFAULT_RATING) / SCALE;
+            double opponentPhi = opponents.get(i).getDeviation() / SCALE;
+            double g = g( opponentPhi );
+            double e = expected( mu, opponentMu, opponentPhi );
+            double score = scores.get(i);
+            inverseV += g * g * e * (1.0 - e);
+            sum += g * (score - e);
+            if(      score > 0.5 ) wins++;
+            else if( score < 0.5 ) losses++;
+            else                   draws++;
+        }
+        double v = 1.0 / inverseV;
+        double delta = v * sum;
+
+        //Steps 5 to 7: the new volatility, deviation, and rating
+        double sigma = getNewVolatility( phi, player.getVolatility(), delta, v );
+        double phiStar = Math.sqrt( phi * phi + sigma * sigma );
+        double newPhi = 1.0 / Math.sqrt( 1.0 / (phiStar * phiStar) + 1.0 / v );
+        double newMu = mu + newPhi * newPhi * sum;
+
+        //Step 8: back to the rating scale. The deviation never grows past the deviation of a new build
+        return new Rating( player.getKey(), DEFAULT_RATING + SCALE * newMu, Math.min( DEFAULT_DEVIATION, SCALE * newPhi ),
+                           sigma, player.getGames() + opponents.size(), player.getWins() + wins,
+                           player.getLosses() + losses, player.getDraws() + draws );
+    }
+
+    /**
+     * Works out the new volatility with the Illinois algorithm (step 5 of the Glicko-2 system)
+     *
+     * @param phi The deviation, on the Glicko-2 scale
+     * @param sigma The volatility before the period
+     * @param delta The estimated improvement
+     * @param v The estimated variance
+     * @return double The new volatility
+     */
+    private static double getNewVolatility( double phi, double sigma, double delta, double v ) {
+        double a = Math.log( sigma * sigma );
+        double phi2 = phi * phi, delta2 = delta * delta;
+
+        double bigA = a, bigB;
+        if( delta2 > phi2 + v ) {
+            bigB = Math.log( delta2 - phi2 - v );
+        } else {
+            int k = 1;
+            while( volatilityFunction( a - k * TAU, a, phi2, delta2, v ) < 0 ) k++;
+            bigB = a - k * TAU;
+        }
+
+        double fA = volatilityFunction( bigA, a, phi2, delta2, v );
+        double fB = volatilityFunction( bigB, a, phi2, delta2, v );
+        while( Math.abs( bigB - bigA ) > EPSILON ) {
+            double bigC = bigA + (bigA - bigB) * fA / (fB - fA);
+            double fC = volatilityFunction( bigC, a, phi2, delta2, v );
+            if( fC * fB <= 0 ) {
+                bigA = bigB;
+                fA = fB;
+            } else {
+                fA /= 2.0;
+            }
+            bigB = bigC;
+            fB = fC;
+        }
+
+        return Math.exp( bigA / 2.0 );
+    }
+
+    /**
+     * The function whose zero is the log of the new squared volatility (step 5 of the Glicko-2 system)
+     *
+     * @param x The log of a squared volatility
+     * @param a The log of the squared volatility before the period
+     * @param phi2, delta2 The squared deviation and the squared estimated improvement
+     * @param v The estimated variance
+     * @return double The value of the function at x
+     */
+    private static double volatilityFunction( double x, double a, double phi2, double delta2, double v ) {
+        double ex = Math.exp( x );
+        return ex * (delta2 - phi2 - v - ex) / (2.0 * (phi2 + v + ex) * (phi2 + v + ex)) - (x - a) / (TAU * TAU);
+    }
+
+    /**
+     * Weighs a battle by how unsure the opponent's rating is
+     *
+     * @param phi The opponent's deviation, on the Glicko-2 scale
+     * @return double The weight, from 0 to 1
+     */
+    private static double g( double phi ) {
+        return 1.0 / Math.sqrt( 1.0 + 3.0 * phi * phi / (Math.PI * Math.PI) );
+    }
+
+    /**
+     * Gets the expected score of a battle
+     *
+     * @param mu The rating of the build, on the Glicko-2 scale
+     * @param opponentMu The rating of the opponent, on the Glicko-2 scale
+     * @param opponentPhi The deviation of the opponent, on the Glicko-2 scale
+     * @return double The expected score, from 0 to 1
+     */
+    private static double expected( double mu, double opponentMu, double opponentPhi ) {
+        return 1.0 / (1.0 + Math.exp( -g( opponentPhi ) * (mu - opponentMu) ));
+    }
+
+    /**
+     * Puts a Rating in the map and the leaderboard, in place of the old Rating of the build
+     *
+     * @param rating The new Rating
+     */
+    private void put( Rating rating ) {
+        Rating old = ratings.put( rating.getKey(), rating );
+        if( old != null ) leaderboard.remove( old );
+        leaderboard.add( rating );
+    }
+
+    /**
+     * Reads the snapshot and then the log. A snapshot is written if the log has grown long enough
+     *
+     * @see readFile( String fileLoc )
+     */
+    private void load() {
+        readFile( snapshotFileLoc );
+        logLines = readFile( logFileLoc );
+        if( logLines >= SNAPSHOT_INTERVAL )
+            snapshot();
+    }
+
+    /**
+     * Reads the Ratings of one file, one per line. A later line of a build replaces an earlier one. A line that cannot
+     * be read (such as a line that was cut off at the end of the file) is left out
+     *
+     * @param fileLoc The file
+     * @return int The number of lines read, or 0 if the file does not exist or cannot be read
+     */
+    private int readFile( String fileLoc ) {
+        File file = new File( fileLoc );
+        if( !file.exists() ) return 0;
+
+        int lines = 0;
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader( new FileReader( file ) );
+            String line;
+            while( (line = reader.readLine()) != null ) {
+                Rating rating = Rating.fromLine( line );
+                if( rating != null ) put( rating );
+                lines++;
+            }
+        } catch( IOException e ) {
+            e.printStackTrace();
+        } finally {
+            try {
+                if( reader != null ) reader.close();
+            } catch( IOException e ) {
+                e.printStackTrace();
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Adds the changed Ratings to the end of the log, in one write
+     *
+     * @param changed The new Ratings
+     */
+    private void append( List<Rating> changed ) {
+        if( changed.isEmpty() ) return;
+        StringBuilder lines = new StringBuilder();
+        for( Rating rating : changed )
+            lines.append( rating.toLine() ).append( '\n' );
+        if( write( logFileLoc, lines.toString(), true ) )
+            logLines += changed.size();
+    }
+
+    /**
+     * Writes text to a file
+     *
+     * @param fileLoc The file, which is created if it does not exist
+     * @param text The text
+     * @param isAppend true to add the text to the end of the file, or false to replace the file
+     * @return boolean true if the text was written
+     */
+    private static boolean write( String fileLoc, String text, boolean isAppend ) {
+        FileOutputStream file = null;
+        try {
+            file = new FileOutputStream( fileLoc, isAppend );
+            file.write( text.getBytes( StandardCharsets.UTF_8 ) );
+            return true;
+        } catch( IOException e ) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            try {
+                if( file != null ) file.close();
+            } catch( IOException e ) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * The Glicko-2 rating of one build, with the number of battles it won, lost, and drew. A Rating never changes; a
+     * batch of battles gives the build a new Rating
+     */
+    public static class Rating {
+
+        private final String key;
+        private final double rating, deviation, volatility;
+        private final int games, wins, losses, draws;
+
+        /**
+         * Create the Rating of a build that has not battled
+         *
+         * @param key The key of the build
+         */
+        public Rating( String key ) {
+            this( key, DEFAULT_RATING, DEFAULT_DEVIATION, DEFAULT_VOLATILITY, 0, 0, 0, 0 );
+        }
+
+        /**
+         * Create a Rating
+         *
+         * @param key The key of the build
+         * @param rating The rating
+         * @param deviation The rating deviation
+         * @param volatility The volatility
+         * @param games, wins, losses, draws The record of the build
+         */
+        public Rating( String key, double rating, double deviation, double volatility,
+                       int games, int wins, int losses, int draws ) {
+            this.key = key;
+            this.rating = rating;
+            this.deviation = deviation;
+            this.volatility = volatility;
+            this.games = games;
+            this.wins = wins;
+            this.losses = losses;
+            this.draws = draws;
+        }
+
+        public String getKey()         { return key; }
+        public double getRating()      { return rating; }
+        public double getDeviation()   { return deviation; }
+        public double getVolatility()  { return volatility; }
+        public int getGames()          { return games; }
+        public int getWins()           { return wins; }
+        public int getLosses()         { return losses; }
+        public int getDraws()          { return draws; }
+
+        /**
+         * Gets the conservative rating, the rating minus two rating deviations, which the build is very likely to be
+         * better than. The leaderboard is sorted by this
+         *
+         * @return double The conservative rating
+         */
+        public double getConservativeRating() {
+            return rating - 2.0 * deviation;
+        }
+
+        /**
+         * Gets the Rating as one line of a ratings file, with the values separated by tabs
+         *
+         * @return String The line, without a line break
+         */
+        private String toLine() {
+            return key + "\t" + rating + "\t" + deviation + "\t" + volatility + "\t" +
+                   games + "\t" + wins + "\t" + losses + "\t" + draws;
+        }
+
+        /**
+         * Reads a Rating from one line of a ratings file
+         *
+         * @param line The line
+         * @return Rating The Rating, or null if the line cannot be read
+         */
+        private static Rating fromLine( String line ) {
+            String[] values = line.split( "\t" );
+            if( values.length != 8 ) return null;
+            try {
+                return new Rating( values[0], Double.parseDouble( values[1] ), Double.parseDouble( values[2] ),
+                                   Double.parseDouble( values[3] ), Integer.parseInt( values[4] ),
+                                   Integer.parseInt( values[5] ), Integer.parseInt( values[6] ),
+                                   Integer.parseInt( values[7] ) );
+            } catch( NumberFormatException e ) {
+                return null;
+            }
+        }
+
+        /**
+         * Gets the Rating as text
+         *
+         * @return String The key, rating, deviation, and record of the build
+         */
+        public String toString() {
+            return String.format( "%s %.0f (RD %.0f) %d-%d-%d", key, rating, deviation, wins, losses, draws );
+        }
+    }
+
+    /**
+     * One battle between two builds, with its result
+     */
+    public static class Game {
+
+        private final String key1, key2;
+        private final double score1;
+
+        /**
+         * Create a battle
+         *
+         * @param key1 The key of the first build
+         * @param key2 The key of the second build
+         * @param score1 1 if the first build won, 0 if it lost, or 0.5 for a draw
+         */
+        public Game( String key1, String key2, double score1 ) {
+            this.key1 = key1;
+            this.key2 = key2;
+            this.score1 = score1;
+        }
+
+        public String getKey1()    { return key1; }
+        public String getKey2()    { return key2; }
+        public double getScore1()  { return score1; }
+    }
+}
@@ -0,0 +1,745 @@
+/**
+ * StatusEngine.java
+ *
+ * Runs the conditions of a battle that last longer than one turn: the statuses of every Pokemon (BURN, FREEZE,
+ * PARALYSIS, POISON, SLEEP, BOUND, CONFUSION), and the conditions that Moves leave on a Pokemon (LEECH SEED, and the
+ * screens of REFLECT and LIGHT SCREEN), and the stat stages that Moves raise and lower. Each BattleEngine has one
+ * StatusEngine.
+ *
+ * Every Pokemon of both teams has its own wheel and its own turn count, kept in arrays in the order of the teams (the
+ * first team, then the second team). A Pokemon that is switched out keeps its status, but its seed, its screens, and its
+ * confusion end (see switchOut). So a screen protects the Pokemon that raised it, and not the Pokemon that replaces it.
+ *
+ * The conditions of each Pokemon are kept in a timer wheel, keyed by the number of turns that the Pokemon has taken. A
+ * condition that ends is put in the slot of the turn that it ends on (its expiry, modulo WHEEL_SIZE), so ending the
+ * conditions of a turn only looks at one slot, and not at every condition. The wheel also keeps a list of every active
+ * condition, for the effects that happen every turn (damage over time). So a turn costs the number of active
+ * conditions, no matter how long the battle has gone on or how many conditions have come and gone.
+ *
+ * The wheels never change once they are made: adding or ending a condition makes a new wheel that shares every slot
+ * that did not change. Saving the conditions for a Snapshot only keeps the wheels, the turn counts, and the stages.
+ *
+ * Every Pokemon has a stage for each stat from ATTACK to ACCURACY, which starts at 0 and is kept from -MAX_STAGE to
+ * MAX_STAGE. A Move that raises or lowers a stat changes its stage, and the current stat becomes the stat times the
+ * multiplier of the stage: (2 + stage) / 2 when raised, and 2 / (2 - stage) when lowered. So no number of raises can
+ * make a stat more than 4 times its value, and HAZE (which sets every stage back to 0) gives back the stats exactly. The
+ * stages of a Pokemon stay when it is switched out, as its stats always have.
+ *
+ * What each status does, at the start of the Pokemon's turn (before it uses a Move) or at the end of its turn:
+ * - SLEEP      : The Pokemon cannot move. It wakes up after SLEEP_TURNS of its turns
+ * - FREEZE     : The Pokemon cannot move, unless it thaws out (THAW_CHANCE at the start of each turn)
+ * - PARALYSIS  : The Pokemon cannot move PARALYSIS_CHANCE of the time, and its speed is quartered
+ * - BOUND      : The Pokemon cannot move, and loses TRAP_DAMAGE_RATIO of its max HP at the end of each turn. It is freed
+ *                after the turns of the trap (8:DXT, 9:HXT, or 64:FXT of the Move, or TRAP_TURNS)
+ * - CONFUSION  : The Pokemon hurts itself instead of moving CONFUSION_HURT_CHANCE of the time. It snaps out of it
+ *                after CONFUSION_TURNS of its turns
+ * - BURN       : The Pokemon loses BURN_DAMAGE_RATIO of its max HP at the end of each turn
+ * - POISON     : The Pokemon loses POISON_DAMAGE_RATIO of its max HP at the end of each turn
+ *
+ * Turns are written the way the moves file writes them: fewest.most, so 1.7 is 1-7 turns and 5.0 is always 5 turns.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - WHEEL_SIZE            : The number of slots of a timer wheel. Conditions that last longer than WHEEL_SIZE turns stay
+ *                           in their slot until the wheel comes around to their turn
+ * - NEVER                 : The expiry of a condition that lasts until the end of the battle
+ * - BURN_DAMAGE_RATIO, POISON_DAMAGE_RATIO, TRAP_DAMAGE_RATIO : The part of its max HP that a Pokemon loses per turn
+ * - SCREEN_DAMAGE_RATIO   : The part of the damage that a screen lets through
+ * - PARALYSIS_CHANCE, THAW_CHANCE, CONFUSION_HURT_CHANCE : The chances of the statuses, rolled once per turn
+ * - SLEEP_TURNS, CONFUSION_TURNS, TRAP_TURNS : How long the statuses last, as fewest.most turns
+ * - MAX_STAGE             : The highest stage of a stat. The lowest is -MAX_STAGE
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - CONFUSION_POWER       : The power of the attack that a confused Pokemon hurts itself with
+ * - PARALYSIS_SPEED_DIVISOR : The number that the speed of a paralyzed Pokemon is divided by
+ * - pokemon               : Every Pokemon of both teams, the first team first
+ * - wheels                : The timer wheel of each Pokemon
+ * - turns                 : The number of turns that each Pokemon has taken
+ * - NO_STAGES             : The stages of a Pokemon whose stats have not been raised or lowered
+ * - stages                : The stage of each stat (by MoveEffects stat index) of each Pokemon. The arrays of stages
+ *                           never change once they are made, so a State can share them
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - StatusEngine( PokemonActor[][] teams ) : Create the conditions of a battle between the two teams
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - canMove( BattleEngine.Hit hit )   : Determines whether the attacking Pokemon can use its Move this turn
+ * - endTurn( BattleEngine.Hit hit )   : Deals the damage over time of the attacking Pokemon, and ends its conditions
+ *                                       that run out on this turn
+ * - startStatus( BattleEngine.Hit hit, PokemonActor pokemon, PokemonActor.Status status, double turns ) : Starts the
+ *                                       timer of a status that was just caused
+ * - seed( BattleEngine.Hit hit, PokemonActor pokemon, double drainRatio ) : Seeds the Pokemon, draining its HP every turn
+ * - raiseScreen( BattleEngine.Hit hit, PokemonActor pokemon, Move.MoveCategory category, double turns ) : Raises a screen
+ * - switchOut( BattleEngine.Hit hit, PokemonActor pokemon ) : Ends the conditions that end when the Pokemon is switched out
+ * - getDamageMultiplier( PokemonActor target, Move.MoveCategory category ) : Gets how much of the damage the screens of
+ *                                       the Pokemon let through
+ * - changeStage( BattleEngine.Hit hit, PokemonActor pokemon, int statIndex, double change ) : Raises or lowers the
+ *                                       stage of a stat, and sets the current stat from it
+ * - resetStages( BattleEngine.Hit hit, PokemonActor pokemon ) : Sets every stage back to 0, and the current stats back
+ *                                       to the stats
+ * - getStage( PokemonActor pokemon, int statIndex ) : Gets the stage of a stat of the Pokemon
+ * - getStagedStat( int stat, double stage ) : Gets a stat times the multiplier of a stage
+ * - getConditionCount( PokemonActor pokemon ) : Gets the number of active conditions of the Pokemon
+ * - saveState(), saveState( State base ), restoreState( State state ) : Saves the conditions, and puts them back
+ * - hash()                            : Gets a hash of the conditions, for the transposition table of the AI
+ * - getTurns( PokemonActor.Status status ) : Gets how long a status lasts
+ * - getSpeed( PokemonActor pokemon )  : Gets the speed of the Pokemon that decides which Pokemon acts first
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - getExpiry( BattleEngine.Hit hit, PokemonActor pokemon, double turns ) : Gets the turn that a condition ends on
+ * - rollTurns( double turns, PokeRandom random ) : Rolls a number of turns from fewest.most
+ * - getIndex( PokemonActor pokemon )  : Gets the index of the wheel of the Pokemon
+ * - getDamage( PokemonActor pokemon, double ratio ) : Gets a part of the max HP of the Pokemon, at least 1
+ * - getConfusionDamage( BattleEngine.Hit hit, PokemonActor pokemon ) : Gets the damage of a confused Pokemon's attack
+ * - expire( BattleEngine.Hit hit, PokemonActor pokemon, Condition condition ) : Ends a condition
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Condition               : One condition of a Pokemon, and the turn that it ends on
+ * - Wheel                   : The timer wheel of one Pokemon
+ * - State                   : The conditions of every Pokemon, saved by saveState()
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleEngine.java
+ * @see MoveEffects.java
+ * @see PokemonActor.java
+ */
+public class StatusEngine {
+
+    public static final int WHEEL_SIZE = 8;
+    public static final int NEVER      = PokeWorld.ERROR;
+
+    public static final double BURN_DAMAGE_RATIO     = 1.0 / 16.0;
+    public static final double POISON_DAMAGE_RATIO   = 1.0 / 16.0;
+    public static final double TRAP_DAMAGE_RATIO     = 1.0 / 8.0;
+    public static final double SCREEN_DAMAGE_RATIO   = 0.5;
+
+    public static final double PARALYSIS_CHANCE      = 0.25;
+    public static final double THAW_CHANCE           = 0.2;
+    public static final double CONFUSION_HURT_CHANCE = 0.5;
+
+    public static final double SLEEP_TURNS     = 1.7;
+    public static final double CONFUSION_TURNS = 2.5;
+    public static final double TRAP_TURNS      = 4.5;
+
+    public static final double MAX_STAGE = 6.0;
+
+    private static final int CONFUSION_POWER         = 40;
+    private static final int PARALYSIS_SPEED_DIVISOR = 4;
+
+    private final PokemonActor[] pokemon;
+    private final Wheel[] wheels;
+    private final int[] turns;
+    private final double[][] stages;
+
+    private static final double[] NO_STAGES = new double[ MoveEffects.ACCURACY + 1 ];
+
+    /**
+     * Create the conditions of a battle between the two teams. No Pokemon has any conditions yet
+     *
+     * @param teams The Pokemon of the first team and of the second team
+     */
+    public StatusEngine( PokemonActor[][] teams ) {
+        pokemon = new PokemonActor[ teams[0].length + teams[1].length ];
+        System.arraycopy( teams[0], 0, pokemon, 0, teams[0].length );
+        System.arraycopy( teams[1], 0, pokemon, teams[0].length, teams[1].length );
+        wheels = new Wheel[ pokemon.length ];
+        java.util.Arrays.fill( wheels, Wheel.EMPTY );
+        turns = new int[ pokemon.length ];
+        stages = new double[ pokemon.length ][];
+        java.util.Arrays.fill( stages, NO_STAGES );
+    }
+
+    /**
+     * Determines whether the attacking Pokemon can use its Move this turn. A Pokemon that is asleep, frozen, or bound
+     * cannot move, a paralyzed Pokemon may be fully paralyzed, and a confused Pokemon may hurt itself instead. A frozen
+     * Pokemon may thaw out first
+     *
+     * @param hit The turn of the attacking Pokemon (hit.getUser())
+     * @return boolean True if the Pokemon can use its Move, false otherwise
+     * @see BattleEngine.Hit.preventMove( PokemonActor pokemon )
+     */
+    public boolean canMove( BattleEngine.Hit hit ) {
+        PokemonActor pokemon = hit.getUser();
+        PokemonActor.Status status = pokemon.getStatus();
+        PokeRandom random = hit.getRandom();
+
+        if( status == PokemonActor.Status.SLEEP || status == PokemonActor.Status.BOUND ) {
+            hit.preventMove( pokemon );
+            return false;
+        } else if( status == PokemonActor.Status.FREEZE ) {
+            if( random.nextChance( THAW_CHANCE ) ) {
+                hit.healStatus( pokemon );
+                return true;
+            }
+            hit.preventMove( pokemon );
+            return false;
+        } else if( status == PokemonActor.Status.PARALYSIS && random.nextChance( PARALYSIS_CHANCE ) ) {
+            hit.preventMove( pokemon );
+            return false;
+        } else if( status == PokemonActor.Status.CONFUSION && random.nextChance( CONFUSION_HURT_CHANCE ) ) {
+            hit.preventMove( pokemon );
+            hit.hurt( pokemon, getConfusionDamage( hit, pokemon ), null );
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Ends the turn of the attacking Pokemon: it takes the damage of its burn, poison, trap, or seed, and the conditions
+     * that run out on this turn end. Only the active conditions of the Pokemon and the one slot of its wheel for this
+     * turn are looked at
+     *
+     * @param hit The turn of the attacking Pokemon (hit.getUser()). hit.getTarget() is the other Pokemon
+     * @see expire( BattleEngine.Hit hit, PokemonActor pokemon, Condition condition )
+     */
+    public void endTurn( BattleEngine.Hit hit ) {
+        PokemonActor pokemon = hit.getUser();
+        int index = getIndex( pokemon );
+
+        //Damage over time of the status
+        PokemonActor.Status status = pokemon.getStatus();
+        if(      status == PokemonActor.Status.BURN )   hit.hurt( pokemon, getDamage( pokemon, BURN_DAMAGE_RATIO ), null );
+        else if( status == PokemonActor.Status.POISON ) hit.hurt( pokemon, getDamage( pokemon, POISON_DAMAGE_RATIO ), null );
+
+        //Damage over time of the conditions
+        Wheel wheel = wheels[ index ];
+        for( Condition condition : wheel.active ) {
+            if( pokemon.getStatus() == PokemonActor.Status.FAINTED ) break;
+
+            if( condition.kind == Condition.Kind.STATUS && condition.status == PokemonActor.Status.BOUND &&
+                pokemon.getStatus() == PokemonActor.Status.BOUND ) {
+                hit.hurt( pokemon, getDamage( pokemon, condition.value ), null );
+            } else if( condition.kind == Condition.Kind.SEEDED ) {
+                int damage = Math.min( getDamage( pokemon, condition.value ), Math.max( 0, pokemon.getCurrentHP() ) );
+                hit.hurt( pokemon, damage, condition.move );
+                hit.changeHP( hit.getTarget(), damage );
+            }
+        }
+
+        //The conditions that end on this turn are all in one slot
+        int turn = ++turns[ index ];
+        if( pokemon.getStatus() == PokemonActor.Status.FAINTED ) return;
+
+        for( Condition condition : wheel.slots[ turn & (WHEEL_SIZE - 1) ] )
+            if( condition.expiry == turn ) expire( hit, pokemon, condition );
+    }
+
+    /**
+     * Starts the timer of a status that was just caused on the Pokemon. The timer of the status it had before (if the
+     * status was healed by an Item before its timer ran out) is dropped
+     *
+     * @param hit The attack that caused the status
+     * @param pokemon The Pokemon that has the status
+     * @param status The status
+     * @param turns How long the status lasts, as fewest.most turns, or 0.0 if it lasts until it is healed
+     * @see getTurns( PokemonActor.Status status )
+     */
+    public void startStatus( BattleEngine.Hit hit, PokemonActor pokemon, PokemonActor.Status status, double turns ) {
+        int index = getIndex( pokemon );
+        Wheel wheel = wheels[ index ];
+        for( Condition condition : wheel.active )
+            if( condition.kind == Condition.Kind.STATUS ) wheel = wheel.without( condition );
+
+        if( turns > 0.0 ) {
+            double value = status == PokemonActor.Status.BOUND ? TRAP_DAMAGE_RATIO : 0.0;
+            int expiry = getExpiry( hit, pokemon, turns );
+            wheel = wheel.with( new Condition( Condition.Kind.STATUS, status, null, hit.getMove(), value, expiry ) );
+        }
+        wheels[ index ] = wheel;
+    }
+
+    /**
+     * Seeds the Pokemon, so that it loses drainRatio of its max HP at the end of each of its turns, and the other
+     * Pokemon gains it. A Pokemon that is already seeded is not seeded again
+     *
+     * @param hit The attack that seeds the Pokemon
+     * @param pokemon The Pokemon to seed
+     * @param drainRatio The part of its max HP that the Pokemon loses each turn
+     */
+    public void seed( BattleEngine.Hit hit, PokemonActor pokemon, double drainRatio ) {
+        int index = getIndex( pokemon );
+        for( Condition condition : wheels[ index ].active )
+            if( condition.kind == Condition.Kind.SEEDED ) return;
+
+        wheels[ index ] = wheels[ index ].with( new Condition( Condition.Kind.SEEDED, null, null, hit.getMove(), drainRatio,
+                                                             NEVER ) );
+        hit.startCondition( pokemon );
+    }
+
+    /**
+     * Raises a screen in front of the Pokemon, which lets only SCREEN_DAMAGE_RATIO of the damage of Moves of the
+     * category through. A screen of the same category that is already up starts over
+     *
+     * @param hit The attack that raises the screen
+     * @param pokemon The Pokemon behind the screen
+     * @param category PHYSICAL (REFLECT) or SPECIAL (LIGHT SCREEN)
+     * @param turns How long the screen lasts, as fewest.most turns of the Pokemon
+     */
+    public void raiseScreen( BattleEngine.Hit hit, PokemonActor pokemon, Move.MoveCategory category, double turns ) {
+        int index = getIndex( pokemon );
+        Wheel wheel = wheels[ index ];
+        for( Condition condition : wheel.active )
+            if( condition.kind == Condition.Kind.SCREEN && condition.category == category )
+                wheel = wheel.without( condition );
+
+        int expiry = getExpiry( hit, pokemon, turns );
+        wheels[ index ] = wheel.with( new Condition( Condition.Kind.SCREEN, null, category, hit.getMove(),
+                                                    SCREEN_DAMAGE_RATIO, expiry ) );
+        hit.startCondition( pokemon );
+    }
+
+    /**
+     * Ends the conditions of a Pokemon that is switched out: its seed, its screens, and its confusion (and the timer of
+     * its confusion). Its other statuses stay, and their timers wait until it is switched back in
+     *
+     * @param hit The turn of the Pokemon that is switched out
+     * @param pokemon The Pokemon that is switched out
+     * @see BattleEngine.Hit.healStatus( PokemonActor pokemon )
+     */
+    public void switchOut( BattleEngine.Hit hit, PokemonActor pokemon ) {
+        int index = getIndex( pokemon );
+        Wheel wheel = wheels[ index ];
+        for( Condition condition : wheel.active )
+            if( condition.kind != Condition.Kind.STATUS || condition.status == PokemonActor.Status.CONFUSION )
+                wheel = wheel.without( condition );
+        wheels[ index ] = wheel;
+
+        if( pokemon.getStatus() == PokemonActor.Status.CONFUSION ) hit.healStatus( pokemon );
+    }
+
+    /**
+     * Gets how much of the damage of a Move the screens of the Pokemon let through
+     *
+     * @param target The Pokemon that is attacked
+     * @param category The category of the Move
+     * @return double The multiplier of the damage, which is 1.0 if the Pokemon has no screen for the category
+     */
+    public double getDamageMultiplier( PokemonActor target, Move.MoveCategory category ) {
+        double multiplier = 1.0;
+        for( Condition condition : wheels[ getIndex( target ) ].active )
+            if( condition.kind == Condition.Kind.SCREEN && condition.category == category )
+                multiplier *= condition.value;
+
+        return multiplier;
+    }
+
+    /**
+     * Raises or lowers the stage of a stat of the Pokemon, keeping it from -MAX_STAGE to MAX_STAGE, and sets the
+     * current stat to the stat times the multiplier of the new stage. A stat that is already at its highest or lowest
+     * stage does not change
+     *
+     * @param hit The attack that changes the stat
+     * @param pokemon The Pokemon
+     * @param statIndex The stat, from MoveEffects.ATTACK to MoveEffects.ACCURACY
+     * @param change The number of stages to add, which is negative to lower the stat
+     * @see getStagedStat( int stat, double stage )
+     */
+    public void changeStage( BattleEngine.Hit hit, PokemonActor pokemon, int statIndex, double change ) {
+        int index = getIndex( pokemon );
+        double stage = Math.max( -MAX_STAGE, Math.min( MAX_STAGE, stages[ index ][ statIndex ] + change ) );
+        if( stage != stages[ index ][ statIndex ] ) {
+            double[] newStages = stages[ index ].clone();
+            newStages[ statIndex ] = stage;
+            stages[ index ] = newStages;
+        }
+
+        hit.setStat( pokemon, statIndex, getStagedStat( hit.getStat( pokemon, statIndex, false ), stage ) );
+    }
+
+    /**
+     * Sets every stage of the Pokemon back to 0, and every current stat from ATTACK to ACCURACY back to the stat
+     *
+     * @param hit The attack that resets the stats (HAZE)
+     * @param pokemon The Pokemon
+     */
+    public void resetStages( BattleEngine.Hit hit, PokemonActor pokemon ) {
+        stages[ getIndex( pokemon ) ] = NO_STAGES;
+        for( int statIndex = MoveEffects.ATTACK; statIndex <= MoveEffects.ACCURACY; statIndex++ )
+            hit.setStat( pokemon, statIndex, hit.getStat( pokemon, statIndex, false ) );
+    }
+
+    /**
+     * Gets the stage of a stat of the Pokemon
+     *
+     * @param pokemon The Pokemon
+     * @param statIndex The stat, from MoveEffects.ATTACK to MoveEffects.ACCURACY
+     * @return double The stage, from -MAX_STAGE to MAX_STAGE
+     */
+    public double getStage( PokemonActor pokemon, int statIndex ) {
+        return stages[ getIndex( pokemon ) ][ statIndex ];
+    }
+
+    /**
+     * Gets the number of active conditions of the Pokemon, including the timer of its status
+     *
+     * @param pokemon The Pokemon
+     * @return int The number of active conditions
+     */
+    public int getConditionCount( PokemonActor pokemon ) {
+        return wheels[ getIndex( pokemon ) ].active.length;
+    }
+
+    /**
+     * Saves the conditions of every Pokemon
+     *
+     * @return State The saved conditions
+     */
+    public State saveState() {
+        return new State( this );
+    }
+
+    /**
+     * Saves the conditions of every Pokemon, or returns base if they have not changed since it was saved
+     *
+     * @param base Conditions saved earlier from this battle, or null
+     * @return State The saved conditions
+     */
+    public State saveState( State base ) {
+        if( base == null ) return new State( this );
+
+        for( int i = 0; i < wheels.length; i++ )
+            if( base.wheels[i] != wheels[i] || base.turns[i] != turns[i] || base.stages[i] != stages[i] )
+                return new State( this );
+        return base;
+    }
+
+    /**
+     * Puts back the conditions saved by saveState(). The State may come from the StatusEngine of another battle
+     * between the same two teams (or copies of them)
+     *
+     * @param state The saved conditions
+     */
+    public void restoreState( State state ) {
+        System.arraycopy( state.wheels, 0, wheels, 0, wheels.length );
+        System.arraycopy( state.turns, 0, turns, 0, turns.length );
+        System.arraycopy( state.stages, 0, stages, 0, stages.length );
+    }
+
+    /**
+     * Gets a hash of the conditions of every Pokemon: the kind, status, category, and turns left of every condition,
+     * and every stage that is not 0. Two battles whose conditions only differ in how many turns have gone by have the
+     * same hash
+     *
+     * @return long The hash
+     */
+    public long hash() {
+        long hash = 0L;
+        for( int index = 0; index < wheels.length; index++ ) {
+            for( Condition condition : wheels[ index ].active ) {
+                long key = index;
+                key = key * 31 + condition.kind.ordinal();
+                key = key * 31 + (condition.status == null ? PokeWorld.ERROR : condition.status.ordinal());
+                key = key * 31 + (condition.category == null ? PokeWorld.ERROR : condition.category.ordinal());
+                key = key * 31 + (condition.expiry == NEVER ? NEVER : condition.expiry - turns[ index ]);
+                key *= 0x9E3779B97F4A7C15L;
+                hash ^= key ^ (key >>> 29);
+            }
+
+            if( stages[ index ] == NO_STAGES ) continue;
+            for( int statIndex = MoveEffects.ATTACK; statIndex <= MoveEffects.ACCURACY; statIndex++ ) {
+                if( stages[ index ][ statIndex ] == 0.0 ) continue;
+                long key = (index * 31L + statIndex) * 31 + Double.doubleToLongBits( stages[ index ][ statIndex ] );
+                key *= 0xC2B2AE3D27D4EB4FL;
+                hash ^= key ^ (key >>> 31);
+            }
+        }
+
+        return hash;
+    }
+
+    /**
+     * Gets how long a status lasts when it is caused
+     *
+     * @param status The status
+     * @return double The fewest.most turns of the status, or 0.0 if it lasts until it is healed
+     */
+    public static double getTurns( PokemonActor.Status status ) {
+        if(      status == PokemonActor.Status.SLEEP )     return SLEEP_TURNS;
+        else if( status == PokemonActor.Status.CONFUSION ) return CONFUSION_TURNS;
+        else if( status == PokemonActor.Status.BOUND )     return TRAP_TURNS;
+        else                                               return 0.0;
+    }
+
+    /**
+     * Gets a stat times the multiplier of a stage: (2 + stage) / 2 for a raised stat, and 2 / (2 - stage) for a
+     * lowered stat, rounded
+     *
+     * @param stat The stat
+     * @param stage The stage, from -MAX_STAGE to MAX_STAGE
+     * @return int The stat of the stage, at least 1
+     */
+    public static int getStagedStat( int stat, double stage ) {
+        double multiplier = stage >= 0.0 ? (2.0 + stage) / 2.0 : 2.0 / (2.0 - stage);
+        return Math.max( 1, (int)Math.round( stat * multiplier ) );
+    }
+
+    /**
+     * Gets the speed of the Pokemon that decides which Pokemon acts first. A paralyzed Pokemon is slower
+     *
+     * @param pokemon The Pokemon
+     * @return int The current speed of the Pokemon, divided by PARALYSIS_SPEED_DIVISOR if it is paralyzed
+     * @see BattleEngine.getFasterSide()
+     */
+    public static int getSpeed( PokemonActor pokemon ) {
+        int speed = pokemon.getCurrentSpeed();
+        return pokemon.getStatus() == PokemonActor.Status.PARALYSIS ? speed / PARALYSIS_SPEED_DIVISOR : speed;
+    }
+
+    /**
+     * Gets the turn of the Pokemon that a condition started now ends on. The turn that the Pokemon is taking right now
+     * (when it raises a screen on itself) does not count
+     *
+     * @param hit The attack that started the condition
+     * @param pokemon The Pokemon that has the condition
+     * @param turns How long the condition lasts, as fewest.most turns
+     * @return int The expiry of the condition
+     * @see rollTurns( double turns, PokeRandom random )
+     */
+    private int getExpiry( BattleEngine.Hit hit, PokemonActor pokemon, double turns ) {
+        int expiry = this.turns[ getIndex( pokemon ) ] + rollTurns( turns, hit.getRandom() );
+        return pokemon == hit.getUser() ? expiry + 1 : expiry;
+    }
+
+    /**
+     * Rolls a number of turns from fewest.most. The AI's search takes the middle number (see ExpectimaxAI)
+     *
+     * @param turns The fewest and most turns, such as 1.7 for 1-7 turns
+     * @param random The PokeRandom of the battle
+     * @return int The number of turns, at least 1
+     * @see MoveEffects.getFewest( double value )
+     * @see MoveEffects.getMost( double value )
+     */
+    private int rollTurns( double turns, PokeRandom random ) {
+        int fewest = MoveEffects.getFewest( turns ), most = MoveEffects.getMost( turns );
+        return fewest == most ? fewest : fewest + random.nextInt( most - fewest + 1 );
+    }
+
+    /**
+     * Gets the index of the wheel of the Pokemon. A team has at most BattleEngine.MAX_TEAM_SIZE Pokemon, so looking
+     * through every Pokemon is as fast as a map would be
+     *
+     * @param pokemon The Pokemon
+     * @return int The index of the Pokemon in the first team, or the length of the first team plus its index in the
+     *             second team
+     */
+    private int getIndex( PokemonActor pokemon ) {
+        for( int i = 0; i < this.pokemon.length; i++ )
+            if( this.pokemon[i] == pokemon ) return i;
+        return PokeWorld.ERROR;
+    }
+
+    /**
+     * Gets a part of the max HP of the Pokemon
+     *
+     * @param pokemon The Pokemon
+     * @param ratio The part of its max HP
+     * @return int The damage, at least 1
+     */
+    private int getDamage( PokemonActor pokemon, double ratio ) {
+        return Math.max( 1, (int)(pokemon.getHP() * ratio) );
+    }
+
+    /**
+     * Gets the damage that a confused Pokemon does to itself: an attack of CONFUSION_POWER with no type, using its own
+     * attack and defense, that is never a critical hit
+     *
+     * @param hit The turn of the Pokemon
+     * @param pokemon The confused Pokemon
+     * @return int The damage
+     */
+    private int getConfusionDamage( BattleEngine.Hit hit, PokemonActor pokemon ) {
+        int attack  = hit.getStat( pokemon, MoveEffects.ATTACK, true );
+        int defense = Math.max( 1, hit.getStat( pokemon, MoveEffects.DEFENSE, true ) );
+        int level   = pokemon.getCurrentLevel();
+        return (int)(( ( ((2.0*level)/5.0) + 2.0 ) * CONFUSION_POWER * ((double)attack/defense) )/50.0 + 2.0);
+    }
+
+    /**
+     * Ends a condition whose turns have run out. A status that ends is healed, unless the Pokemon no longer has it
+     *
+     * @param hit The turn of the Pokemon
+     * @param pokemon The Pokemon that has the condition
+     * @param condition The condition
+     */
+    private void expire( BattleEngine.Hit hit, PokemonActor pokemon, Condition condition ) {
+        int index = getIndex( pokemon );
+        wheels[ index ] = wheels[ index ].without( condition );
+
+        if( condition.kind == Condition.Kind.STATUS ) {
+            if( pokemon.getStatus() == condition.status ) hit.healStatus( pokemon );
+        } else
+            hit.endCondition( pokemon, condition.move );
+    }
+
+    /**
+     * One condition of a Pokemon: the timer of a status, a seed, or a screen. A Condition does not change once it is
+     * made
+     */
+    public static class Condition {
+
+        /**
+         * The kinds of conditions
+         */
+        public enum Kind {
+            STATUS, SEEDED, SCREEN;
+        }
+
+        private final Kind kind;
+        private final PokemonActor.Status status;
+        private final Move.MoveCategory category;
+        private final Move move;
+        private final double value;
+        private final int expiry;
+
+        /**
+         * Create a Condition
+         *
+         * @param kind The kind of condition
+         * @param status The status that a STATUS condition times, or null
+         * @param category The category of Moves that a SCREEN blocks, or null
+         * @param move The Move that caused the condition, or null
+         * @param value The part of its max HP that the Pokemon loses each turn, or the damage that a SCREEN lets through
+         * @param expiry The turn of the Pokemon that the condition ends on, or NEVER
+         */
+        private Condition( Kind kind, PokemonActor.Status status, Move.MoveCategory category, Move move, double value,
+                           int expiry ) {
+            this.kind = kind;
+            this.status = status;
+            this.category = category;
+            this.move = move;
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+        public Kind getKind()                   { return kind; }
+        public PokemonActor.Status getStatus()  { return status; }
+        public Move.MoveCategory getCategory()  { return category; }
+        public Move getMove()                   { return move; }
+        public double getValue()                { return value; }
+        public int getExpiry()                  { return expiry; }
+    }
+
+    /**
+     * The timer wheel of one Pokemon: every active condition, and the conditions that end, in the slot of the turn that
+     * they end on. A Wheel does not change once it is made; with() and without() make a new Wheel that shares the
+     * slots that did not change
+     */
+    private static class Wheel {
+
+        private static final Wheel EMPTY = new Wheel( new Condition[0], emptySlots() );
+
+        private final Condition[] active;
+        private final Condition[][] slots;
+
+        /**
+         * Create a Wheel
+         *
+         * @param active Every active condition
+         * @param slots The conditions that end, by expiry modulo WHEEL_SIZE
+         */
+        private Wheel( Condition[] active, Condition[][] slots ) {
+            this.active = active;
+            this.slots = slots;
+        }
+
+        /**
+         * Makes the slots of a Wheel with no conditions
+         *
+         * @return Condition[][] WHEEL_SIZE empty slots
+         */
+        private static Condition[][] emptySlots() {
+            Condition[][] slots = new Condition[ WHEEL_SIZE ][];
+            for( int i = 0; i < WHEEL_SIZE; i++ )
+                slots[i] = new Condition[0];
+            return slots;
+        }
+
+        /**
+         * Makes a Wheel with one more condition
+         *
+         * @param condition The condition to add
+         * @return Wheel The new Wheel
+         */
+        private Wheel with( Condition condition ) {
+            Condition[] newActive = java.util.Arrays.copyOf( active, active.length + 1 );
+            newActive[ active.length ] = condition;
+            if( condition.expiry == NEVER ) return new Wheel( newActive, slots );
+
+            int slot = condition.expiry & (WHEEL_SIZE - 1);
+            Condition[][] newSlots = slots.clone();
+            newSlots[ slot ] = java.util.Arrays.copyOf( slots[ slot ], slots[ slot ].length + 1 );
+            newSlots[ slot ][ slots[ slot ].length ] = condition;
+            return new Wheel( newActive, newSlots );
+        }
+
+        /**
+         * Makes a Wheel without the condition
+         *
+         * @param condition The condition to remove
+         * @return Wheel The new Wheel, or this Wheel if it does not have the condition
+         */
+        private Wheel without( Condition condition ) {
+            Condition[] newActive = remove( active, condition );
+            if( newActive == active ) return this;
+            if( condition.expiry == NEVER ) return new Wheel( newActive, slots );
+
+            int slot = condition.expiry & (WHEEL_SIZE - 1);
+            Condition[][] newSlots = slots.clone();
+            newSlots[ slot ] = remove( slots[ slot ], condition );
+            return new Wheel( newActive, newSlots );
+        }
+
+        /**
+         * Makes a copy of the conditions without one of them
+         *
+         * @param conditions The conditions
+         * @param condition The condition to remove
+         * @return Condition[] The copy, or conditions itself if it does not have the condition
+         */
+        private static Condition[] remove( Condition[] conditions, Condition condition ) {
+            for( int i = 0; i < conditions.length; i++ ) {
+                if( conditions[i] != condition ) continue;
+
+                Condition[] removed = new Condition[ conditions.length - 1 ];
+                System.arraycopy( conditions, 0, removed, 0, i );
+                System.arraycopy( conditions, i + 1, removed, i, conditions.length - i - 1 );
+                return removed;
+            }
+
+            return conditions;
+        }
+    }
+
+    /**
+     * The conditions of every Pokemon, saved by saveState(). A State does not change once it is made, and shares the
+     * wheels and stages of the StatusEngine that it was saved from
+     */
+    public static class State {
+
+        private final Wheel[] wheels;
+        private final int[] turns;
+        private final double[][] stages;
+
+        /**
+         * Saves the conditions of the StatusEngine
+         *
+         * @param statuses The StatusEngine
+         */
+        private State( StatusEngine statuses ) {
+            wheels = statuses.wheels.clone();
+            turns  = statuses.turns.clone();
+            stages = statuses.stages.clone();
+        }
+    }
+}
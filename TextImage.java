@@ -13,13 +13,12 @@ import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * PUBLIC FIELDS
  * --------------------------------------------------------------------
- * - none
+ * - POKEMON_FONT    : The font used for TextImages. Custom fonts
+ *                     currently are not working (2/9/22). Also used by
+ *                     TextLayout to measure text
  * 
  * PRIVATE FIELDS
  * --------------------------------------------------------------------
- * - POKEMON_FONT    : The font used for TextImages. Custom fonts
- *                     currently are not working (2/9/22)
- * 
  * - text            : The text to put on this TextImage
  * 
  * - imageLoc        : The location path of this image
@@ -34,6 +33,9 @@ import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
  * 
  * - WIDTH, HEIGHT   : The width and height of this TextImage
  * 
+ * - isPooledImage   : Tells whether the image of this TextImage belongs to the ActorPool, and can be
+ *                     reused once this TextImage is released
+ * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
  * - TextImage( int WIDTH, int HEIGHT, String text, Color color, int fontSize, boolean EXPIRES,
                 int textX, int textY, boolean isBold ) :
@@ -53,17 +55,24 @@ import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
  * - act() : non-permant TextImages are removed after the expiration
  *           time limit
  * 
+ * - reuse( GreenfootImage image, String imageLoc, String text, Color color, Font font,
+ *          boolean EXPIRES, int textX, int textY, boolean isPooledImage ) :
+ *      Draws new text onto the given image and uses it for this TextImage, so that
+ *      TextImages can be reused by the ActorPool instead of being created again
+ * - hasPooledImage() : Determines whether the image of this TextImage belongs to the ActorPool
+ * 
  * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
  * -----------------------------------------------------------------------------------------------------------------------------
  * 
  * @author Peter Olson
  * @version 1/30/22
  * @see PokeBattle.java
+ * @see ActorPool.java
  */
 public class TextImage extends Actor {
     
     //@@Does not work -- custom fonts not supported, from what I can tell
-    private final String POKEMON_FONT = "Pokemon Classic Regular"; //Non-logical font name: "Dialog.plain"
+    public static final String POKEMON_FONT = "Pokemon Classic Regular"; //Non-logical font name: "Dialog.plain"
     
     private String text;
     
@@ -73,9 +82,11 @@ public class TextImage extends Actor {
     
     private int timer;
     private final int EXPIRATION_TIME = 400; //works out to about 1 second every 100
-    private final boolean EXPIRES;
+    private boolean EXPIRES;
     
-    private final int WIDTH, HEIGHT;
+    private int WIDTH, HEIGHT;
+    
+    private boolean isPooledImage = false;
     
     /**
      * Create a TextImage object using the gived image location and the given text input
@@ -179,6 +190,53 @@ public class TextImage extends Actor {
         timer = 0;
     }
     
+    /**
+     * Reuse this TextImage by drawing new text onto the given image and using that image instead. The
+     * image should already be cleared (or hold the background picture) before it is given
+     * 
+     * @param image The GreenfootImage to be used
+     * @param imageLoc The image location of this TextImage, or an empty String if there is none
+     * @param text The text to set on top of this image using the custom font
+     * @param color The color to make the text
+     * @param font The font of the text
+     * @param EXPIRES True if this image should expire, false otherwise
+     * @param textX The x location of this text
+     * @param textY The y location of this text
+     * @param isPooledImage True if the image belongs to the ActorPool, false otherwise
+     * @see ActorPool.getTextImage(...)
+     * @see GreenfootImage.setFont( Font font )
+     * @see GreenfootImage.setColor( Color color )
+     * @see GreenfootImage.drawString( String text, int x, int y )
+     */
+    public void reuse( GreenfootImage image, String imageLoc, String text, Color color, Font font,
+                       boolean EXPIRES, int textX, int textY, boolean isPooledImage ) {
+        this.image = image;
+        this.imageLoc = imageLoc;
+        this.text = text;
+        this.EXPIRES = EXPIRES;
+        this.isPooledImage = isPooledImage;
+        
+        image.setFont( font );
+        image.setColor( color );
+        image.drawString( text, textX, textY );
+        setImage( image );
+        
+        this.WIDTH = image.getWidth();
+        this.HEIGHT = image.getHeight();
+        
+        timer = 0;
+    }
+    
+    /**
+     * Determines whether the image of this TextImage belongs to the ActorPool, in which case it is
+     * reused once this TextImage is released
+     * 
+     * @return boolean True if the image belongs to the ActorPool, false otherwise
+     */
+    public boolean hasPooledImage() {
+        return isPooledImage;
+    }
+    
     /**
      * Act - do whatever the TextImage wants to do. This method is called whenever
      * the 'Act' or 'Run' button gets pressed in the environment.
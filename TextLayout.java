@@ -0,0 +1,374 @@
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TextLayout.java
+ *
+ * Measures and lays out text for TextImages using the real metrics of the TextImage font. Glyph advances are
+ * measured once per (font size, bold) and cached, and the line breaks of a block of text are computed once per
+ * (text, region) and cached, so that multi-page text (such as long Pokedex descriptions) is only laid out a single
+ * time no matter how many times its pages are shown.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - none
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - ASCII_LIMIT          : Characters below this value have their advances stored in an array instead of a map
+ * - MAX_CACHED_LAYOUTS   : The maximum number of text layouts that are remembered before the oldest is forgotten
+ * - FALLBACK_PIXEL_TO_FONT_SIZE_RATIO : The ratio of font size to character width used when no font metrics
+ *                                       are available (eg. on a machine without any fonts installed)
+ *
+ * - metricsCache         : The TextLayout measurers that have been made, one per font size and boldness
+ * - layoutCache          : The Layouts that have been made, one per text and region
+ *
+ * - fontSize             : The size of the font being measured
+ * - metrics              : The FontMetrics of the font being measured, or null if not available
+ * - asciiAdvances        : The cached advance widths of the characters below ASCII_LIMIT. Unmeasured entries are ERROR
+ * - otherAdvances        : The cached advance widths of all other characters
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - TextLayout( int fontSize, boolean isBold ) : Create a measurer for the TextImage font at the given size. Use
+ *                                                getMeasurer( int fontSize, boolean isBold ) to get a cached one
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getMeasurer( int fontSize, boolean isBold ) : Gets the cached measurer for the given font size and boldness
+ * - getCharWidth( char c )                      : Gets the advance width (in pixels) of a single character
+ * - getTextWidth( String text )                 : Gets the width (in pixels) of a line of text
+ *
+ * - layout( String text, int maxLineWidth, int regionHeight, int fontSize, boolean isBold, double leadingRatio )
+ *      : Gets the (cached) Layout of the text broken into lines that fit the region
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - breakLines( String text, int maxLineWidth ) : Breaks the text into lines no wider than the given width
+ * - getLayoutKey( ... )                         : Gets the key used to store a Layout in the layoutCache
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ PUBLIC CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * Layout : The lines of a laid out text, and the page of those lines that fits within the region
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see TextImage.java
+ * @see PokeBattle.addTextToRegion( String text, int regionWidth, int regionHeight, int xOffset, int yOffset, int x, int y,
+ *                                  double leadingRatio )
+ * @see PokeWorld.getTextWidth( String text, int fontSize, boolean isBold )
+ */
+public class TextLayout {
+
+    private static final int ASCII_LIMIT        = 256;
+    private static final int MAX_CACHED_LAYOUTS = 256;
+    private static final double FALLBACK_PIXEL_TO_FONT_SIZE_RATIO = 2.0;
+
+    private static final HashMap<String, TextLayout> metricsCache = new HashMap<String, TextLayout>();
+    private static final LinkedHashMap<String, Layout> layoutCache = new LinkedHashMap<String, Layout>( 16, 0.75f, true ) {
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<String, Layout> eldest ) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
+
+    private final int fontSize;
+    private final FontMetrics metrics;
+    private final int[] asciiAdvances = new int[ ASCII_LIMIT ];
+    private final HashMap<Character, Integer> otherAdvances = new HashMap<Character, Integer>();
+
+    /**
+     * Create a measurer for the TextImage font at the given size. The font is the same font that
+     * TextImages draw with, so that measured widths match what is drawn on the screen
+     *
+     * @param fontSize The size of the font
+     * @param isBold True if the font is bold, false otherwise
+     * @see getMeasurer( int fontSize, boolean isBold )
+     */
+    private TextLayout( int fontSize, boolean isBold ) {
+        this.fontSize = fontSize;
+
+        FontMetrics fontMetrics = null;
+        try {
+            BufferedImage scratch = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
+            Graphics2D graphics = scratch.createGraphics();
+            fontMetrics = graphics.getFontMetrics(
+                new Font( TextImage.POKEMON_FONT, isBold ? Font.BOLD : Font.PLAIN, fontSize ) );
+            graphics.dispose();
+        } catch( Throwable e ) {
+            //No fonts available (eg. a bare headless machine), so fall back to estimating widths
+            fontMetrics = null;
+        }
+        this.metrics = fontMetrics;
+
+        for( int i = 0; i < ASCII_LIMIT; i++ )
+            asciiAdvances[i] = PokeWorld.ERROR;
+    }
+
+    /**
+     * Gets the measurer for the TextImage font at the given size and boldness. Measurers are only
+     * made once per font size and boldness
+     *
+     * @param fontSize The size of the font
+     * @param isBold True if the font is bold, false otherwise
+     * @return TextLayout The measurer for this font
+     */
+    public static synchronized TextLayout getMeasurer( int fontSize, boolean isBold ) {
+        String key = fontSize + (isBold ? "B" : "P");
+        TextLayout measurer = metricsCache.get( key );
+        if( measurer == null ) {
+            measurer = new TextLayout( fontSize, isBold );
+            metricsCache.put( key, measurer );
+        }
+
+        return measurer;
+    }
+
+    /**
+     * Gets the advance width of a single character, in pixels. The width is measured the first time
+     * it is asked for and remembered after that
+     *
+     * @param c The character to measure
+     * @return int The advance width of the character, in pixels
+     * @see FontMetrics.charWidth( char c )
+     */
+    public synchronized int getCharWidth( char c ) {
+        if( c < ASCII_LIMIT ) {
+            if( asciiAdvances[c] == PokeWorld.ERROR )
+                asciiAdvances[c] = measure( c );
+            return asciiAdvances[c];
+        }
+
+        Integer advance = otherAdvances.get( c );
+        if( advance == null ) {
+            advance = measure( c );
+            otherAdvances.put( c, advance );
+        }
+
+        return advance;
+    }
+
+    /**
+     * Gets the width of a line of text, in pixels
+     *
+     * @param text The text to measure
+     * @return int The width of the text, in pixels
+     * @see getCharWidth( char c )
+     */
+    public int getTextWidth( String text ) {
+        int width = 0;
+        for( int i = 0; i < text.length(); i++ )
+            width += getCharWidth( text.charAt(i) );
+
+        return width;
+    }
+
+    /**
+     * Measures a single character using the font metrics, or estimates its width if there are no metrics
+     *
+     * @param c The character to measure
+     * @return int The advance width of the character, in pixels
+     */
+    private int measure( char c ) {
+        if( metrics == null ) return (int)( fontSize / FALLBACK_PIXEL_TO_FONT_SIZE_RATIO );
+
+        return metrics.charWidth( c );
+    }
+
+    /**
+     * Breaks the text into lines that fit the region, and gets the first page of those lines. Lines are
+     * only broken at spaces (or at new lines), unless a single word is wider than the region.
+     *
+     * Layouts are cached per text and region. When a text is too long to fit the region, the remaining
+     * pages are cached under their excess text as well, so that showing the next page (by laying out
+     * the excess text, as PokeBattle does) does not break the lines again
+     *
+     * @param text The text to lay out
+     * @param maxLineWidth The widest that a line of text can be, in pixels
+     * @param regionHeight The height of the region to fit the text
+     * @param fontSize The size of the font
+     * @param isBold True if the font is bold, false otherwise
+     * @param leadingRatio The ratio used to determine the space between lines. The larger the leadingRatio, the smaller
+     *                     the space inbetween text
+     * @return Layout The laid out text
+     * @see breakLines( String text, int maxLineWidth )
+     * @see PokeBattle.addTextToRegion( String text, int regionWidth, int regionHeight, int xOffset, int yOffset, int x,
+     *                                  int y, double leadingRatio )
+     */
+    public static synchronized Layout layout( String text, int maxLineWidth, int regionHeight, int fontSize, boolean isBold,
+                                              double leadingRatio ) {
+        String key = getLayoutKey( text, maxLineWidth, regionHeight, fontSize, isBold, leadingRatio );
+        Layout layout = layoutCache.get( key );
+        if( layout != null ) return layout;
+
+        int leading = (int)(fontSize / leadingRatio);
+        int lineHeight = fontSize + leading;
+        int linesPerPage = Math.max( 1, regionHeight / lineHeight );
+
+        String[] lines = getMeasurer( fontSize, isBold ).breakLines( text, maxLineWidth );
+        layout = new Layout( lines, 0, linesPerPage, lineHeight );
+        layoutCache.put( key, layout );
+
+        //Cache the following pages under their excess text, which is what gets laid out to show them
+        Layout page = layout;
+        while( page.hasExcessText() ) {
+            Layout nextPage = new Layout( lines, page.firstLine + linesPerPage, linesPerPage, lineHeight );
+            layoutCache.put( getLayoutKey( page.getExcessText(), maxLineWidth, regionHeight, fontSize, isBold, leadingRatio ),
+                             nextPage );
+            page = nextPage;
+        }
+
+        return layout;
+    }
+
+    /**
+     * Gets the key used to store a Layout in the layoutCache
+     *
+     * @return String The key for this text and region
+     */
+    private static String getLayoutKey( String text, int maxLineWidth, int regionHeight, int fontSize, boolean isBold,
+                                        double leadingRatio ) {
+        return maxLineWidth + "@" + regionHeight + "@" + fontSize + "@" + isBold + "@" + leadingRatio + "@" + text;
+    }
+
+    /**
+     * Breaks the text into lines no wider than the given width. Lines are broken at the last space that
+     * fits, at new lines, or in the middle of a word if the word by itself is too wide
+     *
+     * @param text The text to break into lines
+     * @param maxLineWidth The widest that a line of text can be, in pixels
+     * @return String[] The lines of text
+     * @see layout( String text, int maxLineWidth, int regionHeight, int fontSize, boolean isBold, double leadingRatio )
+     */
+    private String[] breakLines( String text, int maxLineWidth ) {
+        ArrayList<String> lines = new ArrayList<String>();
+
+        int lineStart = 0;
+        int lastSpace = PokeWorld.ERROR;
+        int lineWidth = 0;
+        int i = 0;
+        while( i < text.length() ) {
+            char c = text.charAt(i);
+
+            if( c == '\n' ) {
+                lines.add( text.substring( lineStart, i ) );
+                lineStart = ++i;
+                lastSpace = PokeWorld.ERROR;
+                lineWidth = 0;
+                continue;
+            }
+
+            int charWidth = getCharWidth( c );
+            if( lineWidth + charWidth > maxLineWidth && c != ' ' && i > lineStart ) {
+                if( lastSpace != PokeWorld.ERROR ) {
+                    //Break at the last space, and carry the rest of the word onto the next line
+                    lines.add( text.substring( lineStart, lastSpace ) );
+                    lineStart = lastSpace + 1;
+                    lineWidth = getTextWidth( text.substring( lineStart, i ) );
+                } else {
+                    //A single word is wider than the region, so break it where it is
+                    lines.add( text.substring( lineStart, i ) );
+                    lineStart = i;
+                    lineWidth = 0;
+                }
+                lastSpace = PokeWorld.ERROR;
+                continue;
+            }
+
+            if( c == ' ' ) lastSpace = i;
+            lineWidth += charWidth;
+            i++;
+        }
+        lines.add( text.substring( lineStart ) );
+
+        return lines.toArray( new String[ lines.size() ] );
+    }
+
+    /**
+     * The lines of a laid out text, and the page of those lines that fits within the region. The
+     * lines are shared by all pages of the same text
+     */
+    public static class Layout {
+        private final String[] lines;
+        private final int firstLine, linesPerPage, lineHeight;
+        private String excessText;
+
+        /**
+         * Create a Layout showing the page that starts at the given line
+         *
+         * @param lines All of the lines of the text
+         * @param firstLine The first line shown on this page
+         * @param linesPerPage The number of lines that fit within the region
+         * @param lineHeight The height of a line plus the space between lines, in pixels
+         */
+        private Layout( String[] lines, int firstLine, int linesPerPage, int lineHeight ) {
+            this.lines = lines;
+            this.firstLine = firstLine;
+            this.linesPerPage = linesPerPage;
+            this.lineHeight = lineHeight;
+        }
+
+        /**
+         * Gets the number of lines shown on this page
+         *
+         * @return int The number of lines on this page
+         */
+        public int getLineCount() {
+            return Math.min( linesPerPage, lines.length - firstLine );
+        }
+
+        /**
+         * Gets a line shown on this page
+         *
+         * @param i The index of the line on this page, starting at zero
+         * @return String The line of text
+         */
+        public String getLine( int i ) {
+            return lines[ firstLine + i ];
+        }
+
+        /**
+         * Gets the height of a line plus the space between lines, in pixels
+         *
+         * @return int The distance between the tops of two lines, in pixels
+         */
+        public int getLineHeight() {
+            return lineHeight;
+        }
+
+        /**
+         * Determines whether there is text left over after this page
+         *
+         * @return boolean True if the text does not fit on this page, false otherwise
+         */
+        public boolean hasExcessText() {
+            return firstLine + linesPerPage < lines.length;
+        }
+
+        /**
+         * Gets the text that does not fit on this page, with each line followed by a space
+         *
+         * @return String The text that does not fit on this page. If all the text fits, returns ""
+         */
+        public String getExcessText() {
+            if( excessText == null ) {
+                StringBuilder builder = new StringBuilder();
+                for( int i = firstLine + linesPerPage; i < lines.length; i++ )
+                    builder.append( lines[i] ).append( ' ' );
+                excessText = builder.toString();
+            }
+
+            return excessText;
+        }
+    }
+}
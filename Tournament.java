@@ -0,0 +1,502 @@
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Tournament.java
+ *
+ * Runs a round-robin tournament between Pokemon builds without a world, and ranks them. Every entrant meets every other
+ * entrant in one matchup, which is a best-of-N series of headless battles: the series ends as soon as one Pokemon has
+ * won more than half of the N battles, and otherwise after N battles. The entrant with more wins takes the matchup, and
+ * a series with as many wins on each side is a draw. A matchup win is worth 1 point and a draw is worth half a point.
+ *
+ * The entrants can be found automatically: discoverEntrants() looks through the classpath (the folders and jar files
+ * that classes are loaded from, including the folder of this scenario) for every class that extends PokemonActor and
+ * has the (int uniqueID) constructor. Entrants whose Pokemon cannot be created are left out of the tournament.
+ *
+ * Battles are played by BattleSimulator.playBattle(), with Pokemon taken from a BattleSimulator.PokemonPool: both
+ * Pokemon choose a random Move that still has PP left, Items are not used, the Pokemon attack first in turns, and
+ * battles that last longer than BattleSimulator.MAX_TURNS turns are draws. BattleSimulator.runChunks() splits the
+ * matchups into chunks of about BattleSimulator.CHUNK_SIZE battles. Each matchup has its own PokeRandom, the stream of
+ * the tournament's seed numbered by the matchup, so that a tournament with the same entrants and seed gives the same
+ * standings no matter how the matchups are shared between the cores.
+ *
+ * Example: Tournament.Standings standings = new Tournament( Tournament.discoverEntrants(), 7, 42L ).run();
+ *          System.out.println( standings ); //One row per entrant, from first place to last
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - DEFAULT_BEST_OF    : The default number of battles of a matchup
+ * - WIN_POINTS, DRAW_POINTS : The points of a matchup win and of a matchup draw
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - entrants           : The builds of the entrants
+ * - names              : The name of each entrant
+ * - bestOf             : The number of battles of a matchup
+ * - seed               : The seed that the PokeRandoms of the matchups are made from
+ * - ratingKeys         : The RatingStore key of each entrant's build
+ * - pokemon            : The PokemonPool of the builds that were given to the tournament
+ * - buildIndexes       : The index in the PokemonPool of each entrant's build
+ * - pool               : The ForkJoinPool that runs the matchups
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - Tournament( BattleSimulator.Build[] entrants, int bestOf, long seed ) : Create a tournament between the entrants
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - run()                        : Runs every matchup and returns the Standings
+ * - getEntrantCount()            : Gets the number of entrants whose Pokemon can be created
+ * - discoverEntrants()           : Gets a Build of every PokemonActor subclass on the classpath
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - playMatchup( int first, int second ) : Plays the battles of one matchup and returns the wins of each entrant
+ * - findClassNames( File location, Set<String> classNames ) : Adds the names of the classes in a folder or jar file
+ * - findClassNames( File folder, String prefix, Set<String> classNames ) : Adds the names of the classes in a folder
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CLASSES @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * - Standings   : The results of a tournament, with the entrants ranked from first place to last
+ * - Standing    : The results of one entrant
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see BattleSimulator.java
+ * @see BattleEngine.java
+ * @see PokeArena.java
+ */
+public class Tournament {
+
+    public static final int DEFAULT_BEST_OF = 7;
+    public static final double WIN_POINTS   = 1.0;
+    public static final double DRAW_POINTS  = 0.5;
+
+    private final BattleSimulator.Build[] entrants;
+    private final String[] names;
+    private final int bestOf;
+    private final long seed;
+    private final String[] ratingKeys;
+    private final BattleSimulator.PokemonPool pokemon;
+    private final int[] buildIndexes;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create a tournament between the entrants. Each entrant's first Pokemon is created here, all at once on the
+     * ForkJoinPool, and entrants whose Pokemon cannot be created are left out
+     *
+     * @param entrants The builds of the entrants, such as the builds from discoverEntrants()
+     * @param bestOf The number of battles of each matchup. An odd number cannot end in a draw unless a battle does
+     * @param seed The seed of the tournament. Tournaments with the same entrants, bestOf, and seed give the same
+     *             standings
+     */
+    public Tournament( BattleSimulator.Build[] entrants, int bestOf, long seed ) {
+        this.pokemon = new BattleSimulator.PokemonPool( entrants );
+        List<PokemonActor> created = pokemon.createAll( pool );
+        ArrayList<Integer> valid = new ArrayList<Integer>();
+        for( int i = 0; i < entrants.length; i++ )
+            if( created.get(i) != null ) valid.add( i );
+
+        this.entrants = new BattleSimulator.Build[ valid.size() ];
+        this.names = new String[ valid.size() ];
+        this.ratingKeys = new String[ valid.size() ];
+        this.buildIndexes = new int[ valid.size() ];
+        for( int i = 0; i < names.length; i++ ) {
+            buildIndexes[i] = valid.get(i);
+            this.entrants[i] = entrants[ buildIndexes[i] ];
+            names[i] = this.entrants[i].toString();
+            ratingKeys[i] = RatingStore.getKey( created.get( buildIndexes[i] ) );
+        }
+        this.bestOf = Math.max( 1, bestOf );
+        this.seed = seed;
+    }
+
+    /**
+     * Runs every matchup on all of the cores and returns the standings
+     *
+     * @return Standings The results of the tournament, ranked from first place to last
+     * @see playMatchup( int first, int second )
+     */
+    public Standings run() {
+        long start = System.nanoTime();
+        int n = entrants.length;
+        final int[] firsts = new int[ n * (n - 1) / 2 ];
+        final int[] seconds = new int[ firsts.length ];
+        int matchup = 0;
+        for( int i = 0; i < n; i++ ) {
+            for( int j = i + 1; j < n; j++ ) {
+                firsts[ matchup ] = i;
+                seconds[ matchup ] = j;
+                matchup++;
+            }
+        }
+
+        //Each matchup only writes its own two cells, so the chunks never write the same cell
+        final int[][] wins = new int[n][n];
+        final int[][] draws = new int[n][n];
+        BattleSimulator.runChunks( pool, firsts.length, BattleSimulator.CHUNK_SIZE / bestOf,
+                                   new BattleSimulator.Chunk<Void>() {
+            public Void run( int start, int end ) {
+                for( int matchup = start; matchup < end; matchup++ ) {
+                    int first = firsts[ matchup ], second = seconds[ matchup ];
+                    int[] result = playMatchup( first, second );
+                    wins[ first ][ second ] = result[0];
+                    wins[ second ][ first ] = result[1];
+                    draws[ first ][ second ] = draws[ second ][ first ] = result[2];
+                }
+                return null;
+            }
+        } );
+
+        return new Standings( names, ratingKeys, wins, draws, bestOf, System.nanoTime() - start );
+    }
+
+    /**
+     * Gets the number of entrants whose Pokemon can be created, which are the entrants of the tournament
+     *
+     * @return int The number of entrants
+     */
+    public int getEntrantCount() {
+        return entrants.length;
+    }
+
+    /**
+     * Plays the battles of one matchup, until one entrant has won more than half of the battles or all of the battles
+     * have been played. The entrants take turns attacking first, starting with the first entrant
+     *
+     * @param first The index of the first entrant
+     * @param second The index of the second entrant
+     * @return int[] The number of battles won by the first entrant, won by the second entrant, and drawn
+     * @see BattleSimulator.playBattle( BattleEngine engine, PokeRandom random, BattleListener listener )
+     */
+    private int[] playMatchup( int first, int second ) {
+        int[] wins = new int[3];
+        PokeRandom random = PokeRandom.forStream( seed, (long)first * entrants.length + second );
+        int needed = bestOf / 2 + 1;
+        for( int battle = 0; battle < bestOf && wins[0] < needed && wins[1] < needed; battle++ ) {
+            PokemonActor p1 = pokemon.take( buildIndexes[ first ] );
+            PokemonActor p2 = pokemon.take( buildIndexes[ second ] );
+            if( p1 != null && p2 != null ) {
+                BattleEngine engine = battle % 2 == 1 ? new BattleEngine( p2, p1, random ) :
+                                                        new BattleEngine( p1, p2, random );
+                BattleSimulator.playBattle( engine, random, null );
+
+                PokemonActor winner = engine.getWinner() == null ? null : engine.getPokemon( engine.getWinner() );
+                if(      winner == p1 ) wins[0]++;
+                else if( winner == p2 ) wins[1]++;
+                else                    wins[2]++;
+            } else if( p1 != null ) {
+                wins[0] = needed; //an entrant whose Pokemon cannot be created forfeits
+            } else if( p2 != null ) {
+                wins[1] = needed;
+            }
+            if( p1 != null ) pokemon.give( buildIndexes[ first ], p1 );
+            if( p2 != null ) pokemon.give( buildIndexes[ second ], p2 );
+            if( p1 == null || p2 == null ) break;
+        }
+
+        return wins;
+    }
+
+    /**
+     * Gets a Build of every class on the classpath that extends PokemonActor, is not abstract, and has the public
+     * (int uniqueID) constructor. The classpath is the list of folders and jar files in the java.class.path property,
+     * along with the folder or jar file that PokemonActor was loaded from (the scenario folder, when running in
+     * Greenfoot). The classes are loaded without being initialized, and are sorted by name
+     *
+     * @return BattleSimulator.Build[] The Builds of the classes that were found
+     * @see BattleSimulator.getBuild( Class cls )
+     */
+    public static BattleSimulator.Build[] discoverEntrants() {
+        Set<File> locations = new LinkedHashSet<File>();
+        try {
+            locations.add( new File( PokemonActor.class.getProtectionDomain().getCodeSource().getLocation().toURI() ) );
+        } catch( URISyntaxException | NullPointerException | SecurityException e ) {
+            e.printStackTrace();
+        }
+        for( String path : System.getProperty( "java.class.path", "" ).split( File.pathSeparator ) )
+            if( !path.isEmpty() ) locations.add( new File( path ).getAbsoluteFile() );
+
+        Set<String> classNames = new TreeSet<String>();
+        for( File location : locations )
+            findClassNames( location, classNames );
+
+        ClassLoader loader = PokemonActor.class.getClassLoader();
+        ArrayList<BattleSimulator.Build> builds = new ArrayList<BattleSimulator.Build>();
+        for( String className : classNames ) {
+            Class<?> cls;
+            try {
+                cls = Class.forName( className, false, loader );
+            } catch( ClassNotFoundException | LinkageError e ) {
+                continue; //not every class on the classpath can be loaded by this scenario, and none of those are Pokemon
+            }
+
+            if( cls == PokemonActor.class || !PokemonActor.class.isAssignableFrom( cls ) ) continue;
+            if( Modifier.isAbstract( cls.getModifiers() ) || !Modifier.isPublic( cls.getModifiers() ) ) continue;
+            try {
+                cls.getConstructor( int.class );
+            } catch( NoSuchMethodException e ) {
+                continue; //only Pokemon with the (int uniqueID) constructor can enter
+            }
+            builds.add( BattleSimulator.getBuild( cls.asSubclass( PokemonActor.class ) ) );
+        }
+
+        return builds.toArray( new BattleSimulator.Build[ builds.size() ] );
+    }
+
+    /**
+     * Adds the names of the classes in a folder (including the folders inside it) or in a jar file
+     *
+     * @param location The folder or jar file
+     * @param classNames The set to add the binary names of the classes to, such as "Pikachu"
+     */
+    private static void findClassNames( File location, Set<String> classNames ) {
+        if( location.isDirectory() ) {
+            findClassNames( location, "", classNames );
+        } else if( location.isFile() && location.getName().endsWith( ".jar" ) ) {
+            try( JarFile jar = new JarFile( location ) ) {
+                Enumeration<JarEntry> jarEntries = jar.entries();
+                while( jarEntries.hasMoreElements() ) {
+                    String name = jarEntries.nextElement().getName();
+                    if( name.endsWith( ".class" ) && !name.endsWith( "module-info.class" ) )
+                        classNames.add( name.substring( 0, name.length() - ".class".length() ).replace( '/', '.' ) );
+                }
+            } catch( IOException e ) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Adds the names of the classes in a folder and in the folders inside it
+     *
+     * @param folder The folder
+     * @param prefix The package of the folder, such as "" for the top folder or "pokemon." for a folder named pokemon
+     * @param classNames The set to add the binary names of the classes to
+     */
+    private static void findClassNames( File folder, String prefix, Set<String> classNames ) {
+        File[] files = folder.listFiles();
+        if( files == null ) return;
+        for( File file : files ) {
+            String name = file.getName();
+            if( file.isDirectory() )
+                findClassNames( file, prefix + name + ".", classNames );
+            else if( name.endsWith( ".class" ) && !name.equals( "module-info.class" ) )
+                classNames.add( prefix + name.substring( 0, name.length() - ".class".length() ) );
+        }
+    }
+
+    /**
+     * The results of a tournament: the battles won and drawn by each entrant against each other entrant, and the Standing of each
+     * entrant, ranked by points, then by the difference between battles won and lost, then by battles won, then by name
+     */
+    public static class Standings {
+
+        private final String[] names, ratingKeys;
+        private final int[][] wins, draws;
+        private final int bestOf;
+        private final Standing[] ranking;
+        private final long elapsedNanos;
+
+        /**
+         * Create the standings from the battles won in each matchup
+         *
+         * @param names The name of each entrant
+         * @param ratingKeys The RatingStore key of each entrant's build
+         * @param wins The battles won by each entrant against each other entrant
+         * @param draws The battles drawn by each pair of entrants
+         * @param bestOf The number of battles of each matchup
+         * @param elapsedNanos How long the tournament took
+         */
+        private Standings( String[] names, String[] ratingKeys, int[][] wins, int[][] draws, int bestOf,
+                           long elapsedNanos ) {
+            this.names = names;
+            this.ratingKeys = ratingKeys;
+            this.wins = wins;
+            this.draws = draws;
+            this.bestOf = bestOf;
+            this.elapsedNanos = elapsedNanos;
+
+            ranking = new Standing[ names.length ];
+            for( int i = 0; i < names.length; i++ ) {
+                Standing standing = new Standing( i, names[i] );
+                for( int j = 0; j < names.length; j++ ) {
+                    if( i == j ) continue;
+                    standing.battlesWon += wins[i][j];
+                    standing.battlesLost += wins[j][i];
+                    if(      wins[i][j] > wins[j][i] ) standing.matchupsWon++;
+                    else if( wins[i][j] < wins[j][i] ) standing.matchupsLost++;
+                    else                               standing.matchupsDrawn++;
+                }
+                ranking[i] = standing;
+            }
+
+            Arrays.sort( ranking, new Comparator<Standing>() {
+                public int compare( Standing a, Standing b ) {
+                    if( a.getPoints() != b.getPoints() ) return Double.compare( b.getPoints(), a.getPoints() );
+                    int aDifference = a.battlesWon - a.battlesLost, bDifference = b.battlesWon - b.battlesLost;
+                    if( aDifference != bDifference ) return Integer.compare( bDifference, aDifference );
+                    if( a.battlesWon != b.battlesWon ) return Integer.compare( b.battlesWon, a.battlesWon );
+                    return a.name.compareTo( b.name );
+                }
+            } );
+            for( int i = 0; i < ranking.length; i++ )
+                ranking[i].rank = i + 1;
+        }
+
+        /**
+         * Gets the Standings of the entrants, from first place to last
+         *
+         * @return Standing[] The Standing of each entrant
+         */
+        public Standing[] getRanking() {
+            return ranking.clone();
+        }
+
+        /**
+         * Gets the entrant in first place
+         *
+         * @return Standing The first place Standing, or null if there were no entrants
+         */
+        public Standing getChampion() {
+            return ranking.length == 0 ? null : ranking[0];
+        }
+
+        /**
+         * Gets the number of battles that one entrant won against another
+         *
+         * @param index1 The index of the entrant, in the order the entrants were given to the tournament
+         * @param index2 The index of the other entrant
+         * @return int The battles that the first entrant won against the second
+         */
+        public int getWins( int index1, int index2 ) {
+            return wins[ index1 ][ index2 ];
+        }
+
+        /**
+         * Gets the number of battles that two entrants drew
+         *
+         * @param index1 The index of the entrant, in the order the entrants were given to the tournament
+         * @param index2 The index of the other entrant
+         * @return int The battles that the two entrants drew
+         */
+        public int getDraws( int index1, int index2 ) {
+            return draws[ index1 ][ index2 ];
+        }
+
+        /**
+         * Gets the RatingStore key of an entrant's build
+         *
+         * @param index The index of the entrant, in the order the entrants were given to the tournament
+         * @return String The key
+         * @see RatingStore.recordTournament( Tournament.Standings standings )
+         */
+        public String getRatingKey( int index ) {
+            return ratingKeys[ index ];
+        }
+
+        /**
+         * Gets the number of entrants
+         *
+         * @return int The number of entrants
+         */
+        public int getEntrantCount() {
+            return names.length;
+        }
+
+        /**
+         * Gets the number of matchups that were played
+         *
+         * @return int The number of matchups, n(n - 1)/2 for n entrants
+         */
+        public int getMatchupCount() {
+            return names.length * (names.length - 1) / 2;
+        }
+
+        public int getBestOf()         { return bestOf; }
+        public long getElapsedNanos()  { return elapsedNanos; }
+
+        /**
+         * Gets the standings as a table, one row per entrant from first place to last
+         *
+         * @return String The standings
+         */
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append( String.format( "Round robin of %d entrants, %d matchups (best of %d) in %.2f sec%n",
+                                           names.length, getMatchupCount(), bestOf, elapsedNanos / 1e9 ) );
+            builder.append( String.format( "%4s  %-24s %6s  %-11s %s%n", "Rank", "Pokemon", "Points", "Matchups",
+                                           "Battles" ) );
+            for( Standing standing : ranking )
+                builder.append( standing ).append( String.format( "%n" ) );
+            return builder.toString();
+        }
+    }
+
+    /**
+     * The results of one entrant of a tournament: its place, the matchups it won, lost, and drew, and the battles it won
+     * and lost
+     */
+    public static class Standing {
+
+        private final int index;
+        private final String name;
+        private int rank, matchupsWon, matchupsLost, matchupsDrawn, battlesWon, battlesLost;
+
+        /**
+         * Create an empty Standing
+         *
+         * @param index The index of the entrant, in the order the entrants were given to the tournament
+         * @param name The name of the entrant
+         */
+        private Standing( int index, String name ) {
+            this.index = index;
+            this.name = name;
+        }
+
+        public int getIndex()         { return index; }
+        public String getName()       { return name; }
+        public int getRank()          { return rank; }
+        public int getMatchupsWon()   { return matchupsWon; }
+        public int getMatchupsLost()  { return matchupsLost; }
+        public int getMatchupsDrawn() { return matchupsDrawn; }
+        public int getBattlesWon()    { return battlesWon; }
+        public int getBattlesLost()   { return battlesLost; }
+
+        /**
+         * Gets the points of the entrant: WIN_POINTS for each matchup won and DRAW_POINTS for each matchup drawn
+         *
+         * @return double The points
+         */
+        public double getPoints() {
+            return matchupsWon * WIN_POINTS + matchupsDrawn * DRAW_POINTS;
+        }
+
+        /**
+         * Gets the Standing as one row of the standings table
+         *
+         * @return String The rank, name, points, matchups won-lost-drawn, and battles won-lost
+         */
+        public String toString() {
+            return String.format( "%4d  %-24s %6.1f  %-11s %d-%d", rank, name, getPoints(),
+                                  matchupsWon + "-" + matchupsLost + "-" + matchupsDrawn, battlesWon, battlesLost );
+        }
+    }
+}
@@ -0,0 +1,225 @@
+import greenfoot.*;  // (World, Actor, GreenfootImage, Greenfoot and MouseInfo)
+
+/**
+ * TypeBadgeGrid.java
+ *
+ * The grid of type badges that is shown on the Pokedex effectivity screen. The badge images (normal, red, and blue)
+ * are read and scaled only once, and are then drawn onto a single grid image. Clicks are matched to badges using the
+ * row and column of the grid, rather than by looking at the image underneath the mouse.
+ *
+ * -----------------------------------------------------------------------------------------------------------------------------
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ FIELDS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC FIELDS
+ * --------------------------------------------------------------------
+ * - SELF_INDEX       : The index of the 'self' badge, which cannot be the first (attacking) type selected
+ *
+ * PRIVATE FIELDS
+ * --------------------------------------------------------------------
+ * - TYPE_NAMES       : The names of the types, in the order they are shown in the grid (by column)
+ * - TYPE_LOC_GENERIC : The location of the badge images (need to replace the @ with the type name)
+ *
+ * - SCALE_RATIO      : The ratio that the normal badges are scaled by. Highlighted badges are not scaled, which
+ *                      enlargens the selection
+ * - ROWS_PER_COLUMN  : The number of badges in each column of the grid
+ * - CELL_WIDTH       : The distance between the centers of two columns
+ * - CELL_HEIGHT      : The distance between the centers of two rows
+ * - FIRST_X, FIRST_Y : The location (in the world) of the center of the first badge
+ * - MARGIN_X         : The space to the left and right of the outer badge centers, so that highlighted badges fit
+ * - MARGIN_Y         : The space above and below the outer badge centers, so that highlighted badges fit
+ *
+ * - NORMAL, RED, BLUE : The indices of the badge states in the badges array
+ * - badges           : The cached badge images, one for each state of each type
+ *
+ * - image            : The image that the grid is drawn onto
+ * - highlights       : The highlight state of each badge (NORMAL, RED, or BLUE)
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ CONSTRUCTORS @@@@@@@@@@@@@@@@@@@@@@@@
+ * - TypeBadgeGrid() : Create a grid with no badges highlighted
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ METHODS @@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * PUBLIC METHODS
+ * --------------------------------------------------------------------
+ * - getImage()                      : Gets the image of the grid
+ * - getCenterX(), getCenterY()      : Gets the location (in the world) to place the grid image
+ * - getBadgeAt( int x, int y )      : Gets the index of the badge at the given location (in the world)
+ * - isHighlighted( int index )      : Determines whether the badge has been highlighted or not
+ * - highlight( int index, boolean isRed ) : Highlights the badge red (attacking) or blue (defending)
+ * - getTypeName( int index )        : Gets the name of the type of the badge
+ *
+ * PRIVATE METHODS
+ * --------------------------------------------------------------------
+ * - getBadges()                     : Gets the cached badge images, reading them the first time
+ * - redraw()                        : Draws all of the badges onto the grid image
+ *
+ * @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@
+ * -----------------------------------------------------------------------------------------------------------------------------
+ *
+ * @author Peter Olson
+ * @version 10/19/26
+ * @see PokeBattle.pokedexEffectivity()
+ * @see PokeBattle.addHighlights()
+ */
+public class TypeBadgeGrid {
+
+    private static final String[] TYPE_NAMES = { "normal", "fire", "water", "electric", "grass", "ice", "fighting", "poison",
+                                                 "ground", "flying", "psychic", "bug", "rock", "ghost", "dragon", "dark",
+                                                 "self" };
+    public static final int SELF_INDEX = TYPE_NAMES.length - 1;
+    private static final String TYPE_LOC_GENERIC = "./images/type_@.png";
+
+    private static final double SCALE_RATIO = 0.7;
+    private static final int ROWS_PER_COLUMN = 6;
+    private static final int CELL_WIDTH      = 50;
+    private static final int CELL_HEIGHT     = 20;
+    private static final int FIRST_X         = 283;
+    private static final int FIRST_Y         = 300;
+    private static final int MARGIN_X        = 36;
+    private static final int MARGIN_Y        = 14;
+
+    private static final int NORMAL = 0, RED = 1, BLUE = 2;
+    private static GreenfootImage[][] badges;
+
+    private final GreenfootImage image;
+    private final int[] highlights = new int[ TYPE_NAMES.length ];
+
+    /**
+     * Create a grid of type badges with no badges highlighted
+     *
+     * @see redraw()
+     */
+    public TypeBadgeGrid() {
+        int columns = (TYPE_NAMES.length + ROWS_PER_COLUMN - 1) / ROWS_PER_COLUMN;
+        image = new GreenfootImage( (columns - 1) * CELL_WIDTH + 2 * MARGIN_X, (ROWS_PER_COLUMN - 1) * CELL_HEIGHT + 2 * MARGIN_Y );
+        redraw();
+    }
+
+    /**
+     * Gets the badge images, one for each state (NORMAL, RED, BLUE) of each type. The images are only read
+     * and scaled the first time that this is called
+     *
+     * @return GreenfootImage[][] The badge images, indexed by type and then by state
+     * @see GreenfootImage.scale( int width, int height )
+     */
+    private static GreenfootImage[][] getBadges() {
+        if( badges == null ) {
+            GreenfootImage[][] loaded = new GreenfootImage[ TYPE_NAMES.length ][ 3 ];
+            for( int i = 0; i < TYPE_NAMES.length; i++ ) {
+                String imageLoc = TYPE_LOC_GENERIC.replace( "@", TYPE_NAMES[i] );
+                loaded[i][NORMAL] = new GreenfootImage( imageLoc );
+                loaded[i][NORMAL].scale( (int)(loaded[i][NORMAL].getWidth() * SCALE_RATIO),
+                                         (int)(loaded[i][NORMAL].getHeight() * SCALE_RATIO) );
+                loaded[i][RED]    = new GreenfootImage( imageLoc.replace( ".png", "_red.png" ) );
+                loaded[i][BLUE]   = new GreenfootImage( imageLoc.replace( ".png", "_blue.png" ) );
+            }
+            badges = loaded;
+        }
+
+        return badges;
+    }
+
+    /**
+     * Draws all of the badges onto the grid image. Highlighted badges are drawn last, since they are larger
+     * than the normal badges and overlap their neighbors
+     *
+     * @see getBadges()
+     * @see GreenfootImage.drawImage( GreenfootImage image, int x, int y )
+     */
+    private void redraw() {
+        GreenfootImage[][] badgeImages = getBadges();
+        image.clear();
+        for( int pass = 0; pass < 2; pass++ ) {
+            for( int i = 0; i < TYPE_NAMES.length; i++ ) {
+                if( (highlights[i] == NORMAL) != (pass == 0) ) continue;
+
+                GreenfootImage badge = badgeImages[i][ highlights[i] ];
+                int centerX = MARGIN_X + (i / ROWS_PER_COLUMN) * CELL_WIDTH;
+                int centerY = MARGIN_Y + (i % ROWS_PER_COLUMN) * CELL_HEIGHT;
+                image.drawImage( badge, centerX - badge.getWidth() / 2, centerY - badge.getHeight() / 2 );
+            }
+        }
+    }
+
+    /**
+     * Gets the image of the grid
+     *
+     * @return GreenfootImage The image that the badges are drawn onto
+     */
+    public GreenfootImage getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the x location (in the world) of the center of the grid image
+     *
+     * @return int The x location to place the grid image
+     */
+    public int getCenterX() {
+        return FIRST_X - MARGIN_X + image.getWidth() / 2;
+    }
+
+    /**
+     * Gets the y location (in the world) of the center of the grid image
+     *
+     * @return int The y location to place the grid image
+     */
+    public int getCenterY() {
+        return FIRST_Y - MARGIN_Y + image.getHeight() / 2;
+    }
+
+    /**
+     * Gets the index of the badge at the given location (in the world). The row and column are found
+     * directly from the location, and the location is then checked against the bounds of that badge
+     *
+     * @param x The x location (in the world)
+     * @param y The y location (in the world)
+     * @return int The index of the badge at this location, or ERROR if there is no badge at this location
+     */
+    public int getBadgeAt( int x, int y ) {
+        int column = Math.floorDiv( x - FIRST_X + CELL_WIDTH / 2, CELL_WIDTH );
+        int row    = Math.floorDiv( y - FIRST_Y + CELL_HEIGHT / 2, CELL_HEIGHT );
+        if( column < 0 || row < 0 || row >= ROWS_PER_COLUMN ) return PokeWorld.ERROR;
+
+        int index = column * ROWS_PER_COLUMN + row;
+        if( index >= TYPE_NAMES.length ) return PokeWorld.ERROR;
+
+        GreenfootImage badge = getBadges()[index][ highlights[index] ];
+        int centerX = FIRST_X + column * CELL_WIDTH;
+        int centerY = FIRST_Y + row * CELL_HEIGHT;
+        if( Math.abs( x - centerX ) > badge.getWidth() / 2 || Math.abs( y - centerY ) > badge.getHeight() / 2 )
+            return PokeWorld.ERROR;
+
+        return index;
+    }
+
+    /**
+     * Determines whether the badge has already been highlighted, either red or blue
+     *
+     * @param index The index of the badge
+     * @return boolean True if the badge is highlighted, false otherwise
+     */
+    public boolean isHighlighted( int index ) {
+        return highlights[index] != NORMAL;
+    }
+
+    /**
+     * Highlights a badge red (the attacking type) or blue (the defending type), and redraws the grid
+     *
+     * @param index The index of the badge
+     * @param isRed True to highlight the badge red, false to highlight the badge blue
+     * @see redraw()
+     */
+    public void highlight( int index, boolean isRed ) {
+        highlights[index] = isRed ? RED : BLUE;
+        redraw();
+    }
+
+    /**
+     * Gets the name of the type of the badge, such as "fire" or "self"
+     *
+     * @param index The index of the badge
+     * @return String The name of the type of this badge
+     */
+    public String getTypeName( int index ) {
+        return TYPE_NAMES[index];
+    }
+}